@@ -0,0 +1,42 @@
+package com.nexusweaver.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark Runner
+ *
+ * Entry point of target/benchmarks.jar. Runs the selected JMH suites (all by
+ * default) with the GC profiler attached, so allocation per operation is
+ * reported next to throughput, and writes the results as JSON for diffing
+ * between commits. Any standard JMH option can be passed on the command line:
+ *
+ * <pre>
+ *   java -jar target/benchmarks.jar                       # everything, results in jmh-result.json
+ *   java -jar target/benchmarks.jar Validator -rff base.json
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        builder.addProfiler(GCProfiler.class);
+        builder.resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON));
+        builder.result(commandLine.getResult().orElse(DEFAULT_RESULT_FILE));
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.nexusweaver.benchmarks;
+
+import com.nexusweaver.MarketDataIngestionApplication;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full {@code direct:process-market-data} run through the in-process ingestion
+ * application: lane hand-off, validation, enrichment, metrics, routing and
+ * output marshalling. The simulator, the cluster service, the web server and
+ * the RabbitMQ publisher are switched off; output goes to the (silenced) log endpoints.
+ * Every op carries the next sequence number, so the sequence tracker passes
+ * it on instead of timing its duplicate drop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IngestionRouteBenchmark {
+
+    private static final String ENDPOINT = "direct:process-market-data";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext applicationContext;
+    private ProducerTemplate producerTemplate;
+    private TickPool tickPool;
+    private Tick template;
+
+    @Setup
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(MarketDataIngestionApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--market-data.simulation.enabled=false",
+                        "--market-data.publisher.enabled=false",
+                        "--camel.cluster.kubernetes.enabled=false",
+                        "--camel.springboot.main-run-controller=false",
+                        "--camel.springboot.jmx-enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.nexusweaver=WARN",
+                        "--logging.level.org.apache.camel=WARN");
+        producerTemplate = applicationContext.getBean(CamelContext.class).createProducerTemplate();
+        tickPool = applicationContext.getBean(TickPool.class);
+        template = Ticks.complete();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        producerTemplate.stop();
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Exchange processMarketData() {
+        // Ticks are returned to the pool by the output route
+        Tick tick = tickPool.acquire().copyFrom(template);
+        tick.setSequenceNumber(sequence.incrementAndGet());
+        return producerTemplate.send(ENDPOINT, exchange -> {
+            exchange.getIn().setBody(tick);
+            exchange.getIn().setHeader("source", "BENCHMARK");
+        });
+    }
+}
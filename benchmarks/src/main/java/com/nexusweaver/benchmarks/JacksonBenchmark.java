@@ -0,0 +1,55 @@
+package com.nexusweaver.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nexusweaver.config.JacksonConfig;
+import com.nexusweaver.model.MarketDataEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of {@link MarketDataEvent} with the application's {@link JacksonConfig} mapper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private MarketDataEvent event;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new JacksonConfig().objectMapper();
+        writer = mapper.writerFor(MarketDataEvent.class);
+        reader = mapper.readerFor(MarketDataEvent.class);
+        event = MarketDataEvent.createSample();
+        json = writer.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public MarketDataEvent deserialize() throws Exception {
+        return reader.readValue(json);
+    }
+}
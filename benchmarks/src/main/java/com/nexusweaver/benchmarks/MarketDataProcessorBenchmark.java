@@ -0,0 +1,72 @@
+package com.nexusweaver.benchmarks;
+
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.processors.MarketDataProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MarketDataProcessor#process} on complete ticks and on bare ticks that need full enrichment
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarketDataProcessorBenchmark {
+
+    private DefaultCamelContext camelContext;
+    private MarketDataProcessor processor;
+    private Exchange exchange;
+    private Tick complete;
+    private Tick bare;
+    private Tick tick;
+
+    @Setup
+    public void setUp() {
+        camelContext = new DefaultCamelContext();
+        processor = new MarketDataProcessor(Ticks.symbolDirectory());
+        exchange = new DefaultExchange(camelContext);
+        complete = Ticks.complete();
+        bare = Ticks.bare();
+        tick = new Tick();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        camelContext.close();
+    }
+
+    @Benchmark
+    public Object processComplete() throws Exception {
+        return process(complete);
+    }
+
+    @Benchmark
+    public Object processBare() throws Exception {
+        return process(bare);
+    }
+
+    private Object process(Tick template) throws Exception {
+        // Enrichment mutates the tick, so every invocation starts from the template
+        tick.copyFrom(template);
+        exchange.getIn().setBody(tick);
+        processor.process(exchange);
+        return exchange.getIn().getBody();
+    }
+}
@@ -0,0 +1,64 @@
+package com.nexusweaver.benchmarks;
+
+import com.nexusweaver.config.ValidationProperties;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.processors.MessageValidator;
+import com.nexusweaver.refdata.SymbolDirectory;
+import com.nexusweaver.validation.ValidationRulesEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MessageValidator#process} on a valid tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageValidatorBenchmark {
+
+    private DefaultCamelContext camelContext;
+    private MessageValidator validator;
+    private Exchange exchange;
+    private Tick tick;
+
+    @Setup
+    public void setUp() {
+        camelContext = new DefaultCamelContext();
+        SymbolDirectory symbolDirectory = Ticks.symbolDirectory();
+        ValidationRulesEngine rulesEngine = new ValidationRulesEngine(
+                new ValidationProperties(), symbolDirectory, new SimpleMeterRegistry());
+        validator = new MessageValidator(symbolDirectory, rulesEngine, false);
+        exchange = new DefaultExchange(camelContext);
+        tick = Ticks.complete();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        camelContext.close();
+    }
+
+    @Benchmark
+    public Object validate() throws Exception {
+        exchange.getIn().setBody(tick);
+        validator.process(exchange);
+        return exchange.getIn().getBody();
+    }
+}
@@ -0,0 +1,44 @@
+package com.nexusweaver.benchmarks;
+
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.MarketDataEvent;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Tick fixtures shared by the suites, and the reference data they are checked against
+ */
+final class Ticks {
+
+    private Ticks() {
+    }
+
+    /**
+     * The symbol directory bundled with the ingestion service
+     */
+    static SymbolDirectory symbolDirectory() {
+        return new SymbolDirectory("classpath:reference/symbols.csv", new DefaultResourceLoader(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * A complete market data tick, as the simulator produces it
+     */
+    static Tick complete() {
+        return new Tick().copyFrom(MarketDataEvent.createSample());
+    }
+
+    /**
+     * A tick carrying only symbol, price and volume, so enrichment fills in everything else
+     */
+    static Tick bare() {
+        Tick tick = complete();
+        tick.setBid(Tick.NULL_PRICE);
+        tick.setAsk(Tick.NULL_PRICE);
+        tick.setExchangeId(InternTable.NULL_ID);
+        tick.setSourceId(InternTable.NULL_ID);
+        tick.setSequenceNumber(Tick.NULL_VALUE);
+        return tick;
+    }
+}
@@ -0,0 +1,106 @@
+package com.nexusweaver.codec;
+
+/**
+ * Market Data Wire Schema
+ *
+ * SBE-style binary layout shared by the ingestion and consumer services.
+ * All integers are little-endian.
+ *
+ * <pre>
+ * Message header (8 bytes)
+ *   0  uint16 blockLength   size of the fixed block that follows
+ *   2  uint16 templateId    MARKET_DATA or TRADE
+ *   4  uint16 schemaId
+ *   6  uint16 version
+ *
+ * Fixed block (BLOCK_LENGTH bytes)
+ *   0  int64 timestampNanos  epoch nanoseconds
+ *   8  int64 sequenceNumber
+ *  16  int64 price           fixed point, PRICE_DECIMALS decimals
+ *  24  int64 bid
+ *  32  int64 ask
+ *  40  int64 high
+ *  48  int64 low
+ *  56  int64 open
+ *  64  int64 volume
+ *
+ * Trace block (version 2), appended to the fixed block
+ *  72  int64 ingressNanos    epoch nanoseconds the tick entered ingestion
+ *  80  int64 sentNanos       epoch nanoseconds the tick was handed to the wire
+ *
+ * Variable data, in order: symbol, exchange, source, messageType, portfolioId, traderId
+ *   uint8 length followed by US-ASCII bytes, length 0 means absent
+ * </pre>
+ *
+ * Recorded tick files (replay input, journal segments) store messages as
+ * frames: an int32 little-endian length followed by the encoded message, each
+ * frame starting on a {@link #FRAME_ALIGNMENT}-byte boundary so the length
+ * can be published and read atomically. A zero length marks the end of the
+ * recorded data.
+ *
+ * Absent numeric fields are encoded as {@link #NULL_VALUE}. Decoders must use the
+ * blockLength from the header to locate the variable data, so newer versions can
+ * append fixed fields without breaking older readers. Version 1 messages carry
+ * no trace block; readers report its fields as {@link #NULL_VALUE}.
+ */
+public final class MarketDataSchema {
+
+    public static final int SCHEMA_ID = 0x4E57;
+    public static final int SCHEMA_VERSION = 2;
+
+    public static final int TEMPLATE_MARKET_DATA = 1;
+    public static final int TEMPLATE_TRADE = 2;
+
+    public static final int PRICE_DECIMALS = 8;
+    public static final long NULL_VALUE = Long.MIN_VALUE;
+
+    public static final String CONTENT_TYPE = "application/x-nexus-tick";
+
+    // Message header
+    public static final int HEADER_LENGTH = 8;
+    public static final int BLOCK_LENGTH_OFFSET = 0;
+    public static final int TEMPLATE_ID_OFFSET = 2;
+    public static final int SCHEMA_ID_OFFSET = 4;
+    public static final int VERSION_OFFSET = 6;
+
+    // Fixed block, relative to the end of the header
+    public static final int TIMESTAMP_OFFSET = 0;
+    public static final int SEQUENCE_OFFSET = 8;
+    public static final int PRICE_OFFSET = 16;
+    public static final int BID_OFFSET = 24;
+    public static final int ASK_OFFSET = 32;
+    public static final int HIGH_OFFSET = 40;
+    public static final int LOW_OFFSET = 48;
+    public static final int OPEN_OFFSET = 56;
+    public static final int VOLUME_OFFSET = 64;
+    public static final int BLOCK_LENGTH_V1 = 72;
+    public static final int TRACE_INGRESS_OFFSET = 72;
+    public static final int TRACE_SENT_OFFSET = 80;
+    public static final int BLOCK_LENGTH = 88;
+
+    // Variable data field order
+    public static final int VAR_SYMBOL = 0;
+    public static final int VAR_EXCHANGE = 1;
+    public static final int VAR_SOURCE = 2;
+    public static final int VAR_MESSAGE_TYPE = 3;
+    public static final int VAR_PORTFOLIO_ID = 4;
+    public static final int VAR_TRADER_ID = 5;
+    public static final int VAR_FIELD_COUNT = 6;
+
+    // Recorded file framing
+    public static final int FRAME_HEADER_LENGTH = 4;
+    public static final int FRAME_ALIGNMENT = 8;
+
+    public static final int MAX_VAR_LENGTH = 255;
+    public static final int MAX_MESSAGE_LENGTH = HEADER_LENGTH + BLOCK_LENGTH + VAR_FIELD_COUNT * (1 + MAX_VAR_LENGTH);
+
+    private MarketDataSchema() {
+    }
+
+    /**
+     * Space a frame holding a message of the given length occupies, padding included
+     */
+    public static int frameLength(int messageLength) {
+        return (FRAME_HEADER_LENGTH + messageLength + FRAME_ALIGNMENT - 1) & -FRAME_ALIGNMENT;
+    }
+}
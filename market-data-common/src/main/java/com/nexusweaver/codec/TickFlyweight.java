@@ -0,0 +1,181 @@
+package com.nexusweaver.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static com.nexusweaver.codec.MarketDataSchema.*;
+
+/**
+ * Tick Flyweight
+ *
+ * Zero-copy reader over an encoded {@link MarketDataSchema} message. Fields are
+ * decoded on access straight from the wrapped {@code byte[]}, so callers only
+ * pay for what they read and consumers can route on a message without
+ * materializing it into a map or event object. A flyweight can be re-wrapped
+ * to read another message.
+ */
+public final class TickFlyweight {
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] buffer;
+    private int offset;
+    private int blockLength;
+    private int templateId;
+    private int version;
+
+    public TickFlyweight wrap(byte[] buffer) {
+        return wrap(buffer, 0);
+    }
+
+    /**
+     * Wraps the message starting at the given offset, validating the schema header
+     */
+    public TickFlyweight wrap(byte[] buffer, int offset) {
+        if (buffer.length - offset < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Buffer too short for message header");
+        }
+        int schemaId = Short.toUnsignedInt((short) SHORT.get(buffer, offset + SCHEMA_ID_OFFSET));
+        if (schemaId != SCHEMA_ID) {
+            throw new IllegalArgumentException("Unexpected schema id: " + schemaId);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.blockLength = Short.toUnsignedInt((short) SHORT.get(buffer, offset + BLOCK_LENGTH_OFFSET));
+        this.templateId = Short.toUnsignedInt((short) SHORT.get(buffer, offset + TEMPLATE_ID_OFFSET));
+        this.version = Short.toUnsignedInt((short) SHORT.get(buffer, offset + VERSION_OFFSET));
+        if (blockLength < BLOCK_LENGTH_V1) {
+            throw new IllegalArgumentException("Unsupported block length " + blockLength + " for version " + version);
+        }
+        return this;
+    }
+
+    public int templateId() {
+        return templateId;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public boolean isTrade() {
+        return templateId == TEMPLATE_TRADE;
+    }
+
+    public long timestampNanos() {
+        return getLong(TIMESTAMP_OFFSET);
+    }
+
+    public long sequenceNumber() {
+        return getLong(SEQUENCE_OFFSET);
+    }
+
+    public long price() {
+        return getLong(PRICE_OFFSET);
+    }
+
+    public long bid() {
+        return getLong(BID_OFFSET);
+    }
+
+    public long ask() {
+        return getLong(ASK_OFFSET);
+    }
+
+    public long high() {
+        return getLong(HIGH_OFFSET);
+    }
+
+    public long low() {
+        return getLong(LOW_OFFSET);
+    }
+
+    public long open() {
+        return getLong(OPEN_OFFSET);
+    }
+
+    public long volume() {
+        return getLong(VOLUME_OFFSET);
+    }
+
+    /**
+     * Epoch nanoseconds the tick entered ingestion, or NULL_VALUE for version 1 messages
+     */
+    public long ingressNanos() {
+        return blockLength >= BLOCK_LENGTH ? getLong(TRACE_INGRESS_OFFSET) : NULL_VALUE;
+    }
+
+    /**
+     * Epoch nanoseconds the tick was handed to the wire, or NULL_VALUE for version 1 messages
+     */
+    public long sentNanos() {
+        return blockLength >= BLOCK_LENGTH ? getLong(TRACE_SENT_OFFSET) : NULL_VALUE;
+    }
+
+    public int symbolLength() {
+        return buffer[varOffset(VAR_SYMBOL)] & 0xFF;
+    }
+
+    public String symbol() {
+        return getString(VAR_SYMBOL);
+    }
+
+    public String exchange() {
+        return getString(VAR_EXCHANGE);
+    }
+
+    public String source() {
+        return getString(VAR_SOURCE);
+    }
+
+    public String messageType() {
+        return getString(VAR_MESSAGE_TYPE);
+    }
+
+    public String portfolioId() {
+        return getString(VAR_PORTFOLIO_ID);
+    }
+
+    public String traderId() {
+        return getString(VAR_TRADER_ID);
+    }
+
+    /**
+     * Total encoded length of the wrapped message
+     */
+    public int encodedLength() {
+        return varOffset(VAR_FIELD_COUNT) - offset;
+    }
+
+    /**
+     * The raw buffer this flyweight reads from
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    private long getLong(int fieldOffset) {
+        return (long) LONG.get(buffer, offset + HEADER_LENGTH + fieldOffset);
+    }
+
+    private int varOffset(int index) {
+        int position = offset + HEADER_LENGTH + blockLength;
+        for (int i = 0; i < index; i++) {
+            position += 1 + (buffer[position] & 0xFF);
+        }
+        return position;
+    }
+
+    private String getString(int index) {
+        int position = varOffset(index);
+        int length = buffer[position] & 0xFF;
+        return length == 0 ? null : new String(buffer, position + 1, length, StandardCharsets.US_ASCII);
+    }
+}
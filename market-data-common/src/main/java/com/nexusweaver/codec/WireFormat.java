@@ -0,0 +1,11 @@
+package com.nexusweaver.codec;
+
+/**
+ * Wire formats selectable per output route
+ */
+public enum WireFormat {
+    /** Jackson text JSON of MarketDataEvent, human readable for debugging */
+    JSON,
+    /** Compact binary {@link MarketDataSchema} encoding */
+    BINARY
+}
@@ -0,0 +1,102 @@
+package com.nexusweaver.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log Sampler
+ *
+ * Sampling decision for one route: 1 in N, or a per-symbol rate limit over
+ * one-second windows. Settings are volatile so they can be changed while
+ * messages flow. Decisions are approximate under contention, which is fine
+ * for logging.
+ */
+public final class LogSampler {
+
+    /** Rate windows kept before falling back to 1 in N, bounding memory for unbounded key sets */
+    private static final int MAX_WINDOWS = 10_000;
+
+    private final String route;
+    private final AtomicLong seen = new AtomicLong();
+    private final LongAdder sampled = new LongAdder();
+    private final Map<String, RateWindow> windows = new ConcurrentHashMap<>();
+
+    private volatile int every;
+    private volatile int perSymbolPerSecond;
+
+    LogSampler(String route, int every, int perSymbolPerSecond) {
+        this.route = route;
+        configure(every, perSymbolPerSecond);
+    }
+
+    public void configure(int every, int perSymbolPerSecond) {
+        this.every = Math.max(0, every);
+        this.perSymbolPerSecond = Math.max(0, perSymbolPerSecond);
+    }
+
+    /**
+     * Decides whether the message with the given symbol (may be null) is logged
+     */
+    public boolean sample(String symbol) {
+        long count = seen.getAndIncrement();
+        boolean sample;
+        int limit = perSymbolPerSecond;
+        if (limit > 0 && (windows.size() < MAX_WINDOWS || windows.containsKey(key(symbol)))) {
+            sample = window(key(symbol)).tryAcquire(limit);
+        } else {
+            int n = every;
+            sample = n == 1 || (n > 1 && count % n == 0);
+        }
+        if (sample) {
+            sampled.increment();
+        }
+        return sample;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public int getEvery() {
+        return every;
+    }
+
+    public int getPerSymbolPerSecond() {
+        return perSymbolPerSecond;
+    }
+
+    public long getSeen() {
+        return seen.get();
+    }
+
+    public long getSampled() {
+        return sampled.sum();
+    }
+
+    private RateWindow window(String key) {
+        RateWindow window = windows.get(key);
+        return window != null ? window : windows.computeIfAbsent(key, k -> new RateWindow());
+    }
+
+    private static String key(String symbol) {
+        return symbol != null ? symbol : "";
+    }
+
+    private static final class RateWindow {
+        private volatile long second = -1;
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(int limit) {
+            long now = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+            if (now != second) {
+                second = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.nexusweaver.logging;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint for route log sampling (/actuator/logsampling[/{route}])
+ *
+ * POST a JSON body with {@code every} and/or {@code perSymbolPerSecond} to
+ * change a route's sampling at runtime.
+ */
+@Component
+@Endpoint(id = "logsampling")
+public class LogSamplingEndpoint {
+
+    private final RouteLog routeLog;
+
+    public LogSamplingEndpoint(RouteLog routeLog) {
+        this.routeLog = routeLog;
+    }
+
+    @ReadOperation
+    public Map<String, SamplingState> samplers() {
+        Map<String, SamplingState> states = new TreeMap<>();
+        for (LogSampler sampler : routeLog.samplers()) {
+            states.put(sampler.getRoute(), SamplingState.of(sampler));
+        }
+        return states;
+    }
+
+    @ReadOperation
+    public SamplingState sampler(@Selector String route) {
+        return SamplingState.of(routeLog.sampler(route));
+    }
+
+    @WriteOperation
+    public SamplingState configure(@Selector String route, @Nullable Integer every,
+                                   @Nullable Integer perSymbolPerSecond) {
+        LogSampler sampler = routeLog.sampler(route);
+        sampler.configure(every != null ? every : sampler.getEvery(),
+                perSymbolPerSecond != null ? perSymbolPerSecond : sampler.getPerSymbolPerSecond());
+        return SamplingState.of(sampler);
+    }
+
+    public record SamplingState(int every, int perSymbolPerSecond, long seen, long sampled) {
+        static SamplingState of(LogSampler sampler) {
+            return new SamplingState(sampler.getEvery(), sampler.getPerSymbolPerSecond(),
+                    sampler.getSeen(), sampler.getSampled());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.nexusweaver.logging;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Log Sampling Settings
+ *
+ * A route logs either 1 in {@code every} messages, or at most
+ * {@code per-symbol-per-second} messages per symbol when that is set.
+ * Route entries override the defaults; both can be changed at runtime
+ * through the {@code logsampling} actuator endpoint. Each service binds
+ * these under its own prefix.
+ */
+@Data
+public class LogSamplingSettings {
+
+    /** Log 1 in N messages; 1 logs everything, 0 disables the route's log */
+    private int every = 1000;
+
+    /** When positive, log at most this many messages per symbol per second instead of 1 in N */
+    private int perSymbolPerSecond = 0;
+
+    private Map<String, Sampling> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Sampling {
+        private Integer every;
+        private Integer perSymbolPerSecond;
+    }
+}
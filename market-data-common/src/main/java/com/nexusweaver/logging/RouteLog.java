@@ -0,0 +1,74 @@
+package com.nexusweaver.logging;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Route Log
+ *
+ * Sampled replacement for per-message {@code .log()} steps. Each log site
+ * gets its own logger ({@code com.nexusweaver.routes.<name>}) and
+ * {@link LogSampler}; the line is only formatted when the logger is enabled
+ * and the message is sampled, so unsampled messages cost a counter increment.
+ * Lines should use parameterized messages, which the async Log4j2 loggers
+ * handle without garbage. Each service supplies how to read the symbol an
+ * exchange is about, for the per-symbol sampling.
+ */
+public class RouteLog {
+
+    private static final String LOGGER_PREFIX = "com.nexusweaver.routes.";
+
+    private final LogSamplingSettings properties;
+    private final Function<Exchange, String> symbolOf;
+    private final Map<String, LogSampler> samplers = new ConcurrentHashMap<>();
+
+    public RouteLog(LogSamplingSettings properties, Function<Exchange, String> symbolOf) {
+        this.properties = properties;
+        this.symbolOf = symbolOf;
+    }
+
+    /**
+     * Writes one log line for a sampled message
+     */
+    @FunctionalInterface
+    public interface Line {
+        void write(Logger log, Exchange exchange);
+    }
+
+    /**
+     * Returns a processor that writes the line for sampled messages only
+     */
+    public Processor sampled(String name, Line line) {
+        Logger log = LoggerFactory.getLogger(LOGGER_PREFIX + name);
+        LogSampler sampler = sampler(name);
+        return exchange -> {
+            if (log.isInfoEnabled() && sampler.sample(symbolOf.apply(exchange))) {
+                line.write(log, exchange);
+            }
+        };
+    }
+
+    public LogSampler sampler(String name) {
+        return samplers.computeIfAbsent(name, this::newSampler);
+    }
+
+    public Collection<LogSampler> samplers() {
+        return Collections.unmodifiableCollection(samplers.values());
+    }
+
+    private LogSampler newSampler(String name) {
+        LogSamplingSettings.Sampling route = properties.getRoutes().get(name);
+        int every = route != null && route.getEvery() != null ? route.getEvery() : properties.getEvery();
+        int perSymbol = route != null && route.getPerSymbolPerSecond() != null
+                ? route.getPerSymbolPerSecond() : properties.getPerSymbolPerSecond();
+        return new LogSampler(name, every, perSymbol);
+    }
+}
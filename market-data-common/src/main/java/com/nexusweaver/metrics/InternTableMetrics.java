@@ -0,0 +1,38 @@
+package com.nexusweaver.metrics;
+
+import com.nexusweaver.model.InternTable;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Intern Table Metrics
+ *
+ * Size of each intern table, and the values the capped tables turned away
+ * once full; a rising refused count means portfolios or traders are reaching
+ * the pipeline without their id.
+ */
+@Component
+public class InternTableMetrics implements MeterBinder {
+
+    private static final List<InternTable> TABLES = List.of(InternTable.SYMBOLS, InternTable.EXCHANGES,
+            InternTable.SOURCES, InternTable.MESSAGE_TYPES, InternTable.PORTFOLIOS, InternTable.TRADERS);
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (InternTable table : TABLES) {
+            Gauge.builder("market.data.intern.size", table, InternTable::size)
+                    .description("Distinct values held by the intern table")
+                    .tag("table", table.getName())
+                    .register(registry);
+            FunctionCounter.builder("market.data.intern.refused", table, InternTable::getRefused)
+                    .description("Unseen values given the null id because the intern table was full")
+                    .tag("table", table.getName())
+                    .register(registry);
+        }
+    }
+}
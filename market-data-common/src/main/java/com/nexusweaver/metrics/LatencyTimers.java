@@ -0,0 +1,42 @@
+package com.nexusweaver.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Latency Timers
+ *
+ * Histogram settings and the per-stage timer shared by both halves of the
+ * end-to-end trace, so stage latencies from ingestion and consumer pods land
+ * in one {@value #STAGE_TIMER} series with the same buckets and percentiles.
+ */
+public final class LatencyTimers {
+
+    public static final String STAGE_TIMER = "market.data.stage.latency";
+
+    private LatencyTimers() {
+    }
+
+    /**
+     * Shared histogram settings: microseconds to seconds covers every stage from encode to broker transit
+     */
+    public static Timer.Builder histogram(Timer.Builder builder) {
+        return builder
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Timer for one pipeline stage, tagged with its name
+     */
+    public static Timer stage(String stage, String description, MeterRegistry meterRegistry) {
+        return histogram(Timer.builder(STAGE_TIMER)
+                .description(description)
+                .tag("stage", stage))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.nexusweaver.model;
+
+import java.time.Instant;
+
+/**
+ * Epoch Clock
+ *
+ * Allocation-free wall clock with nanosecond resolution. The epoch offset is
+ * captured once at class load and advanced with {@link System#nanoTime()},
+ * so readings are monotonic but may drift slightly from NTP-adjusted time
+ * on very long-running pods.
+ */
+public final class EpochClock {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final long EPOCH_NANOS_AT_START;
+    private static final long NANO_TIME_AT_START;
+
+    static {
+        Instant now = Instant.now();
+        NANO_TIME_AT_START = System.nanoTime();
+        EPOCH_NANOS_AT_START = toEpochNanos(now);
+    }
+
+    private EpochClock() {
+    }
+
+    /**
+     * Current time in nanoseconds since the Unix epoch
+     */
+    public static long nanos() {
+        return EPOCH_NANOS_AT_START + (System.nanoTime() - NANO_TIME_AT_START);
+    }
+
+    public static long toEpochNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    public static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+}
@@ -0,0 +1,132 @@
+package com.nexusweaver.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Intern Table
+ *
+ * Maps low-cardinality strings (symbols, exchanges, sources, message types)
+ * to dense integer ids so that ticks can carry them as primitives and per-key
+ * state can live in primitive arrays indexed by id. Ids are assigned
+ * sequentially and never reused, so an id stays valid for the lifetime of
+ * the JVM; they are local to each process and never go on the wire.
+ *
+ * Tables fed straight from message fields (portfolios, traders) are capped:
+ * once full, unseen values get {@link #NULL_ID} and are counted as refused
+ * instead of growing the table for the life of the process.
+ */
+public final class InternTable {
+
+    public static final int NULL_ID = -1;
+
+    /** Distinct values kept by the tables fed from untrusted message fields */
+    public static final int KEY_CAPACITY = 1 << 16;
+
+    public static final InternTable SYMBOLS = new InternTable("symbols");
+    public static final InternTable EXCHANGES = new InternTable("exchanges");
+    public static final InternTable SOURCES = new InternTable("sources");
+    public static final InternTable MESSAGE_TYPES = new InternTable("message-types");
+    public static final InternTable PORTFOLIOS = new InternTable("portfolios", KEY_CAPACITY);
+    public static final InternTable TRADERS = new InternTable("traders", KEY_CAPACITY);
+
+    private final String name;
+    private final int capacity;
+    private final LongAdder refused = new LongAdder();
+    /** Set once the table reaches capacity, so misses past it skip the register lock */
+    private volatile boolean full;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+
+    public InternTable(String name) {
+        this(name, Integer.MAX_VALUE);
+    }
+
+    public InternTable(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the id for the given string, assigning a new one on first sight,
+     * or {@link #NULL_ID} for an unseen string once the table is full
+     */
+    public int intern(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        if (full) {
+            refused.increment();
+            return NULL_ID;
+        }
+        return register(value);
+    }
+
+    /**
+     * Returns the id for the given string without assigning one
+     */
+    public int lookup(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : NULL_ID;
+    }
+
+    /**
+     * Returns the string for the given id, or null for {@link #NULL_ID} and unknown ids
+     */
+    public String name(int id) {
+        String[] current = names;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Unseen values turned away because the table was full
+     */
+    public long getRefused() {
+        return refused.sum();
+    }
+
+    private synchronized int register(String value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = size;
+        if (id >= capacity) {
+            full = true;
+            refused.increment();
+            return NULL_ID;
+        }
+        String[] current = names;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id * 2);
+        }
+        current[id] = value;
+        // Volatile write publishes the new slot before the id becomes visible
+        names = current;
+        size = id + 1;
+        ids.put(value, id);
+        return id;
+    }
+}
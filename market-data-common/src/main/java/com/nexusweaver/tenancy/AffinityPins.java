@@ -0,0 +1,148 @@
+package com.nexusweaver.tenancy;
+
+import java.util.Arrays;
+
+/**
+ * Affinity Pins
+ *
+ * Open-addressing map from a primitive affinity key to the tenant whose
+ * queue holds ticks for it and how many. A key is pinned while it has ticks
+ * queued and unpinned when the last one is taken, so the table only holds
+ * the keys currently in the queues. Linear probing with backward-shift
+ * deletion: no boxing, no entry objects, no tombstones. Not thread-safe; the
+ * fair queue only touches it under its lock.
+ */
+final class AffinityPins {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private Tenant[] owners;
+    private int[] counts;
+    private int mask;
+    private int size;
+
+    AffinityPins(int expectedKeys) {
+        allocate(Integer.highestOneBit(Math.max(8, expectedKeys * 2 - 1)) << 1);
+    }
+
+    /**
+     * Tenant whose queue holds ticks for the key, null when none is queued
+     */
+    Tenant owner(long key) {
+        int index = indexOf(key);
+        return index >= 0 ? owners[index] : null;
+    }
+
+    /**
+     * Counts one more queued tick for the key, pinning it to the owner on the first
+     */
+    void pin(long key, Tenant owner) {
+        int index = (int) hash(key) & mask;
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                counts[index]++;
+                return;
+            }
+            if (current == EMPTY) {
+                if (size + 1 > keys.length >>> 1) {
+                    grow();
+                    pin(key, owner);
+                    return;
+                }
+                keys[index] = key;
+                owners[index] = owner;
+                counts[index] = 1;
+                size++;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Counts one queued tick for the key as taken, unpinning the key after its last
+     */
+    void unpin(long key) {
+        int index = indexOf(key);
+        if (index < 0 || --counts[index] > 0) {
+            return;
+        }
+        // Backward-shift deletion keeps every probe chain unbroken
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = (int) hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                owners[hole] = owners[next];
+                counts[hole] = counts[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        owners[hole] = null;
+        counts[hole] = 0;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexOf(long key) {
+        int index = (int) hash(key) & mask;
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3, spreading symbol ids that differ only in low bits
+     */
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb93fe53ec5ffL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Tenant[] oldOwners = owners;
+        int[] oldCounts = counts;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == EMPTY) {
+                continue;
+            }
+            int index = (int) hash(key) & mask;
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            owners[index] = oldOwners[i];
+            counts[index] = oldCounts[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        owners = new Tenant[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+    }
+}
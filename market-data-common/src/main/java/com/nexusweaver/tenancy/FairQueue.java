@@ -0,0 +1,317 @@
+package com.nexusweaver.tenancy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fair Queue
+ *
+ * Per-tenant admission and deficit round robin scheduling. Producers offer
+ * messages into their tenant's bounded queue after its token bucket; a
+ * tenant over its rate or its queue capacity is dropped at the door, so its
+ * backlog never grows into anyone else's. Messages that must not be lost are
+ * put instead, and the producer waits for the token or the room. The
+ * dispatcher takes batches in turn from the tenants with queued messages:
+ * each visit credits a tenant {@code quantum * weight} messages, so under
+ * contention every tenant gets its weighted share of the downstream
+ * capacity, however much the others offer, while an idle tenant's share goes
+ * to the busy ones.
+ *
+ * Round robin reorders messages across tenants, so messages sharing an
+ * affinity key, such as a (source, symbol) stream, must never sit in two
+ * queues at once: while a key has messages queued under one tenant, further
+ * ones for it join that queue behind them. They are still admitted and
+ * counted against their own tenant, only served in the other's turn, and the
+ * key is free again as soon as its last queued message is taken.
+ *
+ * Queues, buckets and the round robin ring share one lock, held only to
+ * move messages in and out. Tenants are created on first sight up to
+ * {@code max-tenants}; later ones share the default tenant.
+ */
+@Slf4j
+public final class FairQueue<T> {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    public enum Admission { ADMITTED, THROTTLED, FULL }
+
+    /** Affinity key of items free to be queued under their own tenant whatever else is queued */
+    public static final long NO_AFFINITY = Long.MIN_VALUE;
+
+    private final TenancySettings properties;
+    private final MeterRegistry meterRegistry;
+    private final int quantum;
+    private final ConcurrentHashMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final Tenant defaultTenant;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<Tenant> active = new ArrayDeque<>();
+    private final AffinityPins pins;
+
+    public FairQueue(TenancySettings properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.quantum = Math.max(1, properties.getQuantum());
+        this.pins = new AffinityPins(Math.max(1, properties.getQueueCapacity()));
+        this.defaultTenant = create(DEFAULT_TENANT);
+        tenants.put(DEFAULT_TENANT, defaultTenant);
+        Gauge.builder("market.data.tenant.active", active, ArrayDeque::size)
+                .description("Tenants with queued messages")
+                .register(meterRegistry);
+        Gauge.builder("market.data.tenant.pinned", this, FairQueue::getPinnedCount)
+                .description("Affinity keys with messages queued, each pinned to one tenant queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the tenant of the given name, the default tenant for null or once max-tenants are tracked
+     */
+    public Tenant tenant(String name) {
+        if (name == null) {
+            return defaultTenant;
+        }
+        Tenant tenant = tenants.get(name);
+        if (tenant != null) {
+            return tenant;
+        }
+        synchronized (tenants) {
+            tenant = tenants.get(name);
+            if (tenant == null) {
+                if (tenants.size() >= Math.max(1, properties.getMaxTenants())) {
+                    return defaultTenant;
+                }
+                tenant = create(name);
+                tenants.put(name, tenant);
+                log.info("Tenant {} admitted with weight {}", name, tenant.getWeight());
+            }
+            return tenant;
+        }
+    }
+
+    public Tenant defaultTenant() {
+        return defaultTenant;
+    }
+
+    /**
+     * Queues the item for the tenant unless its rate or queue capacity is exceeded
+     */
+    public Admission offer(Tenant tenant, T item) {
+        return offer(tenant, item, NO_AFFINITY);
+    }
+
+    /**
+     * Queues the item for the tenant unless its rate or queue capacity is exceeded, behind any
+     * item queued with the same affinity key under another tenant
+     */
+    public Admission offer(Tenant tenant, T item, long affinity) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Tenant queue = queueFor(tenant, affinity);
+            Admission admission = tenant.offer(queue, item, affinity, now);
+            if (admission == Admission.ADMITTED) {
+                queued(queue, affinity);
+            }
+            return admission;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the item for the tenant, waiting for its rate and queue capacity to allow it
+     */
+    public void put(Tenant tenant, T item) throws InterruptedException {
+        put(tenant, item, NO_AFFINITY);
+    }
+
+    /**
+     * Queues the item for the tenant, waiting for its rate and queue capacity to allow it, behind any
+     * item queued with the same affinity key under another tenant
+     */
+    public void put(Tenant tenant, T item, long affinity) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                // The key may have been unpinned, or pinned elsewhere, while waiting
+                Tenant queue = queueFor(tenant, affinity);
+                long wait = tenant.tryPut(queue, item, affinity, System.nanoTime());
+                if (wait == 0) {
+                    queued(queue, affinity);
+                    return;
+                }
+                if (wait < 0) {
+                    notFull.await();
+                } else {
+                    notFull.awaitNanos(wait);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fills the batch from the tenant whose turn it is, waiting up to timeout for one to have messages
+     *
+     * @return items taken, 0 on timeout
+     */
+    public int take(Batch<T> batch, long timeout, TimeUnit unit) throws InterruptedException {
+        batch.clear();
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (active.isEmpty()) {
+                if (remaining <= 0) {
+                    return 0;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            Tenant tenant = active.peekFirst();
+            if (tenant.deficit <= 0) {
+                tenant.deficit += quantum * tenant.getWeight();
+            }
+            int taken = tenant.poll(batch, Math.min(tenant.deficit, batch.capacity()), System.nanoTime());
+            tenant.deficit -= taken;
+            batch.tenant = tenant;
+            for (int i = 0; i < taken; i++) {
+                if (batch.affinities[i] != NO_AFFINITY) {
+                    pins.unpin(batch.affinities[i]);
+                }
+            }
+            if (taken > 0 && lock.hasWaiters(notFull)) {
+                notFull.signalAll();
+            }
+
+            if (tenant.isEmpty()) {
+                // An emptied tenant keeps no credit, so idling cannot bank a burst
+                tenant.deficit = 0;
+                tenant.active = false;
+                active.removeFirst();
+            } else if (tenant.deficit <= 0) {
+                active.addLast(active.removeFirst());
+            }
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getTenantCount() {
+        return tenants.size();
+    }
+
+    /**
+     * Affinity keys with items queued
+     */
+    public int getPinnedCount() {
+        lock.lock();
+        try {
+            return pins.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Tenant queueFor(Tenant tenant, long affinity) {
+        if (affinity != NO_AFFINITY) {
+            Tenant owner = pins.owner(affinity);
+            if (owner != null) {
+                return owner;
+            }
+        }
+        return tenant;
+    }
+
+    private void queued(Tenant queue, long affinity) {
+        if (affinity != NO_AFFINITY) {
+            pins.pin(affinity, queue);
+        }
+        if (!queue.active) {
+            queue.active = true;
+            active.addLast(queue);
+            notEmpty.signal();
+        }
+    }
+
+    private Tenant create(String name) {
+        TenancySettings.Limits limits = properties.getTenants().getOrDefault(name, properties.getDefaults());
+        return new Tenant(name, limits, properties.getQueueCapacity(), meterRegistry);
+    }
+
+    /**
+     * Reusable holder for the items of one {@link #take}, all from the same tenant's queue
+     */
+    public static final class Batch<T> {
+
+        private final Object[] items;
+        private final long[] enqueuedNanos;
+        private final long[] affinities;
+        private final Tenant[] origins;
+        private int size;
+        private Tenant tenant;
+
+        public Batch(int capacity) {
+            this.items = new Object[Math.max(1, capacity)];
+            this.enqueuedNanos = new long[items.length];
+            this.affinities = new long[items.length];
+            this.origins = new Tenant[items.length];
+        }
+
+        @SuppressWarnings("unchecked")
+        public T item(int index) {
+            return (T) items[index];
+        }
+
+        public long enqueuedNanos(int index) {
+            return enqueuedNanos[index];
+        }
+
+        public Tenant tenant() {
+            return tenant;
+        }
+
+        /**
+         * Tenant the item was admitted for, which owns its meters
+         */
+        public Tenant origin(int index) {
+            return origins[index];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        int capacity() {
+            return items.length;
+        }
+
+        void add(Object item, long enqueued, long affinity, Tenant origin) {
+            items[size] = item;
+            enqueuedNanos[size] = enqueued;
+            affinities[size] = affinity;
+            origins[size++] = origin;
+        }
+
+        /**
+         * Drops references to the items handed out
+         */
+        public void clear() {
+            for (int i = 0; i < size; i++) {
+                items[i] = null;
+                origins[i] = null;
+            }
+            size = 0;
+            tenant = null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nexusweaver.tenancy;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tenancy Settings
+ *
+ * What the {@link FairQueue} needs to know about tenants, shared by the
+ * services; each binds it under its own prefix and adds what only its
+ * scheduler uses. Tenants without an entry under {@code tenants} use
+ * {@code defaults}.
+ */
+@Data
+public class TenancySettings {
+
+    public enum Key {
+        PORTFOLIO("portfolioId"), TRADER("traderId"), SOURCE("source");
+
+        private final String field;
+
+        Key(String field) {
+            this.field = field;
+        }
+
+        /** Message field naming the tenant */
+        public String field() {
+            return field;
+        }
+    }
+
+    private boolean enabled = false;
+
+    /** Message field naming the tenant; messages without it belong to the default tenant */
+    private Key key = Key.PORTFOLIO;
+
+    /** Messages a tenant of weight 1 may dispatch per round */
+    private int quantum = 16;
+
+    /** Messages queued per tenant before further ones are dropped, or wait when put */
+    private int queueCapacity = 1024;
+
+    /** Tenants tracked separately; later ones share the default tenant */
+    private int maxTenants = 256;
+
+    private Limits defaults = new Limits();
+
+    /** Per-tenant overrides by tenant name */
+    private Map<String, Limits> tenants = new LinkedHashMap<>();
+
+    @Data
+    public static class Limits {
+
+        /** Share of dispatch relative to other tenants */
+        private int weight = 1;
+
+        /** Sustained messages per second, 0 = unlimited */
+        private double rate = 0;
+
+        /** Messages admitted at once above the rate, 0 = one second of rate */
+        private double burst = 0;
+    }
+}
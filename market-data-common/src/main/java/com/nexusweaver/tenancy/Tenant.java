@@ -0,0 +1,168 @@
+package com.nexusweaver.tenancy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tenant
+ *
+ * One tenant's bounded FIFO queue, token bucket and deficit in the
+ * {@link FairQueue}, with its meters tagged by tenant name. A queued message
+ * remembers its affinity key and the tenant it came from, which is not the
+ * queue's tenant when its key was pinned elsewhere. Queue state is only
+ * touched under the fair queue's lock.
+ */
+public final class Tenant {
+
+    private final String name;
+    private final int weight;
+    private final TokenBucket bucket;
+    private final Object[] items;
+    private final long[] enqueuedNanos;
+    private final long[] affinities;
+    private final Tenant[] origins;
+
+    private int head;
+    private int size;
+    int deficit;
+    boolean active;
+
+    private final Counter admitted;
+    private final Counter throttled;
+    private final Counter rejected;
+    private final Timer wait;
+    private final Timer latency;
+
+    Tenant(String name, TenancySettings.Limits limits, int queueCapacity, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.weight = Math.max(1, limits.getWeight());
+        this.bucket = new TokenBucket(limits.getRate(), limits.getBurst(), System.nanoTime());
+        this.items = new Object[Math.max(1, queueCapacity)];
+        this.enqueuedNanos = new long[items.length];
+        this.affinities = new long[items.length];
+        this.origins = new Tenant[items.length];
+
+        this.admitted = Counter.builder("market.data.tenant.admitted")
+                .description("Messages admitted to the tenant's queue")
+                .tag("tenant", name)
+                .register(meterRegistry);
+        this.throttled = Counter.builder("market.data.tenant.dropped")
+                .description("Messages dropped at admission")
+                .tag("tenant", name)
+                .tag("reason", "rate")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("market.data.tenant.dropped")
+                .description("Messages dropped at admission")
+                .tag("tenant", name)
+                .tag("reason", "queue")
+                .register(meterRegistry);
+        this.wait = Timer.builder("market.data.tenant.wait")
+                .description("Time a message waits in its tenant queue")
+                .tag("tenant", name)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        this.latency = Timer.builder("market.data.tenant.latency")
+                .description("Time from admission until the message is through its route")
+                .tag("tenant", name)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        Gauge.builder("market.data.tenant.depth", this, Tenant::depth)
+                .description("Messages queued for the tenant")
+                .tag("tenant", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Records the time from admission until the message was fully processed
+     */
+    public void completed(long enqueuedNanos) {
+        latency.record(System.nanoTime() - enqueuedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    int depth() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Admits an item of this tenant against its own rate into the given tenant's queue, counted here
+     */
+    FairQueue.Admission offer(Tenant queue, Object item, long affinity, long nowNanos) {
+        if (!bucket.tryAcquire(nowNanos)) {
+            throttled.increment();
+            return FairQueue.Admission.THROTTLED;
+        }
+        if (queue.size == queue.items.length) {
+            rejected.increment();
+            return FairQueue.Admission.FULL;
+        }
+        queue.enqueue(item, affinity, this, nowNanos);
+        admitted.increment();
+        return FairQueue.Admission.ADMITTED;
+    }
+
+    /**
+     * Like {@link #offer}, but never drops: the item stays with the caller while there is no token or room
+     *
+     * @return 0 once queued, else nanoseconds until the next token, or -1 to wait for room
+     */
+    long tryPut(Tenant queue, Object item, long affinity, long nowNanos) {
+        if (queue.size == queue.items.length) {
+            return -1;
+        }
+        long wait = bucket.waitNanos(nowNanos);
+        if (wait > 0) {
+            return wait;
+        }
+        bucket.tryAcquire(nowNanos);
+        queue.enqueue(item, affinity, this, nowNanos);
+        admitted.increment();
+        return 0;
+    }
+
+    /**
+     * Moves up to max queued items into the batch, oldest first
+     */
+    int poll(FairQueue.Batch<?> batch, int max, long nowNanos) {
+        int count = Math.min(max, size);
+        for (int i = 0; i < count; i++) {
+            long enqueued = enqueuedNanos[head];
+            batch.add(items[head], enqueued, affinities[head], origins[head]);
+            items[head] = null;
+            origins[head] = null;
+            head = (head + 1) % items.length;
+            wait.record(nowNanos - enqueued, TimeUnit.NANOSECONDS);
+        }
+        size -= count;
+        return count;
+    }
+
+    private void enqueue(Object item, long affinity, Tenant origin, long nowNanos) {
+        int tail = (head + size) % items.length;
+        items[tail] = item;
+        enqueuedNanos[tail] = nowNanos;
+        affinities[tail] = affinity;
+        origins[tail] = origin;
+        size++;
+    }
+}
@@ -0,0 +1,60 @@
+package com.nexusweaver.tenancy;
+
+/**
+ * Token Bucket
+ *
+ * Admits up to {@code rate} messages per second on average and up to
+ * {@code burst} at once. Tokens are refilled from elapsed time when a message
+ * asks for one, so an idle bucket costs nothing. Not thread-safe: the fair
+ * queue only touches it under its lock.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final double ratePerNano;
+    private final double burst;
+    private double tokens;
+    private long lastNanos;
+
+    /**
+     * @param rate  tokens per second, 0 or less for a bucket that never runs dry
+     * @param burst bucket size, 0 or less for one second of rate
+     */
+    TokenBucket(double rate, double burst, long nowNanos) {
+        this.ratePerNano = rate > 0 ? rate / NANOS_PER_SECOND : 0;
+        this.burst = rate <= 0 ? 0 : burst > 0 ? Math.max(1, burst) : Math.max(1, rate);
+        this.tokens = this.burst;
+        this.lastNanos = nowNanos;
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        if (ratePerNano == 0) {
+            return true;
+        }
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Nanoseconds until a token is available, 0 when one is now
+     */
+    long waitNanos(long nowNanos) {
+        if (ratePerNano == 0) {
+            return 0;
+        }
+        refill(nowNanos);
+        return tokens >= 1 ? 0 : Math.max(1, (long) Math.ceil((1 - tokens) / ratePerNano));
+    }
+
+    private void refill(long nowNanos) {
+        if (tokens < burst) {
+            tokens = Math.min(burst, tokens + (nowNanos - lastNanos) * ratePerNano);
+        }
+        lastNanos = nowNanos;
+    }
+}
@@ -0,0 +1,27 @@
+package com.nexusweaver.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A capped intern table keeps its ids once full and turns unseen values away with the null id
+ */
+class InternTableTest {
+
+    @Test
+    void fullTableRefusesUnseenValues() {
+        InternTable table = new InternTable("test", 2);
+        int first = table.intern("P1");
+        int second = table.intern("P2");
+
+        assertThat(table.intern("P3")).isEqualTo(InternTable.NULL_ID);
+        assertThat(table.intern("P4")).isEqualTo(InternTable.NULL_ID);
+        assertThat(table.intern("P1")).isEqualTo(first);
+        assertThat(table.intern("P2")).isEqualTo(second);
+        assertThat(table.lookup("P3")).isEqualTo(InternTable.NULL_ID);
+        assertThat(table.name(second)).isEqualTo("P2");
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.getRefused()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,123 @@
+package com.nexusweaver.tenancy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Weighted turns, admission, lossless puts and affinity pinning on the fair queue both services share
+ */
+class FairQueueTest {
+
+    private static final long KEY = 42L;
+
+    @Test
+    void tenantsTakeTurnsByWeight() throws Exception {
+        TenancySettings settings = settings(1, 16);
+        settings.getTenants().put("heavy", limits(2, 0));
+        FairQueue<String> queue = new FairQueue<>(settings, new SimpleMeterRegistry());
+        Tenant heavy = queue.tenant("heavy");
+        Tenant light = queue.tenant("light");
+        for (int i = 0; i < 6; i++) {
+            queue.offer(heavy, "h" + i);
+            queue.offer(light, "l" + i);
+        }
+
+        FairQueue.Batch<String> batch = new FairQueue.Batch<>(16);
+        List<String> turns = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            queue.take(batch, 1, TimeUnit.SECONDS);
+            turns.add(batch.tenant().getName() + ":" + batch.size());
+        }
+        assertThat(turns).containsExactly("heavy:2", "light:1", "heavy:2", "light:1");
+    }
+
+    @Test
+    void offersOverRateOrCapacityAreDropped() {
+        TenancySettings settings = settings(16, 2);
+        settings.getTenants().put("limited", limits(1, 1));
+        FairQueue<String> queue = new FairQueue<>(settings, new SimpleMeterRegistry());
+
+        Tenant limited = queue.tenant("limited");
+        assertThat(queue.offer(limited, "a")).isEqualTo(FairQueue.Admission.ADMITTED);
+        assertThat(queue.offer(limited, "b")).isEqualTo(FairQueue.Admission.THROTTLED);
+
+        Tenant open = queue.tenant("open");
+        assertThat(queue.offer(open, "a")).isEqualTo(FairQueue.Admission.ADMITTED);
+        assertThat(queue.offer(open, "b")).isEqualTo(FairQueue.Admission.ADMITTED);
+        assertThat(queue.offer(open, "c")).isEqualTo(FairQueue.Admission.FULL);
+    }
+
+    @Test
+    void putWaitsForRoomInsteadOfDropping() throws Exception {
+        FairQueue<String> queue = new FairQueue<>(settings(16, 1), new SimpleMeterRegistry());
+        Tenant tenant = queue.tenant("trades");
+        queue.put(tenant, "first");
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            try {
+                queue.put(tenant, "second");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+
+        FairQueue.Batch<String> batch = new FairQueue.Batch<>(16);
+        queue.take(batch, 1, TimeUnit.SECONDS);
+        assertThat(batch.item(0)).isEqualTo("first");
+        second.get(5, TimeUnit.SECONDS);
+        queue.take(batch, 1, TimeUnit.SECONDS);
+        assertThat(batch.item(0)).isEqualTo("second");
+    }
+
+    @Test
+    void pinnedKeyQueuesBehindItsOwnerAndIsChargedToItsTenant() throws Exception {
+        FairQueue<String> queue = new FairQueue<>(settings(16, 16), new SimpleMeterRegistry());
+        Tenant first = queue.tenant("first");
+        Tenant second = queue.tenant("second");
+        queue.offer(first, "a1", KEY);
+        queue.offer(second, "b1", KEY);
+        queue.offer(second, "b2");
+        assertThat(queue.getPinnedCount()).isEqualTo(1);
+
+        FairQueue.Batch<String> batch = new FairQueue.Batch<>(16);
+        queue.take(batch, 1, TimeUnit.SECONDS);
+        assertThat(batch.tenant()).isSameAs(first);
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(batch.item(0)).isEqualTo("a1");
+        assertThat(batch.item(1)).isEqualTo("b1");
+        assertThat(batch.origin(0)).isSameAs(first);
+        assertThat(batch.origin(1)).isSameAs(second);
+        assertThat(queue.getPinnedCount()).isZero();
+
+        // Unpinned, the key goes back to its own tenant's queue
+        queue.offer(second, "b3", KEY);
+        queue.take(batch, 1, TimeUnit.SECONDS);
+        assertThat(batch.tenant()).isSameAs(second);
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(batch.item(1)).isEqualTo("b3");
+    }
+
+    private static TenancySettings settings(int quantum, int queueCapacity) {
+        TenancySettings settings = new TenancySettings();
+        settings.setQuantum(quantum);
+        settings.setQueueCapacity(queueCapacity);
+        return settings;
+    }
+
+    private static TenancySettings.Limits limits(int weight, double rate) {
+        TenancySettings.Limits limits = new TenancySettings.Limits();
+        limits.setWeight(weight);
+        limits.setRate(rate);
+        limits.setBurst(rate);
+        return limits;
+    }
+}
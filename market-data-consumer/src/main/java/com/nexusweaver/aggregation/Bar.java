@@ -0,0 +1,13 @@
+package com.nexusweaver.aggregation;
+
+import java.time.Instant;
+
+/**
+ * Closed window for one symbol: OHLC, volume, VWAP, tick count and quoted spread statistics.
+ * VWAP is NaN without traded volume and the spread fields are NaN without two-sided quotes.
+ */
+public record Bar(String symbol, String window, Instant start, Instant end,
+                  double open, double high, double low, double close,
+                  long volume, double vwap, long ticks,
+                  double spreadMin, double spreadMax, double spreadAvg) {
+}
@@ -0,0 +1,338 @@
+package com.nexusweaver.aggregation;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickFlyweight;
+import com.nexusweaver.config.AggregationProperties;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.processors.RoutingFieldExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.service.ServiceSupport;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bar Aggregator
+ *
+ * Incremental OHLCV/VWAP aggregation over every consumed tick. Each tick is
+ * folded into one pane per configured window in O(1) without allocating;
+ * state lives in primitive arrays indexed by consumer symbol id, guarded by
+ * striped locks so the concurrent stream consumers rarely contend.
+ *
+ * Windows close on event time. The watermark is the latest tick timestamp
+ * seen, following the wall clock once the stream has been idle, and a window
+ * closes when the watermark passes its end plus the allowed lateness. Ticks
+ * for an already closed pane are counted as late and dropped. Closed windows
+ * are published as {@link Bar}s to the bars endpoint and the latest bar per
+ * symbol and window stays queryable.
+ */
+@Slf4j
+public class BarAggregator extends ServiceSupport implements Processor {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final double PRICE_SCALE = Math.pow(10, MarketDataSchema.PRICE_DECIMALS);
+    private static final long NO_WATERMARK = Long.MIN_VALUE;
+
+    private final String barsEndpoint;
+    private final ProducerTemplate producerTemplate;
+    private final int maxSymbols;
+    private final long latenessNanos;
+    private final long idleTimeoutNanos;
+    private final long closeIntervalNanos;
+    private final WindowState[] windows;
+    private final AtomicLong[] closedThrough;
+    private final List<AtomicReferenceArray<Bar>> latest = new ArrayList<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final AtomicLong watermark = new AtomicLong(NO_WATERMARK);
+    private volatile long watermarkAdvancedNanos;
+
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder skippedSymbols = new LongAdder();
+    private final Counter[] late;
+    private final Counter[] bars;
+    private final Counter[] overruns;
+
+    private volatile boolean running;
+    private Thread closer;
+
+    public BarAggregator(AggregationProperties properties, String barsEndpoint, ProducerTemplate producerTemplate,
+                         MeterRegistry meterRegistry) {
+        this.barsEndpoint = barsEndpoint;
+        this.producerTemplate = producerTemplate;
+        this.maxSymbols = properties.getMaxSymbols();
+        this.latenessNanos = properties.getAllowedLateness().toNanos();
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.closeIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), properties.getCloseInterval().toNanos());
+
+        List<AggregationProperties.Window> definitions = properties.getWindows();
+        this.windows = new WindowState[definitions.size()];
+        this.closedThrough = new AtomicLong[definitions.size()];
+        this.late = new Counter[definitions.size()];
+        this.bars = new Counter[definitions.size()];
+        this.overruns = new Counter[definitions.size()];
+        for (int i = 0; i < windows.length; i++) {
+            AggregationProperties.Window definition = definitions.get(i);
+            long size = definition.getSize().toNanos();
+            long slide = definition.getSlide() != null ? definition.getSlide().toNanos() : size;
+            windows[i] = new WindowState(definition.getName(), size, slide, latenessNanos, maxSymbols);
+            closedThrough[i] = new AtomicLong(NO_WATERMARK);
+            latest.add(new AtomicReferenceArray<>(maxSymbols));
+            late[i] = Counter.builder("market.data.aggregation.late")
+                    .description("Ticks dropped for arriving after their window closed")
+                    .tag("window", definition.getName())
+                    .register(meterRegistry);
+            bars[i] = Counter.builder("market.data.aggregation.bars")
+                    .description("Bars published for closed windows")
+                    .tag("window", definition.getName())
+                    .register(meterRegistry);
+            overruns[i] = Counter.builder("market.data.aggregation.overruns")
+                    .description("Panes discarded before closing because event time outran the closer")
+                    .tag("window", definition.getName())
+                    .register(meterRegistry);
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        FunctionCounter.builder("market.data.aggregation.updates", updates, LongAdder::sum)
+                .description("Ticks folded into the aggregation windows")
+                .register(meterRegistry);
+        FunctionCounter.builder("market.data.aggregation.symbols.skipped", skippedSymbols, LongAdder::sum)
+                .description("Ticks skipped because their symbol is beyond the configured maximum")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Folds the tick carried by the exchange into every window; requires the routing fields to be extracted
+     */
+    @Override
+    public void process(Exchange exchange) {
+        String symbol = exchange.getProperty(RoutingFieldExtractor.SYMBOL, String.class);
+        if (symbol == null) {
+            return;
+        }
+        int symbolId = InternTable.SYMBOLS.intern(symbol);
+        if (symbolId >= maxSymbols) {
+            skippedSymbols.increment();
+            return;
+        }
+
+        long time;
+        long price;
+        long volume;
+        long spread = MarketDataSchema.NULL_VALUE;
+        Object body = exchange.getIn().getBody();
+        if (body instanceof TickFlyweight tick) {
+            time = tick.timestampNanos();
+            price = tick.price();
+            volume = tick.volume();
+            long bid = tick.bid();
+            long ask = tick.ask();
+            if (bid != MarketDataSchema.NULL_VALUE && ask != MarketDataSchema.NULL_VALUE) {
+                spread = ask - bid;
+            }
+        } else if (body instanceof Map<?, ?> fields) {
+            time = toEpochNanos(fields.get("timestamp"));
+            price = toScaled(fields.get("price"));
+            volume = fields.get("volume") instanceof Number number ? number.longValue() : MarketDataSchema.NULL_VALUE;
+            long bid = toScaled(fields.get("bid"));
+            long ask = toScaled(fields.get("ask"));
+            if (bid != MarketDataSchema.NULL_VALUE && ask != MarketDataSchema.NULL_VALUE) {
+                spread = ask - bid;
+            }
+        } else {
+            return;
+        }
+        if (price == MarketDataSchema.NULL_VALUE) {
+            return;
+        }
+        if (time == MarketDataSchema.NULL_VALUE) {
+            time = EpochClock.nanos();
+        }
+        advanceWatermark(time);
+
+        synchronized (locks[symbolId & (LOCK_STRIPES - 1)]) {
+            for (int i = 0; i < windows.length; i++) {
+                WindowState window = windows[i];
+                long closed = closedThrough[i].get();
+                if (closed == NO_WATERMARK) {
+                    // The first tick opens the window's timeline
+                    closedThrough[i].compareAndSet(NO_WATERMARK, window.paneStartOf(time));
+                    closed = closedThrough[i].get();
+                }
+                if (window.paneStartOf(time) + window.slideNanos() <= closed) {
+                    late[i].increment();
+                } else if (!window.update(symbolId, time, price, volume, spread, closed)) {
+                    overruns[i].increment();
+                }
+            }
+        }
+        updates.increment();
+    }
+
+    /**
+     * Latest closed bar per window for the symbol, empty if none has closed yet
+     */
+    public Map<String, Bar> latest(String symbol) {
+        Map<String, Bar> result = new LinkedHashMap<>();
+        int symbolId = InternTable.SYMBOLS.lookup(symbol);
+        if (symbolId == InternTable.NULL_ID || symbolId >= maxSymbols) {
+            return result;
+        }
+        for (int i = 0; i < windows.length; i++) {
+            Bar bar = latest.get(i).get(symbolId);
+            if (bar != null) {
+                result.put(windows[i].name(), bar);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Map<String, Bar>> snapshot() {
+        Map<String, Map<String, Bar>> result = new LinkedHashMap<>();
+        int symbols = Math.min(InternTable.SYMBOLS.size(), maxSymbols);
+        for (int symbolId = 0; symbolId < symbols; symbolId++) {
+            String symbol = InternTable.SYMBOLS.name(symbolId);
+            Map<String, Bar> symbolBars = latest(symbol);
+            if (!symbolBars.isEmpty()) {
+                result.put(symbol, symbolBars);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        running = true;
+        closer = new Thread(this::closeLoop, "bar-aggregator-closer");
+        closer.setDaemon(true);
+        closer.start();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (closer != null) {
+            closer.interrupt();
+            closer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void advanceWatermark(long time) {
+        long current = watermark.get();
+        while (time > current) {
+            if (watermark.compareAndSet(current, time)) {
+                watermarkAdvancedNanos = System.nanoTime();
+                return;
+            }
+            current = watermark.get();
+        }
+    }
+
+    private long currentWatermark() {
+        long current = watermark.get();
+        if (current == NO_WATERMARK) {
+            return NO_WATERMARK;
+        }
+        long idle = System.nanoTime() - watermarkAdvancedNanos;
+        return idle > idleTimeoutNanos ? current + idle : current;
+    }
+
+    private void closeLoop() {
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(closeIntervalNanos);
+                long now = currentWatermark();
+                if (now == NO_WATERMARK) {
+                    continue;
+                }
+                for (int i = 0; i < windows.length; i++) {
+                    closeWindows(i, now);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Closing aggregation windows failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Closes every pane of the window that the watermark has passed by the allowed lateness
+     */
+    private void closeWindows(int index, long now) {
+        WindowState window = windows[index];
+        AtomicLong closed = closedThrough[index];
+        long slide = window.slideNanos();
+        long open = now - latenessNanos;
+        if (closed.get() == NO_WATERMARK) {
+            return;
+        }
+        while (closed.get() + slide <= open) {
+            long end = closed.get() + slide;
+            if (end < open - window.sizeNanos() - slide) {
+                // Event time jumped: the panes in between were never kept, resume at the newest full window
+                closed.set(window.paneStartOf(open - window.sizeNanos()));
+                continue;
+            }
+            // Publish the close before reading the panes; later ticks for them count as late
+            closed.set(end);
+            emit(index, end);
+        }
+    }
+
+    private void emit(int index, long end) {
+        WindowState window = windows[index];
+        AtomicReferenceArray<Bar> latestBars = latest.get(index);
+        int symbols = Math.min(InternTable.SYMBOLS.size(), maxSymbols);
+        for (int symbolId = 0; symbolId < symbols; symbolId++) {
+            Bar bar;
+            synchronized (locks[symbolId & (LOCK_STRIPES - 1)]) {
+                bar = window.close(symbolId, InternTable.SYMBOLS.name(symbolId), end);
+            }
+            if (bar == null) {
+                continue;
+            }
+            latestBars.set(symbolId, bar);
+            bars[index].increment();
+            producerTemplate.sendBody(barsEndpoint, bar);
+        }
+    }
+
+    private static long toScaled(Object value) {
+        return value instanceof Number number ? Math.round(number.doubleValue() * PRICE_SCALE) : MarketDataSchema.NULL_VALUE;
+    }
+
+    /**
+     * JSON event time: an ISO-8601 instant, or decimal epoch seconds when dates are written as timestamps
+     */
+    private static long toEpochNanos(Object value) {
+        if (value instanceof String text) {
+            try {
+                return EpochClock.toEpochNanos(Instant.parse(text));
+            } catch (DateTimeParseException e) {
+                log.debug("Ignoring unparseable timestamp: {}", text);
+            }
+        } else if (value instanceof Number number) {
+            return Math.round(number.doubleValue() * 1_000_000_000L);
+        }
+        return MarketDataSchema.NULL_VALUE;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nexusweaver.aggregation;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the latest closed bars (/actuator/bars[/{symbol}])
+ */
+@Component
+@ConditionalOnBean(BarAggregator.class)
+@Endpoint(id = "bars")
+public class BarEndpoint {
+
+    private final BarAggregator barAggregator;
+
+    public BarEndpoint(BarAggregator barAggregator) {
+        this.barAggregator = barAggregator;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Bar>> bars() {
+        return barAggregator.snapshot();
+    }
+
+    @ReadOperation
+    public Map<String, Bar> bars(@Selector String symbol) {
+        return barAggregator.latest(symbol);
+    }
+}
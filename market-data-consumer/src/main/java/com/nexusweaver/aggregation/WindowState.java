@@ -0,0 +1,208 @@
+package com.nexusweaver.aggregation;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.model.EpochClock;
+
+import java.util.Arrays;
+
+/**
+ * Window State
+ *
+ * Pane-based state for one window definition across all symbols. Event time
+ * is cut into panes one slide long; a tumbling window is a single pane and a
+ * sliding window merges {@code size / slide} consecutive panes when it closes,
+ * so a tick only ever touches its own pane. Panes sit in a per-symbol ring in
+ * flat primitive arrays indexed {@code symbolId * ring + pane}, and a slot is
+ * reset in place when a newer pane claims it. Not thread-safe; callers hold
+ * the symbol's lock.
+ */
+final class WindowState {
+
+    private static final long NO_PANE = Long.MIN_VALUE;
+    private static final double PRICE_SCALE = Math.pow(10, MarketDataSchema.PRICE_DECIMALS);
+
+    private final String name;
+    private final long sizeNanos;
+    private final long slideNanos;
+    private final int panesPerWindow;
+    private final int ring;
+
+    private final long[] paneStart;
+    private final long[] openTime;
+    private final long[] open;
+    private final long[] closeTime;
+    private final long[] close;
+    private final long[] high;
+    private final long[] low;
+    private final long[] volume;
+    private final double[] notional;
+    private final long[] ticks;
+    private final long[] spreadMin;
+    private final long[] spreadMax;
+    private final long[] spreadSum;
+    private final long[] spreadCount;
+
+    WindowState(String name, long sizeNanos, long slideNanos, long latenessNanos, int maxSymbols) {
+        if (slideNanos <= 0 || sizeNanos % slideNanos != 0) {
+            throw new IllegalArgumentException("Window " + name + " size must be a positive multiple of its slide");
+        }
+        this.name = name;
+        this.sizeNanos = sizeNanos;
+        this.slideNanos = slideNanos;
+        this.panesPerWindow = (int) (sizeNanos / slideNanos);
+        // Panes of the window being merged, plus those still open within the lateness, plus the newest
+        this.ring = panesPerWindow + (int) ((latenessNanos + slideNanos - 1) / slideNanos) + 1;
+
+        int slots = maxSymbols * ring;
+        this.paneStart = new long[slots];
+        Arrays.fill(paneStart, NO_PANE);
+        this.openTime = new long[slots];
+        this.open = new long[slots];
+        this.closeTime = new long[slots];
+        this.close = new long[slots];
+        this.high = new long[slots];
+        this.low = new long[slots];
+        this.volume = new long[slots];
+        this.notional = new double[slots];
+        this.ticks = new long[slots];
+        this.spreadMin = new long[slots];
+        this.spreadMax = new long[slots];
+        this.spreadSum = new long[slots];
+        this.spreadCount = new long[slots];
+    }
+
+    String name() {
+        return name;
+    }
+
+    long sizeNanos() {
+        return sizeNanos;
+    }
+
+    long slideNanos() {
+        return slideNanos;
+    }
+
+    int ring() {
+        return ring;
+    }
+
+    long paneStartOf(long timeNanos) {
+        return timeNanos - Math.floorMod(timeNanos, slideNanos);
+    }
+
+    /**
+     * Adds one tick to its pane; prices are scaled, volume and spread may be NULL_VALUE.
+     * Returns false if claiming the slot discarded a pane not yet closed, which happens only
+     * when event time outruns the closer by more than the ring, as in a max-speed replay.
+     */
+    boolean update(int symbolId, long timeNanos, long price, long tickVolume, long spread, long closedThrough) {
+        long start = paneStartOf(timeNanos);
+        int slot = slot(symbolId, start);
+        boolean kept = true;
+        if (paneStart[slot] != start) {
+            kept = paneStart[slot] == NO_PANE || ticks[slot] == 0 || paneStart[slot] + slideNanos <= closedThrough;
+            reset(slot, start);
+        }
+
+        if (ticks[slot] == 0 || timeNanos < openTime[slot]) {
+            openTime[slot] = timeNanos;
+            open[slot] = price;
+        }
+        if (ticks[slot] == 0 || timeNanos >= closeTime[slot]) {
+            closeTime[slot] = timeNanos;
+            close[slot] = price;
+        }
+        if (price > high[slot]) {
+            high[slot] = price;
+        }
+        if (price < low[slot]) {
+            low[slot] = price;
+        }
+        ticks[slot]++;
+
+        if (tickVolume != MarketDataSchema.NULL_VALUE && tickVolume > 0) {
+            volume[slot] += tickVolume;
+            notional[slot] += (double) price * tickVolume;
+        }
+        if (spread != MarketDataSchema.NULL_VALUE) {
+            spreadMin[slot] = Math.min(spreadMin[slot], spread);
+            spreadMax[slot] = Math.max(spreadMax[slot], spread);
+            spreadSum[slot] += spread;
+            spreadCount[slot]++;
+        }
+        return kept;
+    }
+
+    /**
+     * Merges the panes of the window ending at {@code endNanos}, or returns null if it saw no ticks
+     */
+    Bar close(int symbolId, String symbol, long endNanos) {
+        long startNanos = endNanos - sizeNanos;
+        long barTicks = 0;
+        long barOpenTime = 0;
+        long barOpen = 0;
+        long barCloseTime = 0;
+        long barClose = 0;
+        long barHigh = Long.MIN_VALUE;
+        long barLow = Long.MAX_VALUE;
+        long barVolume = 0;
+        double barNotional = 0;
+        long barSpreadMin = Long.MAX_VALUE;
+        long barSpreadMax = Long.MIN_VALUE;
+        long barSpreadSum = 0;
+        long barSpreadCount = 0;
+
+        for (long pane = startNanos; pane < endNanos; pane += slideNanos) {
+            int slot = slot(symbolId, pane);
+            if (paneStart[slot] != pane || ticks[slot] == 0) {
+                continue;
+            }
+            if (barTicks == 0 || openTime[slot] < barOpenTime) {
+                barOpenTime = openTime[slot];
+                barOpen = open[slot];
+            }
+            if (barTicks == 0 || closeTime[slot] >= barCloseTime) {
+                barCloseTime = closeTime[slot];
+                barClose = close[slot];
+            }
+            barHigh = Math.max(barHigh, high[slot]);
+            barLow = Math.min(barLow, low[slot]);
+            barTicks += ticks[slot];
+            barVolume += volume[slot];
+            barNotional += notional[slot];
+            barSpreadMin = Math.min(barSpreadMin, spreadMin[slot]);
+            barSpreadMax = Math.max(barSpreadMax, spreadMax[slot]);
+            barSpreadSum += spreadSum[slot];
+            barSpreadCount += spreadCount[slot];
+        }
+        if (barTicks == 0) {
+            return null;
+        }
+
+        boolean spreads = barSpreadCount > 0;
+        return new Bar(symbol, name, EpochClock.toInstant(startNanos), EpochClock.toInstant(endNanos),
+                barOpen / PRICE_SCALE, barHigh / PRICE_SCALE, barLow / PRICE_SCALE, barClose / PRICE_SCALE,
+                barVolume, barVolume > 0 ? barNotional / barVolume / PRICE_SCALE : Double.NaN, barTicks,
+                spreads ? barSpreadMin / PRICE_SCALE : Double.NaN,
+                spreads ? barSpreadMax / PRICE_SCALE : Double.NaN,
+                spreads ? (double) barSpreadSum / barSpreadCount / PRICE_SCALE : Double.NaN);
+    }
+
+    private int slot(int symbolId, long paneStartNanos) {
+        return symbolId * ring + (int) Math.floorMod(Math.floorDiv(paneStartNanos, slideNanos), (long) ring);
+    }
+
+    private void reset(int slot, long start) {
+        paneStart[slot] = start;
+        ticks[slot] = 0;
+        high[slot] = Long.MIN_VALUE;
+        low[slot] = Long.MAX_VALUE;
+        volume[slot] = 0;
+        notional[slot] = 0;
+        spreadMin[slot] = Long.MAX_VALUE;
+        spreadMax[slot] = Long.MIN_VALUE;
+        spreadSum[slot] = 0;
+        spreadCount[slot] = 0;
+    }
+}
@@ -0,0 +1,45 @@
+package com.nexusweaver.codec;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.DataFormat;
+import org.apache.camel.spi.DataFormatName;
+import org.apache.camel.support.service.ServiceSupport;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Binary Tick Data Format
+ *
+ * Camel data format for the {@link MarketDataSchema} wire layout produced by the
+ * ingestion service. Unmarshalling does not decode anything: the body becomes a
+ * {@link TickFlyweight} over the raw bytes and fields are read on demand.
+ */
+@Component
+public class BinaryTickDataFormat extends ServiceSupport implements DataFormat, DataFormatName {
+
+    public static final String NAME = "nexus-tick";
+
+    @Override
+    public String getDataFormatName() {
+        return NAME;
+    }
+
+    @Override
+    public void marshal(Exchange exchange, Object graph, OutputStream stream) throws Exception {
+        if (!(graph instanceof TickFlyweight flyweight)) {
+            throw new IllegalArgumentException("Cannot marshal " + graph.getClass().getName() + " as " + NAME);
+        }
+        stream.write(flyweight.buffer(), flyweight.offset(), flyweight.encodedLength());
+        exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, MarketDataSchema.CONTENT_TYPE);
+    }
+
+    @Override
+    public Object unmarshal(Exchange exchange, InputStream stream) throws Exception {
+        // Avoid copying through the stream when the message already holds the raw bytes
+        Object body = exchange.getIn().getBody();
+        byte[] bytes = body instanceof byte[] raw ? raw : stream.readAllBytes();
+        return new TickFlyweight().wrap(bytes);
+    }
+}
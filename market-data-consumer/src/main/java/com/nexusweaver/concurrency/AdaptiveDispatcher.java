@@ -0,0 +1,263 @@
+package com.nexusweaver.concurrency;
+
+import com.nexusweaver.config.ProcessingProperties;
+import com.nexusweaver.config.TenancyProperties;
+import com.nexusweaver.metrics.LatencyTimers;
+import com.nexusweaver.metrics.PipelineLatency;
+import com.nexusweaver.tenancy.FairQueue;
+import com.nexusweaver.tenancy.Tenant;
+import com.nexusweaver.tenancy.TenantResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.service.ServiceSupport;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive Dispatcher
+ *
+ * Runs a processing route on a worker thread for each exchange, as many at
+ * once as the {@link AimdLimiter} allows. The route gets a copy; the
+ * original exchange is suspended until the copy is through, then picks up
+ * the copy's failure, if any, and continues its own route on the worker. So
+ * the caller still sees the message as processed only once its route has
+ * finished: offsets, acknowledgements, the idempotent consumer and the
+ * latency trace all follow the real outcome, while the limit, not a fixed
+ * pool size, decides how many routes run together. Each route's outcome and
+ * duration feed the limiter.
+ *
+ * With tenancy, the exchange waits in its tenant's {@link FairQueue} instead
+ * and a scheduler thread takes the permits on the queues' behalf in deficit
+ * round robin order, so a tenant flooding the stream waits for its own share
+ * of the limit instead of everyone's. Over its rate or queue capacity a
+ * tenant's market data is dropped and counted, while lossless endpoints such
+ * as trade processing hold the consuming thread until the tenant is admitted,
+ * pushing back on the stream rather than losing a message that has already
+ * been marked seen.
+ */
+@Slf4j
+public class AdaptiveDispatcher extends ServiceSupport {
+
+    private final ProcessingProperties properties;
+    private final ProducerTemplate producerTemplate;
+    private final MeterRegistry meterRegistry;
+    private final PipelineLatency latency;
+    private final LongSupplier lag;
+    private final FairQueue<Pending> tenants;
+    private final TenantResolver tenantResolver;
+
+    private final Timer dispatchTime;
+
+    private ExecutorService executor;
+    private AimdLimiter limiter;
+    private volatile boolean running;
+    private Thread scheduler;
+
+    /**
+     * @param lag     records behind the stream tail, 0 when unknown
+     * @param tenancy per-tenant fair scheduling, null to dispatch in arrival order
+     */
+    public AdaptiveDispatcher(ProcessingProperties properties, ProducerTemplate producerTemplate,
+                              MeterRegistry meterRegistry, PipelineLatency latency, LongSupplier lag,
+                              TenancyProperties tenancy) {
+        this.properties = properties;
+        this.producerTemplate = producerTemplate;
+        this.meterRegistry = meterRegistry;
+        this.latency = latency;
+        this.lag = lag;
+        this.tenants = tenancy != null ? new FairQueue<>(tenancy, meterRegistry) : null;
+        this.tenantResolver = tenancy != null ? new TenantResolver(tenancy.getKey()) : null;
+        this.dispatchTime = LatencyTimers.histogram(Timer.builder(PipelineLatency.DISPATCH_TIMER)
+                .description("Time a dispatched exchange spends in its processing route"))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Processor dispatching each exchange to the endpoint, to be placed where the route used to call it
+     *
+     * @param lossless wait for tenant admission instead of dropping the exchange
+     */
+    public AsyncProcessor to(String endpoint, boolean lossless) {
+        Counter dropped = lossless ? null : Counter.builder("market.data.consumer.dispatch.dropped")
+                .description("Exchanges dropped at tenant admission instead of being processed")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return new AsyncProcessorSupport() {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                return dispatch(new Pending(endpoint, exchange, callback, latency.handOff()), dropped);
+            }
+        };
+    }
+
+    /**
+     * @param dropped counter for exchanges over their tenant's limits, null to wait for admission instead
+     */
+    private boolean dispatch(Pending pending, Counter dropped) {
+        Exchange exchange = pending.exchange();
+        try {
+            if (tenants == null) {
+                limiter.acquire();
+                execute(pending, null, 0);
+                return false;
+            }
+            Tenant tenant = tenants.tenant(tenantResolver.tenant(exchange));
+            if (dropped == null) {
+                tenants.put(tenant, pending);
+                return false;
+            }
+            FairQueue.Admission admission = tenants.offer(tenant, pending);
+            if (admission == FairQueue.Admission.ADMITTED) {
+                return false;
+            }
+            dropped.increment();
+            if (log.isDebugEnabled()) {
+                log.debug("Dropping exchange {} for {} from tenant {}: {}", exchange.getExchangeId(),
+                        pending.endpoint(), tenant.getName(), admission);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.setException(e);
+        }
+        pending.callback().done(true);
+        return true;
+    }
+
+    /**
+     * Runs the processing route for a copy holding a permit, gives the permit back with its outcome
+     * and resumes the original exchange
+     */
+    private void execute(Pending pending, Tenant tenant, long enqueuedNanos) {
+        Exchange exchange = pending.exchange();
+        Exchange copy = exchange.copy();
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                boolean failed = true;
+                try {
+                    producerTemplate.send(pending.endpoint(), copy);
+                    failed = copy.isFailed() || copy.getProperty(Exchange.EXCEPTION_CAUGHT) != null;
+                    copyOutcome(copy, exchange);
+                } catch (RuntimeException e) {
+                    log.error("Dispatch to {} failed: {}", pending.endpoint(), e.getMessage());
+                    exchange.setException(e);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    dispatchTime.record(elapsed, TimeUnit.NANOSECONDS);
+                    limiter.release(elapsed, failed);
+                    if (tenant != null) {
+                        tenant.completed(enqueuedNanos);
+                    }
+                }
+                latency.resume(pending.trace());
+                pending.callback().done(false);
+            });
+        } catch (RuntimeException e) {
+            // Rejected on shutdown
+            limiter.release(0, true);
+            exchange.setException(e);
+            pending.callback().done(false);
+        }
+    }
+
+    /**
+     * Carries a failure of the copy over to the original, whether it is still pending or was handled
+     * by the processing route's error handler, so the caller's completions see it
+     */
+    private static void copyOutcome(Exchange copy, Exchange exchange) {
+        if (copy.getException() != null) {
+            exchange.setException(copy.getException());
+        } else if (copy.getProperty(Exchange.EXCEPTION_CAUGHT) != null || ExchangeHelper.isFailureHandled(copy)) {
+            exchange.setProperty(Exchange.EXCEPTION_CAUGHT, copy.getProperty(Exchange.EXCEPTION_CAUGHT));
+            ExchangeHelper.setFailureHandled(exchange);
+        }
+    }
+
+    /**
+     * Takes a permit for each queued message in the fair queue's order
+     */
+    private void scheduleLoop() {
+        FairQueue.Batch<Pending> batch = new FairQueue.Batch<>(64);
+        while (true) {
+            try {
+                int taken = tenants.take(batch, 100, TimeUnit.MILLISECONDS);
+                for (int i = 0; i < taken; i++) {
+                    limiter.acquire();
+                    execute(batch.item(i), batch.tenant(), batch.enqueuedNanos(i));
+                }
+                if (taken == 0 && !running) {
+                    // Stopped and drained
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Tenant scheduling stopped: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ExecutorService virtual = properties.isVirtualThreads() ? ProcessingExecutors.virtualThreads() : null;
+        int maxLimit = properties.getLimiter().getMaxLimit();
+        if (virtual != null) {
+            executor = virtual;
+        } else {
+            maxLimit = Math.min(maxLimit, properties.getThreadPoolSize());
+            executor = ProcessingExecutors.platformThreads("consumer-processing", properties.getThreadPoolSize());
+        }
+        limiter = new AimdLimiter(properties.getLimiter(), maxLimit, lag);
+
+        Gauge.builder("market.data.processing.limit", limiter, AimdLimiter::getLimit)
+                .description("Messages allowed in processing at once")
+                .register(meterRegistry);
+        Gauge.builder("market.data.processing.inflight", limiter, AimdLimiter::getInFlight)
+                .description("Messages currently in processing")
+                .register(meterRegistry);
+        Gauge.builder("market.data.processing.lag", limiter, AimdLimiter::getLag)
+                .description("Records behind the stream tail, as seen by the limiter")
+                .register(meterRegistry);
+        log.info("Adaptive processing on {} threads: limit {} within [{}, {}]",
+                virtual != null ? "virtual" : properties.getThreadPoolSize() + " platform",
+                limiter.getLimit(), properties.getLimiter().getMinLimit(), maxLimit);
+
+        if (tenants != null) {
+            running = true;
+            scheduler = new Thread(this::scheduleLoop, "consumer-tenant-scheduler");
+            scheduler.setDaemon(true);
+            scheduler.start();
+            log.info("Processing permits shared fairly between tenants");
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (scheduler != null) {
+            scheduler.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private record Pending(String endpoint, Exchange exchange, AsyncCallback callback, PipelineLatency.Trace trace) {
+    }
+}
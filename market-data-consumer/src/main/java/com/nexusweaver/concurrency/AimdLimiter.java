@@ -0,0 +1,135 @@
+package com.nexusweaver.concurrency;
+
+import com.nexusweaver.config.ProcessingProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD Limiter
+ *
+ * Bounds the number of messages in processing at once and moves the bound
+ * with what it observes. At the end of each window the mean processing time
+ * and error rate of the completions in it are compared with their
+ * thresholds: either one over cuts the limit by the backoff ratio; otherwise,
+ * if callers had to wait for a permit, the limit grows by one, or by its
+ * square root while the stream lag is past its threshold, so a consumer that
+ * has fallen behind catches up faster. A limit nobody waited on is left
+ * alone, so an idle consumer does not drift to the maximum.
+ *
+ * Callers block in {@link #acquire()} while the limit is reached, which holds
+ * the consuming thread and so pushes back on the broker.
+ */
+@Slf4j
+public final class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final long latencyThresholdNanos;
+    private final double maxErrorRate;
+    private final double backoffRatio;
+    private final long lagThreshold;
+    private final LongSupplier lag;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private volatile int limit;
+    private volatile int inFlight;
+
+    private long windowStart = System.nanoTime();
+    private long completions;
+    private long errors;
+    private long latencySum;
+    private boolean saturated;
+
+    /**
+     * @param maxLimit upper bound, already capped by whatever runs the work
+     * @param lag      records behind the stream tail, 0 when unknown
+     */
+    public AimdLimiter(ProcessingProperties.Limiter properties, int maxLimit, LongSupplier lag) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.windowNanos = properties.getWindow().toNanos();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.maxErrorRate = properties.getMaxErrorRate();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.lagThreshold = properties.getLagThreshold();
+        this.lag = lag;
+        this.limit = Math.max(minLimit, Math.min(this.maxLimit, properties.getInitialLimit()));
+    }
+
+    /**
+     * Takes a permit, waiting while the limit is reached
+     */
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= limit) {
+                saturated = true;
+                available.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit with the outcome of the message it covered
+     */
+    public void release(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            inFlight--;
+            completions++;
+            latencySum += latencyNanos;
+            if (failed) {
+                errors++;
+            }
+            long now = System.nanoTime();
+            if (now - windowStart >= windowNanos) {
+                adjust();
+                windowStart = now;
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getLag() {
+        return lag.getAsLong();
+    }
+
+    private void adjust() {
+        int previous = limit;
+        long meanLatency = latencySum / completions;
+        double errorRate = (double) errors / completions;
+        if (meanLatency > latencyThresholdNanos || errorRate > maxErrorRate) {
+            limit = Math.max(minLimit, (int) (previous * backoffRatio));
+        } else if (saturated) {
+            int step = lag.getAsLong() > lagThreshold ? (int) Math.ceil(Math.sqrt(previous)) : 1;
+            limit = Math.min(maxLimit, previous + step);
+        }
+        if (limit != previous) {
+            log.debug("Processing limit {} -> {} (mean latency {}us, error rate {}, saturated {})",
+                    previous, limit, meanLatency / 1_000, String.format("%.3f", errorRate), saturated);
+        }
+        completions = 0;
+        errors = 0;
+        latencySum = 0;
+        saturated = false;
+    }
+}
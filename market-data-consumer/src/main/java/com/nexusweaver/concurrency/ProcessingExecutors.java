@@ -0,0 +1,44 @@
+package com.nexusweaver.concurrency;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processing Executors
+ *
+ * Virtual threads are looked up reflectively so the consumer still builds and
+ * runs on Java 17; on such a runtime, or with virtual threads turned off, work
+ * runs on a fixed pool of daemon platform threads instead.
+ */
+public final class ProcessingExecutors {
+
+    private ProcessingExecutors() {
+    }
+
+    /**
+     * Virtual-thread-per-task executor, or null when the runtime has none
+     */
+    public static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    public static ExecutorService platformThreads(String name, int threads) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
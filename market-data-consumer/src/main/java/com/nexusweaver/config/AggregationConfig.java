@@ -0,0 +1,26 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.aggregation.BarAggregator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.ProducerTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aggregation Configuration
+ *
+ * Windowed OHLCV/VWAP bars over every consumed tick, ahead of conflation; on by default.
+ */
+@Configuration
+@ConditionalOnProperty(name = "consumer.aggregation.enabled", havingValue = "true", matchIfMissing = true)
+public class AggregationConfig {
+
+    public static final String BARS_ENDPOINT = "seda:market-data-bars?size=4096&discardWhenFull=true";
+
+    @Bean
+    public BarAggregator barAggregator(AggregationProperties properties, ProducerTemplate producerTemplate,
+                                       MeterRegistry meterRegistry) {
+        return new BarAggregator(properties, BARS_ENDPOINT, producerTemplate, meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.nexusweaver.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bar aggregation settings (consumer.aggregation.*)
+ *
+ * Each window has a size and a slide; a slide equal to the size is a tumbling
+ * window, a shorter one a sliding window emitted every slide. Windows close
+ * on event time once the watermark passes their end plus the allowed lateness.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "consumer.aggregation")
+public class AggregationProperties {
+
+    private boolean enabled = true;
+
+    /** Symbols with state; later symbols are counted and skipped */
+    private int maxSymbols = 8192;
+
+    private Duration allowedLateness = Duration.ofSeconds(2);
+
+    /** Without ticks for this long the watermark follows the wall clock so idle windows still close */
+    private Duration idleTimeout = Duration.ofSeconds(5);
+
+    private Duration closeInterval = Duration.ofMillis(100);
+
+    private List<Window> windows = new ArrayList<>(List.of(
+            new Window("1s", Duration.ofSeconds(1), Duration.ofSeconds(1)),
+            new Window("1m", Duration.ofMinutes(1), Duration.ofMinutes(1)),
+            new Window("5m", Duration.ofMinutes(5), Duration.ofMinutes(5)),
+            new Window("5m-sliding", Duration.ofMinutes(5), Duration.ofMinutes(1))));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Window {
+        private String name;
+        private Duration size;
+        /** Defaults to the size, a tumbling window */
+        private Duration slide;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.conflation.ConflationStage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.ProducerTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Conflation Configuration
+ *
+ * Opt-in per-symbol conflation in front of the market data analytics routes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "consumer.conflation.enabled", havingValue = "true")
+public class ConflationConfig {
+
+    public static final String ANALYTICS_ENDPOINT = "direct:analyze-market-data";
+
+    @Bean
+    public ConflationStage conflationStage(ProducerTemplate producerTemplate, MeterRegistry meterRegistry,
+                                           @Value("${consumer.conflation.workers:4}") int workers,
+                                           @Value("${consumer.conflation.max-staleness-ms:500}") long maxStalenessMs) {
+        return new ConflationStage(ANALYTICS_ENDPOINT, producerTemplate, meterRegistry, workers, maxStalenessMs);
+    }
+}
@@ -0,0 +1,23 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.dedupe.WindowedIdempotentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Dedupe Configuration
+ *
+ * Idempotent consumer repository for the trade stream, dropping redelivered and replayed executions.
+ */
+@Configuration
+@ConditionalOnProperty(name = "consumer.dedupe.enabled", havingValue = "true", matchIfMissing = true)
+public class DedupeConfig {
+
+    @Bean
+    public WindowedIdempotentRepository tradeIdempotentRepository(DedupeProperties properties,
+                                                                  MeterRegistry meterRegistry) {
+        return new WindowedIdempotentRepository("trade-dedupe", properties, meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Trade de-duplication (consumer.dedupe.*)
+ *
+ * Trade ids are remembered for at least {@code ttl} in {@code generations}
+ * rotating sets of up to {@code capacity} ids each, every set fronted by a
+ * Bloom filter. Off-heap memory is about 16 bytes per id of capacity per
+ * generation; with {@code directory} set the sets are memory-mapped files
+ * there and survive a restart.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "consumer.dedupe")
+public class DedupeProperties {
+
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofHours(1);
+
+    /** Sets in the ring; each covers ttl / (generations - 1) */
+    private int generations = 4;
+
+    /** Ids per generation; a generation that fills early cuts the oldest window short */
+    private int capacity = 262_144;
+
+    private double bloomFalsePositiveRate = 0.01;
+
+    /** Where the sets are persisted, empty to keep them in memory only */
+    private String directory = "";
+}
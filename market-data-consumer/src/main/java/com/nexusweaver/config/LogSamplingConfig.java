@@ -0,0 +1,20 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.logging.RouteLog;
+import com.nexusweaver.processors.RoutingFieldExtractor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Log Sampling Configuration
+ *
+ * Route logs sample per symbol from the property set by the routing field extractor.
+ */
+@Configuration
+public class LogSamplingConfig {
+
+    @Bean
+    public RouteLog routeLog(LogSamplingProperties properties) {
+        return new RouteLog(properties, exchange -> exchange.getProperty(RoutingFieldExtractor.SYMBOL, String.class));
+    }
+}
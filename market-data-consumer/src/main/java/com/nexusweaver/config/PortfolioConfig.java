@@ -0,0 +1,32 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.portfolio.ExposureRiskCalculator;
+import com.nexusweaver.portfolio.PortfolioAggregator;
+import com.nexusweaver.portfolio.RiskCalculator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Portfolio Configuration
+ *
+ * Per-portfolio micro-batches on the trade stream feeding a risk calculator; a RiskCalculator bean replaces the default.
+ */
+@Configuration
+@ConditionalOnProperty(name = "consumer.portfolio.enabled", havingValue = "true", matchIfMissing = true)
+public class PortfolioConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RiskCalculator.class)
+    public ExposureRiskCalculator riskCalculator(PortfolioProperties properties) {
+        return new ExposureRiskCalculator(properties.getRisk());
+    }
+
+    @Bean
+    public PortfolioAggregator portfolioAggregator(PortfolioProperties properties, RiskCalculator riskCalculator,
+                                                   MeterRegistry meterRegistry) {
+        return new PortfolioAggregator(properties, riskCalculator, meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Portfolio micro-batching (consumer.portfolio.*)
+ *
+ * Fills are grouped per portfolio for {@code window} after the first one and
+ * then handed to the risk calculator as one batch. Deadlines are kept on a
+ * timer wheel of {@code wheel-size} slots, {@code wheel-tick} apart.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "consumer.portfolio")
+public class PortfolioProperties {
+
+    private boolean enabled = true;
+
+    private Duration window = Duration.ofMillis(50);
+
+    /** Closes a batch early once it holds this many fills */
+    private int maxBatchSize = 1024;
+
+    /** Lock-striped shards of open batches, a power of two */
+    private int shards = 64;
+
+    /** Deadline resolution; batches close up to one tick late */
+    private Duration wheelTick = Duration.ofMillis(5);
+
+    /** Slots per wheel, a power of two; one turn should span the window */
+    private int wheelSize = 64;
+
+    /** Calculator threads; each portfolio always uses the same one */
+    private int calculatorThreads = 2;
+
+    private Risk risk = new Risk();
+
+    /**
+     * Default exposure calculator: parametric VaR on net notional with a flat volatility
+     */
+    @Data
+    public static class Risk {
+        private double dailyVolatility = 0.02;
+        /** Standard normal quantile of the VaR confidence, one-sided 99% */
+        private double confidenceZ = 2.326;
+    }
+}
@@ -0,0 +1,29 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.concurrency.AdaptiveDispatcher;
+import com.nexusweaver.metrics.PipelineLatency;
+import com.nexusweaver.stream.StreamConsumerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.ProducerTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Processing Configuration
+ *
+ * Adaptive concurrency for the processing routes; with consumer.processing.adaptive=false they run on the consuming thread.
+ * With consumer.tenancy.enabled the permits are shared fairly between tenants.
+ */
+@Configuration
+@ConditionalOnProperty(name = "consumer.processing.adaptive", havingValue = "true", matchIfMissing = true)
+public class ProcessingConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AdaptiveDispatcher adaptiveDispatcher(ProcessingProperties properties, ProducerTemplate producerTemplate,
+                                                 MeterRegistry meterRegistry, PipelineLatency latency,
+                                                 StreamConsumerService streamConsumerService, TenancyProperties tenancy) {
+        return new AdaptiveDispatcher(properties, producerTemplate, meterRegistry, latency, streamConsumerService::lag,
+                tenancy.isEnabled() ? tenancy : null);
+    }
+}
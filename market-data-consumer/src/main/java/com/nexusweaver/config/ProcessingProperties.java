@@ -0,0 +1,65 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Downstream processing concurrency (consumer.processing.*)
+ *
+ * The high-value, regular and trade processing routes run off the consuming
+ * thread, on virtual threads where the runtime has them and on a pool of
+ * {@code thread-pool-size} platform threads otherwise. How many of them run
+ * at once is set by an AIMD limiter between {@code limiter.min-limit} and
+ * {@code limiter.max-limit}, judged each {@code limiter.window} on latency,
+ * error rate and stream lag.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "consumer.processing")
+public class ProcessingProperties {
+
+    /** Processing routes on dispatcher threads under the limiter; false runs them on the consuming thread */
+    private boolean adaptive = true;
+
+    /** Virtual threads when the runtime supports them (Java 21+), platform threads otherwise */
+    private boolean virtualThreads = true;
+
+    /** Platform threads when virtual threads are off or unavailable; also caps the limit then */
+    private int threadPoolSize = 10;
+
+    /** Messages the broker delivers ahead per AMQP consumer (prefetch) */
+    private int batchSize = 50;
+
+    /** AMQP consumers on the market data stream */
+    private int concurrentConsumers = 5;
+
+    /** AMQP consumers on the trade stream */
+    private int tradeConcurrentConsumers = 3;
+
+    private Limiter limiter = new Limiter();
+
+    @Data
+    public static class Limiter {
+        private int initialLimit = 8;
+        private int minLimit = 1;
+        private int maxLimit = 256;
+
+        /** Judgement period; a window with no completions changes nothing */
+        private Duration window = Duration.ofSeconds(1);
+
+        /** Mean processing time above which the limit is cut */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        /** Share of failed messages above which the limit is cut */
+        private double maxErrorRate = 0.05;
+
+        /** Multiplicative decrease */
+        private double backoffRatio = 0.75;
+
+        /** Records behind the stream tail past which a saturated limit grows by its square root instead of 1 */
+        private long lagThreshold = 1000;
+    }
+}
@@ -0,0 +1,70 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stream consumer settings (consumer.stream.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "consumer.stream")
+public class StreamConsumerProperties {
+
+    public enum Mode {
+        /** AMQP 0.9.1 emulation through the rabbitmq: endpoint */
+        AMQP,
+        /** Native RabbitMQ stream protocol */
+        NATIVE,
+        /** In-process stand-in for local runs and tests, no broker required */
+        IN_MEMORY
+    }
+
+    public enum OffsetTracking {
+        /** Offsets stored on the broker under the consumer name */
+        SERVER,
+        /** Offsets persisted to local files */
+        LOCAL
+    }
+
+    private Mode mode = Mode.AMQP;
+
+    private String host = "nexus-rabbitmq";
+    private int port = 5552;
+    private String username;
+    private String password;
+
+    private OffsetTracking offsetTracking = OffsetTracking.SERVER;
+    private String offsetStoreDirectory = "/tmp/nexus-consumer-offsets";
+
+    /** Where to start when no offset has been stored yet: first, last or next */
+    private String initialOffset = "next";
+
+    /** Only one consumer per name receives messages; the others take over on failure */
+    private boolean singleActiveConsumer = true;
+
+    /** Chunks the broker may push before the consumer grants more credit */
+    private int initialCredits = 10;
+
+    /** Processed messages between offset commits */
+    private int storeEvery = 1000;
+
+    private Binding marketData = new Binding("market-prices-stream", "nexus-consumer-group");
+
+    private Binding trade = new Binding("trade-executions-stream", "nexus-trade-group");
+
+    @Data
+    public static class Binding {
+        private String stream;
+        private String consumerName;
+
+        public Binding() {
+        }
+
+        public Binding(String stream, String consumerName) {
+            this.stream = stream;
+            this.consumerName = consumerName;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.tenancy.TenancySettings;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant isolation (consumer.tenancy.*)
+ *
+ * Messages bound for the processing routes are assigned to a tenant by
+ * {@code key} and admitted through that tenant's token bucket into its own
+ * bounded queue. The adaptive dispatcher's permits are handed out across the
+ * queues by deficit round robin, {@code quantum} messages per unit of weight
+ * per turn. Market data over a tenant's rate or queue is dropped; trades wait
+ * to be admitted, holding back their stream. The tenant settings are shared
+ * with ingestion; see {@link TenancySettings}. Requires consumer.processing.adaptive.
+ */
+@Component
+@ConfigurationProperties(prefix = "consumer.tenancy")
+public class TenancyProperties extends TenancySettings {
+}
@@ -0,0 +1,150 @@
+package com.nexusweaver.conflation;
+
+import com.nexusweaver.processors.RoutingFieldExtractor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.service.ServiceSupport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conflation Stage
+ *
+ * Decouples consumption from the slow analytics routes. Each incoming tick
+ * replaces whatever is still waiting for its symbol, so while a worker is busy
+ * only the latest tick per symbol is kept and intermediate ones are shed. A
+ * symbol is processed by at most one worker at a time, preserving per-symbol
+ * order; ticks that waited longer than the maximum staleness are dropped
+ * instead of delivered.
+ */
+@Slf4j
+public class ConflationStage extends ServiceSupport implements Processor {
+
+    private final String targetEndpoint;
+    private final ProducerTemplate producerTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int workerCount;
+    private final long maxStalenessNanos;
+    private final Map<String, SymbolSlot> slots = new ConcurrentHashMap<>();
+
+    private ExecutorService workers;
+
+    public ConflationStage(String targetEndpoint, ProducerTemplate producerTemplate, MeterRegistry meterRegistry,
+                           int workerCount, long maxStalenessMs) {
+        this.targetEndpoint = targetEndpoint;
+        this.producerTemplate = producerTemplate;
+        this.meterRegistry = meterRegistry;
+        this.workerCount = workerCount;
+        this.maxStalenessNanos = maxStalenessMs > 0 ? TimeUnit.MILLISECONDS.toNanos(maxStalenessMs) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        String symbol = exchange.getProperty(RoutingFieldExtractor.SYMBOL, String.class);
+        if (symbol == null) {
+            // Nothing to conflate on, deliver in line
+            producerTemplate.send(targetEndpoint, exchange);
+            return;
+        }
+
+        SymbolSlot slot = slots.computeIfAbsent(symbol, this::newSlot);
+        Pending superseded = slot.latest.getAndSet(new Pending(exchange.copy(), System.nanoTime()));
+        if (superseded != null) {
+            slot.conflated.increment();
+        }
+        schedule(slot);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "conflation-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void schedule(SymbolSlot slot) {
+        if (slot.scheduled.compareAndSet(false, true)) {
+            workers.execute(() -> drain(slot));
+        }
+    }
+
+    /**
+     * Delivers the latest pending tick of a symbol, then re-schedules if another arrived meanwhile
+     */
+    private void drain(SymbolSlot slot) {
+        try {
+            Pending pending = slot.latest.getAndSet(null);
+            if (pending != null) {
+                if (System.nanoTime() - pending.arrivedNanos > maxStalenessNanos) {
+                    slot.stale.increment();
+                } else {
+                    producerTemplate.send(targetEndpoint, pending.exchange);
+                    slot.delivered.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Conflated delivery for {} failed: {}", slot.symbol, e.getMessage());
+        } finally {
+            slot.scheduled.set(false);
+        }
+        if (slot.latest.get() != null) {
+            schedule(slot);
+        }
+    }
+
+    private SymbolSlot newSlot(String symbol) {
+        SymbolSlot slot = new SymbolSlot(symbol);
+        FunctionCounter.builder("market.data.conflation.delivered", slot.delivered, LongAdder::sum)
+                .description("Ticks delivered to processing after conflation")
+                .tag("symbol", symbol)
+                .register(meterRegistry);
+        FunctionCounter.builder("market.data.conflation.conflated", slot.conflated, LongAdder::sum)
+                .description("Ticks superseded by a newer tick for the same symbol before processing")
+                .tag("symbol", symbol)
+                .register(meterRegistry);
+        FunctionCounter.builder("market.data.conflation.stale", slot.stale, LongAdder::sum)
+                .description("Ticks dropped for exceeding the maximum staleness")
+                .tag("symbol", symbol)
+                .register(meterRegistry);
+        return slot;
+    }
+
+    private static final class SymbolSlot {
+        private final String symbol;
+        private final AtomicReference<Pending> latest = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder conflated = new LongAdder();
+        private final LongAdder stale = new LongAdder();
+
+        private SymbolSlot(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    private record Pending(Exchange exchange, long arrivedNanos) {
+    }
+}
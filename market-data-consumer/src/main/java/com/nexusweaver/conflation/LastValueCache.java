@@ -0,0 +1,83 @@
+package com.nexusweaver.conflation;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickFlyweight;
+import com.nexusweaver.processors.RoutingFieldExtractor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.Exchange;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last Value Cache
+ *
+ * Latest tick per symbol, kept in a {@link ConcurrentHashMap} so lookups never
+ * block writers. Updated for every consumed tick, whether or not it is later
+ * conflated, and queryable through the {@code lastvalues} actuator endpoint.
+ */
+@Component
+public class LastValueCache {
+
+    private static final double PRICE_SCALE = Math.pow(10, MarketDataSchema.PRICE_DECIMALS);
+
+    private final Map<String, LastValue> values = new ConcurrentHashMap<>();
+
+    public LastValueCache(MeterRegistry meterRegistry) {
+        Gauge.builder("market.data.last.value.symbols", values, Map::size)
+                .description("Symbols held in the last-value cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the tick carried by the exchange; requires the routing fields to be extracted
+     */
+    public void update(Exchange exchange) {
+        String symbol = exchange.getProperty(RoutingFieldExtractor.SYMBOL, String.class);
+        if (symbol == null) {
+            return;
+        }
+        double price = exchange.getProperty(RoutingFieldExtractor.PRICE, Double.NaN, Double.class);
+        Object body = exchange.getIn().getBody();
+
+        LastValue value;
+        if (body instanceof TickFlyweight tick) {
+            value = new LastValue(symbol, price, toPrice(tick.bid()), toPrice(tick.ask()),
+                    tick.volume() != MarketDataSchema.NULL_VALUE ? tick.volume() : 0L,
+                    tick.sequenceNumber(), System.currentTimeMillis());
+        } else if (body instanceof Map<?, ?> fields) {
+            value = new LastValue(symbol, price, toDouble(fields.get("bid")), toDouble(fields.get("ask")),
+                    toLong(fields.get("volume")), toLong(fields.get("sequenceNumber")), System.currentTimeMillis());
+        } else {
+            value = new LastValue(symbol, price, Double.NaN, Double.NaN, 0L, 0L, System.currentTimeMillis());
+        }
+        values.put(symbol, value);
+    }
+
+    public LastValue get(String symbol) {
+        return values.get(symbol);
+    }
+
+    public Map<String, LastValue> snapshot() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static double toPrice(long scaled) {
+        return scaled != MarketDataSchema.NULL_VALUE ? scaled / PRICE_SCALE : Double.NaN;
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    public record LastValue(String symbol, double price, double bid, double ask, long volume,
+                            long sequenceNumber, long receivedAtMillis) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.nexusweaver.conflation;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the last-value cache (/actuator/lastvalues[/{symbol}])
+ */
+@Component
+@Endpoint(id = "lastvalues")
+public class LastValueEndpoint {
+
+    private final LastValueCache lastValueCache;
+
+    public LastValueEndpoint(LastValueCache lastValueCache) {
+        this.lastValueCache = lastValueCache;
+    }
+
+    @ReadOperation
+    public Map<String, LastValueCache.LastValue> lastValues() {
+        return lastValueCache.snapshot();
+    }
+
+    @ReadOperation
+    public LastValueCache.LastValue lastValue(@Selector String symbol) {
+        return lastValueCache.get(symbol);
+    }
+}
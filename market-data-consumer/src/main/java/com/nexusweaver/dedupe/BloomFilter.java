@@ -0,0 +1,57 @@
+package com.nexusweaver.dedupe;
+
+import java.util.Arrays;
+
+/**
+ * Bloom Filter
+ *
+ * Fixed-size bit set over 64-bit fingerprints, sized for an expected number
+ * of ids at a target false positive rate. The k probe positions come from
+ * the two halves of the fingerprint by double hashing, so adding or testing
+ * an id costs k bit operations and no further hashing. Not thread-safe.
+ */
+final class BloomFilter {
+
+    private static final int MAX_HASHES = 16;
+
+    private final long[] words;
+    private final int bitMask;
+    private final int hashes;
+
+    BloomFilter(int expectedIds, double falsePositiveRate) {
+        double bits = -expectedIds * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int size = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(64, Math.ceil(bits)) - 1)) << 1;
+        this.words = new long[size >>> 6];
+        this.bitMask = size - 1;
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) size / expectedIds * Math.log(2))));
+    }
+
+    void add(long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
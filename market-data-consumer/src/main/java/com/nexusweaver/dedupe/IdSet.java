@@ -0,0 +1,232 @@
+package com.nexusweaver.dedupe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+
+/**
+ * Id Set
+ *
+ * Exact set of 64-bit fingerprints in an off-heap open-addressing table with
+ * linear probing: a direct buffer, or a memory-mapped file when the set has
+ * to outlive the process. The table holds twice as many slots as the set's
+ * capacity, so probes stay short, and it never grows; callers check
+ * {@link #isFull()} and move on to a fresh set instead. A 64-byte header in
+ * front of the slots records the slot count, when the set was started and
+ * its counts, so a mapped set reopens as it was left.
+ *
+ * Fingerprints 0 and 1 are reserved to mark empty and removed slots. Not
+ * thread-safe.
+ */
+final class IdSet {
+
+    static final long EMPTY = 0;
+    static final long TOMBSTONE = 1;
+
+    /** Two slots per id; keeps a mapped set under the 2 GiB a single mapping allows */
+    static final int MAX_CAPACITY = 1 << 26;
+
+    private static final int MAGIC = 0x4E584944;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOTS_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int USED_OFFSET = 16;
+    private static final int START_OFFSET = 24;
+    private static final int HEADER_LENGTH = 64;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final boolean restored;
+
+    /** Live ids */
+    private int size;
+    /** Slots no longer empty, live ids plus tombstones; bounded by capacity */
+    private int used;
+    private long startMillis;
+
+    private IdSet(ByteBuffer buffer, int capacity, boolean restore) {
+        this.buffer = buffer.order(ByteOrder.nativeOrder());
+        this.capacity = capacity;
+        this.mask = slots(capacity) - 1;
+        this.restored = restore && isValid();
+        if (restored) {
+            size = buffer.getInt(SIZE_OFFSET);
+            used = buffer.getInt(USED_OFFSET);
+            startMillis = buffer.getLong(START_OFFSET);
+        } else {
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putInt(SLOTS_OFFSET, mask + 1);
+            reset(0);
+        }
+    }
+
+    /**
+     * Set in a direct buffer, gone with the process
+     */
+    static IdSet allocate(int capacity) {
+        return new IdSet(ByteBuffer.allocateDirect(length(capacity)), capacity, false);
+    }
+
+    /**
+     * Set mapped from file, reopened as it was left when the file holds a set of the same capacity
+     * and started afresh otherwise
+     */
+    static IdSet map(Path file, int capacity) throws IOException {
+        boolean exists = Files.exists(file) && Files.size(file) == length(capacity);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length(capacity));
+            return new IdSet(mapped, capacity, exists);
+        }
+    }
+
+    /**
+     * Off-heap bytes a set of this capacity takes
+     */
+    static int length(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Id set capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        return HEADER_LENGTH + slots(capacity) * Long.BYTES;
+    }
+
+    private static int slots(int capacity) {
+        return Math.max(2, Integer.highestOneBit(capacity * 2 - 1) << 1);
+    }
+
+    boolean contains(long fingerprint) {
+        int slot = slot(fingerprint);
+        long key;
+        while ((key = buffer.getLong(offset(slot))) != EMPTY) {
+            if (key == fingerprint) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the fingerprint, false when it was already present
+     */
+    boolean add(long fingerprint) {
+        int slot = slot(fingerprint);
+        int free = -1;
+        long key;
+        while ((key = buffer.getLong(offset(slot))) != EMPTY) {
+            if (key == fingerprint) {
+                return false;
+            }
+            if (key == TOMBSTONE && free < 0) {
+                free = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (free < 0) {
+            free = slot;
+            buffer.putInt(USED_OFFSET, ++used);
+        }
+        buffer.putLong(offset(free), fingerprint);
+        buffer.putInt(SIZE_OFFSET, ++size);
+        return true;
+    }
+
+    boolean remove(long fingerprint) {
+        int slot = slot(fingerprint);
+        long key;
+        while ((key = buffer.getLong(offset(slot))) != EMPTY) {
+            if (key == fingerprint) {
+                buffer.putLong(offset(slot), TOMBSTONE);
+                buffer.putInt(SIZE_OFFSET, --size);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Empties the set and stamps it with the start of its window
+     */
+    void reset(long startMillis) {
+        for (int slot = 0; slot <= mask; slot++) {
+            buffer.putLong(offset(slot), EMPTY);
+        }
+        size = 0;
+        used = 0;
+        this.startMillis = startMillis;
+        buffer.putInt(SIZE_OFFSET, 0);
+        buffer.putInt(USED_OFFSET, 0);
+        buffer.putLong(START_OFFSET, startMillis);
+    }
+
+    void forEach(LongConsumer action) {
+        for (int slot = 0; slot <= mask; slot++) {
+            long key = buffer.getLong(offset(slot));
+            if (key != EMPTY && key != TOMBSTONE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * No slot left for a new id without letting probes run long; removed ids still count
+     */
+    boolean isFull() {
+        return used >= capacity;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long startMillis() {
+        return startMillis;
+    }
+
+    /**
+     * The set was reopened from its file rather than started empty
+     */
+    boolean isRestored() {
+        return restored;
+    }
+
+    long sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Writes a mapped set's changes through to storage
+     */
+    void force() {
+        if (buffer instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    private boolean isValid() {
+        return buffer.getInt(MAGIC_OFFSET) == MAGIC
+                && buffer.getInt(VERSION_OFFSET) == VERSION
+                && buffer.getInt(SLOTS_OFFSET) == mask + 1
+                && buffer.getInt(SIZE_OFFSET) >= 0
+                && buffer.getInt(USED_OFFSET) <= capacity;
+    }
+
+    private int slot(long fingerprint) {
+        return (int) ((fingerprint * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_LENGTH + (slot << 3);
+    }
+}
@@ -0,0 +1,67 @@
+package com.nexusweaver.dedupe;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickFlyweight;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.ExpressionAdapter;
+
+import java.util.Map;
+
+/**
+ * Trade Id Expression
+ *
+ * Message id for de-duplicating trade executions. A {@code tradeId} header
+ * or field wins when the publisher provides one; otherwise the id is built
+ * from the fields that identify a fill as published, source, symbol,
+ * sequence number and timestamp, with portfolio and trader, from either a
+ * JSON map or a binary flyweight. A message carrying neither a sequence
+ * number nor a timestamp cannot be told apart from its neighbours and is
+ * given its exchange id, so it is never taken for a duplicate.
+ */
+public class TradeIdExpression extends ExpressionAdapter {
+
+    public static final String TRADE_ID = "tradeId";
+
+    @Override
+    public Object evaluate(Exchange exchange) {
+        Object header = exchange.getIn().getHeader(TRADE_ID);
+        if (header != null) {
+            return header.toString();
+        }
+
+        Object body = exchange.getIn().getBody();
+        if (body instanceof TickFlyweight tick) {
+            if (tick.sequenceNumber() == MarketDataSchema.NULL_VALUE && tick.timestampNanos() == MarketDataSchema.NULL_VALUE) {
+                return exchange.getExchangeId();
+            }
+            return key(tick.source(), tick.symbol(), tick.sequenceNumber(), tick.timestampNanos(),
+                    tick.portfolioId(), tick.traderId());
+        }
+        if (body instanceof Map<?, ?> fields) {
+            Object tradeId = fields.get(TRADE_ID);
+            if (tradeId != null) {
+                return tradeId.toString();
+            }
+            Object sequenceNumber = fields.get("sequenceNumber");
+            Object timestamp = fields.get("timestamp");
+            if (sequenceNumber == null && timestamp == null) {
+                return exchange.getExchangeId();
+            }
+            return key(fields.get("source"), fields.get("symbol"), sequenceNumber, timestamp,
+                    fields.get("portfolioId"), fields.get("traderId"));
+        }
+        return exchange.getExchangeId();
+    }
+
+    private static String key(Object source, Object symbol, Object sequenceNumber, Object timestamp,
+                              Object portfolio, Object trader) {
+        return new StringBuilder(96)
+                .append(source).append('|')
+                .append(symbol).append('|')
+                .append(sequenceNumber).append('|')
+                .append(timestamp).append('|')
+                .append(portfolio).append('|')
+                .append(trader)
+                .toString();
+    }
+}
@@ -0,0 +1,283 @@
+package com.nexusweaver.dedupe;
+
+import com.nexusweaver.config.DedupeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.LongSupplier;
+
+/**
+ * Windowed Idempotent Repository
+ *
+ * Remembers message ids for at least a TTL in a ring of generations, each
+ * covering an equal slice of time: a Bloom filter in front of an exact
+ * off-heap {@link IdSet}. New ids go to the newest generation; a lookup
+ * walks the generations newest first and only probes a set whose filter
+ * admits the id, so a new id, the common case, is usually turned away by
+ * the filters alone. When the newest slice of time is up the ring turns and
+ * the oldest generation is emptied in place, which is the whole of eviction;
+ * memory is fixed at start-up. A generation that fills before its time is
+ * up turns the ring early, trading TTL for the bound.
+ *
+ * Ids are kept as 64-bit fingerprints. With a directory configured each
+ * generation's set is a mapped file, so the window survives a restart; the
+ * filters are rebuilt from the sets when they are reopened.
+ */
+@Slf4j
+public class WindowedIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private final String name;
+    private final int capacity;
+    private final double falsePositiveRate;
+    private final long generationMillis;
+    private final Path directory;
+    private final LongSupplier clock;
+
+    private final IdSet[] sets;
+    private final BloomFilter[] filters;
+    private int current;
+    private long currentStartMillis;
+
+    private final Counter duplicates;
+    private final Counter falsePositives;
+    private final Counter windowRotations;
+    private final Counter fullRotations;
+
+    public WindowedIdempotentRepository(String name, DedupeProperties properties, MeterRegistry meterRegistry) {
+        this(name, properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    WindowedIdempotentRepository(String name, DedupeProperties properties, MeterRegistry meterRegistry,
+                                 LongSupplier clock) {
+        if (properties.getGenerations() < 2) {
+            throw new IllegalArgumentException("Dedupe needs at least two generations: " + properties.getGenerations());
+        }
+        IdSet.length(properties.getCapacity());
+        this.name = name;
+        this.capacity = properties.getCapacity();
+        this.falsePositiveRate = properties.getBloomFalsePositiveRate();
+        // The oldest generation is emptied only once the ring has moved on from it by ttl
+        this.generationMillis = Math.max(1, properties.getTtl().toMillis() / (properties.getGenerations() - 1));
+        this.directory = properties.getDirectory() == null || properties.getDirectory().isBlank()
+                ? null : Paths.get(properties.getDirectory());
+        this.clock = clock;
+        this.sets = new IdSet[properties.getGenerations()];
+        this.filters = new BloomFilter[properties.getGenerations()];
+
+        this.duplicates = Counter.builder("market.data.dedupe.duplicates")
+                .description("Messages recognised as already seen")
+                .tag("repository", name)
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("market.data.dedupe.bloom.false.positives")
+                .description("Bloom filter hits the exact set did not confirm")
+                .tag("repository", name)
+                .register(meterRegistry);
+        this.windowRotations = Counter.builder("market.data.dedupe.rotations")
+                .description("Generations retired")
+                .tag("repository", name)
+                .tag("reason", "window")
+                .register(meterRegistry);
+        this.fullRotations = Counter.builder("market.data.dedupe.rotations")
+                .description("Generations retired")
+                .tag("repository", name)
+                .tag("reason", "full")
+                .register(meterRegistry);
+        Gauge.builder("market.data.dedupe.ids", this, WindowedIdempotentRepository::size)
+                .description("Ids currently remembered")
+                .tag("repository", name)
+                .register(meterRegistry);
+        Gauge.builder("market.data.dedupe.memory", this, WindowedIdempotentRepository::sizeInBytes)
+                .description("Bytes held by the sets and filters")
+                .tag("repository", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized boolean add(String key) {
+        long fingerprint = fingerprint(key);
+        advance(clock.getAsLong());
+        if (find(fingerprint)) {
+            duplicates.increment();
+            return false;
+        }
+        if (sets[current].isFull()) {
+            long now = clock.getAsLong();
+            log.warn("Dedupe {} generation filled with {} ids before its window ended; ids from {}ms ago are forgotten early",
+                    name, capacity, now - sets[next(current)].startMillis());
+            rotate(now);
+            currentStartMillis = now;
+            fullRotations.increment();
+        }
+        sets[current].add(fingerprint);
+        filters[current].add(fingerprint);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(String key) {
+        advance(clock.getAsLong());
+        return find(fingerprint(key));
+    }
+
+    @Override
+    public synchronized boolean remove(String key) {
+        long fingerprint = fingerprint(key);
+        boolean removed = false;
+        for (IdSet set : sets) {
+            removed |= set.remove(fingerprint);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return true;
+    }
+
+    @Override
+    public synchronized void clear() {
+        long now = clock.getAsLong();
+        for (int i = 0; i < sets.length; i++) {
+            sets[i].reset(i == current ? now : 0);
+            filters[i].clear();
+        }
+        currentStartMillis = now;
+    }
+
+    public synchronized long size() {
+        long size = 0;
+        for (IdSet set : sets) {
+            size += set != null ? set.size() : 0;
+        }
+        return size;
+    }
+
+    public synchronized long sizeInBytes() {
+        long bytes = 0;
+        for (int i = 0; i < sets.length; i++) {
+            if (sets[i] != null) {
+                bytes += sets[i].sizeInBytes() + filters[i].sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    protected synchronized void doStart() throws Exception {
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        long now = clock.getAsLong();
+        int newest = -1;
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = open(i);
+            filters[i] = new BloomFilter(capacity, falsePositiveRate);
+            if (sets[i].isRestored()) {
+                if (sets[i].startMillis() + sets.length * generationMillis <= now) {
+                    sets[i].reset(0);
+                } else if (newest < 0 || sets[i].startMillis() > sets[newest].startMillis()) {
+                    newest = i;
+                }
+            }
+        }
+
+        if (newest < 0) {
+            current = 0;
+            currentStartMillis = now;
+            sets[current].reset(now);
+        } else {
+            current = newest;
+            currentStartMillis = sets[newest].startMillis();
+            for (int i = 0; i < sets.length; i++) {
+                sets[i].forEach(filters[i]::add);
+            }
+        }
+        advance(now);
+        log.info("Dedupe {} started: {} generations of {} ids, {}ms each, {} restored ids, {}",
+                name, sets.length, capacity, generationMillis, size(),
+                directory != null ? "persisted in " + directory : "in memory");
+    }
+
+    @Override
+    protected synchronized void doStop() throws Exception {
+        for (IdSet set : sets) {
+            if (set != null) {
+                set.force();
+            }
+        }
+    }
+
+    private IdSet open(int generation) throws IOException {
+        if (directory == null) {
+            return IdSet.allocate(capacity);
+        }
+        return IdSet.map(directory.resolve(name + "-" + generation + ".ids"), capacity);
+    }
+
+    private boolean find(long fingerprint) {
+        for (int i = 0, generation = current; i < sets.length; i++, generation = previous(generation)) {
+            if (filters[generation].mightContain(fingerprint)) {
+                if (sets[generation].contains(fingerprint)) {
+                    return true;
+                }
+                falsePositives.increment();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Turns the ring once for every window that has ended, keeping to the original cadence
+     */
+    private void advance(long now) {
+        long elapsed = (now - currentStartMillis) / generationMillis;
+        if (elapsed <= 0) {
+            return;
+        }
+        long turns = Math.min(elapsed, sets.length);
+        for (long i = turns - 1; i >= 0; i--) {
+            rotate(currentStartMillis + (elapsed - i) * generationMillis);
+        }
+        currentStartMillis += elapsed * generationMillis;
+        windowRotations.increment(turns);
+    }
+
+    private void rotate(long startMillis) {
+        current = next(current);
+        sets[current].reset(startMillis);
+        filters[current].clear();
+    }
+
+    private int next(int generation) {
+        return generation + 1 == sets.length ? 0 : generation + 1;
+    }
+
+    private int previous(int generation) {
+        return generation == 0 ? sets.length - 1 : generation - 1;
+    }
+
+    /**
+     * 64-bit FNV-1a over the key's chars, finished with the MurmurHash3 mixer; 0 and 1 are reserved by the set
+     */
+    static long fingerprint(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash == IdSet.EMPTY || hash == IdSet.TOMBSTONE ? hash + 2 : hash;
+    }
+}
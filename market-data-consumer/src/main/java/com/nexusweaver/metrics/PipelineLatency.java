@@ -0,0 +1,147 @@
+package com.nexusweaver.metrics;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickFlyweight;
+import com.nexusweaver.model.EpochClock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.camel.Exchange;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline Latency
+ *
+ * Consumer half of the end-to-end latency trace. Ingestion stamps each tick
+ * with its ingress and sent times (binary trace block, or the ingressNanos and
+ * sentNanos JSON fields); this records broker transit, unmarshal and route
+ * stages plus tick-to-consume latency as Micrometer timers with
+ * HdrHistogram-backed percentiles p50/p99/p99.9, max and Prometheus buckets.
+ *
+ * The stream routes run synchronously on the delivering thread, so the
+ * in-flight trace lives in a reusable per-thread holder rather than on the
+ * exchange and recording never allocates. A route that continues on another
+ * thread carries a copy of the trace across with {@link #handOff()} and
+ * {@link #resume(Trace)}. Transit compares wall clocks of two
+ * pods and is only as accurate as their clock synchronization; negative
+ * readings from skew are dropped. Histogram settings are shared with the
+ * ingestion half through {@link LatencyTimers}.
+ */
+@Component
+public class PipelineLatency {
+
+    public static final String CONSUMER_TIMER = "market.data.consumer.latency";
+    public static final String TICK_TO_CONSUME_TIMER = "market.data.tick.to.consume.latency";
+    public static final String DISPATCH_TIMER = "market.data.consumer.dispatch.latency";
+
+    private static final ThreadLocal<Trace> TRACE = ThreadLocal.withInitial(Trace::new);
+
+    private final Timer transit;
+    private final Timer unmarshal;
+    private final Timer route;
+    private final Timer consumer;
+    private final Timer tickToConsume;
+
+    public PipelineLatency(MeterRegistry meterRegistry) {
+        this.transit = stage("transit", meterRegistry);
+        this.unmarshal = stage("unmarshal", meterRegistry);
+        this.route = stage("route", meterRegistry);
+        this.consumer = LatencyTimers.histogram(Timer.builder(CONSUMER_TIMER)
+                .description("Time from a message being received to its route completing"))
+                .register(meterRegistry);
+        this.tickToConsume = LatencyTimers.histogram(Timer.builder(TICK_TO_CONSUME_TIMER)
+                .description("Time from a tick entering ingestion to its consumer route completing"))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the trace for the message about to be unmarshalled on this thread
+     */
+    public void received(Exchange exchange) {
+        Trace trace = TRACE.get();
+        trace.receivedNanos = EpochClock.nanos();
+        trace.unmarshalledNanos = MarketDataSchema.NULL_VALUE;
+        trace.ingressNanos = MarketDataSchema.NULL_VALUE;
+    }
+
+    /**
+     * Records unmarshal and broker transit, reading the trace stamps from the decoded body
+     */
+    public void unmarshalled(Exchange exchange) {
+        Trace trace = TRACE.get();
+        long now = EpochClock.nanos();
+        trace.unmarshalledNanos = now;
+        unmarshal.record(now - trace.receivedNanos, TimeUnit.NANOSECONDS);
+
+        long sentNanos = MarketDataSchema.NULL_VALUE;
+        Object body = exchange.getIn().getBody();
+        if (body instanceof TickFlyweight tick) {
+            trace.ingressNanos = tick.ingressNanos();
+            sentNanos = tick.sentNanos();
+        } else if (body instanceof Map<?, ?> fields) {
+            trace.ingressNanos = toNanos(fields.get("ingressNanos"));
+            sentNanos = toNanos(fields.get("sentNanos"));
+        }
+        recordPositive(transit, trace.receivedNanos, sentNanos);
+    }
+
+    /**
+     * Records the route stage, consumer latency and tick-to-consume once the route has finished
+     */
+    public void completed(Exchange exchange) {
+        Trace trace = TRACE.get();
+        long now = EpochClock.nanos();
+        consumer.record(now - trace.receivedNanos, TimeUnit.NANOSECONDS);
+        if (trace.unmarshalledNanos != MarketDataSchema.NULL_VALUE) {
+            route.record(now - trace.unmarshalledNanos, TimeUnit.NANOSECONDS);
+        }
+        recordPositive(tickToConsume, now, trace.ingressNanos);
+    }
+
+    /**
+     * Copy of this thread's trace, for the thread the route continues on
+     */
+    public Trace handOff() {
+        Trace trace = TRACE.get();
+        Trace copy = new Trace();
+        copy.receivedNanos = trace.receivedNanos;
+        copy.unmarshalledNanos = trace.unmarshalledNanos;
+        copy.ingressNanos = trace.ingressNanos;
+        return copy;
+    }
+
+    /**
+     * Continues a trace handed off by another thread on this one
+     */
+    public void resume(Trace handedOff) {
+        Trace trace = TRACE.get();
+        trace.receivedNanos = handedOff.receivedNanos;
+        trace.unmarshalledNanos = handedOff.unmarshalledNanos;
+        trace.ingressNanos = handedOff.ingressNanos;
+    }
+
+    private static void recordPositive(Timer timer, long end, long start) {
+        if (start != MarketDataSchema.NULL_VALUE && end >= start) {
+            timer.record(end - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static long toNanos(Object value) {
+        return value instanceof Number number ? number.longValue() : MarketDataSchema.NULL_VALUE;
+    }
+
+    private static Timer stage(String stage, MeterRegistry meterRegistry) {
+        return LatencyTimers.stage(stage, "Time spent in one consumer pipeline stage", meterRegistry);
+    }
+
+    /**
+     * Trace of the message currently in flight on a thread, reused across messages
+     */
+    public static final class Trace {
+        private long receivedNanos;
+        private long unmarshalledNanos;
+        private long ingressNanos;
+    }
+}
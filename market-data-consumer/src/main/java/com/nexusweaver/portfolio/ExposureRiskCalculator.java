@@ -0,0 +1,61 @@
+package com.nexusweaver.portfolio;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.config.PortfolioProperties;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exposure Risk Calculator
+ *
+ * Default risk model: folds each batch into the portfolio's running net and
+ * gross notional and derives a one-day parametric VaR from the net notional
+ * with a single flat volatility. Quantities are signed, negative for sells.
+ * A placeholder for a real model, but it exercises the batching path and
+ * keeps the latest figures queryable through the {@code risk} endpoint.
+ */
+public class ExposureRiskCalculator implements RiskCalculator {
+
+    private static final double PRICE_SCALE = Math.pow(10, MarketDataSchema.PRICE_DECIMALS);
+
+    private final double varMultiplier;
+    private final Map<String, PortfolioRisk> latest = new ConcurrentHashMap<>();
+
+    public ExposureRiskCalculator(PortfolioProperties.Risk risk) {
+        this.varMultiplier = risk.getConfidenceZ() * risk.getDailyVolatility();
+    }
+
+    @Override
+    public void calculate(PortfolioBatch batch) {
+        double net = 0;
+        double gross = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            double notional = batch.quantity(i) * (batch.price(i) / PRICE_SCALE);
+            net += notional;
+            gross += Math.abs(notional);
+        }
+
+        String portfolio = batch.portfolio();
+        PortfolioRisk previous = latest.get(portfolio);
+        long fills = batch.size();
+        if (previous != null) {
+            fills += previous.fills();
+            net += previous.netNotional();
+            gross += previous.grossNotional();
+        }
+        // Each portfolio is calculated on one worker, so read-then-put cannot race
+        latest.put(portfolio, new PortfolioRisk(portfolio, fills, net, gross, varMultiplier * Math.abs(net),
+                batch.size(), Instant.now()));
+    }
+
+    public PortfolioRisk get(String portfolio) {
+        return latest.get(portfolio);
+    }
+
+    public Map<String, PortfolioRisk> snapshot() {
+        return Collections.unmodifiableMap(latest);
+    }
+}
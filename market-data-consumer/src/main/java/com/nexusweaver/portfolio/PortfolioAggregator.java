@@ -0,0 +1,346 @@
+package com.nexusweaver.portfolio;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickFlyweight;
+import com.nexusweaver.config.PortfolioProperties;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.InternTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.service.ServiceSupport;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Portfolio Aggregator
+ *
+ * Groups incoming fills by portfolio into micro-batches that close a fixed
+ * window after their first fill, or early once full, and hands each closed
+ * batch to the {@link RiskCalculator}. Open batches live in lock-striped
+ * shards indexed directly by portfolio id; each shard keeps its deadlines on
+ * a {@link TimerWheel} advanced by one flusher thread, so there is no
+ * scheduled task per portfolio and the cost of a tick stays constant however
+ * many portfolios are open. Batches are pooled and reused.
+ *
+ * Calculators run on single-threaded workers chosen by portfolio id, so a
+ * portfolio's batches are calculated one at a time and in order.
+ */
+@Slf4j
+public class PortfolioAggregator extends ServiceSupport implements Processor {
+
+    private static final double PRICE_SCALE = Math.pow(10, MarketDataSchema.PRICE_DECIMALS);
+    private static final int MAX_POOLED_PER_SHARD = 256;
+
+    private final RiskCalculator riskCalculator;
+    private final long windowNanos;
+    private final long tickNanos;
+    private final int maxBatchSize;
+    private final Shard[] shards;
+    private final int shardMask;
+    private final int shardBits;
+    private final ExecutorService[] workers;
+    private final AtomicInteger openBatches = new AtomicInteger();
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLag;
+    private final Timer calculatorTime;
+    private final Counter deadlineBatches;
+    private final Counter fullBatches;
+    private final Counter skipped;
+    private final Counter calculatorErrors;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public PortfolioAggregator(PortfolioProperties properties, RiskCalculator riskCalculator, MeterRegistry meterRegistry) {
+        if (Integer.bitCount(properties.getShards()) != 1) {
+            throw new IllegalArgumentException("Portfolio shards must be a power of two: " + properties.getShards());
+        }
+        this.riskCalculator = riskCalculator;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.tickNanos = Math.max(1, properties.getWheelTick().toNanos());
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.shards = new Shard[properties.getShards()];
+        this.shardMask = shards.length - 1;
+        this.shardBits = Integer.numberOfTrailingZeros(shards.length);
+        this.workers = new ExecutorService[Math.max(1, properties.getCalculatorThreads())];
+        long now = System.nanoTime();
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(new TimerWheel(properties.getWheelSize(), tickNanos, now));
+        }
+
+        this.batchSize = DistributionSummary.builder("market.data.portfolio.batch.size")
+                .description("Fills per portfolio micro-batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("market.data.portfolio.flush.lag")
+                .description("Time from a batch's deadline to it reaching the risk calculator")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        this.calculatorTime = Timer.builder("market.data.portfolio.calculator.latency")
+                .description("Time the risk calculator spends on one batch")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.deadlineBatches = Counter.builder("market.data.portfolio.batches")
+                .description("Portfolio micro-batches closed")
+                .tag("reason", "deadline")
+                .register(meterRegistry);
+        this.fullBatches = Counter.builder("market.data.portfolio.batches")
+                .description("Portfolio micro-batches closed")
+                .tag("reason", "full")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("market.data.portfolio.skipped")
+                .description("Ticks without a portfolio id or price, or past the portfolio table's capacity")
+                .register(meterRegistry);
+        this.calculatorErrors = Counter.builder("market.data.portfolio.calculator.errors")
+                .description("Batches the risk calculator failed on")
+                .register(meterRegistry);
+        Gauge.builder("market.data.portfolio.open", openBatches, AtomicInteger::get)
+                .description("Portfolio batches currently collecting fills")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the fill carried by the exchange to its portfolio's open batch
+     */
+    @Override
+    public void process(Exchange exchange) {
+        String portfolio;
+        String symbol;
+        String trader;
+        long quantity;
+        long price;
+        long timestamp;
+        Object body = exchange.getIn().getBody();
+        if (body instanceof TickFlyweight tick) {
+            portfolio = tick.portfolioId();
+            symbol = tick.symbol();
+            trader = tick.traderId();
+            quantity = tick.volume();
+            price = tick.price();
+            timestamp = tick.timestampNanos();
+        } else if (body instanceof Map<?, ?> fields) {
+            portfolio = toString(fields.get("portfolioId"));
+            symbol = toString(fields.get("symbol"));
+            trader = toString(fields.get("traderId"));
+            quantity = fields.get("volume") instanceof Number number ? number.longValue() : MarketDataSchema.NULL_VALUE;
+            price = fields.get("price") instanceof Number number
+                    ? Math.round(number.doubleValue() * PRICE_SCALE) : MarketDataSchema.NULL_VALUE;
+            timestamp = MarketDataSchema.NULL_VALUE;
+        } else {
+            skipped.increment();
+            return;
+        }
+        if (portfolio == null || portfolio.isEmpty() || price == MarketDataSchema.NULL_VALUE) {
+            skipped.increment();
+            return;
+        }
+        if (quantity == MarketDataSchema.NULL_VALUE) {
+            quantity = 0;
+        }
+        if (timestamp == MarketDataSchema.NULL_VALUE) {
+            timestamp = EpochClock.nanos();
+        }
+
+        int portfolioId = InternTable.PORTFOLIOS.intern(portfolio);
+        if (portfolioId == InternTable.NULL_ID) {
+            // Portfolio table full: the trade has no batch to join
+            skipped.increment();
+            return;
+        }
+        int symbolId = InternTable.SYMBOLS.intern(symbol);
+        int traderId = InternTable.TRADERS.intern(trader);
+        Shard shard = shards[portfolioId & shardMask];
+        int index = portfolioId >>> shardBits;
+
+        PortfolioBatch full = null;
+        synchronized (shard) {
+            PortfolioBatch batch = shard.open(index);
+            if (batch == null) {
+                long now = System.nanoTime();
+                batch = shard.acquire();
+                batch.open(portfolioId, now, now + windowNanos);
+                shard.wheel.schedule(batch, batch.deadlineNanos());
+                shard.setOpen(index, batch);
+                openBatches.incrementAndGet();
+            }
+            batch.add(symbolId, traderId, quantity, price, timestamp);
+            if (batch.size() >= maxBatchSize) {
+                shard.wheel.cancel(batch);
+                shard.setOpen(index, null);
+                openBatches.decrementAndGet();
+                full = batch;
+            }
+        }
+        if (full != null) {
+            fullBatches.increment();
+            dispatch(shard, full, System.nanoTime());
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        for (int i = 0; i < workers.length; i++) {
+            String name = "portfolio-risk-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "portfolio-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Portfolio aggregator started: {}ms windows, {} shards, {} calculator threads",
+                TimeUnit.NANOSECONDS.toMillis(windowNanos), shards.length, workers.length);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        // Whatever is still open is flushed on the way out
+        flushDue(Long.MAX_VALUE, new ArrayList<>());
+        for (ExecutorService worker : workers) {
+            if (worker != null) {
+                worker.shutdown();
+                worker.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void flushLoop() {
+        List<PortfolioBatch> expired = new ArrayList<>();
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(tickNanos);
+                flushDue(System.nanoTime(), expired);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Portfolio flush failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Closes every batch whose deadline has passed, shard by shard
+     */
+    private void flushDue(long now, List<PortfolioBatch> expired) {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                if (now == Long.MAX_VALUE) {
+                    shard.drainOpen(expired);
+                } else {
+                    shard.wheel.expire(now, expired);
+                }
+                for (PortfolioBatch batch : expired) {
+                    shard.setOpen(batch.portfolioId() >>> shardBits, null);
+                }
+                openBatches.addAndGet(-expired.size());
+            }
+            long dispatched = System.nanoTime();
+            for (PortfolioBatch batch : expired) {
+                deadlineBatches.increment();
+                dispatch(shard, batch, dispatched);
+            }
+            expired.clear();
+        }
+    }
+
+    private void dispatch(Shard shard, PortfolioBatch batch, long now) {
+        batchSize.record(batch.size());
+        flushLag.record(Math.max(0, now - batch.deadlineNanos()), TimeUnit.NANOSECONDS);
+        ExecutorService worker = workers[batch.portfolioId() % workers.length];
+        if (worker == null || worker.isShutdown()) {
+            calculate(shard, batch);
+            return;
+        }
+        worker.execute(() -> calculate(shard, batch));
+    }
+
+    private void calculate(Shard shard, PortfolioBatch batch) {
+        long start = System.nanoTime();
+        try {
+            riskCalculator.calculate(batch);
+        } catch (RuntimeException e) {
+            calculatorErrors.increment();
+            log.error("Risk calculation failed for portfolio {}: {}", batch.portfolio(), e.getMessage());
+        } finally {
+            calculatorTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            synchronized (shard) {
+                shard.release(batch);
+            }
+        }
+    }
+
+    private static String toString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Open batches of the portfolios whose id maps to this shard, indexed by id over the shard count
+     */
+    private static final class Shard {
+        private final TimerWheel wheel;
+        private final ArrayDeque<PortfolioBatch> pool = new ArrayDeque<>();
+        private PortfolioBatch[] open = new PortfolioBatch[16];
+
+        private Shard(TimerWheel wheel) {
+            this.wheel = wheel;
+        }
+
+        private PortfolioBatch open(int index) {
+            return index < open.length ? open[index] : null;
+        }
+
+        private void setOpen(int index, PortfolioBatch batch) {
+            if (index >= open.length) {
+                open = Arrays.copyOf(open, Math.max(index + 1, open.length * 2));
+            }
+            open[index] = batch;
+        }
+
+        private void drainOpen(List<PortfolioBatch> drained) {
+            for (PortfolioBatch batch : open) {
+                if (batch != null) {
+                    wheel.cancel(batch);
+                    drained.add(batch);
+                }
+            }
+        }
+
+        private PortfolioBatch acquire() {
+            PortfolioBatch batch = pool.poll();
+            return batch != null ? batch : new PortfolioBatch();
+        }
+
+        private void release(PortfolioBatch batch) {
+            if (pool.size() < MAX_POOLED_PER_SHARD) {
+                pool.push(batch);
+            }
+        }
+    }
+}
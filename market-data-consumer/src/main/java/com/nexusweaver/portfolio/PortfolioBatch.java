@@ -0,0 +1,109 @@
+package com.nexusweaver.portfolio;
+
+import com.nexusweaver.model.InternTable;
+
+import java.util.Arrays;
+
+/**
+ * Portfolio Batch
+ *
+ * Fills collected for one portfolio during a micro-batch window, held in
+ * parallel primitive arrays. Batches are pooled per shard and reused, and
+ * carry their own timer wheel links so scheduling never allocates.
+ */
+public final class PortfolioBatch {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int portfolioId = InternTable.NULL_ID;
+    private long openedNanos;
+    private long deadlineNanos;
+    private int size;
+    private int[] symbolIds = new int[INITIAL_CAPACITY];
+    private int[] traderIds = new int[INITIAL_CAPACITY];
+    private long[] quantities = new long[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+
+    // Timer wheel links, owned by the shard's wheel
+    long wheelTick;
+    PortfolioBatch wheelPrev;
+    PortfolioBatch wheelNext;
+
+    void open(int portfolioId, long openedNanos, long deadlineNanos) {
+        this.portfolioId = portfolioId;
+        this.openedNanos = openedNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.size = 0;
+    }
+
+    void add(int symbolId, int traderId, long quantity, long price, long timestampNanos) {
+        if (size == symbolIds.length) {
+            int capacity = size * 2;
+            symbolIds = Arrays.copyOf(symbolIds, capacity);
+            traderIds = Arrays.copyOf(traderIds, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+        symbolIds[size] = symbolId;
+        traderIds[size] = traderId;
+        quantities[size] = quantity;
+        prices[size] = price;
+        timestamps[size] = timestampNanos;
+        size++;
+    }
+
+    public int portfolioId() {
+        return portfolioId;
+    }
+
+    public String portfolio() {
+        return InternTable.PORTFOLIOS.name(portfolioId);
+    }
+
+    /**
+     * {@link System#nanoTime()} of the batch's first fill
+     */
+    public long openedNanos() {
+        return openedNanos;
+    }
+
+    /**
+     * {@link System#nanoTime()} the batch was due to close
+     */
+    public long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int symbolId(int index) {
+        return symbolIds[index];
+    }
+
+    public String symbol(int index) {
+        return InternTable.SYMBOLS.name(symbolIds[index]);
+    }
+
+    public int traderId(int index) {
+        return traderIds[index];
+    }
+
+    public long quantity(int index) {
+        return quantities[index];
+    }
+
+    /**
+     * Fixed-point price with {@code MarketDataSchema.PRICE_DECIMALS} decimals
+     */
+    public long price(int index) {
+        return prices[index];
+    }
+
+    public long timestampNanos(int index) {
+        return timestamps[index];
+    }
+}
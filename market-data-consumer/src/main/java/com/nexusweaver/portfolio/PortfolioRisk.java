@@ -0,0 +1,10 @@
+package com.nexusweaver.portfolio;
+
+import java.time.Instant;
+
+/**
+ * Running exposure of one portfolio as of its latest batch
+ */
+public record PortfolioRisk(String portfolio, long fills, double netNotional, double grossNotional,
+                            double valueAtRisk, int lastBatchSize, Instant updatedAt) {
+}
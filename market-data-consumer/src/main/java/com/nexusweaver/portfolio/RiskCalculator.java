@@ -0,0 +1,14 @@
+package com.nexusweaver.portfolio;
+
+/**
+ * Risk model applied to each closed portfolio micro-batch.
+ *
+ * Called on a calculator worker; every batch of a given portfolio goes to the
+ * same worker, in order. The batch is recycled once the call returns and must
+ * not be retained. Define a bean of this type to replace the default
+ * {@link ExposureRiskCalculator}.
+ */
+public interface RiskCalculator {
+
+    void calculate(PortfolioBatch batch);
+}
@@ -0,0 +1,34 @@
+package com.nexusweaver.portfolio;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the default calculator's portfolio exposure (/actuator/risk[/{portfolio}])
+ */
+@Component
+@ConditionalOnBean(ExposureRiskCalculator.class)
+@Endpoint(id = "risk")
+public class RiskEndpoint {
+
+    private final ExposureRiskCalculator riskCalculator;
+
+    public RiskEndpoint(ExposureRiskCalculator riskCalculator) {
+        this.riskCalculator = riskCalculator;
+    }
+
+    @ReadOperation
+    public Map<String, PortfolioRisk> risk() {
+        return riskCalculator.snapshot();
+    }
+
+    @ReadOperation
+    public PortfolioRisk risk(@Selector String portfolio) {
+        return riskCalculator.get(portfolio);
+    }
+}
@@ -0,0 +1,79 @@
+package com.nexusweaver.portfolio;
+
+import java.util.List;
+
+/**
+ * Timer Wheel
+ *
+ * Hashed timer wheel for batch deadlines: a ring of slots, each an intrusive
+ * doubly linked list of batches, so scheduling and cancelling are O(1) and
+ * allocation-free regardless of how many portfolios are open. Expiry walks
+ * only the slots the clock has passed; a deadline further out than one turn
+ * of the wheel stays in its slot until its tick comes round. Not thread-safe;
+ * the owning shard guards it.
+ */
+final class TimerWheel {
+
+    private final PortfolioBatch[] slots;
+    private final int mask;
+    private final long tickNanos;
+    private long currentTick;
+
+    TimerWheel(int size, long tickNanos, long startNanos) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Timer wheel size must be a power of two: " + size);
+        }
+        this.slots = new PortfolioBatch[size];
+        this.mask = size - 1;
+        this.tickNanos = tickNanos;
+        this.currentTick = startNanos / tickNanos;
+    }
+
+    void schedule(PortfolioBatch batch, long deadlineNanos) {
+        // Round up so a batch never fires before its deadline
+        long tick = Math.max(currentTick, (deadlineNanos + tickNanos - 1) / tickNanos);
+        int slot = (int) (tick & mask);
+        batch.wheelTick = tick;
+        batch.wheelPrev = null;
+        batch.wheelNext = slots[slot];
+        if (slots[slot] != null) {
+            slots[slot].wheelPrev = batch;
+        }
+        slots[slot] = batch;
+    }
+
+    void cancel(PortfolioBatch batch) {
+        int slot = (int) (batch.wheelTick & mask);
+        if (batch.wheelPrev != null) {
+            batch.wheelPrev.wheelNext = batch.wheelNext;
+        } else if (slots[slot] == batch) {
+            slots[slot] = batch.wheelNext;
+        }
+        if (batch.wheelNext != null) {
+            batch.wheelNext.wheelPrev = batch.wheelPrev;
+        }
+        batch.wheelPrev = null;
+        batch.wheelNext = null;
+    }
+
+    /**
+     * Advances the wheel to {@code nowNanos}, moving every batch whose tick has passed into {@code expired}
+     */
+    void expire(long nowNanos, List<PortfolioBatch> expired) {
+        long nowTick = nowNanos / tickNanos;
+        // After a stall one full turn visits every slot once
+        long from = Math.max(currentTick, nowTick - mask);
+        for (long tick = from; tick <= nowTick; tick++) {
+            PortfolioBatch batch = slots[(int) (tick & mask)];
+            while (batch != null) {
+                PortfolioBatch next = batch.wheelNext;
+                if (batch.wheelTick <= nowTick) {
+                    cancel(batch);
+                    expired.add(batch);
+                }
+                batch = next;
+            }
+        }
+        currentTick = nowTick + 1;
+    }
+}
@@ -1,8 +1,34 @@
 package com.nexusweaver.routes;
 
+import com.nexusweaver.aggregation.Bar;
+import com.nexusweaver.aggregation.BarAggregator;
+import com.nexusweaver.codec.BinaryTickDataFormat;
+import com.nexusweaver.codec.WireFormat;
+import com.nexusweaver.concurrency.AdaptiveDispatcher;
+import com.nexusweaver.config.AggregationConfig;
+import com.nexusweaver.config.ConflationConfig;
+import com.nexusweaver.config.ProcessingProperties;
+import com.nexusweaver.config.StreamConsumerProperties;
+import com.nexusweaver.conflation.ConflationStage;
+import com.nexusweaver.conflation.LastValueCache;
+import com.nexusweaver.dedupe.TradeIdExpression;
+import com.nexusweaver.dedupe.WindowedIdempotentRepository;
+import com.nexusweaver.logging.RouteLog;
+import com.nexusweaver.metrics.PipelineLatency;
+import com.nexusweaver.portfolio.PortfolioAggregator;
+import com.nexusweaver.processors.RoutingFieldExtractor;
+import com.nexusweaver.stream.StreamConsumerService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.DataFormatDefinition;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.dataformat.JsonDataFormat;
 import org.apache.camel.model.dataformat.JsonLibrary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -15,6 +41,54 @@ import org.springframework.stereotype.Component;
 @Component
 public class MarketDataConsumerRoute extends RouteBuilder {
 
+    @Autowired
+    private BinaryTickDataFormat binaryTickDataFormat;
+
+    @Autowired
+    private RoutingFieldExtractor routingFieldExtractor;
+
+    @Autowired
+    private StreamConsumerProperties streamProperties;
+
+    @Autowired
+    private ProcessingProperties processingProperties;
+
+    @Autowired(required = false)
+    private AdaptiveDispatcher dispatcher;
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private LastValueCache lastValueCache;
+
+    @Autowired(required = false)
+    private ConflationStage conflationStage;
+
+    @Autowired(required = false)
+    private BarAggregator barAggregator;
+
+    @Autowired(required = false)
+    private PortfolioAggregator portfolioAggregator;
+
+    @Autowired(required = false)
+    private WindowedIdempotentRepository tradeIdempotentRepository;
+
+    @Autowired
+    private RouteLog routeLog;
+
+    @Autowired
+    private PipelineLatency latency;
+
+    @Value("${HOSTNAME:unknown}")
+    private String hostname;
+
+    @Value("${consumer.input.market-data-format:json}")
+    private WireFormat marketDataWireFormat;
+
+    @Value("${consumer.input.trade-format:json}")
+    private WireFormat tradeWireFormat;
+
     @Override
     public void configure() throws Exception {
         
@@ -24,74 +98,160 @@ public class MarketDataConsumerRoute extends RouteBuilder {
             .log("Error consuming market data: ${exception.message}")
             .to("micrometer:counter:market.data.consumer.errors");
 
-        // CONSUMER ROUTE - Reads from RabbitMQ stream with consumer group for load balancing
-        from("rabbitmq:market-prices-stream?hostname={{rabbitmq.hostname}}&port=5672&username={{rabbitmq.username}}&password={{rabbitmq.password}}&queue=market-prices-consumer-group&routingKey=market.data&concurrentConsumers=5&args=#{'x-stream-offset':'last','x-consumer-group':'nexus-consumer-group'}")
+        // STREAM SOURCES - AMQP mode reads the streams through the rabbitmq: endpoint;
+        // NATIVE and IN_MEMORY modes are driven by StreamConsumerService over the stream protocol
+        // with tracked offsets, so a restart resumes where it left off
+        if (streamProperties.getMode() == StreamConsumerProperties.Mode.AMQP) {
+            from("rabbitmq:market-prices-stream?hostname={{rabbitmq.hostname}}&port=5672&username={{rabbitmq.username}}&password={{rabbitmq.password}}&queue=market-prices-consumer-group&routingKey=market.data&concurrentConsumers=" + processingProperties.getConcurrentConsumers() + "&prefetchEnabled=true&prefetchCount=" + processingProperties.getBatchSize() + "&args=#{'x-stream-offset':'last','x-consumer-group':'nexus-consumer-group'}")
+                .routeId("market-data-amqp-consumer")
+                .to(StreamConsumerService.MARKET_DATA_ENDPOINT);
+
+            from("rabbitmq:trade-executions-stream?hostname={{rabbitmq.hostname}}&port=5672&username={{rabbitmq.username}}&password={{rabbitmq.password}}&queue=trade-executions-consumer-group&routingKey=trade.execution&concurrentConsumers=" + processingProperties.getTradeConcurrentConsumers() + "&prefetchEnabled=true&prefetchCount=" + processingProperties.getBatchSize() + "&args=#{'x-stream-offset':'last','x-consumer-group':'nexus-trade-group'}")
+                .routeId("trade-executions-amqp-consumer")
+                .to(StreamConsumerService.TRADE_ENDPOINT);
+        }
+
+        // CONSUMER ROUTE - Processes market data read from the stream
+        RouteDefinition marketDataConsumer = from(StreamConsumerService.MARKET_DATA_ENDPOINT)
             .routeId("market-data-stream-consumer")
-            .log("CONSUMER [${env:HOSTNAME}]: Received market data message from stream")
+            .process(latency::received)
             
-            // Unmarshal JSON
-            .unmarshal().json(JsonLibrary.Jackson)
+            // Unmarshal JSON into a map, or wrap binary in a flyweight without decoding
+            .unmarshal(wireFormat(marketDataWireFormat))
+            .process(latency::unmarshalled)
             
+            // Extract routing fields once into typed exchange properties
+            .process(routingFieldExtractor)
+
+            // Per-message logging is sampled per route (consumer.logging, /actuator/logsampling)
+            .process(routeLog.sampled("market-data-stream-consumer", (log, exchange) ->
+                log.info("CONSUMER [{}]: Received market data message for {} from stream",
+                    hostname, exchange.getProperty(RoutingFieldExtractor.SYMBOL))))
+
+            // Keep the latest tick per symbol queryable
+            .process(lastValueCache::update);
+
+        // Fold every tick into the OHLCV/VWAP windows, before conflation sheds any
+        if (barAggregator != null) {
+            marketDataConsumer.process(barAggregator);
+        }
+
+        marketDataConsumer
             // Add consumer metadata
             .process(exchange -> {
                 exchange.getIn().setHeader("consumerInstance", System.getenv("POD_NAME"));
                 exchange.getIn().setHeader("processedAt", System.currentTimeMillis());
             })
             
-            // Add metrics for distributed processing
+            // Add metrics for distributed processing; latency is recorded when the route completes
             .to("micrometer:counter:market.data.consumed.total")
-            .to("micrometer:timer:market.data.consumer.latency")
             
             // Route to different processing based on content
             .choice()
-                .when(jsonpath("$[?(@.symbol)]"))
-                    .log("CONSUMER: Processing market data for symbol: ${jsonpath($.symbol)}")
+                .when(exchangeProperty(RoutingFieldExtractor.HAS_SYMBOL).isEqualTo(true))
+                    .process(routeLog.sampled("market-data-routing", (log, exchange) ->
+                        log.info("CONSUMER: Processing market data for symbol: {}",
+                            exchange.getProperty(RoutingFieldExtractor.SYMBOL))))
                     .to("direct:process-market-data")
                 .otherwise()
                     .log("CONSUMER: Unknown message format")
                     .to("direct:handle-unknown")
-            .end();
+            .end()
+            .process(latency::completed);
+
+        // Closed bars from the aggregation windows (/actuator/bars keeps the latest per symbol)
+        if (barAggregator != null) {
+            from(AggregationConfig.BARS_ENDPOINT)
+                .routeId("market-data-bars")
+                .process(routeLog.sampled("market-data-bars", (log, exchange) -> {
+                    Bar bar = exchange.getIn().getBody(Bar.class);
+                    log.info("BAR [{}]: {} {} O={} H={} L={} C={} V={} VWAP={} ticks={}", bar.window(), bar.symbol(),
+                        bar.start(), bar.open(), bar.high(), bar.low(), bar.close(), bar.volume(), bar.vwap(), bar.ticks());
+                }))
+                .to("micrometer:counter:market.data.bars.published");
+        }
 
         // Trade execution consumer (second stream with consumer group)
-        from("rabbitmq:trade-executions-stream?hostname={{rabbitmq.hostname}}&port=5672&username={{rabbitmq.username}}&password={{rabbitmq.password}}&queue=trade-executions-consumer-group&routingKey=trade.execution&concurrentConsumers=3&args=#{'x-stream-offset':'last','x-consumer-group':'nexus-trade-group'}")
+        RouteDefinition tradeConsumer = from(StreamConsumerService.TRADE_ENDPOINT)
             .routeId("trade-executions-stream-consumer")
-            .log("CONSUMER [${env:HOSTNAME}]: Received trade execution message from stream")
-            .unmarshal().json(JsonLibrary.Jackson)
+            .process(routeLog.sampled("trade-executions-stream-consumer", (log, exchange) ->
+                log.info("CONSUMER [{}]: Received trade execution message from stream", hostname)))
+            .process(latency::received)
+            .unmarshal(wireFormat(tradeWireFormat))
+            .process(latency::unmarshalled);
+
+        // Redelivered and replayed executions stop here, before they reach the portfolios;
+        // a trade that fails downstream is forgotten again so its redelivery goes through
+        ProcessorDefinition<?> trades = tradeConsumer;
+        if (tradeIdempotentRepository != null) {
+            trades = tradeConsumer
+                .idempotentConsumer(new TradeIdExpression())
+                .idempotentRepository(tradeIdempotentRepository);
+        }
+
+        trades
             .to("micrometer:counter:trade.executions.consumed.total")
-            .to("direct:process-trade-execution");
+            .process(processing("direct:process-trade-execution", true))
+            .process(latency::completed);
 
-        // Market data processing sub-route
-        from("direct:process-market-data")
-            .routeId("process-market-data")
-            .log("DISTRIBUTED PROCESSING: Market data for ${jsonpath($.symbol)} on pod ${header.consumerInstance}")
+        // Market data processing sub-route; with conflation enabled the analytics run on
+        // conflation workers that only ever see the latest tick per symbol
+        if (conflationStage != null) {
+            from("direct:process-market-data")
+                .routeId("process-market-data")
+                .process(conflationStage);
+        } else {
+            from("direct:process-market-data")
+                .routeId("process-market-data")
+                .to(ConflationConfig.ANALYTICS_ENDPOINT);
+        }
+
+        from(ConflationConfig.ANALYTICS_ENDPOINT)
+            .routeId("analyze-market-data")
+            .process(routeLog.sampled("analyze-market-data", (log, exchange) ->
+                log.info("DISTRIBUTED PROCESSING: Market data for {} on pod {}",
+                    exchange.getProperty(RoutingFieldExtractor.SYMBOL), exchange.getIn().getHeader("consumerInstance"))))
             .choice()
-                .when(jsonpath("$[?(@.price > 100)]"))
-                    .log("HIGH-VALUE STOCK: ${jsonpath($.symbol)} = $${jsonpath($.price)}")
-                    .to("direct:high-value-processing")
+                .when(exchangeProperty(RoutingFieldExtractor.HIGH_VALUE).isEqualTo(true))
+                    .process(routeLog.sampled("high-value-routing", (log, exchange) ->
+                        log.info("HIGH-VALUE STOCK: {} = ${}", exchange.getProperty(RoutingFieldExtractor.SYMBOL),
+                            exchange.getProperty(RoutingFieldExtractor.PRICE))))
+                    .process(processing("direct:high-value-processing", false))
                 .otherwise()
-                    .log("REGULAR STOCK: ${jsonpath($.symbol)} = $${jsonpath($.price)}")
-                    .to("direct:regular-processing")
+                    .process(routeLog.sampled("regular-routing", (log, exchange) ->
+                        log.info("REGULAR STOCK: {} = ${}", exchange.getProperty(RoutingFieldExtractor.SYMBOL),
+                            exchange.getProperty(RoutingFieldExtractor.PRICE))))
+                    .process(processing("direct:regular-processing", false))
             .end();
 
         // High-value stock processing (could be complex algorithms)
         from("direct:high-value-processing")
             .routeId("high-value-processing")
-            .log("CLUSTER PROCESSING: Applying sophisticated algorithms for high-value stock")
+            .process(routeLog.sampled("high-value-processing", (log, exchange) ->
+                log.info("CLUSTER PROCESSING: Applying sophisticated algorithms for high-value stock {}",
+                    exchange.getProperty(RoutingFieldExtractor.SYMBOL))))
             .delay(100) // Simulate complex processing
             .to("micrometer:counter:high.value.stocks.processed");
 
         // Regular processing
         from("direct:regular-processing")
             .routeId("regular-processing")
-            .log("CLUSTER PROCESSING: Standard processing for regular stock")
+            .process(routeLog.sampled("regular-processing", (log, exchange) ->
+                log.info("CLUSTER PROCESSING: Standard processing for regular stock {}",
+                    exchange.getProperty(RoutingFieldExtractor.SYMBOL))))
             .delay(50) // Simulate processing
             .to("micrometer:counter:regular.stocks.processed");
 
-        // Trade execution processing
-        from("direct:process-trade-execution")
+        // Trade execution processing; fills are micro-batched per portfolio for the risk calculator
+        RouteDefinition tradeExecution = from("direct:process-trade-execution")
             .routeId("process-trade-execution")
-            .log("TRADE PROCESSING: Processing trade execution on pod ${header.consumerInstance}")
-            .to("micrometer:counter:trades.processed");
+            .process(routeLog.sampled("process-trade-execution", (log, exchange) ->
+                log.info("TRADE PROCESSING: Processing trade execution on pod {}",
+                    exchange.getIn().getHeader("consumerInstance"))));
+        if (portfolioAggregator != null) {
+            tradeExecution.process(portfolioAggregator);
+        }
+        tradeExecution.to("micrometer:counter:trades.processed");
 
         // Unknown message handler
         from("direct:handle-unknown")
@@ -99,4 +259,23 @@ public class MarketDataConsumerRoute extends RouteBuilder {
             .log("CONSUMER: Handling unknown message format")
             .to("micrometer:counter:unknown.messages.handled");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Runs the processing route on the adaptive dispatcher's threads, or in line when it is disabled;
+     * either way the exchange carries on only once the processing route has finished with it.
+     * Lossless endpoints are never dropped by tenant admission, they wait for it.
+     */
+    private Processor processing(String endpoint, boolean lossless) {
+        if (dispatcher != null) {
+            return dispatcher.to(endpoint, lossless);
+        }
+        return exchange -> producerTemplate.send(endpoint, exchange);
+    }
+
+    private DataFormatDefinition wireFormat(WireFormat wireFormat) {
+        if (wireFormat == WireFormat.BINARY) {
+            return new DataFormatDefinition(binaryTickDataFormat);
+        }
+        return new JsonDataFormat(JsonLibrary.Jackson);
+    }
+}
@@ -0,0 +1,77 @@
+package com.nexusweaver.stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * File Offset Store
+ *
+ * Locally persisted offsets, one small file per consumer reference. Stores only
+ * update memory; {@link #flush()} writes changed offsets atomically
+ * (write to a temp file, then rename), so a crash never leaves a torn offset.
+ */
+@Slf4j
+public class FileOffsetStore implements OffsetStore {
+
+    private final Path directory;
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    public FileOffsetStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create offset store directory " + directory, e);
+        }
+    }
+
+    @Override
+    public long load(String reference) {
+        Long buffered = pending.get(reference);
+        if (buffered != null) {
+            return buffered;
+        }
+        Path file = fileFor(reference);
+        if (!Files.exists(file)) {
+            return NO_OFFSET;
+        }
+        try {
+            return Long.parseLong(Files.readString(file, StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable offset file {}: {}", file, e.getMessage());
+            return NO_OFFSET;
+        }
+    }
+
+    @Override
+    public void store(String reference, long offset) {
+        pending.put(reference, offset);
+    }
+
+    @Override
+    public void flush() {
+        for (Map.Entry<String, Long> entry : pending.entrySet()) {
+            Path file = fileFor(entry.getKey());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                Files.writeString(temp, Long.toString(entry.getValue()), StandardCharsets.US_ASCII);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                pending.remove(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                log.error("Failed to persist offset {} for {}: {}", entry.getValue(), entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private Path fileFor(String reference) {
+        return directory.resolve(reference.replaceAll("[^A-Za-z0-9._-]", "_") + ".offset");
+    }
+}
@@ -0,0 +1,22 @@
+package com.nexusweaver.stream;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offsets kept in memory; stands in for broker-side tracking in the in-process stream source
+ */
+public class InMemoryOffsetStore implements OffsetStore {
+
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+
+    @Override
+    public long load(String reference) {
+        return offsets.getOrDefault(reference, NO_OFFSET);
+    }
+
+    @Override
+    public void store(String reference, long offset) {
+        offsets.put(reference, offset);
+    }
+}
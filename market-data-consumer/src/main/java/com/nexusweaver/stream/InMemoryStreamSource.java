@@ -0,0 +1,177 @@
+package com.nexusweaver.stream;
+
+import com.nexusweaver.config.StreamConsumerProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-Memory Stream Source
+ *
+ * In-process stand-in for a RabbitMQ stream broker, used for local runs and
+ * tests. Streams are append-only logs addressed by offset; named consumers
+ * resume after their tracked offset, and single-active-consumer groups let
+ * only one subscription per name receive records at a time.
+ */
+@Slf4j
+public class InMemoryStreamSource implements StreamSource {
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final StreamConsumerProperties properties;
+    private final OffsetStore offsets;
+    private final Map<String, StreamLog> streams = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> activeConsumers = new ConcurrentHashMap<>();
+
+    /**
+     * @param offsets where consumer offsets are tracked; an {@link InMemoryOffsetStore}
+     *                plays the role of broker-side tracking
+     */
+    public InMemoryStreamSource(StreamConsumerProperties properties, OffsetStore offsets) {
+        this.properties = properties;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Appends a record and returns its offset
+     */
+    public long append(String stream, byte[] payload) {
+        return streamLog(stream).append(payload);
+    }
+
+    @Override
+    public AutoCloseable subscribe(StreamConsumerProperties.Binding binding, StreamRecordHandler handler) {
+        Subscription subscription = new Subscription(binding, handler);
+        Thread thread = new Thread(subscription, "in-memory-stream-" + binding.getConsumerName());
+        thread.setDaemon(true);
+        thread.start();
+        return () -> {
+            subscription.running = false;
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        };
+    }
+
+    @Override
+    public long tailOffset(String stream) {
+        return streamLog(stream).size() - 1;
+    }
+
+    @Override
+    public void close() {
+        offsets.flush();
+    }
+
+    private StreamLog streamLog(String stream) {
+        return streams.computeIfAbsent(stream, name -> new StreamLog());
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final StreamConsumerProperties.Binding binding;
+        private final StreamRecordHandler handler;
+        private volatile boolean running = true;
+
+        private Subscription(StreamConsumerProperties.Binding binding, StreamRecordHandler handler) {
+            this.binding = binding;
+            this.handler = handler;
+        }
+
+        @Override
+        public void run() {
+            String reference = binding.getConsumerName();
+            Semaphore active = properties.isSingleActiveConsumer()
+                    ? activeConsumers.computeIfAbsent(reference, name -> new Semaphore(1))
+                    : null;
+            try {
+                if (active != null) {
+                    while (running && !active.tryAcquire(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                        // Standby until the active consumer goes away
+                    }
+                }
+                consume(reference);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (active != null) {
+                    active.release();
+                }
+            }
+        }
+
+        private void consume(String reference) throws InterruptedException {
+            StreamLog streamLog = streamLog(binding.getStream());
+            int storeEvery = Math.max(1, properties.getStoreEvery());
+            long offset = startOffset(reference, streamLog);
+            long lastProcessed = OffsetStore.NO_OFFSET;
+            int sinceStore = 0;
+
+            try {
+                while (running) {
+                    byte[] payload = streamLog.await(offset, POLL_TIMEOUT_MS);
+                    if (payload == null) {
+                        continue;
+                    }
+                    try {
+                        handler.handle(binding.getStream(), offset, payload);
+                    } catch (Exception e) {
+                        log.error("Failed to handle offset {} of {}: {}", offset, binding.getStream(), e.getMessage());
+                    }
+                    lastProcessed = offset++;
+                    if (++sinceStore >= storeEvery) {
+                        sinceStore = 0;
+                        offsets.store(reference, lastProcessed);
+                        offsets.flush();
+                    }
+                }
+            } finally {
+                if (lastProcessed != OffsetStore.NO_OFFSET) {
+                    offsets.store(reference, lastProcessed);
+                    offsets.flush();
+                }
+            }
+        }
+
+        private long startOffset(String reference, StreamLog streamLog) {
+            long stored = offsets.load(reference);
+            if (stored != OffsetStore.NO_OFFSET) {
+                return stored + 1;
+            }
+            return switch (properties.getInitialOffset().toLowerCase()) {
+                case "first" -> 0L;
+                case "last" -> Math.max(0L, streamLog.size() - 1);
+                default -> streamLog.size();
+            };
+        }
+    }
+
+    private static final class StreamLog {
+
+        private final List<byte[]> records = new ArrayList<>();
+
+        synchronized long append(byte[] payload) {
+            records.add(payload);
+            notifyAll();
+            return records.size() - 1L;
+        }
+
+        synchronized byte[] await(long offset, long timeoutMs) throws InterruptedException {
+            if (offset >= records.size()) {
+                wait(timeoutMs);
+                if (offset >= records.size()) {
+                    return null;
+                }
+            }
+            return records.get((int) offset);
+        }
+
+        synchronized long size() {
+            return records.size();
+        }
+    }
+}
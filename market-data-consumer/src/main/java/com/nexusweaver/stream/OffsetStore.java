@@ -0,0 +1,22 @@
+package com.nexusweaver.stream;
+
+/**
+ * Persists the last processed offset per consumer reference
+ */
+public interface OffsetStore {
+
+    long NO_OFFSET = -1L;
+
+    /**
+     * Returns the last stored offset, or {@link #NO_OFFSET}
+     */
+    long load(String reference);
+
+    void store(String reference, long offset);
+
+    /**
+     * Writes any buffered offsets
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,145 @@
+package com.nexusweaver.stream;
+
+import com.nexusweaver.config.StreamConsumerProperties;
+import com.rabbitmq.stream.Consumer;
+import com.rabbitmq.stream.ConsumerBuilder;
+import com.rabbitmq.stream.ConsumerFlowStrategy;
+import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.NoOffsetException;
+import com.rabbitmq.stream.OffsetSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RabbitMQ Stream Source
+ *
+ * Consumes streams over the native stream protocol: chunk-level delivery,
+ * credit-based flow control (credit is granted as messages are processed),
+ * optional single-active-consumer groups, and offset tracking either on the
+ * broker under the consumer name or in a local {@link OffsetStore}. A named
+ * consumer resumes after its last tracked offset instead of skipping to the tail.
+ *
+ * The stream client only reports the committed chunk id, the first offset of
+ * the newest committed chunk, so {@link #tailOffset} trails the true tail by
+ * up to one chunk and the lag derived from it reads low by as much.
+ */
+@Slf4j
+public class RabbitStreamSource implements StreamSource {
+
+    private final Environment environment;
+    private final StreamConsumerProperties properties;
+    private final OffsetStore localOffsets;
+
+    /**
+     * @param localOffsets offset store for LOCAL tracking, or null to track on the broker
+     */
+    public RabbitStreamSource(StreamConsumerProperties properties, OffsetStore localOffsets) {
+        this.properties = properties;
+        this.localOffsets = localOffsets;
+        this.environment = Environment.builder()
+                .host(properties.getHost())
+                .port(properties.getPort())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+    }
+
+    @Override
+    public AutoCloseable subscribe(StreamConsumerProperties.Binding binding, StreamRecordHandler handler) {
+        String reference = binding.getConsumerName();
+        int storeEvery = Math.max(1, properties.getStoreEvery());
+        long[] sinceStore = {0};
+        // Written on the client's dispatch thread, read by whoever closes the subscription
+        AtomicLong lastProcessed = new AtomicLong(OffsetStore.NO_OFFSET);
+
+        ConsumerBuilder builder = environment.consumerBuilder()
+                .stream(binding.getStream())
+                .name(reference)
+                .offset(startOffset(reference))
+                .flow()
+                    .strategy(ConsumerFlowStrategy.creditWhenHalfMessagesProcessed(properties.getInitialCredits()))
+                    .builder();
+
+        if (properties.isSingleActiveConsumer()) {
+            builder.singleActiveConsumer();
+            if (localOffsets != null) {
+                // Broker-tracked consumers resume automatically; local tracking must tell the broker where
+                builder.consumerUpdateListener(context -> startOffset(reference));
+            }
+        }
+
+        if (localOffsets == null) {
+            builder.manualTrackingStrategy().builder();
+        } else {
+            builder.noTrackingStrategy();
+        }
+
+        builder.messageHandler((context, message) -> {
+            try {
+                handler.handle(context.stream(), context.offset(), message.getBodyAsBinary());
+            } catch (Exception e) {
+                log.error("Failed to handle offset {} of {}: {}", context.offset(), context.stream(), e.getMessage());
+            } finally {
+                context.processed();
+                lastProcessed.set(context.offset());
+            }
+
+            if (++sinceStore[0] >= storeEvery) {
+                sinceStore[0] = 0;
+                if (localOffsets == null) {
+                    context.storeOffset();
+                } else {
+                    localOffsets.store(reference, context.offset());
+                    localOffsets.flush();
+                }
+            }
+        });
+
+        log.info("Subscribed {} to stream {} (tracking={}, singleActive={})", reference, binding.getStream(),
+                properties.getOffsetTracking(), properties.isSingleActiveConsumer());
+        Consumer consumer = builder.build();
+        return () -> {
+            consumer.close();
+            long last = lastProcessed.get();
+            if (localOffsets != null && last != OffsetStore.NO_OFFSET) {
+                localOffsets.store(reference, last);
+                localOffsets.flush();
+            }
+        };
+    }
+
+    /**
+     * First offset of the newest committed chunk: a lower bound on the tail, behind it by up to one chunk
+     */
+    @Override
+    public long tailOffset(String stream) {
+        try {
+            return environment.queryStreamStats(stream).committedChunkId();
+        } catch (NoOffsetException e) {
+            return -1L;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (localOffsets != null) {
+            localOffsets.flush();
+        }
+        environment.close();
+    }
+
+    private OffsetSpecification startOffset(String reference) {
+        if (localOffsets != null) {
+            long stored = localOffsets.load(reference);
+            if (stored != OffsetStore.NO_OFFSET) {
+                return OffsetSpecification.offset(stored + 1);
+            }
+        }
+        return switch (properties.getInitialOffset().toLowerCase()) {
+            case "first" -> OffsetSpecification.first();
+            case "last" -> OffsetSpecification.last();
+            default -> OffsetSpecification.next();
+        };
+    }
+}
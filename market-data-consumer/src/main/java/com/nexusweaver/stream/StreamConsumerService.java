@@ -0,0 +1,155 @@
+package com.nexusweaver.stream;
+
+import com.nexusweaver.config.StreamConsumerProperties;
+import com.nexusweaver.config.StreamConsumerProperties.Mode;
+import com.nexusweaver.config.StreamConsumerProperties.OffsetTracking;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.ProducerTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stream Consumer Service
+ *
+ * Drives the native (or in-memory) stream consumers and hands every record to
+ * the Camel pipeline synchronously, so a record only counts as processed, and
+ * only earns flow-control credit, once its route has finished. Inactive in
+ * AMQP mode, where the rabbitmq: endpoints feed the same pipeline instead.
+ */
+@Slf4j
+@Component
+public class StreamConsumerService {
+
+    public static final String MARKET_DATA_ENDPOINT = "direct:market-data-stream-in";
+    public static final String TRADE_ENDPOINT = "direct:trade-executions-stream-in";
+
+    public static final String STREAM_HEADER = "streamName";
+    public static final String OFFSET_HEADER = "streamOffset";
+
+    private final StreamConsumerProperties properties;
+    private final ProducerTemplate producerTemplate;
+    private final MeterRegistry meterRegistry;
+    private final List<AutoCloseable> subscriptions = new ArrayList<>();
+    private final Map<String, AtomicLong> lastOffsets = new ConcurrentHashMap<>();
+
+    private StreamSource source;
+
+    public StreamConsumerService(StreamConsumerProperties properties, ProducerTemplate producerTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.producerTemplate = producerTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (properties.getMode() == Mode.AMQP) {
+            return;
+        }
+
+        source = createSource();
+        subscribe(properties.getMarketData(), MARKET_DATA_ENDPOINT);
+        subscribe(properties.getTrade(), TRADE_ENDPOINT);
+        log.info("Stream consumers started in {} mode with {} offset tracking",
+                properties.getMode(), properties.getOffsetTracking());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        for (AutoCloseable subscription : subscriptions) {
+            try {
+                subscription.close();
+            } catch (Exception e) {
+                log.warn("Failed to close stream subscription: {}", e.getMessage());
+            }
+        }
+        subscriptions.clear();
+        if (source != null) {
+            source.close();
+            source = null;
+        }
+    }
+
+    /**
+     * The active stream source, or null in AMQP mode or before startup
+     */
+    public synchronized StreamSource getSource() {
+        return source;
+    }
+
+    private StreamSource createSource() {
+        OffsetStore localOffsets = properties.getOffsetTracking() == OffsetTracking.LOCAL
+                ? new FileOffsetStore(Path.of(properties.getOffsetStoreDirectory()))
+                : null;
+        if (properties.getMode() == Mode.IN_MEMORY) {
+            return new InMemoryStreamSource(properties, localOffsets != null ? localOffsets : new InMemoryOffsetStore());
+        }
+        return new RabbitStreamSource(properties, localOffsets);
+    }
+
+    private void subscribe(StreamConsumerProperties.Binding binding, String endpoint) {
+        String stream = binding.getStream();
+        AtomicLong lastOffset = lastOffsets.computeIfAbsent(stream, name -> new AtomicLong(-1L));
+        Counter consumed = Counter.builder("stream.consumer.records")
+                .description("Records delivered to the pipeline over the stream protocol")
+                .tag("stream", stream)
+                .register(meterRegistry);
+        Gauge.builder("stream.consumer.offset", lastOffset, AtomicLong::get)
+                .description("Offset of the last processed record")
+                .tag("stream", stream)
+                .register(meterRegistry);
+        Gauge.builder("stream.consumer.lag", this, service -> service.lag(stream, lastOffset.get()))
+                .description("Records between the stream tail and the last processed offset")
+                .tag("stream", stream)
+                .register(meterRegistry);
+
+        StreamRecordHandler handler = (streamName, offset, payload) -> {
+            producerTemplate.send(endpoint, exchange -> {
+                exchange.getIn().setBody(payload);
+                exchange.getIn().setHeader(STREAM_HEADER, streamName);
+                exchange.getIn().setHeader(OFFSET_HEADER, offset);
+            });
+            lastOffset.set(offset);
+            consumed.increment();
+        };
+        subscriptions.add(source.subscribe(binding, handler));
+    }
+
+    /**
+     * Records behind the tail summed over the subscribed streams; 0 in AMQP mode, where it is not known
+     */
+    public long lag() {
+        long lag = 0;
+        for (Map.Entry<String, AtomicLong> entry : lastOffsets.entrySet()) {
+            double streamLag = lag(entry.getKey(), entry.getValue().get());
+            if (!Double.isNaN(streamLag)) {
+                lag += (long) streamLag;
+            }
+        }
+        return lag;
+    }
+
+    private double lag(String stream, long lastOffset) {
+        StreamSource current = source;
+        if (current == null || lastOffset < 0) {
+            return 0;
+        }
+        try {
+            return Math.max(0, current.tailOffset(stream) - lastOffset);
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+}
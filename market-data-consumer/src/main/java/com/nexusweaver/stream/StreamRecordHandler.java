@@ -0,0 +1,12 @@
+package com.nexusweaver.stream;
+
+/**
+ * Receives stream records in offset order. Returning normally marks the record
+ * as processed, which grants flow-control credit and makes its offset eligible
+ * for tracking.
+ */
+@FunctionalInterface
+public interface StreamRecordHandler {
+
+    void handle(String stream, long offset, byte[] payload) throws Exception;
+}
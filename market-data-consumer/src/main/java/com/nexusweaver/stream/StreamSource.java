@@ -0,0 +1,23 @@
+package com.nexusweaver.stream;
+
+import com.nexusweaver.config.StreamConsumerProperties;
+
+/**
+ * A source of stream records that resumes each named consumer from its last tracked offset
+ */
+public interface StreamSource extends AutoCloseable {
+
+    /**
+     * Subscribes the binding's named consumer; closing the returned handle stops delivery
+     */
+    AutoCloseable subscribe(StreamConsumerProperties.Binding binding, StreamRecordHandler handler);
+
+    /**
+     * Offset of the newest record known for the stream, or -1 if unknown. A source
+     * may only know a lower bound; lag measured against it then reads low.
+     */
+    long tailOffset(String stream);
+
+    @Override
+    void close();
+}
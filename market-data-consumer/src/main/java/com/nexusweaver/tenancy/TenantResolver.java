@@ -0,0 +1,40 @@
+package com.nexusweaver.tenancy;
+
+import com.nexusweaver.codec.TickFlyweight;
+import com.nexusweaver.config.TenancyProperties;
+import org.apache.camel.Exchange;
+
+import java.util.Map;
+
+/**
+ * Tenant Resolver
+ *
+ * Reads the tenant name from the unmarshalled body, a JSON map or a binary
+ * {@link TickFlyweight}, by the configured key field. Blank or missing
+ * values resolve to null, which the {@link FairQueue} maps to its default
+ * tenant.
+ */
+public final class TenantResolver {
+
+    private final TenancyProperties.Key key;
+
+    public TenantResolver(TenancyProperties.Key key) {
+        this.key = key;
+    }
+
+    public String tenant(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        String name = null;
+        if (body instanceof TickFlyweight tick) {
+            name = switch (key) {
+                case PORTFOLIO -> tick.portfolioId();
+                case TRADER -> tick.traderId();
+                case SOURCE -> tick.source();
+            };
+        } else if (body instanceof Map<?, ?> fields) {
+            Object value = fields.get(key.field());
+            name = value != null ? value.toString() : null;
+        }
+        return name == null || name.isBlank() ? null : name;
+    }
+}
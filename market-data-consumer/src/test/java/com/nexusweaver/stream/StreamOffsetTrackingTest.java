@@ -0,0 +1,131 @@
+package com.nexusweaver.stream;
+
+import com.nexusweaver.config.StreamConsumerProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offset tracking and resume on the in-memory stream source, with file-backed
+ * (local) and in-memory (broker-side) offset stores.
+ */
+class StreamOffsetTrackingTest {
+
+    private static final String STREAM = "market-prices-stream";
+    private static final String CONSUMER = "nexus-consumer-group";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void localOffsetsResumeAfterTheLastProcessedRecordAcrossRestarts() throws Exception {
+        StreamConsumerProperties properties = properties(3);
+        InMemoryStreamSource source = new InMemoryStreamSource(properties, new FileOffsetStore(directory));
+        append(source, 0, 10);
+
+        List<Long> first = new CopyOnWriteArrayList<>();
+        AutoCloseable subscription = source.subscribe(binding(), (stream, offset, payload) -> first.add(offset));
+        await(() -> first.size() == 10, "the first ten records");
+        subscription.close();
+        assertThat(first).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(new FileOffsetStore(directory).load(CONSUMER)).isEqualTo(9);
+
+        // A restarted process reads its offsets back from the files
+        append(source, 10, 5);
+        List<Long> second = new CopyOnWriteArrayList<>();
+        InMemoryStreamSource restarted = shared(source, properties, new FileOffsetStore(directory));
+        subscription = restarted.subscribe(binding(), (stream, offset, payload) -> second.add(offset));
+        await(() -> second.size() == 5, "the five new records");
+        subscription.close();
+        assertThat(second).containsExactly(10L, 11L, 12L, 13L, 14L);
+        assertThat(restarted.tailOffset(STREAM)).isEqualTo(14);
+    }
+
+    @Test
+    void standbyConsumerTakesOverFromTheTrackedOffset() throws Exception {
+        StreamConsumerProperties properties = properties(1);
+        InMemoryOffsetStore offsets = new InMemoryOffsetStore();
+        InMemoryStreamSource source = new InMemoryStreamSource(properties, offsets);
+        append(source, 0, 4);
+
+        List<Long> active = new CopyOnWriteArrayList<>();
+        List<Long> standby = new CopyOnWriteArrayList<>();
+        AutoCloseable first = source.subscribe(binding(), (stream, offset, payload) -> active.add(offset));
+        await(() -> active.size() == 4, "the active consumer");
+        AutoCloseable second = source.subscribe(binding(), (stream, offset, payload) -> standby.add(offset));
+        Thread.sleep(200);
+        assertThat(standby).isEmpty();
+
+        first.close();
+        append(source, 4, 3);
+        await(() -> standby.size() == 3, "the standby consumer to take over");
+        second.close();
+        assertThat(active).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(standby).containsExactly(4L, 5L, 6L);
+        assertThat(offsets.load(CONSUMER)).isEqualTo(6);
+    }
+
+    @Test
+    void failedRecordsStillAdvanceTheOffset() throws Exception {
+        InMemoryOffsetStore offsets = new InMemoryOffsetStore();
+        InMemoryStreamSource source = new InMemoryStreamSource(properties(1), offsets);
+        append(source, 0, 3);
+
+        List<Long> seen = new CopyOnWriteArrayList<>();
+        AutoCloseable subscription = source.subscribe(binding(), (stream, offset, payload) -> {
+            seen.add(offset);
+            if (offset == 1) {
+                throw new IllegalStateException("poison record");
+            }
+        });
+        await(() -> seen.size() == 3, "all three records");
+        subscription.close();
+        assertThat(offsets.load(CONSUMER)).isEqualTo(2);
+    }
+
+    private static StreamConsumerProperties properties(int storeEvery) {
+        StreamConsumerProperties properties = new StreamConsumerProperties();
+        properties.setMode(StreamConsumerProperties.Mode.IN_MEMORY);
+        properties.setInitialOffset("first");
+        properties.setStoreEvery(storeEvery);
+        return properties;
+    }
+
+    private static StreamConsumerProperties.Binding binding() {
+        return new StreamConsumerProperties.Binding(STREAM, CONSUMER);
+    }
+
+    private static void append(InMemoryStreamSource source, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            assertThat(source.append(STREAM, ("record-" + i).getBytes(StandardCharsets.US_ASCII))).isEqualTo(i);
+        }
+    }
+
+    /**
+     * A second source over the same records, as a restarted consumer would see the broker
+     */
+    private static InMemoryStreamSource shared(InMemoryStreamSource source, StreamConsumerProperties properties,
+                                               OffsetStore offsets) {
+        InMemoryStreamSource restarted = new InMemoryStreamSource(properties, offsets);
+        for (long offset = 0; offset <= source.tailOffset(STREAM); offset++) {
+            restarted.append(STREAM, ("record-" + offset).getBytes(StandardCharsets.US_ASCII));
+        }
+        return restarted;
+    }
+
+    private static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waiting for " + what).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
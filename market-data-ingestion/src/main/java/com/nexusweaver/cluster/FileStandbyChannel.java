@@ -0,0 +1,124 @@
+package com.nexusweaver.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * File Standby Channel
+ *
+ * Checkpoints as length-prefixed frames appended to a log file that every
+ * process on the machine can read, the companion of the local lease. A
+ * snapshot starts a new log, written aside and moved into place, so the log
+ * stays short and always opens with a snapshot: a reader joining late reads
+ * it from the start, and one that sees the file replaced under it starts
+ * over. Readers poll from where they left off.
+ */
+@Slf4j
+public class FileStandbyChannel implements StandbyChannel {
+
+    private final Path file;
+    private final long pollMillis;
+
+    private FileChannel appender;
+    private volatile boolean running = true;
+    private Thread reader;
+
+    public FileStandbyChannel(Path file, Duration pollInterval) {
+        this.file = file;
+        this.pollMillis = Math.max(1, pollInterval.toMillis());
+    }
+
+    @Override
+    public synchronized void publish(byte[] checkpoint, boolean snapshot) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + checkpoint.length).putInt(checkpoint.length).put(checkpoint);
+        frame.flip();
+        if (snapshot || appender == null) {
+            if (appender != null) {
+                appender.close();
+            }
+            Path next = file.resolveSibling(file.getFileName() + ".next");
+            try (FileChannel channel = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(frame);
+            }
+            Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appender = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return;
+        }
+        appender.write(frame);
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> listener) {
+        reader = new Thread(() -> follow(listener), "standby-channel-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (reader != null) {
+            reader.interrupt();
+        }
+        if (appender != null) {
+            try {
+                appender.close();
+            } catch (IOException e) {
+                log.debug("Closing standby log {}: {}", file, e.getMessage());
+            }
+            appender = null;
+        }
+    }
+
+    private void follow(Consumer<byte[]> listener) {
+        // A log always opens with a snapshot, so reading it from the start catches up on every key
+        Object fileKey = null;
+        long position = 0;
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        while (running) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                Object key = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+                if (!Objects.equals(key, fileKey) || channel.size() < position) {
+                    fileKey = key;
+                    position = 0;
+                }
+                while (channel.size() - position >= Integer.BYTES) {
+                    length.clear();
+                    channel.read(length, position);
+                    int frameLength = length.flip().getInt();
+                    if (channel.size() - position - Integer.BYTES < frameLength) {
+                        break;
+                    }
+                    ByteBuffer frame = ByteBuffer.allocate(frameLength);
+                    channel.read(frame, position + Integer.BYTES);
+                    position += Integer.BYTES + frameLength;
+                    listener.accept(frame.array());
+                }
+            } catch (NoSuchFileException e) {
+                // Nothing published yet
+            } catch (IOException | RuntimeException e) {
+                log.warn("Cannot read standby log {}: {}", file, e.getMessage());
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
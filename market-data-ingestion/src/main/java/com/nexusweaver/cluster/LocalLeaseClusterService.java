@@ -0,0 +1,223 @@
+package com.nexusweaver.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.cluster.CamelClusterMember;
+import org.apache.camel.cluster.CamelClusterView;
+import org.apache.camel.support.cluster.AbstractCamelClusterService;
+import org.apache.camel.support.cluster.AbstractCamelClusterView;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local Lease Cluster Service
+ *
+ * Leader election over lease files in a shared directory, standing in for the
+ * Kubernetes API when several processes run on one machine. Each namespace
+ * has a lease file holding the holder's id and its last renewal time, read
+ * and rewritten under an exclusive file lock. Timing follows the Kubernetes
+ * lease: the holder renews every retry period and steps down if it cannot
+ * for the renew deadline; the others take the lease once it has gone
+ * unrenewed for the lease duration. Like a Kubernetes lease it is not given
+ * up on shutdown, so a stopped leader and a crashed one fail over alike.
+ */
+@Slf4j
+public class LocalLeaseClusterService extends AbstractCamelClusterService<LocalLeaseClusterService.LeaseView> {
+
+    private final Path directory;
+    private final long leaseDurationMillis;
+    private final long renewDeadlineMillis;
+    private final long retryPeriodMillis;
+
+    public LocalLeaseClusterService(String id, Path directory, Duration leaseDuration, Duration renewDeadline,
+                                    Duration retryPeriod) {
+        super(id);
+        this.directory = directory;
+        this.leaseDurationMillis = leaseDuration.toMillis();
+        this.renewDeadlineMillis = renewDeadline.toMillis();
+        this.retryPeriodMillis = retryPeriod.toMillis();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    protected LeaseView createView(String namespace) throws Exception {
+        Files.createDirectories(directory);
+        return new LeaseView(namespace);
+    }
+
+    /**
+     * One lease, contended through its file
+     */
+    final class LeaseView extends AbstractCamelClusterView {
+
+        private final Path file;
+        private final Member localMember;
+
+        private volatile Member leader;
+        private long lastRenewedMillis;
+        private ScheduledExecutorService scheduler;
+
+        private LeaseView(String namespace) {
+            super(LocalLeaseClusterService.this, namespace);
+            this.file = directory.resolve(namespace + ".lease");
+            this.localMember = new Member(LocalLeaseClusterService.this.getId(), true);
+        }
+
+        @Override
+        public Optional<CamelClusterMember> getLeader() {
+            return Optional.ofNullable(leader);
+        }
+
+        @Override
+        public CamelClusterMember getLocalMember() {
+            return localMember;
+        }
+
+        @Override
+        public List<CamelClusterMember> getMembers() {
+            List<CamelClusterMember> members = new ArrayList<>(2);
+            members.add(localMember);
+            Member current = leader;
+            if (current != null && !current.isLocal()) {
+                members.add(current);
+            }
+            return members;
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "local-lease-" + getNamespace());
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::tryAcquireOrRenew, 0, retryPeriodMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            }
+            if (leader != null && leader.isLocal()) {
+                changeLeader(null);
+            }
+        }
+
+        private void tryAcquireOrRenew() {
+            long now = System.currentTimeMillis();
+            String holder;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Lease lease = read(channel);
+                    if (lease.holder.isEmpty() || lease.holder.equals(localMember.getId())
+                            || now - lease.renewedMillis > leaseDurationMillis) {
+                        write(channel, localMember.getId(), now);
+                        lastRenewedMillis = now;
+                        holder = localMember.getId();
+                    } else {
+                        holder = lease.holder;
+                    }
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Cannot reach lease {}: {}", file, e.getMessage());
+                if (leader != null && leader.isLocal() && now - lastRenewedMillis > renewDeadlineMillis) {
+                    log.warn("Lease {} not renewed for {}ms, stepping down", getNamespace(), now - lastRenewedMillis);
+                    changeLeader(null);
+                }
+                return;
+            }
+
+            Member current = leader;
+            if (current == null || !current.getId().equals(holder)) {
+                changeLeader(holder.equals(localMember.getId()) ? localMember : new Member(holder, false));
+            }
+        }
+
+        private void changeLeader(Member member) {
+            Member previous = leader;
+            leader = member;
+            if (previous != null && !previous.isLocal()) {
+                fireMemberRemovedEvent(previous);
+            }
+            if (member != null && !member.isLocal()) {
+                fireMemberAddedEvent(member);
+            }
+            log.info("Lease {} held by {}{}", getNamespace(), member != null ? member.getId() : "nobody",
+                    member != null && member.isLocal() ? " (this process)" : "");
+            fireLeadershipChangedEvent(Optional.ofNullable(member));
+        }
+
+        private final class Member implements CamelClusterMember {
+
+            private final String id;
+            private final boolean local;
+
+            private Member(String id, boolean local) {
+                this.id = id;
+                this.local = local;
+            }
+
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public boolean isLeader() {
+                Member current = leader;
+                return current != null && current.id.equals(id);
+            }
+
+            @Override
+            public boolean isLocal() {
+                return local;
+            }
+        }
+    }
+
+    private static Lease read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), 1024));
+        channel.read(buffer, 0);
+        String[] fields = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).split("\n");
+        if (fields.length < 2) {
+            return new Lease("", 0);
+        }
+        try {
+            return new Lease(fields[0].trim(), Long.parseLong(fields[1].trim()));
+        } catch (NumberFormatException e) {
+            return new Lease("", 0);
+        }
+    }
+
+    private static void write(FileChannel channel, String holder, long renewedMillis) throws IOException {
+        byte[] bytes = (holder + "\n" + renewedMillis + "\n").getBytes(StandardCharsets.UTF_8);
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap(bytes), 0);
+        channel.force(false);
+    }
+
+    private record Lease(String holder, long renewedMillis) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.nexusweaver.cluster;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.function.Consumer;
+
+/**
+ * RabbitMQ Standby Channel
+ *
+ * Checkpoints over a fanout exchange; each process reads them from its own
+ * exclusive, auto-deleted queue, so a standby sees every checkpoint published
+ * while it is connected and nothing from before. Snapshots need no special
+ * handling: the queue already delivers in order.
+ */
+public class RabbitStandbyChannel implements StandbyChannel {
+
+    private final ConnectionFactory connectionFactory;
+    private final String exchange;
+    private final RabbitTemplate rabbitTemplate;
+    private SimpleMessageListenerContainer container;
+
+    public RabbitStandbyChannel(ConnectionFactory connectionFactory, String exchange) {
+        this.connectionFactory = connectionFactory;
+        this.exchange = exchange;
+        this.rabbitTemplate = new RabbitTemplate(connectionFactory);
+    }
+
+    @Override
+    public void publish(byte[] checkpoint, boolean snapshot) {
+        rabbitTemplate.send(exchange, "", new Message(checkpoint, new MessageProperties()));
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<byte[]> listener) {
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        FanoutExchange fanout = new FanoutExchange(exchange, false, true);
+        Queue queue = new AnonymousQueue();
+        admin.declareExchange(fanout);
+        admin.declareQueue(queue);
+        admin.declareBinding(BindingBuilder.bind(queue).to(fanout));
+
+        container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueues(queue);
+        container.setMessageListener(message -> listener.accept(message.getBody()));
+        container.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (container != null) {
+            container.stop();
+            container = null;
+        }
+    }
+}
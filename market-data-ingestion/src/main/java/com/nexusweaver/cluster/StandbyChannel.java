@@ -0,0 +1,22 @@
+package com.nexusweaver.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries the leader's checkpoints to the warm standbys, in the order they were published
+ */
+public interface StandbyChannel extends AutoCloseable {
+
+    /**
+     * @param snapshot the checkpoint covers every key, so anything published before it may be discarded
+     */
+    void publish(byte[] checkpoint, boolean snapshot) throws Exception;
+
+    /**
+     * Delivers every checkpoint published from now on, this process's own included
+     */
+    void subscribe(Consumer<byte[]> listener) throws Exception;
+
+    @Override
+    void close();
+}
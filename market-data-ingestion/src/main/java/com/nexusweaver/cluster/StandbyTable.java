@@ -0,0 +1,183 @@
+package com.nexusweaver.cluster;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Standby Table
+ *
+ * Per-(source, symbol) sequence state of the warm standby in dense primitive
+ * arrays: the last sequence this process received for the key, the last one
+ * the leader published, and the offset that carries a renumbered key on from
+ * the leader's sequence. An open-addressing index maps keys to their dense
+ * position; keys changed since the last checkpoint are listed for the next.
+ * Not thread-safe.
+ */
+final class StandbyTable {
+
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final int FREE = -1;
+
+    private int[] slots;
+    private int mask;
+
+    private long[] keys;
+    private long[] received;
+    private long[] published;
+    private long[] offsets;
+    private boolean[] renumbered;
+    private boolean[] dirty;
+    private int[] dirtyList;
+    private int dirtyCount;
+    private int size;
+
+    StandbyTable(int expectedKeys) {
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, expectedKeys) - 1) << 1);
+        keys = new long[capacity];
+        received = new long[capacity];
+        published = new long[capacity];
+        offsets = new long[capacity];
+        renumbered = new boolean[capacity];
+        dirty = new boolean[capacity];
+        dirtyList = new int[capacity];
+        index(capacity << 1);
+    }
+
+    static long key(int sourceId, int symbolId) {
+        return ((long) sourceId << 32) | (symbolId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Dense position of the key, added on first sight
+     *
+     * @param renumber the key's sequences are local to each process and are carried on from the leader's
+     */
+    int position(long key, boolean renumber) {
+        int slot = slot(key);
+        int position;
+        while ((position = slots[slot]) != FREE) {
+            if (keys[position] == key) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == keys.length) {
+            grow();
+            slot = slot(key);
+            while (slots[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        position = size++;
+        slots[slot] = position;
+        keys[position] = key;
+        received[position] = NONE;
+        published[position] = NONE;
+        offsets[position] = 0;
+        renumbered[position] = renumber;
+        return position;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long key(int position) {
+        return keys[position];
+    }
+
+    long received(int position) {
+        return received[position];
+    }
+
+    void received(int position, long sequence) {
+        received[position] = sequence;
+    }
+
+    long published(int position) {
+        return published[position];
+    }
+
+    /**
+     * Records a sequence published by this process as leader, to go out with the next checkpoint
+     */
+    void published(int position, long sequence) {
+        published[position] = sequence;
+        if (!dirty[position]) {
+            dirty[position] = true;
+            dirtyList[dirtyCount++] = position;
+        }
+    }
+
+    /**
+     * Records a sequence from the leader's checkpoint; sequences only move forward
+     */
+    void leaderPublished(int position, long sequence) {
+        if (published[position] == NONE || sequence > published[position]) {
+            published[position] = sequence;
+        }
+    }
+
+    long offset(int position) {
+        return offsets[position];
+    }
+
+    void offset(int position, long offset) {
+        offsets[position] = offset;
+    }
+
+    boolean isRenumbered(int position) {
+        return renumbered[position];
+    }
+
+    /**
+     * Visits the keys published since the last drain, or every published key, and clears the list
+     */
+    void drain(boolean all, IntConsumer action) {
+        if (all) {
+            for (int position = 0; position < size; position++) {
+                if (published[position] != NONE) {
+                    action.accept(position);
+                }
+            }
+        } else {
+            for (int i = 0; i < dirtyCount; i++) {
+                action.accept(dirtyList[i]);
+            }
+        }
+        for (int i = 0; i < dirtyCount; i++) {
+            dirty[dirtyList[i]] = false;
+        }
+        dirtyCount = 0;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void grow() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        received = Arrays.copyOf(received, capacity);
+        published = Arrays.copyOf(published, capacity);
+        offsets = Arrays.copyOf(offsets, capacity);
+        renumbered = Arrays.copyOf(renumbered, capacity);
+        dirty = Arrays.copyOf(dirty, capacity);
+        dirtyList = Arrays.copyOf(dirtyList, capacity);
+        index(capacity << 1);
+        for (int position = 0; position < size; position++) {
+            int slot = slot(keys[position]);
+            while (slots[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = position;
+        }
+    }
+
+    private void index(int capacity) {
+        slots = new int[capacity];
+        Arrays.fill(slots, FREE);
+        mask = capacity - 1;
+    }
+}
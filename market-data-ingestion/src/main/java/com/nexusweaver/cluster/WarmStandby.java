@@ -0,0 +1,346 @@
+package com.nexusweaver.cluster;
+
+import com.nexusweaver.config.CamelClusterConfig;
+import com.nexusweaver.config.ClusterProperties;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import com.nexusweaver.sequence.SequenceGap;
+import com.nexusweaver.sequence.SequenceTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.cluster.CamelClusterEventListener;
+import org.apache.camel.cluster.CamelClusterMember;
+import org.apache.camel.cluster.CamelClusterService;
+import org.apache.camel.cluster.CamelClusterView;
+import org.apache.camel.support.cluster.ClusterServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm Standby
+ *
+ * Lets the clustered sources run on every pod instead of the leader only, so
+ * a follower already has its feed connections open and its generator running
+ * when leadership moves to it. The {@link #gate} placed after each clustered
+ * source passes ticks on the leader and drops them on followers, recording
+ * the last sequence received per (source, symbol) either way.
+ *
+ * The leader sends a checkpoint of the sequences it published every interval
+ * over the {@link StandbyChannel}; followers keep them, and their arrival
+ * doubles as the leader's heartbeat. On takeover the new leader resumes from
+ * the old leader's last sequence: keys whose sequences are local to each pod,
+ * such as the generator's, are renumbered to carry on from it; for vendor
+ * keys, sequences the old leader already published are suppressed and those
+ * received here after its last checkpoint go out as recovery requests, since
+ * this pod dropped them while standing by. The failover gap is the time from
+ * the old leader's last checkpoint to the first tick published here.
+ */
+@Slf4j
+public class WarmStandby extends ServiceSupport {
+
+    private static final int CHECKPOINT_MAGIC = 0x4E585342;
+
+    private final String podId;
+    private final ClusterProperties.Standby properties;
+    private final StandbyChannel channel;
+    private final CamelContext camelContext;
+    private final TickPool tickPool;
+    private final ProducerTemplate recovery;
+    private final StandbyTable table = new StandbyTable(1024);
+    private final long startedMillis = System.currentTimeMillis();
+
+    private final Counter takeovers;
+    private final Counter missing;
+    private final Counter suppressed;
+    private final Timer failoverGap;
+
+    private volatile boolean leader;
+    private volatile long lastCheckpointMillis;
+    private volatile String lastLeaderId;
+
+    /** Guarded by table */
+    private boolean awaitingFirstTick;
+    private long checkpoints;
+
+    private final CamelClusterEventListener.Leadership leadershipListener = this::leadershipChanged;
+    private CamelClusterView view;
+    private ScheduledExecutorService checkpointer;
+
+    public WarmStandby(String podId, ClusterProperties.Standby properties, StandbyChannel channel,
+                       CamelContext camelContext, TickPool tickPool, ProducerTemplate recovery,
+                       MeterRegistry meterRegistry) {
+        this.podId = podId;
+        this.properties = properties;
+        this.channel = channel;
+        this.camelContext = camelContext;
+        this.tickPool = tickPool;
+        this.recovery = recovery;
+
+        this.takeovers = Counter.builder("market.data.failover.takeovers")
+                .description("Times this pod took over the clustered sources")
+                .register(meterRegistry);
+        this.missing = Counter.builder("market.data.failover.missing")
+                .description("Sequences neither the old leader nor this pod published across a takeover")
+                .register(meterRegistry);
+        this.suppressed = Counter.builder("market.data.standby.suppressed")
+                .description("Ticks dropped after takeover because the old leader had already published them")
+                .register(meterRegistry);
+        this.failoverGap = Timer.builder("market.data.failover.gap")
+                .description("Time from the old leader's last checkpoint to the first tick published after takeover")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("market.data.cluster.leader", this, standby -> standby.leader ? 1 : 0)
+                .description("1 while this pod publishes the clustered sources")
+                .register(meterRegistry);
+        Gauge.builder("market.data.standby.checkpoint.age", this, WarmStandby::checkpointAgeSeconds)
+                .description("Seconds since the last leader checkpoint, NaN on the leader")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gate for a clustered source: passes ticks while this pod leads, records and drops them otherwise
+     *
+     * @param renumber the source numbers its sequences per pod, so they are carried on from the leader's
+     */
+    public Processor gate(boolean renumber) {
+        return exchange -> pass(exchange, renumber);
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    private void pass(Exchange exchange, boolean renumber) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        if (tick == null) {
+            return;
+        }
+        boolean publish;
+        synchronized (table) {
+            publish = leader;
+            long sequence = tick.getSequenceNumber();
+            if (sequence != Tick.NULL_VALUE) {
+                int position = table.position(StandbyTable.key(tick.getSourceId(), tick.getSymbolId()), renumber);
+                table.received(position, sequence);
+                if (publish) {
+                    sequence += table.offset(position);
+                    long last = table.published(position);
+                    if (!renumber && last != StandbyTable.NONE && sequence <= last) {
+                        suppressed.increment();
+                        publish = false;
+                    } else {
+                        tick.setSequenceNumber(sequence);
+                        table.published(position, sequence);
+                    }
+                }
+            }
+            if (publish && awaitingFirstTick) {
+                awaitingFirstTick = false;
+                failoverGap.record(Math.max(0, System.currentTimeMillis() - lastCheckpointMillis), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (!publish) {
+            exchange.getIn().setBody(null);
+            tickPool.release(tick);
+            exchange.setRouteStop(true);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        CamelClusterService clusterService = ClusterServiceHelper.mandatoryLookupService(camelContext);
+        if (!camelContext.hasService(clusterService)) {
+            camelContext.addService(clusterService, true, true);
+        }
+        channel.subscribe(this::apply);
+
+        view = clusterService.getView(CamelClusterConfig.NAMESPACE);
+        view.addEventListener(leadershipListener);
+        leadershipChanged(view, view.getLeader());
+
+        checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "standby-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, properties.getCheckpointInterval().toMillis());
+        checkpointer.scheduleAtFixedRate(this::checkpoint, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Warm standby started as {} with {}ms checkpoints", podId, intervalMillis);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (view != null) {
+            view.removeEventListener(leadershipListener);
+        }
+        if (checkpointer != null) {
+            checkpointer.shutdownNow();
+            checkpointer.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        channel.close();
+    }
+
+    private void leadershipChanged(CamelClusterView view, Optional<CamelClusterMember> member) {
+        boolean local = member.map(CamelClusterMember::isLocal).orElse(false);
+        List<SequenceGap> gaps = new ArrayList<>();
+        synchronized (table) {
+            if (local == leader) {
+                return;
+            }
+            if (local) {
+                takeOver(gaps);
+            } else {
+                leader = false;
+                awaitingFirstTick = false;
+                log.info("Standing by for {}", member.map(CamelClusterMember::getId).orElse("a new leader"));
+            }
+        }
+        for (SequenceGap gap : gaps) {
+            try {
+                recovery.sendBody(SequenceTracker.RECOVERY_ENDPOINT, gap);
+            } catch (RuntimeException e) {
+                log.warn("Could not publish recovery request for {}: {}", gap, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Carries every key on from the old leader's last sequence; called with the table locked
+     */
+    private void takeOver(List<SequenceGap> gaps) {
+        long lost = 0;
+        for (int position = 0; position < table.size(); position++) {
+            long published = table.published(position);
+            long received = table.received(position);
+            if (published == StandbyTable.NONE) {
+                continue;
+            }
+            if (table.isRenumbered(position)) {
+                table.offset(position, published - (received == StandbyTable.NONE ? 0 : received));
+            } else if (received != StandbyTable.NONE && received > published) {
+                long key = table.key(position);
+                gaps.add(new SequenceGap(InternTable.SOURCES.name((int) (key >> 32)), InternTable.SYMBOLS.name((int) key),
+                        published + 1, received, EpochClock.nanos()));
+                lost += received - published;
+            }
+        }
+        missing.increment(lost);
+        takeovers.increment();
+        leader = true;
+        checkpoints = 0;
+        // A gap is only measurable against a leader seen while this pod was standing by
+        awaitingFirstTick = lastCheckpointMillis > startedMillis;
+        log.info("Took over clustered sources from {}: {} keys resumed, {} sequences lost, last checkpoint {}",
+                lastLeaderId != null ? lastLeaderId : "no previous leader", table.size(), lost,
+                lastCheckpointMillis > 0 ? (System.currentTimeMillis() - lastCheckpointMillis) + "ms ago" : "never");
+    }
+
+    private void checkpoint() {
+        if (!leader) {
+            return;
+        }
+        try {
+            byte[] payload;
+            boolean snapshot;
+            synchronized (table) {
+                snapshot = checkpoints++ % Math.max(1, properties.getSnapshotEvery()) == 0;
+                payload = encode(snapshot);
+            }
+            channel.publish(payload, snapshot);
+        } catch (Exception e) {
+            log.warn("Could not publish standby checkpoint: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a checkpoint from the leader; this pod's own and any received while leading are ignored
+     */
+    private void apply(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                return;
+            }
+            String leaderId = in.readUTF();
+            long sentMillis = in.readLong();
+            in.readBoolean();
+            int count = in.readInt();
+            if (leaderId.equals(podId)) {
+                return;
+            }
+            synchronized (table) {
+                if (leader) {
+                    log.warn("Checkpoint from {} while this pod leads", leaderId);
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    int sourceId = InternTable.SOURCES.intern(in.readUTF());
+                    int symbolId = InternTable.SYMBOLS.intern(in.readUTF());
+                    boolean renumbered = in.readBoolean();
+                    long sequence = in.readLong();
+                    table.leaderPublished(table.position(StandbyTable.key(sourceId, symbolId), renumbered), sequence);
+                }
+            }
+            lastLeaderId = leaderId;
+            lastCheckpointMillis = sentMillis;
+        } catch (IOException e) {
+            log.warn("Discarding malformed standby checkpoint: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Checkpoint of the keys published since the last one, or all of them; called with the table locked
+     */
+    private byte[] encode(boolean snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            List<Integer> positions = new ArrayList<>();
+            table.drain(snapshot, positions::add);
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeUTF(podId);
+            out.writeLong(System.currentTimeMillis());
+            out.writeBoolean(snapshot);
+            out.writeInt(positions.size());
+            for (int position : positions) {
+                long key = table.key(position);
+                out.writeUTF(InternTable.SOURCES.name((int) (key >> 32)));
+                out.writeUTF(InternTable.SYMBOLS.name((int) key));
+                out.writeBoolean(table.isRenumbered(position));
+                out.writeLong(table.published(position));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private double checkpointAgeSeconds() {
+        long last = lastCheckpointMillis;
+        if (leader || last == 0) {
+            return Double.NaN;
+        }
+        return (System.currentTimeMillis() - last) / 1000.0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.nexusweaver.codec;
+
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.DataFormat;
+import org.apache.camel.spi.DataFormatName;
+import org.apache.camel.support.service.ServiceSupport;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Binary Tick Data Format
+ *
+ * Camel data format for the {@link MarketDataSchema} wire layout. Marshals
+ * {@link Tick} bodies (or anything convertible to one, such as a MarketDataEvent)
+ * and unmarshals into pooled ticks. Selected per route as an alternative to
+ * Jackson JSON, which stays available for debugging.
+ */
+@Component
+public class BinaryTickDataFormat extends ServiceSupport implements DataFormat, DataFormatName {
+
+    public static final String NAME = "nexus-tick";
+
+    private static final ThreadLocal<byte[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new byte[MarketDataSchema.MAX_MESSAGE_LENGTH]);
+
+    private final TickPool tickPool;
+
+    public BinaryTickDataFormat(TickPool tickPool) {
+        this.tickPool = tickPool;
+    }
+
+    @Override
+    public String getDataFormatName() {
+        return NAME;
+    }
+
+    @Override
+    public void marshal(Exchange exchange, Object graph, OutputStream stream) throws Exception {
+        Tick tick = graph instanceof Tick t
+                ? t
+                : exchange.getContext().getTypeConverter().mandatoryConvertTo(Tick.class, exchange, graph);
+
+        byte[] scratch = SCRATCH.get();
+        int length = TickEncoder.encode(tick, scratch, 0);
+        stream.write(scratch, 0, length);
+
+        exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, MarketDataSchema.CONTENT_TYPE);
+    }
+
+    @Override
+    public Object unmarshal(Exchange exchange, InputStream stream) throws Exception {
+        // Avoid copying through the stream when the message already holds the raw bytes
+        Object body = exchange.getIn().getBody();
+        byte[] bytes = body instanceof byte[] raw ? raw : stream.readAllBytes();
+        return TickDecoder.decode(new TickFlyweight().wrap(bytes), tickPool.acquire());
+    }
+}
@@ -0,0 +1,40 @@
+package com.nexusweaver.codec;
+
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+
+/**
+ * Tick Decoder
+ *
+ * Materializes an encoded {@link MarketDataSchema} message, read through a
+ * {@link TickFlyweight}, into a pooled {@link Tick} for the ingestion pipeline.
+ */
+public final class TickDecoder {
+
+    private TickDecoder() {
+    }
+
+    /**
+     * Decodes every field into the given tick, interning strings on the way
+     */
+    public static Tick decode(TickFlyweight flyweight, Tick tick) {
+        tick.setTimestampNanos(flyweight.timestampNanos());
+        tick.setSequenceNumber(flyweight.sequenceNumber());
+        tick.setPrice(flyweight.price());
+        tick.setBid(flyweight.bid());
+        tick.setAsk(flyweight.ask());
+        tick.setHigh(flyweight.high());
+        tick.setLow(flyweight.low());
+        tick.setOpen(flyweight.open());
+        tick.setVolume(flyweight.volume());
+        tick.setSymbolId(InternTable.SYMBOLS.intern(flyweight.symbol()));
+        tick.setExchangeId(InternTable.EXCHANGES.intern(flyweight.exchange()));
+        tick.setSourceId(InternTable.SOURCES.intern(flyweight.source()));
+        tick.setMessageTypeId(InternTable.MESSAGE_TYPES.intern(flyweight.messageType()));
+        tick.setPortfolioId(InternTable.PORTFOLIOS.intern(flyweight.portfolioId()));
+        tick.setTraderId(InternTable.TRADERS.intern(flyweight.traderId()));
+        // Keep the original ingress stamp so end-to-end latency spans re-ingested ticks
+        tick.getContext().markIngress(flyweight.ingressNanos());
+        return tick;
+    }
+}
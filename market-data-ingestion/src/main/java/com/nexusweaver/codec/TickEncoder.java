@@ -0,0 +1,83 @@
+package com.nexusweaver.codec;
+
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import static com.nexusweaver.codec.MarketDataSchema.*;
+
+/**
+ * Tick Encoder
+ *
+ * Writes a {@link Tick} into a caller-supplied buffer using the
+ * {@link MarketDataSchema} layout. Encoding never allocates: strings are
+ * copied straight out of the intern tables character by character, and
+ * rejected when they are too long or not US-ASCII.
+ */
+public final class TickEncoder {
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private TickEncoder() {
+    }
+
+    /**
+     * Encodes the tick at the given offset and returns the number of bytes written.
+     * The buffer must have at least {@link MarketDataSchema#MAX_MESSAGE_LENGTH} bytes available.
+     */
+    public static int encode(Tick tick, byte[] buffer, int offset) {
+        int templateId = tick.getMessageTypeId() == Tick.TRADE ? TEMPLATE_TRADE : TEMPLATE_MARKET_DATA;
+
+        SHORT.set(buffer, offset + BLOCK_LENGTH_OFFSET, (short) BLOCK_LENGTH);
+        SHORT.set(buffer, offset + TEMPLATE_ID_OFFSET, (short) templateId);
+        SHORT.set(buffer, offset + SCHEMA_ID_OFFSET, (short) SCHEMA_ID);
+        SHORT.set(buffer, offset + VERSION_OFFSET, (short) SCHEMA_VERSION);
+
+        int block = offset + HEADER_LENGTH;
+        LONG.set(buffer, block + TIMESTAMP_OFFSET, tick.getTimestampNanos());
+        LONG.set(buffer, block + SEQUENCE_OFFSET, tick.getSequenceNumber());
+        LONG.set(buffer, block + PRICE_OFFSET, tick.getPrice());
+        LONG.set(buffer, block + BID_OFFSET, tick.getBid());
+        LONG.set(buffer, block + ASK_OFFSET, tick.getAsk());
+        LONG.set(buffer, block + HIGH_OFFSET, tick.getHigh());
+        LONG.set(buffer, block + LOW_OFFSET, tick.getLow());
+        LONG.set(buffer, block + OPEN_OFFSET, tick.getOpen());
+        LONG.set(buffer, block + VOLUME_OFFSET, tick.getVolume());
+        LONG.set(buffer, block + TRACE_INGRESS_OFFSET, tick.getContext().getIngressNanos());
+        LONG.set(buffer, block + TRACE_SENT_OFFSET, tick.getContext().getSentNanos());
+
+        int position = block + BLOCK_LENGTH;
+        position = putString(buffer, position, tick.symbol());
+        position = putString(buffer, position, tick.exchange());
+        position = putString(buffer, position, tick.source());
+        position = putString(buffer, position, tick.messageType());
+        position = putString(buffer, position, InternTable.PORTFOLIOS.name(tick.getPortfolioId()));
+        position = putString(buffer, position, InternTable.TRADERS.name(tick.getTraderId()));
+        return position - offset;
+    }
+
+    private static int putString(byte[] buffer, int position, String value) {
+        if (value == null) {
+            buffer[position] = 0;
+            return position + 1;
+        }
+        int length = value.length();
+        if (length > MAX_VAR_LENGTH) {
+            throw new IllegalArgumentException("Field too long for wire format: " + length + " characters");
+        }
+        buffer[position++] = (byte) length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c > 0x7F) {
+                // The schema carries strings as US-ASCII; narrowing anything else would corrupt it
+                throw new IllegalArgumentException("Non-ASCII character in wire format field: " + value);
+            }
+            buffer[position++] = (byte) c;
+        }
+        return position;
+    }
+}
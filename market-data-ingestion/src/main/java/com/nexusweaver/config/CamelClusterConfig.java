@@ -3,6 +3,7 @@ package com.nexusweaver.config;
 import org.apache.camel.cluster.CamelClusterService;
 import org.apache.camel.component.kubernetes.cluster.KubernetesClusterService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,35 +16,43 @@ import org.springframework.context.annotation.Configuration;
  * Architecture:
  * - LEADER POD: Handles all clustered routes (timer, TCP, WebSocket)
  * - FOLLOWER PODS: Handle distributed processing routes only
+ *   (or, with market-data.cluster.standby.enabled, run the clustered routes warm without publishing)
  */
 @Configuration
+@ConditionalOnProperty(name = "camel.cluster.kubernetes.enabled", havingValue = "true", matchIfMissing = true)
 public class CamelClusterConfig {
 
+    /** Cluster view shared by the clustered routes and the warm standby */
+    public static final String NAMESPACE = "market-data-cluster";
+
     @Value("${spring.application.name:market-data-ingestion}")
     private String applicationName;
     
     @Value("${camel.cluster.namespace:nexus-weaver}")
     private String namespace;
 
+    @Value("${HOSTNAME:localhost}")
+    private String podName;
+
     /**
      * Kubernetes-based cluster service for leader election
      */
     @Bean
-    public CamelClusterService kubernetesClusterService() {
+    public CamelClusterService kubernetesClusterService(ClusterProperties properties) {
         KubernetesClusterService cluster = new KubernetesClusterService();
         
         // Cluster configuration
         cluster.setId("nexus-camel-cluster");
         cluster.setOrder(1);
         
-        // Configuration via properties - Camel 4.x uses configuration properties
-        System.setProperty("camel.component.kubernetes.cluster.pod-name", System.getenv("HOSTNAME"));
-        System.setProperty("camel.component.kubernetes.cluster.namespace", namespace);
-        System.setProperty("camel.component.kubernetes.cluster.resource-name-prefix", applicationName + "-leader");
-        System.setProperty("camel.component.kubernetes.cluster.lease-duration-seconds", "15");
-        System.setProperty("camel.component.kubernetes.cluster.renew-deadline-seconds", "10");
-        System.setProperty("camel.component.kubernetes.cluster.retry-period-seconds", "2");
+        // Lease settings go on the service itself; market-data.cluster holds the timings
+        cluster.setPodName(podName);
+        cluster.setKubernetesNamespace(namespace);
+        cluster.setKubernetesResourceName(applicationName + "-leader");
+        cluster.setLeaseDurationMillis(properties.getLeaseDuration().toMillis());
+        cluster.setRenewDeadlineMillis(properties.getRenewDeadline().toMillis());
+        cluster.setRetryPeriodMillis(properties.getRetryPeriod().toMillis());
         
         return cluster;
     }
-} 
\ No newline at end of file
+}
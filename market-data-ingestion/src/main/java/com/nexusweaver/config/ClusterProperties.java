@@ -0,0 +1,70 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Leader election and failover (market-data.cluster.*)
+ *
+ * Lease timings apply to the Kubernetes cluster service and to the local
+ * lease stand-in alike. With {@code standby.enabled} the clustered routes run
+ * on every pod instead of the leader only: followers keep their sources
+ * connected and follow the leader's sequences from its checkpoints, and the
+ * leader's routes are the only ones that publish.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.cluster")
+public class ClusterProperties {
+
+    public enum Channel {
+        /** File when the local lease is used, RabbitMQ otherwise */
+        AUTO,
+        /** Append-only log next to the local lease file */
+        FILE,
+        /** Fanout exchange on the broker */
+        RABBIT
+    }
+
+    /** How long a lease is valid after its last renewal; followers take over once it has lapsed */
+    private Duration leaseDuration = Duration.ofSeconds(15);
+
+    /** A leader that cannot renew for this long steps down */
+    private Duration renewDeadline = Duration.ofSeconds(10);
+
+    /** Interval between renewals and acquisition attempts */
+    private Duration retryPeriod = Duration.ofSeconds(2);
+
+    private Local local = new Local();
+
+    private Standby standby = new Standby();
+
+    /**
+     * File-based lease in place of the Kubernetes API, for local multi-process runs
+     */
+    @Data
+    public static class Local {
+        private boolean enabled = false;
+        /** Shared by every process taking part */
+        private String directory = "/tmp/nexus-cluster";
+    }
+
+    @Data
+    public static class Standby {
+        private boolean enabled = false;
+
+        /** Leader checkpoints of the sequences it published; followers also read them as a heartbeat */
+        private Duration checkpointInterval = Duration.ofMillis(100);
+
+        /** Every Nth checkpoint carries every key instead of the ones changed since the last */
+        private int snapshotEvery = 50;
+
+        private Channel channel = Channel.AUTO;
+
+        /** Fanout exchange for the RABBIT channel */
+        private String exchange = "market-data-standby";
+    }
+}
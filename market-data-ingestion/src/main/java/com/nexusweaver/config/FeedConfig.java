@@ -0,0 +1,56 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.feed.FeedEndpoint;
+import com.nexusweaver.generator.FeedSimulator;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.refdata.SymbolDirectory;
+import com.nexusweaver.refdata.SymbolInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feed Configuration
+ *
+ * Opt-in loopback simulator for the vendor feed handlers; the feed routes themselves are built from
+ * {@link FeedProperties} by the ingestion route.
+ */
+@Configuration
+@ConditionalOnProperty(name = {"market-data.feeds.enabled", "market-data.feeds.simulator.enabled"}, havingValue = "true")
+public class FeedConfig {
+
+    @Bean(initMethod = "start")
+    public FeedSimulator feedSimulator(FeedProperties properties, SymbolDirectory symbolDirectory) {
+        FeedProperties.Simulator simulator = properties.getSimulator();
+        FeedProperties.Handler handler = properties.getHandlers().stream()
+                .filter(candidate -> simulator.getFeed() == null || simulator.getFeed().isBlank()
+                        || simulator.getFeed().equals(candidate.getName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No feed handler for the simulator to drive: "
+                        + simulator.getFeed()));
+
+        boolean multicast = handler.getTransport() == FeedEndpoint.Transport.UDP
+                && handler.getGroup() != null && !handler.getGroup().isBlank();
+        InetSocketAddress target = new InetSocketAddress(multicast ? handler.getGroup() : "127.0.0.1", handler.getPort());
+        return new FeedSimulator(handler.getName(), handler.getProtocol(), handler.getTransport(), target,
+                universe(simulator.getSymbols(), symbolDirectory), simulator.getRate(), simulator.isIncremental());
+    }
+
+    private static List<SymbolInfo> universe(List<String> symbols, SymbolDirectory symbolDirectory) {
+        if (symbols.isEmpty()) {
+            return symbolDirectory.symbols();
+        }
+        List<SymbolInfo> universe = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            SymbolInfo info = symbolDirectory.get(symbol);
+            universe.add(info != null
+                    ? info
+                    : new SymbolInfo(InternTable.SYMBOLS.intern(symbol), symbol, InternTable.NULL_ID, 0, null));
+        }
+        return universe;
+    }
+}
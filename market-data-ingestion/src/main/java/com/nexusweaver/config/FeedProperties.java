@@ -0,0 +1,89 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.feed.FeedComponent;
+import com.nexusweaver.feed.FeedEndpoint;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vendor feed handlers (market-data.feeds.*)
+ *
+ * Each handler becomes a {@code feed:} route into the processing pipeline.
+ * TCP feeds listen on every pod; a clustered handler runs on the leader only,
+ * which is what a multicast stream every pod can see needs. The simulator
+ * plays vendor to one handler over loopback.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.feeds")
+public class FeedProperties {
+
+    private boolean enabled = false;
+
+    private List<Handler> handlers = new ArrayList<>();
+
+    private Simulator simulator = new Simulator();
+
+    @Data
+    public static class Handler {
+        private String name;
+        private FeedEndpoint.Protocol protocol = FeedEndpoint.Protocol.FIX;
+        private FeedEndpoint.Transport transport = FeedEndpoint.Transport.TCP;
+        private String host = "0.0.0.0";
+        private int port;
+        /** Multicast group for UDP, empty for unicast */
+        private String group;
+        private String networkInterface;
+        /** Source name for messages that do not carry one, defaults to the handler name */
+        private String source;
+        /** Leader only, for multicast streams that every pod would otherwise publish */
+        private boolean clustered = false;
+        private int ioThreads = 1;
+        private int maxFrameLength = 65536;
+        /** SO_RCVBUF in bytes, 0 for the OS default */
+        private int receiveBufferSize = 0;
+        private boolean validateChecksum = true;
+
+        /**
+         * The feed endpoint URI for these settings
+         */
+        public String toEndpointUri() {
+            StringBuilder uri = new StringBuilder(FeedComponent.SCHEME).append(':').append(name)
+                    .append("?protocol=").append(protocol)
+                    .append("&transport=").append(transport)
+                    .append("&host=").append(host)
+                    .append("&port=").append(port)
+                    .append("&ioThreads=").append(ioThreads)
+                    .append("&maxFrameLength=").append(maxFrameLength)
+                    .append("&receiveBufferSize=").append(receiveBufferSize)
+                    .append("&validateChecksum=").append(validateChecksum);
+            if (group != null && !group.isBlank()) {
+                uri.append("&group=").append(group);
+            }
+            if (networkInterface != null && !networkInterface.isBlank()) {
+                uri.append("&networkInterface=").append(networkInterface);
+            }
+            if (source != null && !source.isBlank()) {
+                uri.append("&source=").append(source);
+            }
+            return uri.toString();
+        }
+    }
+
+    @Data
+    public static class Simulator {
+        private boolean enabled = false;
+        /** Handler to drive, empty for the first one */
+        private String feed;
+        /** Messages per second, 0 for as fast as the socket accepts */
+        private double rate = 100;
+        /** Symbol universe; empty uses every reference symbol */
+        private List<String> symbols = new ArrayList<>();
+        /** FIX only: 35=X incremental refreshes instead of 35=W snapshots */
+        private boolean incremental = false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.journal.TickJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Journal Configuration
+ *
+ * Opt-in tick journal after validation; the bean closes and flushes the journal on shutdown.
+ */
+@Configuration
+@ConditionalOnProperty(name = "market-data.journal.enabled", havingValue = "true")
+public class JournalConfig {
+
+    @Bean
+    public TickJournal tickJournal(JournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        return new TickJournal(properties, meterRegistry);
+    }
+}
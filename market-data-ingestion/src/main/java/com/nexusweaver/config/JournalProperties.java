@@ -0,0 +1,30 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tick journal (market-data.journal.*)
+ *
+ * Audit trail of accepted ticks in rolling memory-mapped segments. With
+ * {@code flush-interval-ms} at 0 dirty pages are written back by the
+ * operating system; a positive value forces them to storage in batches.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.journal")
+public class JournalProperties {
+
+    private boolean enabled = false;
+
+    private String directory = "data/journal";
+
+    /** Bytes per segment file, preallocated sparse */
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /** Records between sparse index entries */
+    private int indexInterval = 256;
+
+    private long flushIntervalMs = 0;
+}
@@ -0,0 +1,33 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.cluster.LocalLeaseClusterService;
+import org.apache.camel.cluster.CamelClusterService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Local Lease Configuration
+ *
+ * File-based leader election in place of Kubernetes for multi-process runs on one machine;
+ * set camel.cluster.kubernetes.enabled=false alongside it (see the standby-local profile).
+ */
+@Configuration
+@ConditionalOnProperty(name = "market-data.cluster.local.enabled", havingValue = "true")
+public class LocalLeaseClusterConfig {
+
+    @Bean
+    public CamelClusterService localLeaseClusterService(ClusterProperties properties,
+                                                        @Value("${HOSTNAME:localhost}") String podName,
+                                                        @Value("${server.port:8080}") int port) {
+        // Processes on one host share HOSTNAME; the port tells them apart
+        LocalLeaseClusterService cluster = new LocalLeaseClusterService(podName + ":" + port,
+                Paths.get(properties.getLocal().getDirectory()), properties.getLeaseDuration(),
+                properties.getRenewDeadline(), properties.getRetryPeriod());
+        cluster.setOrder(1);
+        return cluster;
+    }
+}
@@ -0,0 +1,23 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.logging.RouteLog;
+import com.nexusweaver.model.ProcessingContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Log Sampling Configuration
+ *
+ * Route logs sample per symbol from the exchange's processing context.
+ */
+@Configuration
+public class LogSamplingConfig {
+
+    @Bean
+    public RouteLog routeLog(LogSamplingProperties properties) {
+        return new RouteLog(properties, exchange -> {
+            ProcessingContext context = ProcessingContext.of(exchange);
+            return context != null ? context.getSymbol() : null;
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.logging.LogSamplingSettings;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-route log sampling (market-data.logging.*)
+ *
+ * See {@link LogSamplingSettings}.
+ */
+@Component
+@ConfigurationProperties(prefix = "market-data.logging")
+public class LogSamplingProperties extends LogSamplingSettings {
+}
@@ -0,0 +1,32 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pipeline metrics cardinality limits (market-data.metrics.*)
+ *
+ * Per-symbol meters are only registered for the top-K symbols; every other
+ * symbol is counted under a single {@code other} tag. The top set is
+ * {@code top-symbols} when given, otherwise the first {@code top-k} symbols of
+ * the reference directory. {@code rate-symbols} get a scrape-time rate gauge
+ * whether or not they are in the top set.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.metrics")
+public class MetricsProperties {
+
+    private int topK = 50;
+
+    private List<String> topSymbols = new ArrayList<>();
+
+    private List<String> rateSymbols = new ArrayList<>();
+
+    /** Distinct source tags before the rest are counted as other */
+    private int maxSources = 16;
+}
@@ -0,0 +1,33 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.metrics.PipelineLatency;
+import com.nexusweaver.publisher.BatchingRabbitPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publisher Configuration
+ *
+ * One batching publisher per output route. The Camel route that uses a
+ * publisher owns its lifecycle, so nothing connects to RabbitMQ unless
+ * market-data.publisher.enabled is set.
+ */
+@Configuration
+public class PublisherConfig {
+
+    @Bean
+    public BatchingRabbitPublisher marketDataPublisher(RabbitTemplate rabbitTemplate, PublisherProperties properties,
+                                                       PipelineLatency latency, MeterRegistry meterRegistry) {
+        return new BatchingRabbitPublisher("market-data", rabbitTemplate, properties,
+                properties.getMarketData(), latency.timer(PipelineLatency.Stage.PUBLISH), meterRegistry);
+    }
+
+    @Bean
+    public BatchingRabbitPublisher tradePublisher(RabbitTemplate rabbitTemplate, PublisherProperties properties,
+                                                  PipelineLatency latency, MeterRegistry meterRegistry) {
+        return new BatchingRabbitPublisher("trade", rabbitTemplate, properties,
+                properties.getTrade(), latency.timer(PipelineLatency.Stage.PUBLISH), meterRegistry);
+    }
+}
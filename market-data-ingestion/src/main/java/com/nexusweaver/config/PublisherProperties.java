@@ -0,0 +1,50 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batching RabbitMQ publisher settings (market-data.publisher.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.publisher")
+public class PublisherProperties {
+
+    /** Publish to RabbitMQ instead of the log endpoints */
+    private boolean enabled = false;
+
+    /** Maximum messages per batch */
+    private int batchSize = 256;
+
+    /** Maximum payload bytes per batch */
+    private int maxBatchBytes = 256 * 1024;
+
+    /** Maximum time the first message of a batch waits for the batch to fill */
+    private long lingerMs = 2;
+
+    /** Messages queued for batching before callers are blocked */
+    private int queueCapacity = 16384;
+
+    /** Published but unconfirmed messages allowed in flight across batches */
+    private int maxInFlight = 4096;
+
+    private Destination marketData = new Destination("market-prices-stream", "market.data");
+
+    private Destination trade = new Destination("trade-executions-stream", "trade.execution");
+
+    @Data
+    public static class Destination {
+        private String exchange;
+        private String routingKey;
+
+        public Destination() {
+        }
+
+        public Destination(String exchange, String routingKey) {
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.model.TickPool;
+import com.nexusweaver.pipeline.SymbolPartitionedStage;
+import com.nexusweaver.sequence.SequenceTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.ProducerTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sequence Configuration
+ *
+ * Sequence tracker in front of the symbol lanes; on by default, the route hands off straight to the lanes when disabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "market-data.sequence.enabled", havingValue = "true", matchIfMissing = true)
+public class SequenceConfig {
+
+    @Bean
+    public SequenceTracker sequenceTracker(SequenceProperties properties, SymbolPartitionedStage symbolPartitionedStage,
+                                           TickPool tickPool, ProducerTemplate producerTemplate,
+                                           MeterRegistry meterRegistry) {
+        return new SequenceTracker(properties, symbolPartitionedStage, tickPool, producerTemplate, meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sequence tracking (market-data.sequence.*)
+ *
+ * Per-(source, symbol) gap and duplicate detection ahead of the lanes. With a
+ * {@code reorder-window} above 0, a tick up to that many sequences ahead is
+ * held until the missing ones arrive or {@code reorder-timeout-ms} passes.
+ * A tick numbered 1, or more than {@code reset-distance} behind the last
+ * sequence, is taken as the source restarting its numbering rather than as a
+ * duplicate.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.sequence")
+public class SequenceProperties {
+
+    private boolean enabled = true;
+
+    /** Sequences a tick may run ahead and still be held for reordering, 0 = no reordering */
+    private int reorderWindow = 0;
+
+    private long reorderTimeoutMs = 50;
+
+    /** Ticks held for reordering across all keys before gaps are declared early */
+    private int maxHeld = 8192;
+
+    /** Sequences a tick may fall behind the last before it starts a new session, 0 = only a restart at 1 */
+    private long resetDistance = 10_000;
+
+    /** Expected (source, symbol) keys, presizes the tables */
+    private int expectedKeys = 16384;
+}
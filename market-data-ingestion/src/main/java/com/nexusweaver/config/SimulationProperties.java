@@ -0,0 +1,80 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.generator.TickGeneratorComponent;
+import com.nexusweaver.generator.TickGeneratorEndpoint;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clustered load source (market-data.simulation.*)
+ *
+ * Drives the {@code tickgen:} endpoint that only the cluster leader runs:
+ * synthetic random-walk quotes at a target rate, or replay of a recorded
+ * tick file at 1x, Nx or maximum speed.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.simulation")
+public class SimulationProperties {
+
+    private boolean enabled = true;
+
+    private TickGeneratorEndpoint.Mode mode = TickGeneratorEndpoint.Mode.SYNTHETIC;
+
+    /** Ticks per second, 0 for as fast as the pipeline accepts */
+    private double rate = 0.1;
+
+    /** Symbol universe; empty uses every reference symbol */
+    private List<String> symbols = new ArrayList<>();
+
+    /** Pads the universe with synthetic symbols up to this size */
+    private int symbolCount = 0;
+
+    /** 1 draws symbols uniformly, larger values concentrate flow on the first symbols */
+    private double skew = 1.0;
+
+    /** Standard deviation of one random-walk step as a fraction of the price */
+    private double volatility = 0.0005;
+
+    /** Random seed, 0 for a different walk on every start */
+    private long seed = 0;
+
+    private Replay replay = new Replay();
+
+    @Data
+    public static class Replay {
+        private String file;
+        /** Multiple of the recorded pace, 0 for as fast as possible */
+        private double speed = 1.0;
+        private boolean loop = true;
+        private boolean rewriteTimestamps = true;
+    }
+
+    /**
+     * The generator endpoint URI for these settings
+     */
+    public String toEndpointUri(String name) {
+        StringBuilder uri = new StringBuilder(TickGeneratorComponent.SCHEME).append(':').append(name)
+                .append("?mode=").append(mode);
+        if (mode == TickGeneratorEndpoint.Mode.REPLAY) {
+            uri.append("&file=").append(replay.getFile())
+                    .append("&speed=").append(replay.getSpeed())
+                    .append("&loop=").append(replay.isLoop())
+                    .append("&rewriteTimestamps=").append(replay.isRewriteTimestamps());
+        } else {
+            uri.append("&rate=").append(rate)
+                    .append("&symbolCount=").append(symbolCount)
+                    .append("&skew=").append(skew)
+                    .append("&volatility=").append(volatility)
+                    .append("&seed=").append(seed);
+            if (!symbols.isEmpty()) {
+                uri.append("&symbols=").append(String.join(",", symbols));
+            }
+        }
+        return uri.toString();
+    }
+}
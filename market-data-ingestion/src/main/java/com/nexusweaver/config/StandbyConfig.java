@@ -0,0 +1,54 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.cluster.FileStandbyChannel;
+import com.nexusweaver.cluster.RabbitStandbyChannel;
+import com.nexusweaver.cluster.StandbyChannel;
+import com.nexusweaver.cluster.WarmStandby;
+import com.nexusweaver.model.TickPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Standby Configuration
+ *
+ * Warm standby for the clustered sources: they run on every pod behind the standby gate instead of under master:.
+ */
+@Configuration
+@ConditionalOnProperty(name = "market-data.cluster.standby.enabled", havingValue = "true")
+public class StandbyConfig {
+
+    @Bean
+    public StandbyChannel standbyChannel(ClusterProperties properties, ObjectProvider<ConnectionFactory> connectionFactory) {
+        ClusterProperties.Standby standby = properties.getStandby();
+        ClusterProperties.Channel channel = standby.getChannel();
+        if (channel == ClusterProperties.Channel.AUTO) {
+            channel = properties.getLocal().isEnabled() ? ClusterProperties.Channel.FILE : ClusterProperties.Channel.RABBIT;
+        }
+        if (channel == ClusterProperties.Channel.FILE) {
+            return new FileStandbyChannel(Paths.get(properties.getLocal().getDirectory(), "standby.log"),
+                    standby.getCheckpointInterval().dividedBy(2));
+        }
+        return new RabbitStandbyChannel(connectionFactory.getObject(), standby.getExchange());
+    }
+
+    @Bean
+    public WarmStandby warmStandby(ClusterProperties properties, StandbyChannel standbyChannel, CamelContext camelContext,
+                                   TickPool tickPool, ProducerTemplate producerTemplate, MeterRegistry meterRegistry,
+                                   @Value("${HOSTNAME:localhost}") String podName,
+                                   @Value("${server.port:8080}") int port) throws Exception {
+        WarmStandby standby = new WarmStandby(podName + ":" + port, properties.getStandby(), standbyChannel,
+                camelContext, tickPool, producerTemplate, meterRegistry);
+        // Started and stopped with the Camel context, once the cluster service is registered
+        camelContext.addService(standby, true, false);
+        return standby;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.model.TickPool;
+import com.nexusweaver.pipeline.SymbolPartitionedStage;
+import com.nexusweaver.sequence.SequenceTracker;
+import com.nexusweaver.tenancy.TenantScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tenancy Configuration
+ *
+ * Tenant scheduler in front of the sequence tracker, or of the symbol lanes when sequence tracking is disabled;
+ * off by default, ticks are handed on in arrival order then.
+ */
+@Configuration
+@ConditionalOnProperty(name = "market-data.tenancy.enabled", havingValue = "true")
+public class TenancyConfig {
+
+    @Bean
+    public TenantScheduler tenantScheduler(TenancyProperties properties, SymbolPartitionedStage symbolPartitionedStage,
+                                           ObjectProvider<SequenceTracker> sequenceTracker, TickPool tickPool,
+                                           MeterRegistry meterRegistry) {
+        SequenceTracker tracker = sequenceTracker.getIfAvailable();
+        return new TenantScheduler(properties, tracker != null ? tracker : symbolPartitionedStage, tickPool,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.tenancy.TenancySettings;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant isolation (market-data.tenancy.*)
+ *
+ * Ticks are assigned to a tenant by {@code key} and admitted through that
+ * tenant's token bucket into its own bounded queue, ahead of the sequence
+ * tracker; the tracker and symbol lanes are fed from the queues by deficit
+ * round robin, {@code quantum} ticks per unit of weight per turn, with at most
+ * {@code max-in-flight} ticks downstream at once. Ticks of one (source,
+ * symbol) are never reordered between tenants. The tenant settings are
+ * shared with the consumer; see {@link TenancySettings}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "market-data.tenancy")
+public class TenancyProperties extends TenancySettings {
+
+    /** Ticks dispatched downstream and not yet through the route; keeps the queueing in the tenant queues */
+    private int maxInFlight = 256;
+}
@@ -0,0 +1,61 @@
+package com.nexusweaver.config;
+
+import com.nexusweaver.model.MarketDataEvent;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.apache.camel.support.TypeConverterSupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tick Configuration
+ *
+ * Provides the shared tick pool and registers Camel type converters between
+ * {@link MarketDataEvent} and {@link Tick}, so processors can simply ask for
+ * {@code getBody(Tick.class)} regardless of what the edge delivered.
+ */
+@Configuration
+public class TickConfig {
+
+    @Value("${market-data.processing.tick-pool-size:4096}")
+    private int tickPoolSize;
+
+    @Bean
+    public TickPool tickPool() {
+        return new TickPool(tickPoolSize);
+    }
+
+    @Bean
+    public CamelContextConfiguration tickTypeConverters(TickPool tickPool) {
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(CamelContext camelContext) {
+                TypeConverterRegistry registry = camelContext.getTypeConverterRegistry();
+
+                registry.addTypeConverter(Tick.class, MarketDataEvent.class, new TypeConverterSupport() {
+                    @Override
+                    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                        return type.cast(tickPool.acquire().copyFrom((MarketDataEvent) value));
+                    }
+                });
+
+                registry.addTypeConverter(MarketDataEvent.class, Tick.class, new TypeConverterSupport() {
+                    @Override
+                    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                        return type.cast(((Tick) value).toEvent());
+                    }
+                });
+            }
+
+            @Override
+            public void afterApplicationStart(CamelContext camelContext) {
+                // Nothing to do
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.nexusweaver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Validation rule limits (market-data.validation.*)
+ *
+ * Top-level limits apply to every symbol; asset-class and symbol entries
+ * override them field by field, symbol entries taking precedence.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "market-data.validation")
+public class ValidationProperties {
+
+    /** Lowest accepted price (exclusive of zero, which is always rejected) */
+    private BigDecimal minPrice = BigDecimal.ZERO;
+
+    /** Highest accepted price */
+    private BigDecimal maxPrice = new BigDecimal("1000000");
+
+    /** Highest accepted volume */
+    private long maxVolume = 10_000_000L;
+
+    /** Widest accepted bid/ask spread in tick-size increments, 0 = unlimited */
+    private int maxSpreadTicks = 0;
+
+    /** Largest accepted jump between consecutive sequence numbers of a symbol from one source, 0 = unlimited */
+    private long maxSequenceGap = 0;
+
+    /** Symbol ids tracked for stateful rules; symbols beyond this skip the sequence gap rule */
+    private int maxSymbols = 65536;
+
+    private Map<String, Limits> assetClasses = new LinkedHashMap<>();
+
+    private Map<String, Limits> symbols = new LinkedHashMap<>();
+
+    /**
+     * Overrides; unset fields inherit from the asset class, then from the top level
+     */
+    @Data
+    public static class Limits {
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private Long maxVolume;
+        private Integer maxSpreadTicks;
+        private Long maxSequenceGap;
+    }
+}
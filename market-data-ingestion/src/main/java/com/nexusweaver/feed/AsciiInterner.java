@@ -0,0 +1,119 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.InternTable;
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * ASCII Interner
+ *
+ * Resolves ASCII names held in a {@link ByteBuf} to {@link InternTable} ids
+ * without materialising a String. Names seen before are found in an
+ * open-addressing cache keyed by their bytes, so a hit costs one hash pass
+ * and one byte comparison; only the first sight of a name allocates, to
+ * register it with the intern table. Not thread-safe: each channel handler
+ * owns its interners, so lookups on the event loop never contend.
+ */
+final class AsciiInterner {
+
+    /** Names cached per interner; past this, misses go straight to the intern table */
+    private static final int MAX_CACHED = 1 << 16;
+
+    private final InternTable table;
+    private byte[][] keys;
+    private int[] ids;
+    private int mask;
+    private int size;
+
+    AsciiInterner(InternTable table) {
+        this.table = table;
+        allocate(64);
+    }
+
+    /**
+     * Returns the id of the name occupying [index, index + length), {@link InternTable#NULL_ID} when empty
+     */
+    int intern(ByteBuf buffer, int index, int length) {
+        if (length == 0) {
+            return InternTable.NULL_ID;
+        }
+        int hash = hash(buffer, index, length);
+        int slot = hash & mask;
+        byte[] key;
+        while ((key = keys[slot]) != null) {
+            if (key.length == length && matches(key, buffer, index)) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = table.intern(buffer.toString(index, length, StandardCharsets.US_ASCII));
+        if (size < MAX_CACHED) {
+            if (size + 1 > keys.length >>> 1) {
+                grow();
+                slot = hash & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+            }
+            key = new byte[length];
+            buffer.getBytes(index, key);
+            keys[slot] = key;
+            ids[slot] = id;
+            size++;
+        }
+        return id;
+    }
+
+    private static boolean matches(byte[] key, ByteBuf buffer, int index) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buffer.getByte(index + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(ByteBuf buffer, int index, int length) {
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer.getByte(index + i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hash(byte[] key) {
+        int hash = key.length;
+        for (byte b : key) {
+            hash = 31 * hash + b;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private void grow() {
+        byte[][] oldKeys = keys;
+        int[] oldIds = ids;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            byte[] key = oldKeys[i];
+            if (key == null) {
+                continue;
+            }
+            int slot = hash(key) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            ids[slot] = oldIds[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new byte[capacity][];
+        ids = new int[capacity];
+        Arrays.fill(ids, InternTable.NULL_ID);
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,103 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import io.netty.buffer.ByteBuf;
+
+import java.util.List;
+
+import static com.nexusweaver.codec.MarketDataSchema.*;
+
+/**
+ * Binary Feed Decoder
+ *
+ * Reads {@link com.nexusweaver.codec.MarketDataSchema} messages straight out
+ * of the receive buffer: fixed fields with little-endian absolute reads,
+ * variable-length names resolved through per-channel {@link AsciiInterner}s.
+ * Nothing is copied to a {@code byte[]} and no String is built for a name
+ * already seen. The message's own sequence number is kept, so the sequence
+ * tracker checks binary feeds per (source, symbol).
+ */
+final class BinaryFeedDecoder implements FeedDecoder {
+
+    private final TickPool tickPool;
+    private final int defaultSourceId;
+    /** Interner per variable field, in wire order */
+    private final AsciiInterner[] interners = new AsciiInterner[VAR_FIELD_COUNT];
+    private final int[] varIds = new int[VAR_FIELD_COUNT];
+
+    BinaryFeedDecoder(TickPool tickPool, int defaultSourceId) {
+        this.tickPool = tickPool;
+        this.defaultSourceId = defaultSourceId;
+        interners[VAR_SYMBOL] = new AsciiInterner(InternTable.SYMBOLS);
+        interners[VAR_EXCHANGE] = new AsciiInterner(InternTable.EXCHANGES);
+        interners[VAR_SOURCE] = new AsciiInterner(InternTable.SOURCES);
+        interners[VAR_MESSAGE_TYPE] = new AsciiInterner(InternTable.MESSAGE_TYPES);
+        interners[VAR_PORTFOLIO_ID] = new AsciiInterner(InternTable.PORTFOLIOS);
+        interners[VAR_TRADER_ID] = new AsciiInterner(InternTable.TRADERS);
+    }
+
+    @Override
+    public void decode(ByteBuf buffer, int index, int length, List<Tick> out) {
+        if (length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Binary feed message too short for its header: " + length + " bytes");
+        }
+        int schemaId = buffer.getUnsignedShortLE(index + SCHEMA_ID_OFFSET);
+        if (schemaId != SCHEMA_ID) {
+            throw new IllegalArgumentException("Unexpected schema id: " + schemaId);
+        }
+        int blockLength = buffer.getUnsignedShortLE(index + BLOCK_LENGTH_OFFSET);
+        if (blockLength < BLOCK_LENGTH_V1 || HEADER_LENGTH + blockLength + VAR_FIELD_COUNT > length) {
+            throw new IllegalArgumentException("Unsupported block length " + blockLength + " in a " + length + " byte message");
+        }
+        int templateId = buffer.getUnsignedShortLE(index + TEMPLATE_ID_OFFSET);
+        int block = index + HEADER_LENGTH;
+        int limit = index + length;
+
+        Tick tick = tickPool.acquire();
+        try {
+            tick.setTimestampNanos(buffer.getLongLE(block + TIMESTAMP_OFFSET));
+            tick.setSequenceNumber(buffer.getLongLE(block + SEQUENCE_OFFSET));
+            tick.setPrice(buffer.getLongLE(block + PRICE_OFFSET));
+            tick.setBid(buffer.getLongLE(block + BID_OFFSET));
+            tick.setAsk(buffer.getLongLE(block + ASK_OFFSET));
+            tick.setHigh(buffer.getLongLE(block + HIGH_OFFSET));
+            tick.setLow(buffer.getLongLE(block + LOW_OFFSET));
+            tick.setOpen(buffer.getLongLE(block + OPEN_OFFSET));
+            tick.setVolume(buffer.getLongLE(block + VOLUME_OFFSET));
+
+            int position = block + blockLength;
+            for (int field = 0; field < VAR_FIELD_COUNT; field++) {
+                int varLength = varLength(buffer, position, limit);
+                varIds[field] = interners[field].intern(buffer, position + 1, varLength);
+                position += 1 + varLength;
+            }
+            tick.setSymbolId(varIds[VAR_SYMBOL]);
+            tick.setExchangeId(varIds[VAR_EXCHANGE]);
+            tick.setSourceId(varIds[VAR_SOURCE] != InternTable.NULL_ID ? varIds[VAR_SOURCE] : defaultSourceId);
+            tick.setMessageTypeId(varIds[VAR_MESSAGE_TYPE] != InternTable.NULL_ID ? varIds[VAR_MESSAGE_TYPE]
+                    : templateId == TEMPLATE_TRADE ? Tick.TRADE : Tick.MARKET_DATA);
+            tick.setPortfolioId(varIds[VAR_PORTFOLIO_ID]);
+            tick.setTraderId(varIds[VAR_TRADER_ID]);
+        } catch (RuntimeException e) {
+            tickPool.release(tick);
+            throw e;
+        }
+        out.add(tick);
+    }
+
+    /**
+     * Length of the variable field whose length byte is at position, checked against the message end
+     */
+    private static int varLength(ByteBuf buffer, int position, int limit) {
+        if (position >= limit) {
+            throw new IllegalArgumentException("Binary feed message truncated in its variable data");
+        }
+        int length = buffer.getUnsignedByte(position);
+        if (position + 1 + length > limit) {
+            throw new IllegalArgumentException("Binary feed message truncated in its variable data");
+        }
+        return length;
+    }
+}
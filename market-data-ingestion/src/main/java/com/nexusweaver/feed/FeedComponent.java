@@ -0,0 +1,86 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.TickPool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.Endpoint;
+import org.apache.camel.support.DefaultComponent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feed Component
+ *
+ * Camel component behind {@code feed:name?options}, a vendor feed handler
+ * that listens for FIX 4.4 market data or length-prefixed binary ticks over
+ * TCP or UDP (unicast or multicast) and emits them as pooled ticks. Wrap it
+ * in {@code master:} when every pod would otherwise receive the same
+ * multicast stream.
+ */
+@Component(FeedComponent.SCHEME)
+public class FeedComponent extends DefaultComponent {
+
+    public static final String SCHEME = "feed";
+
+    private final TickPool tickPool;
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder sessionGaps = new LongAdder();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public FeedComponent(TickPool tickPool, MeterRegistry meterRegistry) {
+        this.tickPool = tickPool;
+        FunctionCounter.builder("market.data.feed.messages", messages, LongAdder::sum)
+                .description("Feed messages decoded on this pod")
+                .register(meterRegistry);
+        FunctionCounter.builder("market.data.feed.ticks", ticks, LongAdder::sum)
+                .description("Ticks emitted from decoded feed messages")
+                .register(meterRegistry);
+        FunctionCounter.builder("market.data.feed.rejected", rejected, LongAdder::sum)
+                .description("Feed messages or frames dropped as malformed")
+                .register(meterRegistry);
+        FunctionCounter.builder("market.data.feed.session.gaps", sessionGaps, LongAdder::sum)
+                .description("FIX MsgSeqNum gaps seen on feed sessions")
+                .register(meterRegistry);
+        Gauge.builder("market.data.feed.connections", connections, AtomicInteger::get)
+                .description("Open TCP feed connections")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+        FeedEndpoint endpoint = new FeedEndpoint(uri, this, remaining);
+        setProperties(endpoint, parameters);
+        return endpoint;
+    }
+
+    TickPool getTickPool() {
+        return tickPool;
+    }
+
+    LongAdder getSessionGaps() {
+        return sessionGaps;
+    }
+
+    void recordDecoded(int emitted) {
+        messages.increment();
+        ticks.add(emitted);
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void connectionOpened() {
+        connections.incrementAndGet();
+    }
+
+    void connectionClosed() {
+        connections.decrementAndGet();
+    }
+}
@@ -0,0 +1,170 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.Tick;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.InternetProtocolFamily;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.DefaultConsumer;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.nio.ByteOrder;
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed Consumer
+ *
+ * Binds the feed's Netty channel while the consumer is started. Receive
+ * buffers come from the pooled direct allocator, so socket reads land
+ * off-heap and are parsed there. A TCP feed gets a frame decoder and its
+ * own {@link FeedHandler} per connection, a UDP feed one handler for the
+ * bound socket.
+ */
+@Slf4j
+public class FeedConsumer extends DefaultConsumer {
+
+    private final FeedEndpoint endpoint;
+
+    private EventLoopGroup group;
+    private Channel channel;
+
+    public FeedConsumer(FeedEndpoint endpoint, Processor processor) {
+        super(endpoint, processor);
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        group = new NioEventLoopGroup(Math.max(1, endpoint.getIoThreads()),
+                new DefaultThreadFactory("feed-" + endpoint.getName(), true));
+        channel = endpoint.getTransport() == FeedEndpoint.Transport.UDP ? bindDatagram() : bindStream();
+        log.info("Feed {} listening for {}", endpoint.getName(), endpoint.describe());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (channel != null) {
+            channel.close().syncUninterruptibly();
+            channel = null;
+        }
+        if (group != null) {
+            group.shutdownGracefully(0, 2, TimeUnit.SECONDS).syncUninterruptibly();
+            group = null;
+        }
+        super.doStop();
+    }
+
+    /**
+     * Hands a decoded tick to the route; the exchange is released once the route is done with it
+     */
+    void emit(Tick tick) {
+        Exchange exchange = createExchange(false);
+        exchange.getIn().setBody(tick);
+        getAsyncProcessor().process(exchange, doneSync -> {
+            if (exchange.getException() != null) {
+                getExceptionHandler().handleException("Error processing feed tick", exchange, exchange.getException());
+            }
+            releaseExchange(exchange, false);
+        });
+    }
+
+    private Channel bindStream() throws InterruptedException {
+        int maxFrameLength = endpoint.getMaxFrameLength();
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(endpoint.getProtocol() == FeedEndpoint.Protocol.FIX
+                                ? new FixFraming(maxFrameLength, endpoint.isValidateChecksum())
+                                : new LengthFieldBasedFrameDecoder(ByteOrder.LITTLE_ENDIAN, maxFrameLength,
+                                        0, Integer.BYTES, 0, Integer.BYTES, true));
+                        ch.pipeline().addLast(new FeedHandler(FeedConsumer.this, endpoint, true));
+                    }
+                });
+        if (endpoint.getReceiveBufferSize() > 0) {
+            bootstrap.childOption(ChannelOption.SO_RCVBUF, endpoint.getReceiveBufferSize());
+        }
+        return bootstrap.bind(endpoint.getHost(), endpoint.getPort()).sync().channel();
+    }
+
+    private Channel bindDatagram() throws Exception {
+        boolean multicast = endpoint.isMulticast();
+        Bootstrap bootstrap = new Bootstrap()
+                .group(group)
+                .channelFactory(() -> new NioDatagramChannel(InternetProtocolFamily.IPv4))
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(endpoint.getMaxFrameLength()))
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .handler(new FeedHandler(this, endpoint, false));
+        if (endpoint.getReceiveBufferSize() > 0) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, endpoint.getReceiveBufferSize());
+        }
+        if (!multicast) {
+            return bootstrap.bind(endpoint.getHost(), endpoint.getPort()).sync().channel();
+        }
+
+        NetworkInterface networkInterface = multicastInterface();
+        bootstrap.option(ChannelOption.IP_MULTICAST_IF, networkInterface);
+        DatagramChannel datagram = (DatagramChannel) bootstrap.bind(endpoint.getPort()).sync().channel();
+        datagram.joinGroup(new InetSocketAddress(InetAddress.getByName(endpoint.getGroup()), endpoint.getPort()),
+                networkInterface).sync();
+        log.info("Feed {} joined {} on {}", endpoint.getName(), endpoint.getGroup(), networkInterface.getName());
+        return datagram;
+    }
+
+    /**
+     * The configured interface, else the first multicast-capable one that is up, else loopback
+     */
+    private NetworkInterface multicastInterface() throws SocketException {
+        String name = endpoint.getNetworkInterface();
+        if (name != null && !name.isBlank()) {
+            NetworkInterface configured = NetworkInterface.getByName(name);
+            if (configured == null) {
+                throw new IllegalArgumentException("No network interface named " + name);
+            }
+            return configured;
+        }
+        NetworkInterface loopback = null;
+        Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
+        while (interfaces.hasMoreElements()) {
+            NetworkInterface candidate = interfaces.nextElement();
+            if (!candidate.isUp() || !candidate.supportsMulticast()) {
+                continue;
+            }
+            if (!candidate.isLoopback()) {
+                return candidate;
+            }
+            loopback = candidate;
+        }
+        if (loopback == null) {
+            throw new IllegalStateException("No multicast-capable network interface for feed " + endpoint.getName());
+        }
+        return loopback;
+    }
+}
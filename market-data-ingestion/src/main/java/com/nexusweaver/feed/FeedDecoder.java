@@ -0,0 +1,21 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.Tick;
+import io.netty.buffer.ByteBuf;
+
+import java.util.List;
+
+/**
+ * Decodes one framed feed message, read in place from the buffer, into pooled
+ * ticks. A decoder belongs to one channel and keeps per-session state, so it
+ * is only ever called from that channel's event loop.
+ */
+interface FeedDecoder {
+
+    /**
+     * Decodes the message occupying [index, index + length) and appends its ticks to out.
+     * Throws IllegalArgumentException on a malformed message, after returning any ticks it
+     * acquired for it to the pool.
+     */
+    void decode(ByteBuf buffer, int index, int length, List<Tick> out);
+}
@@ -0,0 +1,98 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.InternTable;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.camel.Consumer;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.support.DefaultEndpoint;
+
+/**
+ * Feed Endpoint
+ *
+ * Consumer-only endpoint; options are bound from the URI. TCP listens on
+ * {@code host:port} for vendor connections. UDP binds {@code port} and joins
+ * {@code group} on {@code networkInterface} when a multicast group is set.
+ * FIX messages are framed by BodyLength and CheckSum, binary messages by an
+ * int32 little-endian length prefix, several to a datagram over UDP.
+ * {@code source} names the feed for messages that do not carry their own.
+ */
+@Getter
+@Setter
+public class FeedEndpoint extends DefaultEndpoint {
+
+    public enum Protocol {
+        FIX,
+        BINARY
+    }
+
+    public enum Transport {
+        TCP,
+        UDP
+    }
+
+    private final String name;
+
+    private Protocol protocol = Protocol.FIX;
+    private Transport transport = Transport.TCP;
+    private String host = "0.0.0.0";
+    private int port;
+    /** Multicast group to join over UDP, empty for unicast */
+    private String group;
+    /** Interface to join the group on, empty for the first multicast-capable interface */
+    private String networkInterface;
+    /** Source name for messages without a SenderCompID or source field; defaults to the endpoint name */
+    private String source;
+    private int ioThreads = 1;
+    /** Largest message, and over UDP the largest datagram, accepted in bytes */
+    private int maxFrameLength = 65536;
+    /** SO_RCVBUF in bytes, 0 for the OS default */
+    private int receiveBufferSize;
+    private boolean validateChecksum = true;
+
+    public FeedEndpoint(String endpointUri, FeedComponent component, String name) {
+        super(endpointUri, component);
+        this.name = name;
+    }
+
+    @Override
+    public FeedComponent getComponent() {
+        return (FeedComponent) super.getComponent();
+    }
+
+    @Override
+    public Producer createProducer() throws Exception {
+        throw new UnsupportedOperationException("feed endpoints only support consumers");
+    }
+
+    @Override
+    public Consumer createConsumer(Processor processor) throws Exception {
+        if (port <= 0) {
+            throw new IllegalArgumentException("feed:" + name + " requires the port option");
+        }
+        FeedConsumer consumer = new FeedConsumer(this, processor);
+        configureConsumer(consumer);
+        return consumer;
+    }
+
+    /**
+     * A decoder with its own session state, for one channel
+     */
+    FeedDecoder createDecoder() {
+        FeedComponent component = getComponent();
+        int sourceId = InternTable.SOURCES.intern(source != null && !source.isBlank() ? source : name);
+        return protocol == Protocol.FIX
+                ? new FixMarketDataDecoder(component.getTickPool(), sourceId, component.getSessionGaps())
+                : new BinaryFeedDecoder(component.getTickPool(), sourceId);
+    }
+
+    boolean isMulticast() {
+        return group != null && !group.isBlank();
+    }
+
+    String describe() {
+        String address = transport == Transport.UDP && isMulticast() ? group + ":" + port : host + ":" + port;
+        return protocol + " over " + transport + (isMulticast() ? " multicast " : " ") + address;
+    }
+}
@@ -0,0 +1,148 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feed Handler
+ *
+ * Last handler of a feed channel's pipeline. It decodes each framed message,
+ * or each message packed in a datagram, where it lies in the pooled receive
+ * buffer and releases the buffer once the ticks are filled, so no message
+ * bytes outlive the read. Ticks are stamped with their ingress time and
+ * handed to the route on the event loop; a full lane blocks the event loop,
+ * which stops reads and lets TCP flow control push back on the vendor.
+ */
+@Slf4j
+final class FeedHandler extends ChannelInboundHandlerAdapter {
+
+    private final FeedConsumer consumer;
+    private final FeedComponent component;
+    private final FeedDecoder decoder;
+    private final FeedEndpoint.Protocol protocol;
+    private final int maxFrameLength;
+    private final boolean validateChecksum;
+    private final boolean stream;
+    private final List<Tick> ticks = new ArrayList<>();
+
+    FeedHandler(FeedConsumer consumer, FeedEndpoint endpoint, boolean stream) {
+        this.consumer = consumer;
+        this.component = endpoint.getComponent();
+        this.decoder = endpoint.createDecoder();
+        this.protocol = endpoint.getProtocol();
+        this.maxFrameLength = endpoint.getMaxFrameLength();
+        this.validateChecksum = endpoint.isValidateChecksum();
+        this.stream = stream;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        if (stream) {
+            component.connectionOpened();
+            log.info("Feed connection from {} on {}", ctx.channel().remoteAddress(), ctx.channel().localAddress());
+        }
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (stream) {
+            component.connectionClosed();
+            log.info("Feed connection from {} closed", ctx.channel().remoteAddress());
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        try {
+            if (msg instanceof DatagramPacket packet) {
+                readDatagram(packet.content());
+            } else {
+                ByteBuf frame = (ByteBuf) msg;
+                decode(frame, frame.readerIndex(), frame.readableBytes());
+            }
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        component.recordRejected();
+        if (stream) {
+            // The byte stream cannot be resynchronised; the vendor reconnects and resends
+            log.warn("Closing feed connection from {}: {}", ctx.channel().remoteAddress(), cause.getMessage());
+            ctx.close();
+        } else {
+            log.warn("Dropping feed datagram on {}: {}", ctx.channel().localAddress(), cause.getMessage());
+        }
+    }
+
+    /**
+     * Decodes every message packed in the datagram; framing errors drop the rest of it
+     */
+    private void readDatagram(ByteBuf content) {
+        int index = content.readerIndex();
+        int end = content.writerIndex();
+        while (index < end) {
+            int length;
+            if (protocol == FeedEndpoint.Protocol.BINARY) {
+                if (end - index < Integer.BYTES) {
+                    break;
+                }
+                length = content.getIntLE(index);
+                if (length == 0) {
+                    // Zero length marks padding to the end of the datagram
+                    break;
+                }
+                if (length < 0 || length > end - index - Integer.BYTES) {
+                    throw new CorruptedFrameException("Binary frame of " + length + " bytes overruns the datagram");
+                }
+                decode(content, index + Integer.BYTES, length);
+                index += Integer.BYTES + length;
+            } else {
+                length = FixFraming.frameLength(content, index, end, maxFrameLength, validateChecksum);
+                if (length < 0) {
+                    throw new CorruptedFrameException("FIX message truncated at the end of the datagram");
+                }
+                decode(content, index, length);
+                index += length;
+            }
+        }
+    }
+
+    private void decode(ByteBuf buffer, int index, int length) {
+        try {
+            decoder.decode(buffer, index, length, ticks);
+        } catch (IllegalArgumentException e) {
+            component.recordRejected();
+            if (log.isDebugEnabled()) {
+                log.debug("Rejected feed message of {} bytes: {}", length, e.getMessage());
+            }
+            return;
+        }
+
+        component.recordDecoded(ticks.size());
+        long ingressNanos = EpochClock.nanos();
+        String pod = ProcessingContext.pod();
+        for (int i = 0; i < ticks.size(); i++) {
+            Tick tick = ticks.get(i);
+            ProcessingContext context = tick.getContext().ingress(tick.source(), pod);
+            context.markIngress(ingressNanos);
+            consumer.emit(tick);
+        }
+        ticks.clear();
+    }
+}
@@ -0,0 +1,207 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.Tick;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * FIX Fields
+ *
+ * Allocation-free conversions between FIX tag=value text held in a
+ * {@link ByteBuf} and the primitives ticks carry: integers, decimal prices
+ * as {@link Tick#PRICE_DECIMALS}-digit fixed point, and UTCTimestamp values
+ * as epoch nanoseconds. Parsers read by absolute index and never move the
+ * buffer's reader index; malformed values throw IllegalArgumentException.
+ */
+final class FixFields {
+
+    static final byte SOH = 0x01;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private FixFields() {
+    }
+
+    /**
+     * Parses a non-negative integer value occupying [start, end)
+     */
+    static long parseLong(ByteBuf buffer, int start, int end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("Empty integer field");
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.getByte(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Malformed integer field");
+            }
+            value = Math.addExact(Math.multiplyExact(value, 10), digit);
+        }
+        return value;
+    }
+
+    /**
+     * Parses a decimal value occupying [start, end) into fixed point; digits past the scale are truncated
+     */
+    static long parseScaled(ByteBuf buffer, int start, int end) {
+        int i = start;
+        boolean negative = i < end && buffer.getByte(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long value = 0;
+        int decimals = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            byte b = buffer.getByte(i);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+                continue;
+            }
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("Malformed decimal field");
+            }
+            digits = true;
+            if (decimals >= Tick.PRICE_DECIMALS) {
+                continue;
+            }
+            value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+            if (decimals >= 0) {
+                decimals++;
+            }
+        }
+        if (!digits) {
+            throw new IllegalArgumentException("Empty decimal field");
+        }
+        value = Math.multiplyExact(value, POWERS_OF_TEN[Tick.PRICE_DECIMALS - Math.max(decimals, 0)]);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a UTCTimestamp, {@code YYYYMMDD-HH:MM:SS[.f{1,9}]}, occupying [start, end) into epoch nanoseconds
+     */
+    static long parseTimestamp(ByteBuf buffer, int start, int end) {
+        int length = end - start;
+        if (length < 17 || buffer.getByte(start + 8) != '-' || buffer.getByte(start + 11) != ':'
+                || buffer.getByte(start + 14) != ':') {
+            throw new IllegalArgumentException("Malformed UTCTimestamp field");
+        }
+        long days = daysFromCivil((int) parseLong(buffer, start, start + 4), (int) parseLong(buffer, start + 4, start + 6),
+                (int) parseLong(buffer, start + 6, start + 8));
+        long seconds = days * SECONDS_PER_DAY
+                + parseLong(buffer, start + 9, start + 11) * 3600
+                + parseLong(buffer, start + 12, start + 14) * 60
+                + parseLong(buffer, start + 15, start + 17);
+        long fraction = 0;
+        if (length > 17) {
+            int digits = length - 18;
+            if (buffer.getByte(start + 17) != '.' || digits < 1 || digits > 9) {
+                throw new IllegalArgumentException("Malformed UTCTimestamp fraction");
+            }
+            fraction = parseLong(buffer, start + 18, end) * POWERS_OF_TEN[9 - digits];
+        }
+        return seconds * NANOS_PER_SECOND + fraction;
+    }
+
+    /**
+     * Writes a non-negative integer as ASCII digits
+     */
+    static void writeLong(ByteBuf out, long value) {
+        if (value < 10) {
+            out.writeByte((int) ('0' + value));
+            return;
+        }
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            out.writeByte((int) ('0' + value / POWERS_OF_TEN[i] % 10));
+        }
+    }
+
+    /**
+     * Writes a fixed-point value as a decimal without trailing zeros
+     */
+    static void writeScaled(ByteBuf out, long scaled) {
+        if (scaled < 0) {
+            out.writeByte('-');
+            scaled = -scaled;
+        }
+        writeLong(out, scaled / Tick.PRICE_SCALE);
+        long fraction = scaled % Tick.PRICE_SCALE;
+        if (fraction == 0) {
+            return;
+        }
+        out.writeByte('.');
+        int digits = Tick.PRICE_DECIMALS;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            out.writeByte((int) ('0' + fraction / POWERS_OF_TEN[i] % 10));
+        }
+    }
+
+    /**
+     * Writes epoch nanoseconds as a millisecond UTCTimestamp
+     */
+    static void writeTimestamp(ByteBuf out, long epochNanos) {
+        long seconds = Math.floorDiv(epochNanos, NANOS_PER_SECOND);
+        long days = Math.floorDiv(seconds, SECONDS_PER_DAY);
+        long secondOfDay = seconds - days * SECONDS_PER_DAY;
+
+        // Civil date from days since the epoch, Howard Hinnant's algorithm
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        writeDigits(out, year, 4);
+        writeDigits(out, month, 2);
+        writeDigits(out, day, 2);
+        out.writeByte('-');
+        writeDigits(out, secondOfDay / 3600, 2);
+        out.writeByte(':');
+        writeDigits(out, secondOfDay / 60 % 60, 2);
+        out.writeByte(':');
+        writeDigits(out, secondOfDay % 60, 2);
+        out.writeByte('.');
+        writeDigits(out, Math.floorMod(epochNanos, NANOS_PER_SECOND) / 1_000_000, 3);
+    }
+
+    private static void writeDigits(ByteBuf out, long value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            out.writeByte((int) ('0' + value / POWERS_OF_TEN[i] % 10));
+        }
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date, Howard Hinnant's algorithm
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new IllegalArgumentException("Malformed UTCTimestamp date");
+        }
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+}
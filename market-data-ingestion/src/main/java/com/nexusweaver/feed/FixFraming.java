@@ -0,0 +1,121 @@
+package com.nexusweaver.feed;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.List;
+
+import static com.nexusweaver.feed.FixFields.SOH;
+
+/**
+ * FIX Framing
+ *
+ * Finds FIX message boundaries in a byte stream from the standard header:
+ * {@code 8=BeginString|9=BodyLength|} then BodyLength bytes of body, then the
+ * seven byte {@code 10=NNN|} trailer. The checksum is verified over the
+ * frame before it is passed on. As a stream decoder it emits each message as
+ * a retained slice of the cumulation buffer, so message bytes are never
+ * copied; the static {@link #frameLength} also splits multi-message
+ * datagrams.
+ */
+final class FixFraming extends ByteToMessageDecoder {
+
+    /** {@code 10=NNN} plus its delimiter */
+    private static final int TRAILER_LENGTH = 7;
+    /** Longest BeginString and BodyLength prefix accepted before giving up on a frame */
+    private static final int MAX_HEADER_LENGTH = 32;
+
+    private final int maxFrameLength;
+    private final boolean validateChecksum;
+
+    FixFraming(int maxFrameLength, boolean validateChecksum) {
+        this.maxFrameLength = maxFrameLength;
+        this.validateChecksum = validateChecksum;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        int index = in.readerIndex();
+        int length = frameLength(in, index, in.writerIndex(), maxFrameLength, validateChecksum);
+        if (length > 0) {
+            out.add(in.retainedSlice(index, length));
+            in.skipBytes(length);
+        }
+    }
+
+    /**
+     * Length of the complete FIX message starting at index, or -1 when more bytes are needed before limit
+     *
+     * @throws CorruptedFrameException when the bytes are not a FIX message or the checksum does not match
+     * @throws TooLongFrameException   when BodyLength puts the message over maxFrameLength
+     */
+    static int frameLength(ByteBuf buffer, int index, int limit, int maxFrameLength, boolean validateChecksum) {
+        int headerLimit = Math.min(limit, index + MAX_HEADER_LENGTH);
+        if (limit - index < 2) {
+            return -1;
+        }
+        if (buffer.getByte(index) != '8' || buffer.getByte(index + 1) != '=') {
+            throw new CorruptedFrameException("FIX message does not start with BeginString");
+        }
+        int beginEnd = buffer.indexOf(index + 2, headerLimit, SOH);
+        if (beginEnd < 0) {
+            return needMore(limit, headerLimit);
+        }
+        int lengthStart = beginEnd + 1;
+        if (limit - lengthStart < 2) {
+            return -1;
+        }
+        if (buffer.getByte(lengthStart) != '9' || buffer.getByte(lengthStart + 1) != '=') {
+            throw new CorruptedFrameException("FIX BeginString is not followed by BodyLength");
+        }
+        int lengthEnd = buffer.indexOf(lengthStart + 2, headerLimit, SOH);
+        if (lengthEnd < 0) {
+            return needMore(limit, headerLimit);
+        }
+        long bodyLength;
+        try {
+            bodyLength = FixFields.parseLong(buffer, lengthStart + 2, lengthEnd);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new CorruptedFrameException("Malformed FIX BodyLength");
+        }
+        int bodyEnd = lengthEnd + 1 + (int) Math.min(bodyLength, maxFrameLength);
+        long frameLength = (long) bodyEnd + TRAILER_LENGTH - index;
+        if (bodyLength > maxFrameLength || frameLength > maxFrameLength) {
+            throw new TooLongFrameException("FIX message of " + bodyLength + " body bytes exceeds " + maxFrameLength);
+        }
+        if (limit - index < frameLength) {
+            return -1;
+        }
+
+        if (buffer.getByte(bodyEnd) != '1' || buffer.getByte(bodyEnd + 1) != '0' || buffer.getByte(bodyEnd + 2) != '='
+                || buffer.getByte(bodyEnd + TRAILER_LENGTH - 1) != SOH) {
+            throw new CorruptedFrameException("FIX BodyLength does not end at the CheckSum field");
+        }
+        if (validateChecksum) {
+            int sum = 0;
+            for (int i = index; i < bodyEnd; i++) {
+                sum += buffer.getByte(i);
+            }
+            int expected;
+            try {
+                expected = (int) FixFields.parseLong(buffer, bodyEnd + 3, bodyEnd + 6);
+            } catch (IllegalArgumentException e) {
+                throw new CorruptedFrameException("Malformed FIX CheckSum");
+            }
+            if ((sum & 0xFF) != expected) {
+                throw new CorruptedFrameException("FIX CheckSum mismatch");
+            }
+        }
+        return (int) frameLength;
+    }
+
+    private static int needMore(int limit, int headerLimit) {
+        if (headerLimit < limit) {
+            throw new CorruptedFrameException("FIX header longer than " + MAX_HEADER_LENGTH + " bytes");
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,226 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import io.netty.buffer.ByteBuf;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.nexusweaver.feed.FixFields.SOH;
+
+/**
+ * FIX Market Data Decoder
+ *
+ * Walks the tag=value fields of a framed FIX 4.4 message in place and folds
+ * MarketDataSnapshotFullRefresh (35=W) and MarketDataIncrementalRefresh
+ * (35=X) entries into one quote tick per instrument: bid and offer entries
+ * set bid and ask, trade entries set price and volume, opening, high and low
+ * entries the session fields; a quote-only update is priced at the mid.
+ * Tags are parsed as digits and values are converted where they lie, so a
+ * message costs no String and no {@code byte[]}. Session and administrative
+ * messages are skipped; the session MsgSeqNum is checked for gaps, while
+ * per-instrument sequence numbers are left to the processor since FIX
+ * sequences sessions, not symbols.
+ */
+final class FixMarketDataDecoder implements FeedDecoder {
+
+    static final int TAG_CHECKSUM = 10;
+    static final int TAG_MSG_SEQ_NUM = 34;
+    static final int TAG_MSG_TYPE = 35;
+    static final int TAG_SENDER_COMP_ID = 49;
+    static final int TAG_SENDING_TIME = 52;
+    static final int TAG_SYMBOL = 55;
+    static final int TAG_SECURITY_EXCHANGE = 207;
+    static final int TAG_NO_MD_ENTRIES = 268;
+    static final int TAG_MD_ENTRY_TYPE = 269;
+    static final int TAG_MD_ENTRY_PX = 270;
+    static final int TAG_MD_ENTRY_SIZE = 271;
+    static final int TAG_MD_UPDATE_ACTION = 279;
+
+    static final byte MSG_TYPE_SNAPSHOT = 'W';
+    static final byte MSG_TYPE_INCREMENTAL = 'X';
+
+    static final byte ENTRY_BID = '0';
+    static final byte ENTRY_OFFER = '1';
+    static final byte ENTRY_TRADE = '2';
+    static final byte ENTRY_OPENING = '4';
+    static final byte ENTRY_HIGH = '7';
+    static final byte ENTRY_LOW = '8';
+    static final byte ENTRY_TRADE_VOLUME = 'B';
+
+    static final byte ACTION_DELETE = '2';
+
+    private final TickPool tickPool;
+    private final int defaultSourceId;
+    private final AsciiInterner symbols = new AsciiInterner(InternTable.SYMBOLS);
+    private final AsciiInterner exchanges = new AsciiInterner(InternTable.EXCHANGES);
+    private final AsciiInterner sources = new AsciiInterner(InternTable.SOURCES);
+
+    private final LongAdder sessionGaps;
+
+    private long lastMsgSeqNum = Tick.NULL_VALUE;
+
+    FixMarketDataDecoder(TickPool tickPool, int defaultSourceId, LongAdder sessionGaps) {
+        this.tickPool = tickPool;
+        this.defaultSourceId = defaultSourceId;
+        this.sessionGaps = sessionGaps;
+    }
+
+    @Override
+    public void decode(ByteBuf buffer, int index, int length, List<Tick> out) {
+        int first = out.size();
+        int end = index + length;
+        int position = index;
+
+        int sourceId = defaultSourceId;
+        long timestamp = Tick.NULL_VALUE;
+        Tick tick = null;
+        byte entryType = 0;
+        boolean deleted = false;
+
+        try {
+            while (position < end) {
+                int tag = 0;
+                byte b;
+                while ((b = buffer.getByte(position++)) != '=') {
+                    if (b < '0' || b > '9' || position == end) {
+                        throw new IllegalArgumentException("Malformed FIX tag");
+                    }
+                    tag = tag * 10 + (b - '0');
+                }
+                int valueStart = position;
+                int valueEnd = buffer.indexOf(valueStart, end, SOH);
+                if (valueEnd < 0) {
+                    throw new IllegalArgumentException("Unterminated FIX field " + tag);
+                }
+                position = valueEnd + 1;
+
+                switch (tag) {
+                    case TAG_MSG_TYPE -> {
+                        byte msgType = valueEnd - valueStart == 1 ? buffer.getByte(valueStart) : 0;
+                        if (msgType != MSG_TYPE_SNAPSHOT && msgType != MSG_TYPE_INCREMENTAL) {
+                            // Session and administrative traffic still advances MsgSeqNum
+                            position = skipToSequence(buffer, position, end);
+                        }
+                    }
+                    case TAG_MSG_SEQ_NUM -> checkSequence(FixFields.parseLong(buffer, valueStart, valueEnd));
+                    case TAG_SENDER_COMP_ID -> {
+                        int id = sources.intern(buffer, valueStart, valueEnd - valueStart);
+                        if (id != InternTable.NULL_ID) {
+                            sourceId = id;
+                        }
+                    }
+                    case TAG_SENDING_TIME -> timestamp = FixFields.parseTimestamp(buffer, valueStart, valueEnd);
+                    case TAG_SYMBOL -> {
+                        int symbolId = symbols.intern(buffer, valueStart, valueEnd - valueStart);
+                        if (tick == null || tick.getSymbolId() != symbolId) {
+                            tick = tickPool.acquire();
+                            tick.setSymbolId(symbolId);
+                            tick.setMessageTypeId(Tick.MARKET_DATA);
+                            out.add(tick);
+                        }
+                    }
+                    case TAG_SECURITY_EXCHANGE -> {
+                        if (tick != null) {
+                            tick.setExchangeId(exchanges.intern(buffer, valueStart, valueEnd - valueStart));
+                        }
+                    }
+                    case TAG_MD_UPDATE_ACTION -> deleted = valueEnd - valueStart == 1 && buffer.getByte(valueStart) == ACTION_DELETE;
+                    case TAG_MD_ENTRY_TYPE -> entryType = valueEnd - valueStart == 1 ? buffer.getByte(valueStart) : 0;
+                    case TAG_MD_ENTRY_PX -> {
+                        if (tick != null && !deleted) {
+                            applyPrice(tick, entryType, FixFields.parseScaled(buffer, valueStart, valueEnd));
+                        }
+                    }
+                    case TAG_MD_ENTRY_SIZE -> {
+                        if (tick != null && !deleted && (entryType == ENTRY_TRADE || entryType == ENTRY_TRADE_VOLUME)) {
+                            tick.setVolume(FixFields.parseLong(buffer, valueStart, valueEnd));
+                        }
+                    }
+                    case TAG_CHECKSUM -> position = end;
+                    default -> {
+                        // Fields that do not shape a tick are skipped unparsed
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            for (int i = out.size() - 1; i >= first; i--) {
+                tickPool.release(out.remove(i));
+            }
+            throw e instanceof IllegalArgumentException ? e : new IllegalArgumentException("Malformed FIX message", e);
+        }
+
+        long timestampNanos = timestamp != Tick.NULL_VALUE ? timestamp : EpochClock.nanos();
+        for (int i = out.size() - 1; i >= first; i--) {
+            Tick decoded = out.get(i);
+            if (!priced(decoded)) {
+                // Only deletes or unmapped entries for this instrument: nothing to publish
+                tickPool.release(out.remove(i));
+                continue;
+            }
+            decoded.setSourceId(sourceId);
+            decoded.setTimestampNanos(timestampNanos);
+        }
+    }
+
+    private void checkSequence(long msgSeqNum) {
+        if (lastMsgSeqNum != Tick.NULL_VALUE && msgSeqNum > lastMsgSeqNum + 1) {
+            sessionGaps.increment();
+        }
+        lastMsgSeqNum = msgSeqNum;
+    }
+
+    /**
+     * Skips an uninteresting message, reading on only as far as its MsgSeqNum
+     */
+    private int skipToSequence(ByteBuf buffer, int position, int end) {
+        int tagStart = position;
+        while (tagStart < end) {
+            int valueEnd = buffer.indexOf(tagStart, end, SOH);
+            if (valueEnd < 0) {
+                break;
+            }
+            if (valueEnd - tagStart > 3 && buffer.getByte(tagStart) == '3' && buffer.getByte(tagStart + 1) == '4'
+                    && buffer.getByte(tagStart + 2) == '=') {
+                checkSequence(FixFields.parseLong(buffer, tagStart + 3, valueEnd));
+                break;
+            }
+            tagStart = valueEnd + 1;
+        }
+        return end;
+    }
+
+    /**
+     * Quote-only updates are priced at the mid, or the one side present
+     */
+    private static boolean priced(Tick tick) {
+        if (tick.getPrice() != Tick.NULL_PRICE) {
+            return true;
+        }
+        long bid = tick.getBid();
+        long ask = tick.getAsk();
+        if (bid != Tick.NULL_PRICE && ask != Tick.NULL_PRICE) {
+            tick.setPrice(bid + (ask - bid) / 2);
+        } else if (bid != Tick.NULL_PRICE || ask != Tick.NULL_PRICE) {
+            tick.setPrice(bid != Tick.NULL_PRICE ? bid : ask);
+        }
+        return tick.getPrice() != Tick.NULL_PRICE;
+    }
+
+    private static void applyPrice(Tick tick, byte entryType, long price) {
+        switch (entryType) {
+            case ENTRY_BID -> tick.setBid(price);
+            case ENTRY_OFFER -> tick.setAsk(price);
+            case ENTRY_TRADE -> tick.setPrice(price);
+            case ENTRY_OPENING -> tick.setOpen(price);
+            case ENTRY_HIGH -> tick.setHigh(price);
+            case ENTRY_LOW -> tick.setLow(price);
+            default -> {
+                // Entry types without a tick field (imbalance, settlement, ...) are ignored
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.model.Tick;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import static com.nexusweaver.feed.FixFields.SOH;
+import static com.nexusweaver.feed.FixMarketDataDecoder.*;
+
+/**
+ * FIX Writer
+ *
+ * Encodes a tick as a FIX 4.4 MarketDataSnapshotFullRefresh (35=W) or
+ * MarketDataIncrementalRefresh (35=X) with BodyLength and CheckSum filled
+ * in, the inverse of {@link FixMarketDataDecoder}. Used by the loopback
+ * feed simulator.
+ */
+public final class FixWriter {
+
+    private static final String BEGIN_STRING = "FIX.4.4";
+    private static final int TAG_BEGIN_STRING = 8;
+    private static final int TAG_BODY_LENGTH = 9;
+    private static final int TAG_TARGET_COMP_ID = 56;
+
+    private static final byte ACTION_NEW = '0';
+    private static final byte ACTION_CHANGE = '1';
+
+    private FixWriter() {
+    }
+
+    /**
+     * Appends one complete market data message for the tick to the buffer
+     */
+    public static void writeMarketData(ByteBuf out, Tick tick, CharSequence senderCompId, CharSequence targetCompId,
+                                       long msgSeqNum, boolean incremental) {
+        ByteBuf body = out.alloc().buffer(256);
+        try {
+            writeTag(body, TAG_MSG_TYPE);
+            body.writeByte(incremental ? MSG_TYPE_INCREMENTAL : MSG_TYPE_SNAPSHOT).writeByte(SOH);
+            writeString(body, TAG_SENDER_COMP_ID, senderCompId);
+            writeString(body, TAG_TARGET_COMP_ID, targetCompId);
+            writeTag(body, TAG_MSG_SEQ_NUM);
+            FixFields.writeLong(body, msgSeqNum);
+            body.writeByte(SOH);
+            writeTag(body, TAG_SENDING_TIME);
+            FixFields.writeTimestamp(body, tick.getTimestampNanos());
+            body.writeByte(SOH);
+            if (!incremental) {
+                writeInstrument(body, tick);
+            }
+
+            int entries = (tick.getBid() != Tick.NULL_PRICE ? 1 : 0) + (tick.getAsk() != Tick.NULL_PRICE ? 1 : 0)
+                    + (tick.getPrice() != Tick.NULL_PRICE ? 1 : 0) + (tick.getOpen() != Tick.NULL_PRICE ? 1 : 0)
+                    + (tick.getHigh() != Tick.NULL_PRICE ? 1 : 0) + (tick.getLow() != Tick.NULL_PRICE ? 1 : 0);
+            writeTag(body, TAG_NO_MD_ENTRIES);
+            FixFields.writeLong(body, entries);
+            body.writeByte(SOH);
+            writeEntry(body, tick, incremental, ACTION_CHANGE, ENTRY_BID, tick.getBid(), Tick.NULL_VALUE);
+            writeEntry(body, tick, incremental, ACTION_CHANGE, ENTRY_OFFER, tick.getAsk(), Tick.NULL_VALUE);
+            writeEntry(body, tick, incremental, ACTION_NEW, ENTRY_TRADE, tick.getPrice(), tick.getVolume());
+            writeEntry(body, tick, incremental, ACTION_CHANGE, ENTRY_OPENING, tick.getOpen(), Tick.NULL_VALUE);
+            writeEntry(body, tick, incremental, ACTION_CHANGE, ENTRY_HIGH, tick.getHigh(), Tick.NULL_VALUE);
+            writeEntry(body, tick, incremental, ACTION_CHANGE, ENTRY_LOW, tick.getLow(), Tick.NULL_VALUE);
+
+            int start = out.writerIndex();
+            writeString(out, TAG_BEGIN_STRING, BEGIN_STRING);
+            writeTag(out, TAG_BODY_LENGTH);
+            FixFields.writeLong(out, body.readableBytes());
+            out.writeByte(SOH);
+            out.writeBytes(body);
+
+            int sum = 0;
+            for (int i = start; i < out.writerIndex(); i++) {
+                sum += out.getByte(i);
+            }
+            sum &= 0xFF;
+            writeTag(out, TAG_CHECKSUM);
+            out.writeByte('0' + sum / 100).writeByte('0' + sum / 10 % 10).writeByte('0' + sum % 10).writeByte(SOH);
+        } finally {
+            body.release();
+        }
+    }
+
+    private static void writeEntry(ByteBuf body, Tick tick, boolean incremental, byte action, byte entryType,
+                                   long price, long size) {
+        if (price == Tick.NULL_PRICE) {
+            return;
+        }
+        if (incremental) {
+            writeTag(body, TAG_MD_UPDATE_ACTION);
+            body.writeByte(action).writeByte(SOH);
+        }
+        writeTag(body, TAG_MD_ENTRY_TYPE);
+        body.writeByte(entryType).writeByte(SOH);
+        if (incremental) {
+            writeInstrument(body, tick);
+        }
+        writeTag(body, TAG_MD_ENTRY_PX);
+        FixFields.writeScaled(body, price);
+        body.writeByte(SOH);
+        if (size != Tick.NULL_VALUE) {
+            writeTag(body, TAG_MD_ENTRY_SIZE);
+            FixFields.writeLong(body, size);
+            body.writeByte(SOH);
+        }
+    }
+
+    private static void writeInstrument(ByteBuf body, Tick tick) {
+        writeString(body, TAG_SYMBOL, tick.symbol());
+        if (tick.exchange() != null) {
+            writeString(body, TAG_SECURITY_EXCHANGE, tick.exchange());
+        }
+    }
+
+    private static void writeString(ByteBuf out, int tag, CharSequence value) {
+        writeTag(out, tag);
+        ByteBufUtil.writeAscii(out, value);
+        out.writeByte(SOH);
+    }
+
+    private static void writeTag(ByteBuf out, int tag) {
+        FixFields.writeLong(out, tag);
+        out.writeByte('=');
+    }
+}
@@ -0,0 +1,178 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickEncoder;
+import com.nexusweaver.feed.FeedEndpoint;
+import com.nexusweaver.feed.FixWriter;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolInfo;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feed Simulator
+ *
+ * Loopback vendor for a {@code feed:} endpoint: random-walk quotes encoded as
+ * FIX 4.4 market data or length-prefixed binary ticks, sent over TCP or UDP
+ * at a paced rate. It connects like a real vendor would, so the whole path
+ * from socket to lanes can be exercised on one machine. TCP reconnects after
+ * a dropped connection; MsgSeqNum restarts at 1 with each session, while
+ * per-symbol sequence numbers carry on from the previous one.
+ */
+@Slf4j
+public class FeedSimulator implements AutoCloseable {
+
+    private static final String TARGET_COMP_ID = "NEXUS";
+    private static final int MAX_RATE_FLUSH_EVERY = 64;
+    private static final long RECONNECT_DELAY_MILLIS = 1_000;
+
+    private final String name;
+    private final FeedEndpoint.Protocol protocol;
+    private final FeedEndpoint.Transport transport;
+    private final InetSocketAddress target;
+    private final List<SymbolInfo> universe;
+    private final double rate;
+    private final boolean incremental;
+    private final byte[] scratch = new byte[MarketDataSchema.MAX_MESSAGE_LENGTH];
+    private final GeneratedSequences sequences = new GeneratedSequences();
+
+    private volatile boolean running;
+    private EventLoopGroup group;
+    private Thread thread;
+
+    /**
+     * @param universe    symbols to quote; ids and exchanges must already be interned
+     * @param rate        messages per second, 0 for as fast as the socket accepts
+     * @param incremental FIX only: send 35=X incrementals instead of 35=W snapshots
+     */
+    public FeedSimulator(String name, FeedEndpoint.Protocol protocol, FeedEndpoint.Transport transport,
+                         InetSocketAddress target, List<SymbolInfo> universe, double rate, boolean incremental) {
+        this.name = name;
+        this.protocol = protocol;
+        this.transport = transport;
+        this.target = target;
+        this.universe = universe;
+        this.rate = rate;
+        this.incremental = incremental;
+    }
+
+    public void start() {
+        running = true;
+        group = new NioEventLoopGroup(1, new DefaultThreadFactory("feed-simulator-io-" + name, true));
+        thread = new Thread(this::run, "feed-simulator-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Feed simulator sending {} over {} to {} at {}", protocol, transport, target,
+                rate > 0 ? rate + " msg/s" : "max rate");
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (group != null) {
+            group.shutdownGracefully(0, 2, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            Channel channel = null;
+            try {
+                channel = connect();
+                log.info("Feed simulator {} connected to {}", name, target);
+                send(channel);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Refused until the feed route has bound its port
+                log.debug("Feed simulator {} cannot reach {}: {}", name, target, e.getMessage());
+            } finally {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            if (running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RECONNECT_DELAY_MILLIS));
+            }
+        }
+    }
+
+    private Channel connect() throws InterruptedException {
+        Bootstrap bootstrap = new Bootstrap()
+                .group(group)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .handler(new ChannelInboundHandlerAdapter());
+        if (transport == FeedEndpoint.Transport.UDP) {
+            return bootstrap.channel(NioDatagramChannel.class).bind(0).sync().channel();
+        }
+        return bootstrap.channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .connect(target).sync().channel();
+    }
+
+    /**
+     * Sends paced messages for one session until the channel closes or the simulator stops
+     */
+    private void send(Channel channel) {
+        // Closing the source saves its sequences for the next session
+        try (RandomWalkTickSource source = new RandomWalkTickSource(universe, rate, 0.0005, 1.0, 0, sequences)) {
+            Pacer pacer = new Pacer();
+            Tick tick = new Tick();
+            long msgSeqNum = 0;
+            int unflushed = 0;
+            while (running && channel.isActive()) {
+                long offset = source.nextOffsetNanos();
+                if (offset > 0) {
+                    pacer.awaitOffset(offset);
+                }
+                source.fill(tick.reset());
+
+                ByteBuf message = channel.alloc().directBuffer(MarketDataSchema.MAX_MESSAGE_LENGTH);
+                if (protocol == FeedEndpoint.Protocol.FIX) {
+                    FixWriter.writeMarketData(message, tick, tick.source(), TARGET_COMP_ID, ++msgSeqNum, incremental);
+                } else {
+                    int length = TickEncoder.encode(tick, scratch, 0);
+                    message.writeIntLE(length).writeBytes(scratch, 0, length);
+                }
+
+                while (!channel.isWritable() && running && channel.isActive()) {
+                    LockSupport.parkNanos(50_000);
+                }
+                channel.write(transport == FeedEndpoint.Transport.UDP ? new DatagramPacket(message, target) : message);
+                if (rate > 0 || ++unflushed == MAX_RATE_FLUSH_EVERY) {
+                    channel.flush();
+                    unflushed = 0;
+                }
+            }
+        }
+        channel.flush();
+        if (running) {
+            log.warn("Feed simulator {} lost {}", name, target);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.model.Tick;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generated Sequences
+ *
+ * Last sequence number emitted per (source, symbol) by the tick sources
+ * that came before. A source seeds its counters from here when it opens and
+ * saves them back when it closes, so a generator restarted by a route
+ * restart or regained leadership carries on where the previous run stopped.
+ * Starting again at 1 would have the sequence tracker, whose state lives as
+ * long as the pod, drop every tick as a duplicate until the old counters
+ * were passed. Only touched when a source opens or closes.
+ */
+final class GeneratedSequences {
+
+    private final ConcurrentHashMap<Long, Long> last = new ConcurrentHashMap<>();
+
+    /**
+     * Last sequence emitted for the key, {@link Tick#NULL_VALUE} when none was
+     */
+    long last(int sourceId, int symbolId) {
+        Long sequence = last.get(key(sourceId, symbolId));
+        return sequence != null ? sequence : Tick.NULL_VALUE;
+    }
+
+    void save(int sourceId, int symbolId, long sequence) {
+        if (sequence != Tick.NULL_VALUE) {
+            last.merge(key(sourceId, symbolId), sequence, Math::max);
+        }
+    }
+
+    private static long key(int sourceId, int symbolId) {
+        return ((long) sourceId << 32) | (symbolId & 0xFFFFFFFFL);
+    }
+}
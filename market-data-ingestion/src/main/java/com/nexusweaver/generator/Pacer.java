@@ -0,0 +1,36 @@
+package com.nexusweaver.generator;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pacer
+ *
+ * Waits for absolute emission offsets measured from a fixed start, so
+ * rounding never accumulates into drift. Long waits park; the last stretch
+ * spins, which keeps sub-microsecond spacing accurate at high rates. A
+ * generator that falls behind is not slowed further: it catches up as fast
+ * as the pipeline accepts ticks.
+ */
+final class Pacer {
+
+    private static final long SPIN_THRESHOLD_NANOS = 50_000;
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Blocks until the offset is due and returns how late it was, in nanoseconds
+     */
+    long awaitOffset(long offsetNanos) {
+        long target = startNanos + offsetNanos;
+        long now;
+        while ((now = System.nanoTime()) < target) {
+            long remaining = target - now;
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return now - target;
+    }
+}
@@ -0,0 +1,142 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolInfo;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Random Walk Tick Source
+ *
+ * Synthetic quotes for a symbol universe. Each symbol's last price follows a
+ * Gaussian random walk snapped to its tick size, with a bid/ask spread of one
+ * to four ticks and session open/high/low tracked alongside. Symbols are
+ * drawn uniformly, or skewed towards the front of the universe so a few
+ * names dominate the flow as they do in real feeds. All state lives in
+ * primitive arrays; producing a tick allocates nothing. Sequence numbers
+ * continue from the {@link GeneratedSequences} of earlier sources.
+ */
+final class RandomWalkTickSource implements TickSource {
+
+    private static final String SOURCE = "SIMULATOR";
+    private static final long DEFAULT_TICK_SIZE = Tick.PRICE_SCALE / 100;
+    private static final long MIN_START_PRICE = 10;
+    private static final long MAX_START_PRICE = 500;
+
+    private final int[] symbolIds;
+    private final int[] exchangeIds;
+    private final long[] tickSizes;
+    private final long[] prices;
+    private final long[] opens;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] sequences;
+    private final GeneratedSequences generated;
+
+    private final SplittableRandom random;
+    private final double periodNanos;
+    private final double volatility;
+    private final double skew;
+    private final int sourceId = InternTable.SOURCES.intern(SOURCE);
+
+    private long emitted;
+
+    /**
+     * @param universe   symbols to quote; ids and exchanges must already be interned
+     * @param rate       ticks per second, 0 or less for as fast as possible
+     * @param volatility standard deviation of one step, as a fraction of the price
+     * @param skew       1 draws symbols uniformly, larger values favour the front of the universe
+     * @param seed       random seed, 0 for a random one
+     * @param generated  sequences to continue from, saved back on close
+     */
+    RandomWalkTickSource(List<SymbolInfo> universe, double rate, double volatility, double skew, long seed,
+                         GeneratedSequences generated) {
+        if (universe.isEmpty()) {
+            throw new IllegalArgumentException("Tick generator needs at least one symbol");
+        }
+        int size = universe.size();
+        this.symbolIds = new int[size];
+        this.exchangeIds = new int[size];
+        this.tickSizes = new long[size];
+        this.prices = new long[size];
+        this.opens = new long[size];
+        this.highs = new long[size];
+        this.lows = new long[size];
+        this.sequences = new long[size];
+        this.generated = generated;
+        this.random = seed != 0 ? new SplittableRandom(seed) : new SplittableRandom();
+        this.periodNanos = rate > 0 ? 1e9 / rate : 0;
+        this.volatility = volatility;
+        this.skew = skew;
+
+        for (int i = 0; i < size; i++) {
+            SymbolInfo info = universe.get(i);
+            long tickSize = info.tickSize() > 0 ? info.tickSize() : DEFAULT_TICK_SIZE;
+            long start = random.nextLong(MIN_START_PRICE, MAX_START_PRICE + 1) * Tick.PRICE_SCALE;
+            symbolIds[i] = info.symbolId();
+            exchangeIds[i] = info.exchangeId();
+            tickSizes[i] = tickSize;
+            prices[i] = start - start % tickSize;
+            opens[i] = prices[i];
+            highs[i] = prices[i];
+            lows[i] = prices[i];
+            sequences[i] = Math.max(0, generated.last(sourceId, symbolIds[i]));
+        }
+    }
+
+    @Override
+    public long nextOffsetNanos() {
+        return periodNanos > 0 ? (long) (emitted++ * periodNanos) : 0;
+    }
+
+    @Override
+    public void fill(Tick tick) {
+        int i = pick();
+        long tickSize = tickSizes[i];
+        long price = prices[i];
+        long steps = Math.round(random.nextGaussian() * volatility * price / tickSize);
+        price = Math.max(tickSize, price + steps * tickSize);
+        prices[i] = price;
+        highs[i] = Math.max(highs[i], price);
+        lows[i] = Math.min(lows[i], price);
+
+        int spreadTicks = 1 + random.nextInt(4);
+        long bid = Math.max(tickSize, price - (spreadTicks / 2) * tickSize);
+
+        tick.setSymbolId(symbolIds[i]);
+        tick.setExchangeId(exchangeIds[i]);
+        tick.setSourceId(sourceId);
+        tick.setMessageTypeId(Tick.MARKET_DATA);
+        tick.setPrice(price);
+        tick.setBid(bid);
+        tick.setAsk(bid + spreadTicks * tickSize);
+        tick.setOpen(opens[i]);
+        tick.setHigh(highs[i]);
+        tick.setLow(lows[i]);
+        tick.setVolume(100L * (1 + random.nextInt(100)));
+        tick.setSequenceNumber(++sequences[i]);
+        tick.setTimestampNanos(EpochClock.nanos());
+        tick.getContext().ingress(SOURCE, ProcessingContext.pod());
+    }
+
+    private int pick() {
+        double u = random.nextDouble();
+        if (skew != 1.0) {
+            u = Math.pow(u, skew);
+        }
+        return (int) (u * symbolIds.length);
+    }
+
+    @Override
+    public void close() {
+        for (int i = 0; i < symbolIds.length; i++) {
+            if (sequences[i] > 0) {
+                generated.save(sourceId, symbolIds[i], sequences[i]);
+            }
+        }
+    }
+}
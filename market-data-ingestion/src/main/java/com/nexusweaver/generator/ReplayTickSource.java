@@ -0,0 +1,187 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickDecoder;
+import com.nexusweaver.codec.TickFlyweight;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Replay Tick Source
+ *
+ * Re-emits a recorded tick file in the {@link MarketDataSchema} frame format
+ * through a read-only memory mapping, so reading costs a page fault rather
+ * than a system call per tick. Ticks are paced by their recorded timestamps
+ * divided by {@code speed}; a speed of 0 replays as fast as possible. With
+ * {@code loop} the file restarts seamlessly after its last frame, and each
+ * symbol's sequence numbers are rebased to continue from the previous pass so
+ * the sequence tracker sees one contiguous stream instead of duplicates. The
+ * first pass is rebased the same way onto the {@link GeneratedSequences} of
+ * an earlier replay, when the file would otherwise repeat its sequences.
+ * Files are limited to 2 GB, one mapping.
+ */
+final class ReplayTickSource implements TickSource {
+
+    private static final String SOURCE = "REPLAY";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final byte[] scratch = new byte[MarketDataSchema.MAX_MESSAGE_LENGTH];
+    private final TickFlyweight flyweight = new TickFlyweight();
+    private final double speed;
+    private final boolean loop;
+    private final boolean rewriteTimestamps;
+    private final GeneratedSequences generated;
+
+    private long firstTimestamp = Tick.NULL_VALUE;
+    private long passOffsetNanos;
+    private long lastOffsetNanos;
+    private long frames;
+    private int pass;
+
+    // Per symbol id: pass the offset was computed for, sequence offset, last emitted sequence and its source
+    private int[] sequencePass = new int[0];
+    private long[] sequenceOffset = new long[0];
+    private long[] lastSequence = new long[0];
+    private int[] sequenceSource = new int[0];
+
+    ReplayTickSource(Path file, double speed, boolean loop, boolean rewriteTimestamps,
+                     GeneratedSequences generated) throws IOException {
+        this.file = file;
+        this.generated = generated;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Replay file " + file + " exceeds 2 GB");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.speed = speed;
+        this.loop = loop;
+        this.rewriteTimestamps = rewriteTimestamps;
+    }
+
+    @Override
+    public long nextOffsetNanos() {
+        if (!readFrame()) {
+            if (!loop || frames == 0) {
+                return END;
+            }
+            // Next pass continues the timeline where the previous one ended
+            buffer.position(0);
+            firstTimestamp = Tick.NULL_VALUE;
+            passOffsetNanos = lastOffsetNanos;
+            pass++;
+            if (!readFrame()) {
+                return END;
+            }
+        }
+        frames++;
+        if (speed <= 0) {
+            return 0;
+        }
+        long timestamp = flyweight.timestampNanos();
+        if (timestamp == Tick.NULL_VALUE) {
+            return lastOffsetNanos;
+        }
+        if (firstTimestamp == Tick.NULL_VALUE) {
+            firstTimestamp = timestamp;
+        }
+        lastOffsetNanos = passOffsetNanos + Math.max(0, (long) ((timestamp - firstTimestamp) / speed));
+        return lastOffsetNanos;
+    }
+
+    @Override
+    public void fill(Tick tick) {
+        TickDecoder.decode(flyweight, tick);
+        if (rewriteTimestamps) {
+            tick.setTimestampNanos(EpochClock.nanos());
+        }
+        rebaseSequence(tick);
+        // Replayed ticks start a fresh trace; the recorded ingress stamp is history
+        ProcessingContext context = tick.getContext();
+        context.ingress(SOURCE, ProcessingContext.pod());
+        context.markIngress(Tick.NULL_VALUE);
+    }
+
+    /**
+     * Continues each symbol's sequence across loop passes
+     */
+    private void rebaseSequence(Tick tick) {
+        int symbolId = tick.getSymbolId();
+        long sequence = tick.getSequenceNumber();
+        if (symbolId < 0 || sequence == Tick.NULL_VALUE) {
+            return;
+        }
+        if (symbolId >= lastSequence.length) {
+            int size = Math.max(symbolId + 1, lastSequence.length * 2);
+            sequencePass = Arrays.copyOf(sequencePass, size);
+            sequenceOffset = Arrays.copyOf(sequenceOffset, size);
+            sequenceSource = Arrays.copyOf(sequenceSource, size);
+            int previous = lastSequence.length;
+            lastSequence = Arrays.copyOf(lastSequence, size);
+            Arrays.fill(lastSequence, previous, size, Tick.NULL_VALUE);
+        }
+        if (lastSequence[symbolId] == Tick.NULL_VALUE) {
+            // First sight in this source: carry on from an earlier replay rather than repeat its sequences
+            long previous = generated.last(tick.getSourceId(), symbolId);
+            sequencePass[symbolId] = pass;
+            sequenceOffset[symbolId] = previous != Tick.NULL_VALUE && sequence <= previous ? previous + 1 - sequence : 0;
+            sequenceSource[symbolId] = tick.getSourceId();
+        } else if (sequencePass[symbolId] != pass) {
+            sequencePass[symbolId] = pass;
+            sequenceOffset[symbolId] = lastSequence[symbolId] + 1 - sequence;
+        }
+        long rebased = sequence + sequenceOffset[symbolId];
+        lastSequence[symbolId] = rebased;
+        tick.setSequenceNumber(rebased);
+    }
+
+    private boolean readFrame() {
+        if (buffer.remaining() < MarketDataSchema.FRAME_HEADER_LENGTH) {
+            return false;
+        }
+        int position = buffer.position();
+        int length = buffer.getInt(position);
+        if (length == 0) {
+            return false;
+        }
+        if (length < 0 || length > scratch.length
+                || MarketDataSchema.FRAME_HEADER_LENGTH + length > buffer.remaining()) {
+            throw new UncheckedIOException(new IOException(
+                    "Corrupt frame of length " + length + " at " + position + " in " + file));
+        }
+        buffer.get(position + MarketDataSchema.FRAME_HEADER_LENGTH, scratch, 0, length);
+        buffer.position(Math.min(buffer.limit(), position + MarketDataSchema.frameLength(length)));
+        flyweight.wrap(scratch);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        for (int symbolId = 0; symbolId < lastSequence.length; symbolId++) {
+            generated.save(sequenceSource[symbolId], symbolId, lastSequence[symbolId]);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
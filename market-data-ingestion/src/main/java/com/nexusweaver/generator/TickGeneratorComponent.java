@@ -0,0 +1,73 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.model.TickPool;
+import com.nexusweaver.refdata.SymbolDirectory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.Endpoint;
+import org.apache.camel.support.DefaultComponent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tick Generator Component
+ *
+ * Camel component behind {@code tickgen:name?options}, a load source that
+ * emits synthetic random-walk quotes or replays a recorded tick file as
+ * pooled ticks. Wrap it in {@code master:} so only the cluster leader
+ * drives load.
+ */
+@Component(TickGeneratorComponent.SCHEME)
+public class TickGeneratorComponent extends DefaultComponent {
+
+    public static final String SCHEME = "tickgen";
+
+    private final TickPool tickPool;
+    private final SymbolDirectory symbolDirectory;
+    private final GeneratedSequences generatedSequences = new GeneratedSequences();
+    private final LongAdder emitted = new LongAdder();
+    private final AtomicLong behindNanos = new AtomicLong();
+
+    public TickGeneratorComponent(TickPool tickPool, SymbolDirectory symbolDirectory, MeterRegistry meterRegistry) {
+        this.tickPool = tickPool;
+        this.symbolDirectory = symbolDirectory;
+        FunctionCounter.builder("market.data.generator.emitted", emitted, LongAdder::sum)
+                .description("Ticks emitted by the generator on this pod")
+                .register(meterRegistry);
+        Gauge.builder("market.data.generator.behind", behindNanos, behind -> behind.get() / 1e9)
+                .description("How far the last emitted tick was behind its schedule")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+        TickGeneratorEndpoint endpoint = new TickGeneratorEndpoint(uri, this);
+        setProperties(endpoint, parameters);
+        return endpoint;
+    }
+
+    TickPool getTickPool() {
+        return tickPool;
+    }
+
+    SymbolDirectory getSymbolDirectory() {
+        return symbolDirectory;
+    }
+
+    /**
+     * Sequences carried from one generator run to the next, for as long as the sequence tracker remembers them
+     */
+    GeneratedSequences getGeneratedSequences() {
+        return generatedSequences;
+    }
+
+    void recordEmitted(long behind) {
+        emitted.increment();
+        behindNanos.lazySet(behind);
+    }
+}
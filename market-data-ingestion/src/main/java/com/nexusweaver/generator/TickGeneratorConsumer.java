@@ -0,0 +1,88 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.DefaultConsumer;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tick Generator Consumer
+ *
+ * Runs the tick source on a dedicated thread while the consumer is started,
+ * which under {@code master:} means while this pod holds leadership. Ticks
+ * are handed to the route asynchronously, so the generator keeps pacing
+ * while earlier ticks are still on their lanes; a full lane blocks the
+ * hand-off and pushes back on the generator.
+ */
+@Slf4j
+public class TickGeneratorConsumer extends DefaultConsumer {
+
+    private final TickGeneratorEndpoint endpoint;
+    private final TickPool tickPool;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public TickGeneratorConsumer(TickGeneratorEndpoint endpoint, Processor processor) {
+        super(endpoint, processor);
+        this.endpoint = endpoint;
+        this.tickPool = endpoint.getComponent().getTickPool();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        running = true;
+        executor = getEndpoint().getCamelContext().getExecutorServiceManager()
+                .newSingleThreadExecutor(this, "tickgen");
+        executor.submit(this::generate);
+        log.info("🏆 MASTER INSTANCE: Generating {} on pod {}", endpoint.describe(), ProcessingContext.pod());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (executor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownGraceful(executor);
+            executor = null;
+        }
+        super.doStop();
+    }
+
+    private void generate() {
+        TickGeneratorComponent component = endpoint.getComponent();
+        try (TickSource source = endpoint.createSource()) {
+            Pacer pacer = new Pacer();
+            while (running && isRunAllowed()) {
+                long offset = source.nextOffsetNanos();
+                if (offset == TickSource.END) {
+                    log.info("Tick generator finished: {}", endpoint.describe());
+                    return;
+                }
+                long behind = offset > 0 ? pacer.awaitOffset(offset) : 0;
+                Tick tick = tickPool.acquire();
+                source.fill(tick);
+                emit(tick);
+                component.recordEmitted(behind);
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Tick generator stopped", e);
+        }
+    }
+
+    private void emit(Tick tick) {
+        Exchange exchange = createExchange(false);
+        exchange.getIn().setBody(tick);
+        getAsyncProcessor().process(exchange, doneSync -> {
+            if (exchange.getException() != null) {
+                getExceptionHandler().handleException("Error processing generated tick", exchange, exchange.getException());
+            }
+            releaseExchange(exchange, false);
+        });
+    }
+}
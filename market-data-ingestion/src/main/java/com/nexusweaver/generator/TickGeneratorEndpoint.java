@@ -0,0 +1,120 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.refdata.SymbolDirectory;
+import com.nexusweaver.refdata.SymbolInfo;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.camel.Consumer;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.support.DefaultEndpoint;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tick Generator Endpoint
+ *
+ * Consumer-only endpoint; options are bound from the URI. In SYNTHETIC mode
+ * the universe is {@code symbols} (or the whole reference directory when
+ * empty), padded with SYNnnnnn names up to {@code symbolCount}. REPLAY mode
+ * reads {@code file} at {@code speed} times the recorded pace.
+ */
+@Getter
+@Setter
+public class TickGeneratorEndpoint extends DefaultEndpoint {
+
+    public enum Mode {
+        SYNTHETIC,
+        REPLAY
+    }
+
+    private static final String SYNTHETIC_PREFIX = "SYN";
+    private static final String SYNTHETIC_EXCHANGE = "SIM";
+
+    private Mode mode = Mode.SYNTHETIC;
+    /** Ticks per second in SYNTHETIC mode, 0 for as fast as the pipeline accepts */
+    private double rate = 1;
+    /** Comma-separated universe; empty uses the reference directory */
+    private String symbols;
+    private int symbolCount;
+    private double skew = 1.0;
+    private double volatility = 0.0005;
+    private long seed;
+    private String file;
+    /** Replay speed multiplier, 0 for as fast as possible */
+    private double speed = 1.0;
+    private boolean loop = true;
+    private boolean rewriteTimestamps = true;
+
+    public TickGeneratorEndpoint(String endpointUri, TickGeneratorComponent component) {
+        super(endpointUri, component);
+    }
+
+    @Override
+    public TickGeneratorComponent getComponent() {
+        return (TickGeneratorComponent) super.getComponent();
+    }
+
+    @Override
+    public Producer createProducer() throws Exception {
+        throw new UnsupportedOperationException("tickgen endpoints only support consumers");
+    }
+
+    @Override
+    public Consumer createConsumer(Processor processor) throws Exception {
+        TickGeneratorConsumer consumer = new TickGeneratorConsumer(this, processor);
+        configureConsumer(consumer);
+        return consumer;
+    }
+
+    TickSource createSource() throws IOException {
+        if (mode == Mode.REPLAY) {
+            if (file == null || file.isBlank()) {
+                throw new IllegalArgumentException("tickgen REPLAY mode requires the file option");
+            }
+            return new ReplayTickSource(Path.of(file), speed, loop, rewriteTimestamps,
+                    getComponent().getGeneratedSequences());
+        }
+        return new RandomWalkTickSource(universe(), rate, volatility, skew, seed,
+                getComponent().getGeneratedSequences());
+    }
+
+    String describe() {
+        return mode == Mode.REPLAY
+                ? "replay of " + file + " at " + (speed > 0 ? speed + "x" : "max speed")
+                : "synthetic quotes at " + (rate > 0 ? rate + " ticks/s" : "max rate");
+    }
+
+    private List<SymbolInfo> universe() {
+        SymbolDirectory directory = getComponent().getSymbolDirectory();
+        Set<String> names = new LinkedHashSet<>();
+        if (symbols != null && !symbols.isBlank()) {
+            for (String symbol : symbols.split(",")) {
+                if (!symbol.isBlank()) {
+                    names.add(symbol.trim());
+                }
+            }
+        } else {
+            directory.symbols().forEach(info -> names.add(info.symbol()));
+        }
+        for (int i = 0; names.size() < symbolCount; i++) {
+            names.add(String.format("%s%05d", SYNTHETIC_PREFIX, i));
+        }
+
+        int syntheticExchange = InternTable.EXCHANGES.intern(SYNTHETIC_EXCHANGE);
+        List<SymbolInfo> universe = new ArrayList<>(names.size());
+        for (String name : names) {
+            SymbolInfo info = directory.get(name);
+            universe.add(info != null
+                    ? info
+                    : new SymbolInfo(InternTable.SYMBOLS.intern(name), name, syntheticExchange, 0, null));
+        }
+        return universe;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nexusweaver.generator;
+
+import com.nexusweaver.model.Tick;
+
+/**
+ * Source of generated or replayed ticks, driven by one generator thread.
+ * Each tick is announced with its emission offset first so the generator
+ * can pace it, then filled into a pooled tick.
+ */
+interface TickSource extends AutoCloseable {
+
+    /** Returned by {@link #nextOffsetNanos()} once the source is exhausted */
+    long END = -1L;
+
+    /**
+     * Advances to the next tick and returns when it is due, in nanoseconds since
+     * the source started; 0 means as soon as possible
+     */
+    long nextOffsetNanos();
+
+    /**
+     * Writes the tick announced by the last {@link #nextOffsetNanos()} call
+     */
+    void fill(Tick tick);
+
+    @Override
+    void close();
+}
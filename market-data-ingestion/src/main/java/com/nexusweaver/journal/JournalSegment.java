@@ -0,0 +1,264 @@
+package com.nexusweaver.journal;
+
+import com.nexusweaver.codec.MarketDataSchema;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Journal Segment
+ *
+ * One fixed-size, memory-mapped segment of the tick journal plus its sparse
+ * index. The data file holds {@link MarketDataSchema} frames from offset 0,
+ * so a segment is also a valid replay file. The index file starts with a
+ * header carrying the index interval, followed by one entry per
+ * {@code interval} records: the append time and the frame position of record
+ * {@code k * interval}. Frame lengths are published with release semantics
+ * after the frame body, so a concurrent reader never sees a partial frame.
+ */
+final class JournalSegment {
+
+    static final String DATA_SUFFIX = ".journal";
+    static final String INDEX_SUFFIX = ".index";
+
+    private static final int INDEX_HEADER_LENGTH = 16;
+    private static final int INDEX_ENTRY_LENGTH = 16;
+    private static final int MIN_FRAME_LENGTH = MarketDataSchema.frameLength(
+            MarketDataSchema.HEADER_LENGTH + MarketDataSchema.BLOCK_LENGTH_V1 + MarketDataSchema.VAR_FIELD_COUNT);
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long baseIndex;
+    private final Path dataFile;
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer data;
+    private final MappedByteBuffer index;
+    private final int interval;
+
+    private volatile int position;
+    private int records;
+    private int flushedPosition;
+
+    private JournalSegment(long baseIndex, Path dataFile, FileChannel dataChannel, FileChannel indexChannel,
+                           MappedByteBuffer data, MappedByteBuffer index, int interval) {
+        this.baseIndex = baseIndex;
+        this.dataFile = dataFile;
+        this.dataChannel = dataChannel;
+        this.indexChannel = indexChannel;
+        this.data = data;
+        this.index = index;
+        this.interval = interval;
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        index.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static Path dataFile(Path directory, long baseIndex) {
+        return directory.resolve(String.format("%020d%s", baseIndex, DATA_SUFFIX));
+    }
+
+    static long baseIndexOf(Path dataFile) {
+        String name = dataFile.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - DATA_SUFFIX.length()));
+    }
+
+    /**
+     * Creates a new zero-filled segment for writing
+     */
+    static JournalSegment create(Path directory, long baseIndex, int capacity, int interval) throws IOException {
+        Path dataFile = dataFile(directory, baseIndex);
+        JournalSegment segment = map(dataFile, baseIndex, capacity, interval);
+        segment.index.putInt(0, interval);
+        return segment;
+    }
+
+    /**
+     * Reopens the last segment after a restart, recovering the append position and rebuilding its index
+     */
+    static JournalSegment reopen(Path dataFile, int interval) throws IOException {
+        int capacity = (int) Files.size(dataFile);
+        JournalSegment segment = map(dataFile, baseIndexOf(dataFile), capacity, interval);
+        segment.index.putInt(0, interval);
+        int position = 0;
+        int length;
+        while (position + MarketDataSchema.FRAME_HEADER_LENGTH <= capacity && (length = segment.frameLength(position)) > 0) {
+            if (segment.records % interval == 0) {
+                segment.putIndexEntry(segment.records / interval, 0L, position);
+            }
+            segment.records++;
+            position += MarketDataSchema.frameLength(length);
+        }
+        segment.position = position;
+        segment.flushedPosition = position;
+        return segment;
+    }
+
+    /**
+     * Maps an existing segment for reading, or returns null while the writer is still creating it
+     */
+    static JournalSegment openReadOnly(Path dataFile) throws IOException {
+        long baseIndex = baseIndexOf(dataFile);
+        FileChannel dataChannel = FileChannel.open(dataFile, StandardOpenOption.READ);
+        FileChannel indexChannel = null;
+        try {
+            MappedByteBuffer data = dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, dataChannel.size());
+            Path indexFile = indexFile(dataFile);
+            if (!Files.exists(indexFile)) {
+                dataChannel.close();
+                return null;
+            }
+            indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ);
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            int interval = index.capacity() >= INDEX_HEADER_LENGTH ? index.order(ByteOrder.LITTLE_ENDIAN).getInt(0) : 0;
+            if (interval <= 0) {
+                dataChannel.close();
+                indexChannel.close();
+                return null;
+            }
+            return new JournalSegment(baseIndex, dataFile, dataChannel, indexChannel, data, index, interval);
+        } catch (IOException | RuntimeException e) {
+            dataChannel.close();
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+            throw e;
+        }
+    }
+
+    private static JournalSegment map(Path dataFile, long baseIndex, int capacity, int interval)
+            throws IOException {
+        FileChannel dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileChannel indexChannel = null;
+        try {
+            indexChannel = FileChannel.open(indexFile(dataFile), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            int entries = capacity / MIN_FRAME_LENGTH / interval + 1;
+            MappedByteBuffer data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    INDEX_HEADER_LENGTH + (long) entries * INDEX_ENTRY_LENGTH);
+            return new JournalSegment(baseIndex, dataFile, dataChannel, indexChannel, data, index, interval);
+        } catch (IOException | RuntimeException e) {
+            dataChannel.close();
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+            throw e;
+        }
+    }
+
+    private static Path indexFile(Path dataFile) {
+        String name = dataFile.getFileName().toString();
+        return dataFile.resolveSibling(name.substring(0, name.length() - DATA_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    /**
+     * Appends one encoded message; returns false when the segment is full. Single writer only.
+     */
+    boolean append(byte[] message, int length, long appendNanos) {
+        int at = position;
+        int frame = MarketDataSchema.frameLength(length);
+        if (at + frame > data.capacity()) {
+            return false;
+        }
+        data.put(at + MarketDataSchema.FRAME_HEADER_LENGTH, message, 0, length);
+        if (records % interval == 0) {
+            putIndexEntry(records / interval, appendNanos, at);
+        }
+        INT.setRelease(data, at, length);
+        records++;
+        position = at + frame;
+        return true;
+    }
+
+    /**
+     * Length of the frame at the given position, 0 if none has been published there yet
+     */
+    int frameLength(int at) {
+        return at + MarketDataSchema.FRAME_HEADER_LENGTH <= data.capacity() ? (int) INT.getAcquire(data, at) : 0;
+    }
+
+    void readMessage(int at, int length, byte[] target) {
+        data.get(at + MarketDataSchema.FRAME_HEADER_LENGTH, target, 0, length);
+    }
+
+    /**
+     * Frame position of record {@code entry * interval}, or -1 when the entry has not been written
+     */
+    int indexedPosition(int entry) {
+        int offset = INDEX_HEADER_LENGTH + entry * INDEX_ENTRY_LENGTH;
+        if (offset + INDEX_ENTRY_LENGTH > index.capacity()) {
+            return -1;
+        }
+        long at = index.getLong(offset + 8);
+        return entry == 0 || at > 0 ? (int) at : -1;
+    }
+
+    /**
+     * Append time of index entry {@code entry}, 0 when unknown or not written
+     */
+    long indexedNanos(int entry) {
+        int offset = INDEX_HEADER_LENGTH + entry * INDEX_ENTRY_LENGTH;
+        return offset + INDEX_ENTRY_LENGTH <= index.capacity() ? index.getLong(offset) : 0L;
+    }
+
+    int indexEntries() {
+        return (index.capacity() - INDEX_HEADER_LENGTH) / INDEX_ENTRY_LENGTH;
+    }
+
+    private void putIndexEntry(int entry, long appendNanos, int at) {
+        int offset = INDEX_HEADER_LENGTH + entry * INDEX_ENTRY_LENGTH;
+        if (offset + INDEX_ENTRY_LENGTH <= index.capacity()) {
+            index.putLong(offset, appendNanos);
+            index.putLong(offset + 8, at);
+        }
+    }
+
+    /**
+     * Forces frames appended since the last call to storage
+     */
+    void force() {
+        int end = position;
+        if (end > flushedPosition) {
+            data.force(flushedPosition, end - flushedPosition);
+            index.force();
+            flushedPosition = end;
+        }
+    }
+
+    void close() throws IOException {
+        dataChannel.close();
+        indexChannel.close();
+    }
+
+    long baseIndex() {
+        return baseIndex;
+    }
+
+    int interval() {
+        return interval;
+    }
+
+    int records() {
+        return records;
+    }
+
+    int position() {
+        return position;
+    }
+
+    int capacity() {
+        return data.capacity();
+    }
+
+    Path dataFile() {
+        return dataFile;
+    }
+}
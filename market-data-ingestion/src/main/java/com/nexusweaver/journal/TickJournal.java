@@ -0,0 +1,196 @@
+package com.nexusweaver.journal;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickEncoder;
+import com.nexusweaver.config.JournalProperties;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.Tick;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tick Journal
+ *
+ * Append-only audit trail of every accepted tick. Ticks are encoded with
+ * {@link TickEncoder} straight into rolling memory-mapped segments, so an
+ * append is an encode, a ~130 byte copy into the page cache and an ordered
+ * store of the frame length; nothing waits for the disk. Each record gets a
+ * journal index, monotonic across segments and restarts. With a flush
+ * interval configured a background thread forces dirty pages to storage in
+ * batches; otherwise write-back is left to the operating system.
+ *
+ * Appends are serialized so the journal keeps one global order across the
+ * processing lanes. Read it back with {@link #reader()}.
+ */
+@Slf4j
+public class TickJournal implements Processor, AutoCloseable {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final byte[] scratch = new byte[MarketDataSchema.MAX_MESSAGE_LENGTH];
+    private final Queue<JournalSegment> retired = new ConcurrentLinkedQueue<>();
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong segments = new AtomicLong();
+    private final Timer flushTimer;
+    private final ScheduledExecutorService flusher;
+
+    private volatile JournalSegment active;
+    private long nextIndex;
+
+    public TickJournal(JournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = properties.getSegmentSize();
+        this.indexInterval = properties.getIndexInterval();
+        if (segmentSize < MarketDataSchema.frameLength(MarketDataSchema.MAX_MESSAGE_LENGTH)) {
+            throw new IllegalArgumentException("Journal segment size " + segmentSize + " cannot hold a frame");
+        }
+        Files.createDirectories(directory);
+
+        List<Path> existing = TickJournalReader.segmentFiles(directory);
+        if (existing.isEmpty()) {
+            active = JournalSegment.create(directory, 0, segmentSize, indexInterval);
+        } else {
+            active = JournalSegment.reopen(existing.get(existing.size() - 1), indexInterval);
+        }
+        nextIndex = active.baseIndex() + active.records();
+        segments.set(existing.isEmpty() ? 1 : existing.size());
+        log.info("Tick journal opened in {} at index {} ({} segments)", directory, nextIndex, segments.get());
+
+        FunctionCounter.builder("market.data.journal.records", records, AtomicLong::get)
+                .description("Ticks appended to the journal since startup")
+                .register(meterRegistry);
+        FunctionCounter.builder("market.data.journal.bytes", bytes, AtomicLong::get)
+                .description("Encoded bytes appended to the journal since startup")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("market.data.journal.segments", segments, AtomicLong::get)
+                .description("Journal segment files on disk")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("market.data.journal.flush")
+                .description("Time to force a batch of journal pages to storage")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        if (properties.getFlushIntervalMs() > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "tick-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, properties.getFlushIntervalMs(),
+                    properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        if (tick != null) {
+            append(tick);
+        }
+    }
+
+    /**
+     * Appends the tick and returns its journal index
+     */
+    public synchronized long append(Tick tick) throws IOException {
+        int length = TickEncoder.encode(tick, scratch, 0);
+        long appendNanos = EpochClock.nanos();
+        if (!active.append(scratch, length, appendNanos)) {
+            roll();
+            if (!active.append(scratch, length, appendNanos)) {
+                throw new IllegalStateException("Tick of " + length + " bytes does not fit an empty journal segment");
+            }
+        }
+        records.incrementAndGet();
+        bytes.addAndGet(length);
+        return nextIndex++;
+    }
+
+    /**
+     * Index the next appended tick will get
+     */
+    public synchronized long nextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * Opens a reader over the journal directory, positioned at the oldest record
+     */
+    public TickJournalReader reader() throws IOException {
+        return TickJournalReader.open(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void roll() throws IOException {
+        JournalSegment previous = active;
+        active = JournalSegment.create(directory, nextIndex, segmentSize, indexInterval);
+        segments.incrementAndGet();
+        if (flusher != null) {
+            retired.add(previous);
+        } else {
+            previous.close();
+        }
+        log.debug("Tick journal rolled to segment {} after {} records", nextIndex, previous.records());
+    }
+
+    /**
+     * Forces the active segment and any retired ones to storage
+     */
+    void flush() {
+        long start = System.nanoTime();
+        try {
+            JournalSegment segment;
+            while ((segment = retired.poll()) != null) {
+                segment.force();
+                segment.close();
+            }
+            active.force();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Tick journal flush failed: {}", e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            flush();
+            active.close();
+        }
+        log.info("Tick journal closed at index {}", nextIndex);
+    }
+}
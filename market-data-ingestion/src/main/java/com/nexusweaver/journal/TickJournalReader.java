@@ -0,0 +1,227 @@
+package com.nexusweaver.journal;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickFlyweight;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Tick Journal Reader
+ *
+ * Cursor over the journal segments of a directory, for replay and gap
+ * recovery. {@link #seek(long)} positions on a journal index and
+ * {@link #seekTime(long)} on an append time, both through the sparse index
+ * plus a short forward scan. {@link #next()} then walks records in journal
+ * order, exposing each as a {@link TickFlyweight} over a reused buffer.
+ * Reading while the journal is being written is safe: {@code next()}
+ * returns false at the current end and picks up new records, including
+ * newly rolled segments, on a later call. Not thread-safe.
+ */
+public final class TickJournalReader implements AutoCloseable {
+
+    private final Path directory;
+    private final List<JournalSegment> segments = new ArrayList<>();
+    private final byte[] scratch = new byte[MarketDataSchema.MAX_MESSAGE_LENGTH];
+    private final TickFlyweight flyweight = new TickFlyweight();
+
+    private int segment;
+    private int position;
+    private long nextIndex;
+    private long currentIndex = -1;
+
+    private TickJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public static TickJournalReader open(Path directory) throws IOException {
+        TickJournalReader reader = new TickJournalReader(directory);
+        reader.refresh();
+        if (!reader.segments.isEmpty()) {
+            reader.nextIndex = reader.segments.get(0).baseIndex();
+        }
+        return reader;
+    }
+
+    static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(JournalSegment.DATA_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Index of the oldest record still on disk
+     */
+    public long firstIndex() {
+        return segments.isEmpty() ? 0 : segments.get(0).baseIndex();
+    }
+
+    /**
+     * Positions the cursor so the next record returned is the given journal index.
+     * Returns false if that record is older than the journal or not written yet.
+     */
+    public boolean seek(long journalIndex) {
+        refresh();
+        int found = segmentFor(journalIndex);
+        if (found < 0) {
+            return false;
+        }
+        JournalSegment target = segments.get(found);
+        long offset = journalIndex - target.baseIndex();
+        int entry = (int) Math.min(offset / target.interval(), Integer.MAX_VALUE);
+        int indexed;
+        while ((indexed = target.indexedPosition(entry)) < 0) {
+            entry--;
+        }
+        segment = found;
+        position = indexed;
+        nextIndex = target.baseIndex() + (long) entry * target.interval();
+        while (nextIndex < journalIndex) {
+            if (!skip()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Positions the cursor at the last index entry appended at or before the given
+     * epoch time, so at most one index interval of earlier records precedes it
+     */
+    public void seekTime(long epochNanos) {
+        refresh();
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            JournalSegment candidate = segments.get(s);
+            long first = candidate.indexedNanos(0);
+            if (s == 0 || (first != 0 && first <= epochNanos)) {
+                int entry = 0;
+                for (int e = 1; e < candidate.indexEntries() && candidate.indexedPosition(e) > 0; e++) {
+                    long nanos = candidate.indexedNanos(e);
+                    if (nanos == 0 || nanos > epochNanos) {
+                        break;
+                    }
+                    entry = e;
+                }
+                segment = s;
+                position = candidate.indexedPosition(entry);
+                nextIndex = candidate.baseIndex() + (long) entry * candidate.interval();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Advances to the next record; false at the current end of the journal
+     */
+    public boolean next() {
+        int length = currentFrameLength();
+        if (length <= 0) {
+            return false;
+        }
+        JournalSegment current = segments.get(segment);
+        current.readMessage(position, length, scratch);
+        flyweight.wrap(scratch);
+        position += MarketDataSchema.frameLength(length);
+        currentIndex = nextIndex++;
+        return true;
+    }
+
+    /**
+     * Journal index of the record returned by the last {@link #next()}
+     */
+    public long index() {
+        return currentIndex;
+    }
+
+    /**
+     * The record returned by the last {@link #next()}, valid until the next call
+     */
+    public TickFlyweight tick() {
+        return flyweight;
+    }
+
+    private boolean skip() {
+        int length = currentFrameLength();
+        if (length <= 0) {
+            return false;
+        }
+        position += MarketDataSchema.frameLength(length);
+        nextIndex++;
+        return true;
+    }
+
+    /**
+     * Length of the frame under the cursor, moving to the next segment once the writer has rolled past this one
+     */
+    private int currentFrameLength() {
+        if (segments.isEmpty()) {
+            refresh();
+            if (segments.isEmpty()) {
+                return 0;
+            }
+        }
+        int length = segments.get(segment).frameLength(position);
+        while (length == 0) {
+            if (segment == segments.size() - 1) {
+                refresh();
+                if (segment == segments.size() - 1) {
+                    return 0;
+                }
+                // The writer rolled; frames it wrote before rolling are visible now
+                length = segments.get(segment).frameLength(position);
+                if (length != 0) {
+                    break;
+                }
+            }
+            segment++;
+            position = 0;
+            nextIndex = segments.get(segment).baseIndex();
+            length = segments.get(segment).frameLength(position);
+        }
+        return length;
+    }
+
+    private int segmentFor(long journalIndex) {
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            if (segments.get(s).baseIndex() <= journalIndex) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Maps segments created since the last look
+     */
+    private void refresh() {
+        try {
+            long known = segments.isEmpty() ? -1 : segments.get(segments.size() - 1).baseIndex();
+            for (Path file : segmentFiles(directory)) {
+                if (JournalSegment.baseIndexOf(file) > known) {
+                    JournalSegment opened = JournalSegment.openReadOnly(file);
+                    if (opened == null) {
+                        break;
+                    }
+                    segments.add(opened);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (JournalSegment open : segments) {
+            open.close();
+        }
+        segments.clear();
+    }
+}
@@ -0,0 +1,106 @@
+package com.nexusweaver.metrics;
+
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline Latency
+ *
+ * Per-stage latency histograms for the ingestion pipeline. Each stage gets a
+ * Micrometer timer (HdrHistogram-backed percentiles p50/p99/p99.9 plus max and
+ * Prometheus histogram buckets) registered once at startup, so recording is a
+ * primitive {@code record(nanos)} with no per-message allocation. End-to-end
+ * ingestion latency runs from the tick's ingress stamp to the moment it has
+ * been marshalled for the wire. The consumer records the other half of the
+ * trace; both share their histogram settings through {@link LatencyTimers}.
+ */
+@Component
+public class PipelineLatency {
+
+    public static final String PROCESSING_TIMER = "market.data.processing.latency";
+
+    public enum Stage {
+        VALIDATE("validate"),
+        JOURNAL("journal"),
+        ENRICH("enrich"),
+        MARSHAL("marshal"),
+        PUBLISH("publish");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+    private final Timer processing;
+
+    public PipelineLatency(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, LatencyTimers.stage(stage.getTag(), "Time spent in one ingestion pipeline stage",
+                    meterRegistry));
+        }
+        this.processing = LatencyTimers.histogram(Timer.builder(PROCESSING_TIMER)
+                .description("Time from a tick entering ingestion to being marshalled for the wire"))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wraps a synchronous processor so its execution time is recorded against the stage
+     */
+    public Processor timed(Stage stage, Processor delegate) {
+        Timer timer = stages.get(stage);
+        return exchange -> {
+            long start = System.nanoTime();
+            try {
+                delegate.process(exchange);
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    public Timer timer(Stage stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * Stamps the tick as handed to the wire; the stamp travels in the message
+     */
+    public void stampSent(Exchange exchange) {
+        ProcessingContext context = ProcessingContext.of(exchange);
+        if (context != null) {
+            context.markSent(EpochClock.nanos());
+        }
+    }
+
+    /**
+     * Records the marshal stage and end-to-end ingestion latency once the body is on the wire format
+     */
+    public void marshalled(Exchange exchange) {
+        ProcessingContext context = ProcessingContext.of(exchange);
+        if (context == null || context.getSentNanos() == Tick.NULL_VALUE) {
+            return;
+        }
+        long now = EpochClock.nanos();
+        stages.get(Stage.MARSHAL).record(now - context.getSentNanos(), TimeUnit.NANOSECONDS);
+        if (context.getIngressNanos() != Tick.NULL_VALUE) {
+            processing.record(now - context.getIngressNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
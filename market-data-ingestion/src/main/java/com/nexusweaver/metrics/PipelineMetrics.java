@@ -0,0 +1,203 @@
+package com.nexusweaver.metrics;
+
+import com.nexusweaver.config.MetricsProperties;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolDirectory;
+import com.nexusweaver.refdata.SymbolInfo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pipeline Metrics
+ *
+ * Bounded-cardinality facade for the per-symbol pipeline counters. The
+ * micrometer: endpoint it replaces resolved Simple expressions into a URI and
+ * looked up a meter by tag set on every message, registering a new meter for
+ * every symbol ever seen. Here the meter set is fixed at startup: top-K symbols
+ * get their own tag, the rest share {@link #OTHER}, and sources are capped the
+ * same way. The hot path is two array reads and a {@link LongAdder} increment
+ * on primitive interned ids; a (symbol, source) counter is registered the first
+ * time that pair is seen and cached from then on.
+ *
+ * Symbols on the rate allowlist additionally expose
+ * {@code market.data.symbol.rate}, messages per second since the previous
+ * scrape, computed when the registry is read.
+ */
+@Slf4j
+@Component
+public class PipelineMetrics {
+
+    public static final String PROCESSED = "market.data.processed.total";
+    public static final String SYMBOL_RATE = "market.data.symbol.rate";
+    public static final String OTHER = "other";
+
+    private static final String UNKNOWN = "unknown";
+    private static final int OTHER_BUCKET = 0;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxSources;
+
+    /** Symbol id to bucket; ids outside the array or mapped to 0 fall into {@link #OTHER} */
+    private final int[] bucketBySymbol;
+    private final String[] bucketNames;
+    private final LongAdder[][] processed;
+
+    /** Symbol id to rate slot, null unless allowlisted */
+    private final RateSlot[] rateBySymbol;
+
+    public PipelineMetrics(MetricsProperties properties, SymbolDirectory symbolDirectory,
+                           MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxSources = Math.max(0, properties.getMaxSources());
+
+        List<String> top = topSymbols(properties, symbolDirectory);
+        this.bucketNames = new String[top.size() + 1];
+        this.bucketNames[OTHER_BUCKET] = OTHER;
+        int[] ids = new int[top.size()];
+        int maxId = -1;
+        for (int i = 0; i < top.size(); i++) {
+            bucketNames[i + 1] = top.get(i);
+            ids[i] = InternTable.SYMBOLS.intern(top.get(i));
+            maxId = Math.max(maxId, ids[i]);
+        }
+        this.bucketBySymbol = new int[maxId + 1];
+        for (int i = 0; i < ids.length; i++) {
+            bucketBySymbol[ids[i]] = i + 1;
+        }
+        this.processed = new LongAdder[bucketNames.length][];
+
+        List<String> rateSymbols = properties.getRateSymbols();
+        int maxRateId = -1;
+        for (String symbol : rateSymbols) {
+            maxRateId = Math.max(maxRateId, InternTable.SYMBOLS.intern(symbol));
+        }
+        this.rateBySymbol = new RateSlot[maxRateId + 1];
+        for (String symbol : rateSymbols) {
+            RateSlot slot = new RateSlot();
+            rateBySymbol[InternTable.SYMBOLS.intern(symbol)] = slot;
+            Gauge.builder(SYMBOL_RATE, slot, RateSlot::ratePerSecond)
+                    .description("Messages per second for an allowlisted symbol since the previous scrape")
+                    .baseUnit("messages")
+                    .tag("symbol", symbol)
+                    .register(meterRegistry);
+        }
+        log.info("Pipeline metrics tag {} symbols individually, {} with rate gauges", top.size(), rateSymbols.size());
+    }
+
+    /**
+     * Counts a processed tick against its symbol bucket and ingress source
+     */
+    public void processed(Exchange exchange) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        if (tick == null) {
+            return;
+        }
+        ProcessingContext context = tick.getContext();
+        int symbolId = tick.getSymbolId();
+        counter(bucketOf(symbolId), sourceColumn(InternTable.SOURCES.intern(context.getSource()))).increment();
+
+        if (symbolId >= 0 && symbolId < rateBySymbol.length) {
+            RateSlot slot = rateBySymbol[symbolId];
+            if (slot != null) {
+                slot.count.increment();
+            }
+        }
+    }
+
+    /**
+     * Tag value a symbol is counted under
+     */
+    public String bucketName(int symbolId) {
+        return bucketNames[bucketOf(symbolId)];
+    }
+
+    private int bucketOf(int symbolId) {
+        return symbolId >= 0 && symbolId < bucketBySymbol.length ? bucketBySymbol[symbolId] : OTHER_BUCKET;
+    }
+
+    /**
+     * Column 0 is a missing source, 1..maxSources are source ids, the last column is other
+     */
+    private int sourceColumn(int sourceId) {
+        if (sourceId < 0) {
+            return 0;
+        }
+        return sourceId < maxSources ? sourceId + 1 : maxSources + 1;
+    }
+
+    private LongAdder counter(int bucket, int column) {
+        LongAdder[] row = processed[bucket];
+        LongAdder adder = row != null ? row[column] : null;
+        return adder != null ? adder : register(bucket, column);
+    }
+
+    private synchronized LongAdder register(int bucket, int column) {
+        LongAdder[] row = processed[bucket];
+        if (row == null) {
+            row = new LongAdder[maxSources + 2];
+            processed[bucket] = row;
+        }
+        if (row[column] == null) {
+            LongAdder adder = new LongAdder();
+            FunctionCounter.builder(PROCESSED, adder, LongAdder::sum)
+                    .description("Ticks processed, per top-K symbol and source")
+                    .tag("symbol", bucketNames[bucket])
+                    .tag("source", sourceName(column))
+                    .tag("pod", ProcessingContext.pod())
+                    .register(meterRegistry);
+            row[column] = adder;
+        }
+        return row[column];
+    }
+
+    private String sourceName(int column) {
+        if (column == 0) {
+            return UNKNOWN;
+        }
+        return column <= maxSources ? InternTable.SOURCES.name(column - 1) : OTHER;
+    }
+
+    private static List<String> topSymbols(MetricsProperties properties, SymbolDirectory symbolDirectory) {
+        Set<String> top = new LinkedHashSet<>(properties.getTopSymbols());
+        if (top.isEmpty()) {
+            for (SymbolInfo info : symbolDirectory.symbols()) {
+                if (top.size() >= properties.getTopK()) {
+                    break;
+                }
+                top.add(info.symbol());
+            }
+        }
+        top.remove(OTHER);
+        return List.copyOf(top);
+    }
+
+    /**
+     * Counter plus the reading at the previous scrape, so the rate is computed lazily
+     */
+    private static final class RateSlot {
+        private final LongAdder count = new LongAdder();
+        private long lastCount;
+        private long lastNanos = System.nanoTime();
+
+        synchronized double ratePerSecond() {
+            long now = System.nanoTime();
+            long current = count.sum();
+            long elapsed = now - lastNanos;
+            double rate = elapsed > 0 ? (current - lastCount) * 1e9 / elapsed : 0;
+            lastCount = current;
+            lastNanos = now;
+            return rate;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.nexusweaver.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +31,7 @@ public class MarketDataEvent {
     private Long volume;
 
     @JsonProperty("timestamp")
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'", timezone = "UTC")
     private Instant timestamp;
 
     @JsonProperty("exchange")
@@ -67,6 +68,15 @@ public class MarketDataEvent {
     @JsonProperty("traderId")
     private String traderId;
 
+    // Trace stamps in epoch nanoseconds, used for end-to-end latency at the consumer
+    @JsonProperty("ingressNanos")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long ingressNanos;
+
+    @JsonProperty("sentNanos")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sentNanos;
+
     public static MarketDataEvent createSample() {
         return MarketDataEvent.builder()
                 .symbol("AAPL")
@@ -0,0 +1,195 @@
+package com.nexusweaver.model;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+
+/**
+ * Processing Context
+ *
+ * Typed per-tick processing metadata (ingress source, pods, validation and
+ * enrichment marks) that replaces the headers stages used to set on every
+ * hop. One context is pre-allocated with each {@link Tick} and recycled with
+ * it, and the route attaches it to the exchange as {@link #PROPERTY}. Stages
+ * write its fields directly; {@link #renderHeaders(Message)} turns it into
+ * the familiar headers only at a log or broker boundary.
+ */
+public final class ProcessingContext {
+
+    public static final String PROPERTY = "processingContext";
+
+    /** Header carrying the ingress source, honoured for producers that still set it */
+    public static final String SOURCE_HEADER = "source";
+
+    private static final String POD = resolvePod();
+
+    private final Tick tick;
+
+    private String source;
+    private String generatingPod;
+    private long ingressNanos;
+    private long validatedAtNanos;
+    private long processedAtNanos;
+    private boolean enriched;
+    private long sentNanos;
+
+    ProcessingContext(Tick tick) {
+        this.tick = tick;
+        reset();
+    }
+
+    /**
+     * Attaches the context of the tick body to the exchange, converting the body to a tick if needed
+     */
+    public static ProcessingContext attach(Exchange exchange) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        if (tick == null) {
+            throw new IllegalArgumentException("Market data event cannot be null");
+        }
+        exchange.getIn().setBody(tick);
+
+        ProcessingContext context = tick.getContext();
+        if (context.ingressNanos == Tick.NULL_VALUE) {
+            context.ingressNanos = EpochClock.nanos();
+        }
+        if (context.source == null) {
+            context.source = exchange.getIn().getHeader(SOURCE_HEADER, String.class);
+        }
+        exchange.setProperty(PROPERTY, context);
+        return context;
+    }
+
+    /**
+     * Returns the context attached to the exchange, or null
+     */
+    public static ProcessingContext of(Exchange exchange) {
+        return exchange.getProperty(PROPERTY, ProcessingContext.class);
+    }
+
+    /**
+     * Name of this pod, resolved once
+     */
+    public static String pod() {
+        return POD;
+    }
+
+    void reset() {
+        source = null;
+        generatingPod = null;
+        ingressNanos = Tick.NULL_VALUE;
+        validatedAtNanos = Tick.NULL_VALUE;
+        processedAtNanos = Tick.NULL_VALUE;
+        enriched = false;
+        sentNanos = Tick.NULL_VALUE;
+    }
+
+    /**
+     * Records where the tick entered the pipeline
+     */
+    public ProcessingContext ingress(String source, String generatingPod) {
+        this.source = source;
+        this.generatingPod = generatingPod;
+        return this;
+    }
+
+    /**
+     * Trace stamp: when the tick first entered ingestion. Set on attach unless already known
+     */
+    public void markIngress(long epochNanos) {
+        ingressNanos = epochNanos;
+    }
+
+    public void markValidated(long epochNanos) {
+        validatedAtNanos = epochNanos;
+    }
+
+    public void markProcessed(long epochNanos, boolean enriched) {
+        processedAtNanos = epochNanos;
+        this.enriched = enriched;
+    }
+
+    /**
+     * Trace stamp: when the tick was handed to the wire format, carried to consumers
+     */
+    public void markSent(long epochNanos) {
+        sentNanos = epochNanos;
+    }
+
+    public String getSymbol() {
+        return tick.symbol();
+    }
+
+    public String getExchange() {
+        return tick.exchange();
+    }
+
+    public String getMessageType() {
+        return tick.messageType();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getGeneratingPod() {
+        return generatingPod;
+    }
+
+    public String getProcessingPod() {
+        return POD;
+    }
+
+    public boolean isValidated() {
+        return validatedAtNanos != Tick.NULL_VALUE;
+    }
+
+    public boolean isProcessed() {
+        return processedAtNanos != Tick.NULL_VALUE;
+    }
+
+    public boolean isEnriched() {
+        return enriched;
+    }
+
+    public long getIngressNanos() {
+        return ingressNanos;
+    }
+
+    public long getValidatedAtNanos() {
+        return validatedAtNanos;
+    }
+
+    public long getProcessedAtNanos() {
+        return processedAtNanos;
+    }
+
+    public long getSentNanos() {
+        return sentNanos;
+    }
+
+    /**
+     * Boundary rendering: writes the context out as the headers stages used to set individually
+     */
+    public void renderHeaders(Message message) {
+        message.setHeader("symbol", getSymbol());
+        message.setHeader("exchange", getExchange());
+        message.setHeader("messageType", getMessageType());
+        message.setHeader("timestamp", tick.getTimestampNanos());
+        message.setHeader(SOURCE_HEADER, source);
+        message.setHeader("generatingPod", generatingPod);
+        message.setHeader("processingPod", POD);
+        message.setHeader("validated", isValidated());
+        message.setHeader("processed", isProcessed());
+        message.setHeader("enriched", enriched);
+        if (isValidated()) {
+            message.setHeader("validationTime", EpochClock.toInstant(validatedAtNanos));
+        }
+        if (isProcessed()) {
+            message.setHeader("processingTime", EpochClock.toInstant(processedAtNanos));
+        }
+    }
+
+    private static String resolvePod() {
+        String hostname = System.getenv("HOSTNAME");
+        return hostname != null ? hostname : "unknown";
+    }
+}
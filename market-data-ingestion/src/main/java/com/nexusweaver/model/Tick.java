@@ -0,0 +1,196 @@
+package com.nexusweaver.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Tick
+ *
+ * Mutable, allocation-free counterpart of {@link MarketDataEvent} used on the
+ * processing hot path. Prices are fixed-point longs scaled by {@link #PRICE_SCALE},
+ * timestamps are epoch nanoseconds and strings are interned to integer ids.
+ * Instances are meant to be recycled through a {@link TickPool}; conversion to
+ * and from {@link MarketDataEvent} only happens at the edges of the pipeline.
+ */
+@Getter
+@Setter
+public final class Tick {
+
+    public static final int PRICE_DECIMALS = 8;
+    public static final long PRICE_SCALE = 100_000_000L;
+
+    /** Sentinel for absent prices */
+    public static final long NULL_PRICE = Long.MIN_VALUE;
+
+    /** Sentinel for absent volume, sequence number and timestamp */
+    public static final long NULL_VALUE = Long.MIN_VALUE;
+
+    public static final int MARKET_DATA = InternTable.MESSAGE_TYPES.intern("MARKET_DATA");
+    public static final int TRADE = InternTable.MESSAGE_TYPES.intern("TRADE");
+
+    private int symbolId;
+    private int exchangeId;
+    private int sourceId;
+    private int messageTypeId;
+    private int portfolioId;
+    private int traderId;
+
+    private long price;
+    private long bid;
+    private long ask;
+    private long high;
+    private long low;
+    private long open;
+
+    private long volume;
+    private long sequenceNumber;
+    private long timestampNanos;
+
+    /** Processing metadata, pre-allocated and recycled with the tick */
+    private final ProcessingContext context = new ProcessingContext(this);
+
+    public Tick() {
+        reset();
+    }
+
+    /**
+     * Clears every field back to its absent sentinel
+     */
+    public Tick reset() {
+        symbolId = InternTable.NULL_ID;
+        exchangeId = InternTable.NULL_ID;
+        sourceId = InternTable.NULL_ID;
+        messageTypeId = InternTable.NULL_ID;
+        portfolioId = InternTable.NULL_ID;
+        traderId = InternTable.NULL_ID;
+        price = NULL_PRICE;
+        bid = NULL_PRICE;
+        ask = NULL_PRICE;
+        high = NULL_PRICE;
+        low = NULL_PRICE;
+        open = NULL_PRICE;
+        volume = NULL_VALUE;
+        sequenceNumber = NULL_VALUE;
+        timestampNanos = NULL_VALUE;
+        context.reset();
+        return this;
+    }
+
+    /**
+     * Overwrites this tick with every field of the given tick
+     */
+    public Tick copyFrom(Tick other) {
+        symbolId = other.symbolId;
+        exchangeId = other.exchangeId;
+        sourceId = other.sourceId;
+        messageTypeId = other.messageTypeId;
+        portfolioId = other.portfolioId;
+        traderId = other.traderId;
+        price = other.price;
+        bid = other.bid;
+        ask = other.ask;
+        high = other.high;
+        low = other.low;
+        open = other.open;
+        volume = other.volume;
+        sequenceNumber = other.sequenceNumber;
+        timestampNanos = other.timestampNanos;
+        return this;
+    }
+
+    /**
+     * Edge conversion: overwrites this tick with the contents of a market data event
+     */
+    public Tick copyFrom(MarketDataEvent event) {
+        symbolId = InternTable.SYMBOLS.intern(event.getSymbol());
+        exchangeId = InternTable.EXCHANGES.intern(event.getExchange());
+        sourceId = InternTable.SOURCES.intern(event.getSource());
+        messageTypeId = InternTable.MESSAGE_TYPES.intern(event.getMessageType());
+        portfolioId = InternTable.PORTFOLIOS.intern(event.getPortfolioId());
+        traderId = InternTable.TRADERS.intern(event.getTraderId());
+        price = toScaled(event.getPrice());
+        bid = toScaled(event.getBid());
+        ask = toScaled(event.getAsk());
+        high = toScaled(event.getHigh());
+        low = toScaled(event.getLow());
+        open = toScaled(event.getOpen());
+        volume = event.getVolume() != null ? event.getVolume() : NULL_VALUE;
+        sequenceNumber = event.getSequenceNumber() != null ? event.getSequenceNumber() : NULL_VALUE;
+        timestampNanos = event.getTimestamp() != null ? EpochClock.toEpochNanos(event.getTimestamp()) : NULL_VALUE;
+        return this;
+    }
+
+    /**
+     * Edge conversion: materializes a new market data event from this tick
+     */
+    public MarketDataEvent toEvent() {
+        return MarketDataEvent.builder()
+                .symbol(symbol())
+                .price(toDecimal(price))
+                .volume(volume != NULL_VALUE ? volume : null)
+                .timestamp(timestampNanos != NULL_VALUE ? EpochClock.toInstant(timestampNanos) : null)
+                .exchange(exchange())
+                .source(source())
+                .bid(toDecimal(bid))
+                .ask(toDecimal(ask))
+                .high(toDecimal(high))
+                .low(toDecimal(low))
+                .open(toDecimal(open))
+                .messageType(messageType())
+                .sequenceNumber(sequenceNumber != NULL_VALUE ? sequenceNumber : null)
+                .portfolioId(InternTable.PORTFOLIOS.name(portfolioId))
+                .traderId(InternTable.TRADERS.name(traderId))
+                .ingressNanos(context.getIngressNanos() != NULL_VALUE ? context.getIngressNanos() : null)
+                .sentNanos(context.getSentNanos() != NULL_VALUE ? context.getSentNanos() : null)
+                .build();
+    }
+
+    public String symbol() {
+        return InternTable.SYMBOLS.name(symbolId);
+    }
+
+    public String exchange() {
+        return InternTable.EXCHANGES.name(exchangeId);
+    }
+
+    public String source() {
+        return InternTable.SOURCES.name(sourceId);
+    }
+
+    public String messageType() {
+        return InternTable.MESSAGE_TYPES.name(messageTypeId);
+    }
+
+    public boolean hasBidAsk() {
+        return bid != NULL_PRICE && ask != NULL_PRICE;
+    }
+
+    public static long toScaled(BigDecimal value) {
+        if (value == null) {
+            return NULL_PRICE;
+        }
+        return value.setScale(PRICE_DECIMALS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long scaled) {
+        return scaled != NULL_PRICE ? BigDecimal.valueOf(scaled, PRICE_DECIMALS).stripTrailingZeros() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "Tick(symbol=" + symbol()
+                + ", price=" + toDecimal(price)
+                + ", volume=" + (volume != NULL_VALUE ? volume : null)
+                + ", bid=" + toDecimal(bid)
+                + ", ask=" + toDecimal(ask)
+                + ", exchange=" + exchange()
+                + ", source=" + source()
+                + ", messageType=" + messageType()
+                + ", sequenceNumber=" + (sequenceNumber != NULL_VALUE ? sequenceNumber : null)
+                + ", timestampNanos=" + (timestampNanos != NULL_VALUE ? timestampNanos : null)
+                + ")";
+    }
+}
@@ -0,0 +1,43 @@
+package com.nexusweaver.model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Tick Pool
+ *
+ * Bounded free list of reusable {@link Tick} instances. When the pool is
+ * empty a fresh tick is allocated; when it is full released ticks are left
+ * to the garbage collector, so a leaked tick never breaks the pipeline.
+ */
+public final class TickPool {
+
+    private final ArrayBlockingQueue<Tick> free;
+
+    public TickPool(int capacity) {
+        this.free = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            free.offer(new Tick());
+        }
+    }
+
+    /**
+     * Returns a reset tick, reusing a pooled instance when one is available
+     */
+    public Tick acquire() {
+        Tick tick = free.poll();
+        return tick != null ? tick : new Tick();
+    }
+
+    /**
+     * Resets the tick and returns it to the pool
+     */
+    public void release(Tick tick) {
+        if (tick != null) {
+            free.offer(tick.reset());
+        }
+    }
+
+    public int available() {
+        return free.size();
+    }
+}
@@ -0,0 +1,137 @@
+package com.nexusweaver.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lane
+ *
+ * Disruptor-style ring buffer with a single consuming thread. Slots are
+ * pre-allocated, producers claim a sequence, fill the slot and publish it,
+ * and the lane thread resumes each exchange's route in sequence order.
+ * When the ring is full producers wait for the lane to catch up, which
+ * propagates backpressure to the source.
+ */
+@Slf4j
+final class Lane implements Runnable {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final int index;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final Timer waitTimer;
+    private final Timer serviceTimer;
+    private final Counter backpressure;
+
+    private volatile boolean running = true;
+
+    Lane(int index, int ringSize, Timer waitTimer, Timer serviceTimer, Counter backpressure) {
+        if (Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Lane ring size must be a power of two: " + ringSize);
+        }
+        this.index = index;
+        this.slots = new Slot[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = ringSize - 1;
+        this.waitTimer = waitTimer;
+        this.serviceTimer = serviceTimer;
+        this.backpressure = backpressure;
+    }
+
+    /**
+     * Publishes an exchange to this lane, waiting while the ring is full
+     */
+    void publish(Exchange exchange, AsyncCallback callback) {
+        long sequence = claimed.getAndIncrement();
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint >= consumed.get()) {
+            backpressure.increment();
+            int idle = 0;
+            while (wrapPoint >= consumed.get()) {
+                idle = idle(idle);
+            }
+        }
+
+        Slot slot = slots[(int) sequence & mask];
+        slot.exchange = exchange;
+        slot.callback = callback;
+        slot.enqueuedNanos = System.nanoTime();
+        slot.published = sequence;
+    }
+
+    int depth() {
+        return (int) Math.max(0, claimed.get() - consumed.get());
+    }
+
+    int index() {
+        return index;
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        long next = consumed.get();
+        int idle = 0;
+        while (running || next < claimed.get()) {
+            Slot slot = slots[(int) next & mask];
+            if (slot.published != next) {
+                idle = idle(idle);
+                continue;
+            }
+            idle = 0;
+
+            Exchange exchange = slot.exchange;
+            AsyncCallback callback = slot.callback;
+            long enqueuedNanos = slot.enqueuedNanos;
+            slot.exchange = null;
+            slot.callback = null;
+            consumed.lazySet(++next);
+
+            long startNanos = System.nanoTime();
+            waitTimer.record(startNanos - enqueuedNanos, TimeUnit.NANOSECONDS);
+            try {
+                // Continues the rest of the route on this lane thread
+                callback.done(false);
+            } catch (Throwable e) {
+                log.error("Lane {} failed to process exchange {}: {}", index, exchange.getExchangeId(), e.getMessage());
+            }
+            serviceTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static int idle(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            return idle;
+        }
+        return idle + 1;
+    }
+
+    private static final class Slot {
+        private volatile long published = -1;
+        private Exchange exchange;
+        private AsyncCallback callback;
+        private long enqueuedNanos;
+    }
+}
@@ -0,0 +1,107 @@
+package com.nexusweaver.pipeline;
+
+import com.nexusweaver.model.Tick;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Symbol Partitioned Stage
+ *
+ * Spreads the processing pipeline across N single-threaded lanes keyed by
+ * symbol id. Every tick for a given symbol lands on the same lane and is
+ * processed in arrival order, so per-symbol sequence ordering survives while
+ * throughput scales with cores. The rest of the route after this stage runs
+ * on the lane thread.
+ */
+@Slf4j
+@Component
+public class SymbolPartitionedStage extends AsyncProcessorSupport {
+
+    private final Lane[] lanes;
+    private final Thread[] threads;
+
+    public SymbolPartitionedStage(@Value("${market-data.processing.lanes:0}") int laneCount,
+                                  @Value("${market-data.processing.lane-ring-size:1024}") int ringSize,
+                                  MeterRegistry meterRegistry) {
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[count];
+        this.threads = new Thread[count];
+
+        for (int i = 0; i < count; i++) {
+            String lane = Integer.toString(i);
+            Timer waitTimer = Timer.builder("market.data.lane.wait")
+                    .description("Time a tick waits in its lane before processing")
+                    .tag("lane", lane)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .register(meterRegistry);
+            Timer serviceTimer = Timer.builder("market.data.lane.service")
+                    .description("Time spent processing a tick on its lane")
+                    .tag("lane", lane)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .register(meterRegistry);
+            Counter backpressure = Counter.builder("market.data.lane.backpressure")
+                    .description("Publishes that had to wait for a full lane")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            lanes[i] = new Lane(i, ringSize, waitTimer, serviceTimer, backpressure);
+            Gauge.builder("market.data.lane.depth", lanes[i], Lane::depth)
+                    .description("Ticks queued in the lane")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+        }
+        log.info("Symbol partitioned stage configured with {} lanes of {} slots", count, ringSize);
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        if (tick == null) {
+            exchange.setException(new IllegalArgumentException("Market data event cannot be null"));
+            callback.done(true);
+            return true;
+        }
+        exchange.getIn().setBody(tick);
+
+        lanes[laneFor(tick.getSymbolId())].publish(exchange, callback);
+        return false;
+    }
+
+    public int laneFor(int symbolId) {
+        return symbolId < 0 ? 0 : symbolId % lanes.length;
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        for (int i = 0; i < lanes.length; i++) {
+            threads[i] = new Thread(lanes[i], "market-data-lane-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        for (Lane lane : lanes) {
+            lane.stop();
+        }
+        for (Thread thread : threads) {
+            if (thread != null) {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+    }
+}
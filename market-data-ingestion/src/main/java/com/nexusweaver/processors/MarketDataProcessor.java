@@ -1,126 +1,135 @@
 package com.nexusweaver.processors;
 
-import com.nexusweaver.model.MarketDataEvent;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolDirectory;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.Instant;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Market Data Processor
- * Enriches and transforms market data events for further processing
+ * Enriches and transforms market data ticks for further processing
  */
 @Slf4j
 @Component
 public class MarketDataProcessor implements Processor {
 
+    private static final int PROCESSED_SOURCE = InternTable.SOURCES.intern("PROCESSED");
+    private static final int UNKNOWN_EXCHANGE = InternTable.EXCHANGES.intern("UNKNOWN");
+
+    /** Power of two; sources beyond it share a counter, which stays increasing for each of them */
+    private static final int SOURCE_SEQUENCE_SLOTS = 256;
+
     private final Random random = new Random();
+    private final AtomicLongArray sourceSequences = new AtomicLongArray(SOURCE_SEQUENCE_SLOTS);
+    private final SymbolDirectory symbolDirectory;
+
+    public MarketDataProcessor(SymbolDirectory symbolDirectory) {
+        this.symbolDirectory = symbolDirectory;
+    }
 
     @Override
     public void process(Exchange exchange) throws Exception {
-        MarketDataEvent event = exchange.getIn().getBody(MarketDataEvent.class);
-        
-        if (event == null) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+
+        if (tick == null) {
             throw new IllegalArgumentException("Market data event cannot be null");
         }
 
         // Enrich with calculated fields
-        enrichMarketData(event);
-        
+        enrichMarketData(tick);
+
         // Add processing metadata
-        exchange.getIn().setHeader("processed", true);
-        exchange.getIn().setHeader("processingTime", Instant.now());
-        exchange.getIn().setHeader("enriched", true);
-        
-        // Update the body with enriched event
-        exchange.getIn().setBody(event);
-        
-        log.debug("Market data processed and enriched: symbol={}, spread={}", 
-                 event.getSymbol(), calculateSpread(event));
+        tick.getContext().markProcessed(EpochClock.nanos(), true);
+
+        // Update the body with enriched tick
+        exchange.getIn().setBody(tick);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Market data processed and enriched: symbol={}, spread={}",
+                     tick.symbol(), Tick.toDecimal(calculateSpread(tick)));
+        }
     }
 
-    private void enrichMarketData(MarketDataEvent event) {
+    private void enrichMarketData(Tick tick) {
         // Generate bid/ask if not present (for simulation)
-        if (event.getBid() == null || event.getAsk() == null) {
-            generateBidAsk(event);
+        if (!tick.hasBidAsk()) {
+            generateBidAsk(tick);
         }
 
         // Calculate derived fields
-        addDerivedFields(event);
-        
+        addDerivedFields(tick);
+
         // Add market metadata
-        addMarketMetadata(event);
+        addMarketMetadata(tick);
     }
 
-    private void generateBidAsk(MarketDataEvent event) {
-        if (event.getPrice() != null) {
+    private void generateBidAsk(Tick tick) {
+        if (tick.getPrice() != Tick.NULL_PRICE) {
             // Generate realistic bid/ask spread (0.01-0.05% of price)
             double spreadPercent = 0.0001 + (random.nextDouble() * 0.0004); // 0.01% to 0.05%
-            BigDecimal spread = event.getPrice().multiply(BigDecimal.valueOf(spreadPercent));
-            
-            if (event.getBid() == null) {
-                event.setBid(event.getPrice().subtract(spread.divide(BigDecimal.valueOf(2), RoundingMode.HALF_UP)));
+            long halfSpread = Math.round(tick.getPrice() * spreadPercent / 2);
+
+            if (tick.getBid() == Tick.NULL_PRICE) {
+                tick.setBid(tick.getPrice() - halfSpread);
             }
-            
-            if (event.getAsk() == null) {
-                event.setAsk(event.getPrice().add(spread.divide(BigDecimal.valueOf(2), RoundingMode.HALF_UP)));
+
+            if (tick.getAsk() == Tick.NULL_PRICE) {
+                tick.setAsk(tick.getPrice() + halfSpread);
             }
         }
     }
 
-    private void addDerivedFields(MarketDataEvent event) {
+    private void addDerivedFields(Tick tick) {
         // Set message type if not present
-        if (event.getMessageType() == null) {
-            event.setMessageType("MARKET_DATA");
+        if (tick.getMessageTypeId() == InternTable.NULL_ID) {
+            tick.setMessageTypeId(Tick.MARKET_DATA);
         }
-        
-        // Generate sequence number if not present
-        if (event.getSequenceNumber() == null) {
-            event.setSequenceNumber(System.currentTimeMillis());
+
+        // Generate sequence number if not present, from a monotonic per-source counter
+        if (tick.getSequenceNumber() == Tick.NULL_VALUE) {
+            tick.setSequenceNumber(nextSourceSequence(tick.getSourceId()));
         }
-        
+
         // Set default exchange if not present
-        if (event.getExchange() == null) {
-            event.setExchange(inferExchange(event.getSymbol()));
+        if (tick.getExchangeId() == InternTable.NULL_ID) {
+            tick.setExchangeId(inferExchange(tick.getSymbolId()));
         }
     }
 
-    private void addMarketMetadata(MarketDataEvent event) {
+    private void addMarketMetadata(Tick tick) {
         // Add processing timestamp
-        if (event.getTimestamp() == null) {
-            event.setTimestamp(Instant.now());
+        if (tick.getTimestampNanos() == Tick.NULL_VALUE) {
+            tick.setTimestampNanos(EpochClock.nanos());
         }
-        
+
         // Set source if not present
-        if (event.getSource() == null) {
-            event.setSource("PROCESSED");
+        if (tick.getSourceId() == InternTable.NULL_ID) {
+            tick.setSourceId(PROCESSED_SOURCE);
         }
     }
 
-    private String inferExchange(String symbol) {
-        // Simple heuristic for exchange inference
-        if (symbol != null) {
-            // Common tech stocks typically trade on NASDAQ
-            if (symbol.matches("^(AAPL|GOOGL|MSFT|AMZN|TSLA|META|NFLX)$")) {
-                return "NASDAQ";
-            }
-            // Common financial stocks typically trade on NYSE
-            if (symbol.matches("^(JPM|BAC|WFC|C|GS|MS)$")) {
-                return "NYSE";
-            }
-        }
-        return "UNKNOWN";
+    private long nextSourceSequence(int sourceId) {
+        int source = sourceId != InternTable.NULL_ID ? sourceId : PROCESSED_SOURCE;
+        return sourceSequences.incrementAndGet(source & (SOURCE_SEQUENCE_SLOTS - 1));
+    }
+
+    private int inferExchange(int symbolId) {
+        // Listing exchange from the symbol directory
+        int exchangeId = symbolDirectory.exchangeId(symbolId);
+        return exchangeId != InternTable.NULL_ID ? exchangeId : UNKNOWN_EXCHANGE;
     }
 
-    private BigDecimal calculateSpread(MarketDataEvent event) {
-        if (event.getBid() != null && event.getAsk() != null) {
-            return event.getAsk().subtract(event.getBid());
+    private long calculateSpread(Tick tick) {
+        if (tick.hasBidAsk()) {
+            return tick.getAsk() - tick.getBid();
         }
-        return BigDecimal.ZERO;
+        return 0L;
     }
-} 
\ No newline at end of file
+}
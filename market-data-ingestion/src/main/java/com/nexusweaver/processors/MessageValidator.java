@@ -1,89 +1,109 @@
 package com.nexusweaver.processors;
 
-import com.nexusweaver.model.MarketDataEvent;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolDirectory;
+import com.nexusweaver.validation.ValidationRule;
+import com.nexusweaver.validation.ValidationRulesEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-
 /**
  * Message Validator Processor
- * Validates incoming market data events for financial compliance
+ * Validates incoming market data ticks for financial compliance
  */
 @Slf4j
 @Component
 public class MessageValidator implements Processor {
 
+    private final SymbolDirectory symbolDirectory;
+    private final ValidationRulesEngine rulesEngine;
+    private final boolean rejectUnknownSymbols;
+
+    public MessageValidator(SymbolDirectory symbolDirectory, ValidationRulesEngine rulesEngine,
+                            @Value("${market-data.reference.reject-unknown-symbols:false}") boolean rejectUnknownSymbols) {
+        this.symbolDirectory = symbolDirectory;
+        this.rulesEngine = rulesEngine;
+        this.rejectUnknownSymbols = rejectUnknownSymbols;
+    }
+
     @Override
     public void process(Exchange exchange) throws Exception {
-        MarketDataEvent event = exchange.getIn().getBody(MarketDataEvent.class);
-        
-        if (event == null) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+
+        if (tick == null) {
             throw new IllegalArgumentException("Market data event cannot be null");
         }
 
         // Basic validation
-        validateBasicFields(event);
-        
+        validateBasicFields(tick);
+
         // Additional business logic validation
-        validateBusinessRules(event);
+        validateBusinessRules(tick);
 
         // Set timestamp if not present
-        if (event.getTimestamp() == null) {
-            event.setTimestamp(Instant.now());
+        if (tick.getTimestampNanos() == Tick.NULL_VALUE) {
+            tick.setTimestampNanos(EpochClock.nanos());
         }
 
+        // Downstream stages operate on the tick, even if a MarketDataEvent arrived
+        exchange.getIn().setBody(tick);
+
         // Add validation metadata
-        exchange.getIn().setHeader("validated", true);
-        exchange.getIn().setHeader("validationTime", Instant.now());
-        
-        log.debug("Market data event validated successfully: symbol={}, price={}", 
-                 event.getSymbol(), event.getPrice());
+        tick.getContext().markValidated(EpochClock.nanos());
+
+        if (log.isDebugEnabled()) {
+            log.debug("Market data event validated successfully: symbol={}, price={}",
+                     tick.symbol(), Tick.toDecimal(tick.getPrice()));
+        }
     }
 
-    private void validateBasicFields(MarketDataEvent event) {
-        if (event.getSymbol() == null || event.getSymbol().trim().isEmpty()) {
+    private void validateBasicFields(Tick tick) {
+        String symbol = tick.symbol();
+        if (symbol == null || symbol.trim().isEmpty()) {
             throw new IllegalArgumentException("Symbol cannot be null or empty");
         }
-        
-        if (event.getPrice() == null) {
+
+        if (tick.getPrice() == Tick.NULL_PRICE) {
             throw new IllegalArgumentException("Price cannot be null");
         }
-        
-        if (event.getPrice().doubleValue() <= 0) {
+
+        if (tick.getPrice() <= 0) {
             throw new IllegalArgumentException("Price must be positive");
         }
-        
-        if (event.getVolume() != null && event.getVolume() <= 0) {
+
+        if (tick.getVolume() != Tick.NULL_VALUE && tick.getVolume() <= 0) {
             throw new IllegalArgumentException("Volume must be positive");
         }
     }
 
-    private void validateBusinessRules(MarketDataEvent event) {
+    private void validateBusinessRules(Tick tick) {
         // Financial business rules validation
-        
-        // Price sanity check (price should be reasonable)
-        if (event.getPrice().doubleValue() > 1000000) {
-            throw new IllegalArgumentException("Price out of reasonable range: " + event.getPrice());
-        }
 
-        // Volume sanity check
-        if (event.getVolume() != null && event.getVolume() > 10000000L) {
-            log.warn("Unusually high volume detected: {} for symbol {}", event.getVolume(), event.getSymbol());
-        }
-
-        // Symbol format validation (basic)
-        if (event.getSymbol().length() > 10 || !event.getSymbol().matches("^[A-Z0-9]+$")) {
-            throw new IllegalArgumentException("Invalid symbol format: " + event.getSymbol());
+        // Symbol validation against the directory; listed symbols are well-formed by construction
+        if (symbolDirectory.get(tick.getSymbolId()) == null) {
+            String symbol = tick.symbol();
+            if (rejectUnknownSymbols) {
+                throw new IllegalArgumentException("Unknown symbol: " + symbol);
+            }
+            if (!symbolDirectory.isWellFormed(symbol)) {
+                throw new IllegalArgumentException("Invalid symbol format: " + symbol);
+            }
         }
 
-        // Bid/Ask spread validation
-        if (event.getBid() != null && event.getAsk() != null) {
-            if (event.getBid().compareTo(event.getAsk()) >= 0) {
-                throw new IllegalArgumentException("Bid price must be less than ask price");
-            }
+        // Price band, spread, volume ceiling and sequence gap limits in one pass
+        int violations = rulesEngine.evaluate(tick);
+        if (violations != 0) {
+            ValidationRule rule = ValidationRule.first(violations);
+            throw new IllegalArgumentException(rule.getDescription() + " for symbol " + tick.symbol()
+                    + ": price=" + Tick.toDecimal(tick.getPrice())
+                    + ", bid=" + Tick.toDecimal(tick.getBid())
+                    + ", ask=" + Tick.toDecimal(tick.getAsk())
+                    + ", volume=" + tick.getVolume()
+                    + ", sequence=" + tick.getSequenceNumber());
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,286 @@
+package com.nexusweaver.publisher;
+
+import com.nexusweaver.config.PublisherProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Batching RabbitMQ Publisher
+ *
+ * Asynchronous output stage that accumulates marshalled messages into batches
+ * bounded by count, bytes and linger time, publishes each batch back-to-back on
+ * one channel and completes every exchange only when the broker confirms it.
+ * Confirms are pipelined: the next batch is published while earlier ones are
+ * still awaiting confirmation, up to {@code maxInFlight} unconfirmed messages.
+ * When the queue is full callers block, which pushes back on the source.
+ * The shared publish stage timer covers each message from enqueue to confirm.
+ * Broker nacks and local failures (send errors, lost confirms, shutdown) are
+ * counted apart, so the nack counter only ever reports what the broker said.
+ */
+@Slf4j
+public class BatchingRabbitPublisher extends AsyncProcessorSupport {
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final String name;
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchangeName;
+    private final String routingKey;
+    private final int batchSize;
+    private final int maxBatchBytes;
+    private final long lingerNanos;
+    private final int maxInFlight;
+    private final BlockingQueue<PendingPublish> queue;
+    private final Semaphore inFlight;
+
+    private final DistributionSummary batchFill;
+    private final DistributionSummary batchBytes;
+    private final Timer batchLinger;
+    private final Timer confirmLatency;
+    private final Timer publishLatency;
+    private final Counter nacks;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public BatchingRabbitPublisher(String name, RabbitTemplate rabbitTemplate, PublisherProperties properties,
+                                   PublisherProperties.Destination destination, Timer publishLatency,
+                                   MeterRegistry meterRegistry) {
+        this.name = name;
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchangeName = destination.getExchange();
+        this.routingKey = destination.getRoutingKey();
+        this.maxInFlight = properties.getMaxInFlight();
+        // A batch can never need more permits than exist
+        this.batchSize = Math.min(properties.getBatchSize(), maxInFlight);
+        this.maxBatchBytes = properties.getMaxBatchBytes();
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(properties.getLingerMs());
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.inFlight = new Semaphore(maxInFlight);
+
+        this.batchFill = DistributionSummary.builder("market.data.publisher.batch.fill")
+                .description("Messages per published batch")
+                .tag("output", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchBytes = DistributionSummary.builder("market.data.publisher.batch.bytes")
+                .description("Payload bytes per published batch")
+                .baseUnit("bytes")
+                .tag("output", name)
+                .register(meterRegistry);
+        this.batchLinger = Timer.builder("market.data.publisher.batch.linger")
+                .description("Time from the first message of a batch being queued to the batch being published")
+                .tag("output", name)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.confirmLatency = Timer.builder("market.data.publisher.confirm.latency")
+                .description("Time from publish to broker confirm")
+                .tag("output", name)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.publishLatency = publishLatency;
+        this.nacks = Counter.builder("market.data.publisher.nacks")
+                .description("Messages the broker negatively acknowledged")
+                .tag("output", name)
+                .register(meterRegistry);
+        this.failures = Counter.builder("market.data.publisher.failures")
+                .description("Messages failed before a broker confirm: send errors, lost confirms or shutdown")
+                .tag("output", name)
+                .register(meterRegistry);
+        Gauge.builder("market.data.publisher.in.flight", this, BatchingRabbitPublisher::getInFlight)
+                .description("Published messages awaiting a broker confirm")
+                .tag("output", name)
+                .register(meterRegistry);
+        Gauge.builder("market.data.publisher.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting to be batched")
+                .tag("output", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        byte[] payload = exchange.getIn().getBody(byte[].class);
+        if (payload == null) {
+            exchange.setException(new IllegalArgumentException("Publisher " + name + " requires a marshalled body"));
+            callback.done(true);
+            return true;
+        }
+
+        String contentType = exchange.getIn().getHeader(Exchange.CONTENT_TYPE, String.class);
+        try {
+            queue.put(new PendingPublish(exchange, callback, payload, contentType, System.nanoTime(), new AtomicBoolean()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            log.warn("Publisher {} started without correlated publisher confirms; "
+                    + "set spring.rabbitmq.publisher-confirm-type=correlated", name);
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "rabbit-publisher-" + name);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        List<PendingPublish> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (PendingPublish pending : remaining) {
+            fail(pending, new IllegalStateException("Publisher " + name + " stopped before publishing"), failures);
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingPublish> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingPublish first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                int bytes = first.payload.length;
+                long deadline = first.enqueuedNanos + lingerNanos;
+
+                while (batch.size() < batchSize && bytes < maxBatchBytes) {
+                    PendingPublish next = queue.poll();
+                    if (next == null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                    }
+                    batch.add(next);
+                    bytes += next.payload.length;
+                }
+
+                publish(batch, bytes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (PendingPublish pending : batch) {
+                    fail(pending, e, failures);
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publish(List<PendingPublish> batch, int bytes) throws InterruptedException {
+        batchLinger.record(System.nanoTime() - batch.get(0).enqueuedNanos, TimeUnit.NANOSECONDS);
+        batchFill.record(batch.size());
+        batchBytes.record(bytes);
+
+        // Bound unconfirmed messages; confirms for earlier batches release permits
+        inFlight.acquire(batch.size());
+
+        int[] sent = {0};
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingPublish pending : batch) {
+                    CorrelationData correlation = new CorrelationData();
+                    long publishedAt = System.nanoTime();
+                    correlation.getFuture().whenComplete((confirm, error) -> {
+                        confirmLatency.record(System.nanoTime() - publishedAt, TimeUnit.NANOSECONDS);
+                        if (error != null) {
+                            settle(pending, error, failures);
+                        } else if (!confirm.isAck()) {
+                            settle(pending, new IllegalStateException("Broker nacked publish to "
+                                    + exchangeName + ": " + confirm.getReason()), nacks);
+                        } else {
+                            settle(pending, null, null);
+                        }
+                    });
+                    operations.send(exchangeName, routingKey, toMessage(pending), correlation);
+                    sent[0]++;
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Messages already handed to the channel are settled by their confirms
+            log.error("Publisher {} failed to publish batch of {}: {}", name, batch.size(), e.getMessage());
+            for (int i = sent[0]; i < batch.size(); i++) {
+                settle(batch.get(i), e, failures);
+            }
+        }
+    }
+
+    /**
+     * Completes a published message exactly once, releasing its in-flight permit; a failure is counted on {@code outcome}
+     */
+    private void settle(PendingPublish pending, Throwable cause, Counter outcome) {
+        if (!pending.settled.compareAndSet(false, true)) {
+            return;
+        }
+        inFlight.release();
+        publishLatency.record(System.nanoTime() - pending.enqueuedNanos, TimeUnit.NANOSECONDS);
+        if (cause != null) {
+            fail(pending, cause, outcome);
+        } else {
+            pending.callback.done(false);
+        }
+    }
+
+    private void fail(PendingPublish pending, Throwable cause, Counter outcome) {
+        outcome.increment();
+        pending.exchange.setException(cause);
+        pending.callback.done(false);
+    }
+
+    private static Message toMessage(PendingPublish pending) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        if (pending.contentType != null) {
+            properties.setContentType(pending.contentType);
+        }
+        return new Message(pending.payload, properties);
+    }
+
+    private record PendingPublish(Exchange exchange, AsyncCallback callback, byte[] payload,
+                                  String contentType, long enqueuedNanos, AtomicBoolean settled) {
+    }
+}
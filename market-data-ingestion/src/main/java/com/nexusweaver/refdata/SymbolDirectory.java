@@ -0,0 +1,214 @@
+package com.nexusweaver.refdata;
+
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Symbol Directory
+ *
+ * Preloaded symbol reference data (exchange, tick size) read from a CSV file
+ * or classpath resource with lines of {@code symbol,exchange,tickSize[,assetClass]}.
+ * Symbols are registered in {@link InternTable#SYMBOLS}, so the directory is
+ * indexed by the same dense id ticks carry and lookups by id are a single
+ * array read; string lookups go through a {@link SymbolTrie}.
+ *
+ * The whole directory is an immutable snapshot behind a volatile reference.
+ * A reload builds a new snapshot off to the side and swaps it in, so the
+ * pipeline never pauses or sees a half-loaded directory.
+ */
+@Slf4j
+@Component
+public class SymbolDirectory {
+
+    private final Resource resource;
+    private final Counter reloads;
+
+    private volatile Snapshot snapshot;
+    private volatile long loadedModified;
+    private volatile int version;
+
+    public SymbolDirectory(@Value("${market-data.reference.symbols:classpath:reference/symbols.csv}") String location,
+                           ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.resource = resourceLoader.getResource(location);
+        this.reloads = Counter.builder("market.data.reference.reloads")
+                .description("Symbol directory reloads")
+                .register(meterRegistry);
+        Gauge.builder("market.data.reference.symbols", this, SymbolDirectory::size)
+                .description("Symbols in the directory")
+                .register(meterRegistry);
+        reload();
+    }
+
+    /**
+     * Returns the symbol's reference data by intern id, or null when it is not listed
+     */
+    public SymbolInfo get(int symbolId) {
+        SymbolInfo[] byId = snapshot.byId;
+        return symbolId >= 0 && symbolId < byId.length ? byId[symbolId] : null;
+    }
+
+    /**
+     * Returns the symbol's reference data, or null when it is not listed
+     */
+    public SymbolInfo get(CharSequence symbol) {
+        Snapshot current = snapshot;
+        int symbolId = current.trie.get(symbol);
+        return symbolId >= 0 ? current.byId[symbolId] : null;
+    }
+
+    /**
+     * Returns the reference data for an ASCII symbol held in a buffer, or null when it is not listed
+     */
+    public SymbolInfo get(byte[] buffer, int offset, int length) {
+        Snapshot current = snapshot;
+        int symbolId = current.trie.get(buffer, offset, length);
+        return symbolId >= 0 ? current.byId[symbolId] : null;
+    }
+
+    /**
+     * Returns the listing exchange id of the symbol, or {@link InternTable#NULL_ID} when it is not listed
+     */
+    public int exchangeId(int symbolId) {
+        SymbolInfo info = get(symbolId);
+        return info != null ? info.exchangeId() : InternTable.NULL_ID;
+    }
+
+    /**
+     * Format check used for symbols that are not listed: 1 to 10 characters of [A-Z0-9]
+     */
+    public boolean isWellFormed(CharSequence symbol) {
+        return SymbolTrie.isWellFormed(symbol);
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    /**
+     * Incremented on every successful load, so dependents can tell when to rebuild derived tables
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * All listed symbols of the current snapshot
+     */
+    public List<SymbolInfo> symbols() {
+        List<SymbolInfo> symbols = new ArrayList<>(snapshot.size);
+        for (SymbolInfo info : snapshot.byId) {
+            if (info != null) {
+                symbols.add(info);
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Reloads the directory when its file has changed since the last load
+     */
+    @Scheduled(fixedDelayString = "${market-data.reference.reload-interval-ms:30000}",
+               initialDelayString = "${market-data.reference.reload-interval-ms:30000}")
+    public void reloadIfModified() {
+        long modified = lastModified();
+        if (modified > 0 && modified != loadedModified) {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                // Keep serving the previous snapshot
+                log.error("Symbol directory reload from {} failed: {}", resource.getDescription(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads the directory and swaps it in atomically
+     */
+    public synchronized void reload() {
+        long modified = lastModified();
+        List<SymbolInfo> entries = read();
+
+        String[] symbols = new String[entries.size()];
+        int[] ids = new int[entries.size()];
+        int maxId = -1;
+        for (int i = 0; i < entries.size(); i++) {
+            symbols[i] = entries.get(i).symbol();
+            ids[i] = entries.get(i).symbolId();
+            maxId = Math.max(maxId, ids[i]);
+        }
+        SymbolInfo[] byId = new SymbolInfo[maxId + 1];
+        for (SymbolInfo entry : entries) {
+            byId[entry.symbolId()] = entry;
+        }
+
+        snapshot = new Snapshot(SymbolTrie.build(symbols, ids), byId, entries.size());
+        loadedModified = modified;
+        version++;
+        reloads.increment();
+        log.info("Symbol directory loaded {} symbols from {}", entries.size(), resource.getDescription());
+    }
+
+    private List<SymbolInfo> read() {
+        List<SymbolInfo> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length < 3) {
+                    throw new IllegalArgumentException("Expected symbol,exchange,tickSize at "
+                            + resource.getDescription() + ":" + lineNumber);
+                }
+                String symbol = fields[0].trim();
+                if (!SymbolTrie.isWellFormed(symbol)) {
+                    throw new IllegalArgumentException("Invalid symbol '" + symbol + "' at "
+                            + resource.getDescription() + ":" + lineNumber);
+                }
+                entries.add(new SymbolInfo(
+                        InternTable.SYMBOLS.intern(symbol),
+                        symbol,
+                        InternTable.EXCHANGES.intern(fields[1].trim()),
+                        Tick.toScaled(new BigDecimal(fields[2].trim())),
+                        fields.length > 3 ? fields[3].trim() : null));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read symbol directory " + resource.getDescription(), e);
+        }
+        return entries;
+    }
+
+    private long lastModified() {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private record Snapshot(SymbolTrie trie, SymbolInfo[] byId, int size) {
+    }
+}
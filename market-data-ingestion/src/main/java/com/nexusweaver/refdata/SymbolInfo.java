@@ -0,0 +1,19 @@
+package com.nexusweaver.refdata;
+
+import com.nexusweaver.model.InternTable;
+
+/**
+ * Reference data for one tradable symbol
+ *
+ * @param symbolId   dense id, identical to the {@link InternTable#SYMBOLS} id carried by ticks
+ * @param symbol     ticker
+ * @param exchangeId {@link InternTable#EXCHANGES} id of the listing exchange
+ * @param tickSize   minimum price increment, scaled by {@link com.nexusweaver.model.Tick#PRICE_SCALE}
+ * @param assetClass asset class used to pick validation limits, or null
+ */
+public record SymbolInfo(int symbolId, String symbol, int exchangeId, long tickSize, String assetClass) {
+
+    public String exchange() {
+        return InternTable.EXCHANGES.name(exchangeId);
+    }
+}
@@ -0,0 +1,130 @@
+package com.nexusweaver.refdata;
+
+import java.util.Arrays;
+
+/**
+ * Symbol Trie
+ *
+ * Immutable trie over the symbol alphabet [A-Z0-9], flattened into one int
+ * array of 36-way nodes. A lookup walks at most {@link #MAX_SYMBOL_LENGTH}
+ * nodes with no hashing, no regex and no allocation, and rejects any
+ * character outside the alphabet on the spot.
+ */
+final class SymbolTrie {
+
+    static final int MAX_SYMBOL_LENGTH = 10;
+
+    private static final int ALPHABET = 36;
+    private static final int NONE = -1;
+
+    /** Child node index per (node, character) */
+    private final int[] children;
+    /** Value stored at a node, or NONE */
+    private final int[] values;
+
+    private SymbolTrie(int[] children, int[] values) {
+        this.children = children;
+        this.values = values;
+    }
+
+    /**
+     * Builds a trie mapping each key to the value at the same index
+     */
+    static SymbolTrie build(String[] keys, int[] keyValues) {
+        int maxNodes = 1;
+        for (String key : keys) {
+            maxNodes += key.length();
+        }
+        int[] children = new int[maxNodes * ALPHABET];
+        int[] values = new int[maxNodes];
+        Arrays.fill(children, NONE);
+        Arrays.fill(values, NONE);
+
+        int nodes = 1;
+        for (int k = 0; k < keys.length; k++) {
+            String key = keys[k];
+            if (!isWellFormed(key)) {
+                throw new IllegalArgumentException("Invalid symbol: " + key);
+            }
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                int slot = node * ALPHABET + index(key.charAt(i));
+                if (children[slot] == NONE) {
+                    children[slot] = nodes++;
+                }
+                node = children[slot];
+            }
+            values[node] = keyValues[k];
+        }
+        return new SymbolTrie(Arrays.copyOf(children, nodes * ALPHABET), Arrays.copyOf(values, nodes));
+    }
+
+    /**
+     * Returns the value for the symbol, or -1 when it is unknown or malformed
+     */
+    int get(CharSequence symbol) {
+        int length = symbol.length();
+        if (length == 0 || length > MAX_SYMBOL_LENGTH) {
+            return NONE;
+        }
+        int node = 0;
+        for (int i = 0; i < length; i++) {
+            int index = index(symbol.charAt(i));
+            if (index < 0) {
+                return NONE;
+            }
+            node = children[node * ALPHABET + index];
+            if (node == NONE) {
+                return NONE;
+            }
+        }
+        return values[node];
+    }
+
+    /**
+     * Returns the value for the ASCII symbol at the given range, or -1 when it is unknown or malformed
+     */
+    int get(byte[] buffer, int offset, int length) {
+        if (length == 0 || length > MAX_SYMBOL_LENGTH) {
+            return NONE;
+        }
+        int node = 0;
+        for (int i = 0; i < length; i++) {
+            int index = index((char) (buffer[offset + i] & 0xFF));
+            if (index < 0) {
+                return NONE;
+            }
+            node = children[node * ALPHABET + index];
+            if (node == NONE) {
+                return NONE;
+            }
+        }
+        return values[node];
+    }
+
+    /**
+     * True when the symbol is 1 to {@link #MAX_SYMBOL_LENGTH} characters of [A-Z0-9]
+     */
+    static boolean isWellFormed(CharSequence symbol) {
+        int length = symbol.length();
+        if (length == 0 || length > MAX_SYMBOL_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (index(symbol.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int index(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + (c - '0');
+        }
+        return NONE;
+    }
+}
@@ -1,12 +1,37 @@
 package com.nexusweaver.routes;
 
+import com.nexusweaver.codec.BinaryTickDataFormat;
+import com.nexusweaver.codec.WireFormat;
+import com.nexusweaver.cluster.WarmStandby;
+import com.nexusweaver.config.CamelClusterConfig;
+import com.nexusweaver.config.FeedProperties;
+import com.nexusweaver.config.PublisherProperties;
+import com.nexusweaver.config.SimulationProperties;
+import com.nexusweaver.journal.TickJournal;
+import com.nexusweaver.logging.RouteLog;
+import com.nexusweaver.metrics.PipelineLatency;
+import com.nexusweaver.metrics.PipelineMetrics;
+import com.nexusweaver.metrics.PipelineLatency.Stage;
 import com.nexusweaver.model.MarketDataEvent;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import com.nexusweaver.pipeline.SymbolPartitionedStage;
 import com.nexusweaver.processors.MarketDataProcessor;
 import com.nexusweaver.processors.MessageValidator;
+import com.nexusweaver.publisher.BatchingRabbitPublisher;
+import com.nexusweaver.sequence.SequenceGap;
+import com.nexusweaver.sequence.SequenceTracker;
+import com.nexusweaver.tenancy.TenantScheduler;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.dataformat.JsonDataFormat;
 import org.apache.camel.model.dataformat.JsonLibrary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -18,12 +43,65 @@ import org.springframework.stereotype.Component;
 @Component
 public class MarketDataIngestionRoute extends RouteBuilder {
 
+    private static final String POOLED_TICK = "pooledTick";
+
     @Autowired
     private MarketDataProcessor marketDataProcessor;
 
     @Autowired
     private MessageValidator messageValidator;
 
+    @Autowired
+    private TickPool tickPool;
+
+    @Autowired
+    private SymbolPartitionedStage symbolPartitionedStage;
+
+    @Autowired
+    private BinaryTickDataFormat binaryTickDataFormat;
+
+    @Autowired
+    private BatchingRabbitPublisher marketDataPublisher;
+
+    @Autowired
+    private BatchingRabbitPublisher tradePublisher;
+
+    @Autowired
+    private PublisherProperties publisherProperties;
+
+    @Autowired
+    private RouteLog routeLog;
+
+    @Autowired(required = false)
+    private TickJournal tickJournal;
+
+    @Autowired(required = false)
+    private SequenceTracker sequenceTracker;
+
+    @Autowired(required = false)
+    private WarmStandby warmStandby;
+
+    @Autowired(required = false)
+    private TenantScheduler tenantScheduler;
+
+    @Autowired
+    private PipelineLatency latency;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private SimulationProperties simulationProperties;
+
+    @Autowired
+    private FeedProperties feedProperties;
+
+    @Value("${market-data.output.market-data-format:json}")
+    private WireFormat marketDataWireFormat;
+
+    @Value("${market-data.output.trade-format:json}")
+    private WireFormat tradeWireFormat;
+
     @Override
     public void configure() throws Exception {
         
@@ -38,76 +116,220 @@ public class MarketDataIngestionRoute extends RouteBuilder {
         // ========================================================================================
         
         // CLUSTERED: Market data generator (only one pod generates data)
-        from("master:market-data-cluster:timer:market-data-generator?period=10000")
-            .routeId("market-data-generator-clustered")
-            .log("🏆 MASTER INSTANCE: Generating sample market data on pod ${env:HOSTNAME}")
-            .process(exchange -> {
-                MarketDataEvent event = MarketDataEvent.createSample();
-                exchange.getIn().setBody(event);
-                exchange.getIn().setHeader("source", "SIMULATOR");
-                exchange.getIn().setHeader("symbol", event.getSymbol());
-                exchange.getIn().setHeader("generatingPod", System.getenv("HOSTNAME"));
-            })
-            .to("direct:process-market-data");
+        // Synthetic random-walk quotes or a recorded-file replay, paced by the tickgen: component
+        if (simulationProperties.isEnabled()) {
+            clustered(simulationProperties.toEndpointUri("market-data-generator"), true)
+                .routeId("market-data-generator-clustered")
+                .to("direct:process-market-data");
+        }
+
+        // Vendor feeds: FIX or length-prefixed binary over TCP/UDP, parsed from pooled direct buffers by the feed: component.
+        // TCP listeners run on every pod; clustered handlers (multicast every pod can see) run on the leader only
+        if (feedProperties.isEnabled()) {
+            for (FeedProperties.Handler handler : feedProperties.getHandlers()) {
+                String uri = handler.toEndpointUri();
+                (handler.isClustered() ? clustered(uri, false) : from(uri))
+                    .routeId("market-data-feed-" + handler.getName())
+                    .to("direct:process-market-data");
+            }
+        }
 
         // ========================================================================================
         // DISTRIBUTED ROUTES - ALL instances can process these
         // ========================================================================================
 
         // Main processing pipeline (all pods can process)
-        from("direct:process-market-data")
+        // Stages share a typed ProcessingContext property instead of headers. Only unknown-output renders the
+        // context into headers for its log endpoint; the market data and trade outputs carry none
+        // Per-message logging is sampled per route (market-data.logging, /actuator/logsampling)
+        RouteDefinition processor = from("direct:process-market-data")
             .routeId("market-data-processor")
-            .log("📊 PROCESSING: Market data from ${header.source} on pod ${env:HOSTNAME} (generated by ${header.generatingPod})")
-            
+            .process(ProcessingContext::attach)
+            .process(routeLog.sampled("market-data-processor", (log, exchange) -> {
+                ProcessingContext context = ProcessingContext.of(exchange);
+                log.info("📊 PROCESSING: Market data for {} from {} on pod {} (generated by {})",
+                    context.getSymbol(), context.getSource(), context.getProcessingPod(), context.getGeneratingPod());
+            }))
+
+            // Hand off to the symbol's lane; the rest of the pipeline runs there in per-symbol order.
+            // The tenant scheduler, when enabled, rate-limits each tenant and hands ticks on fairly between them,
+            // each (source, symbol) in arrival order; the sequence tracker, when enabled, then drops duplicates
+            // and flags or reorders gaps on the way into the lanes
+            .process(laneHandoff())
+
             // Validate message
-            .process(messageValidator)
-            
-            // Add processing metadata
-            .process(exchange -> {
-                MarketDataEvent event = exchange.getIn().getBody(MarketDataEvent.class);
-                exchange.getIn().setHeader("symbol", event.getSymbol());
-                exchange.getIn().setHeader("exchange", event.getExchange());
-                exchange.getIn().setHeader("messageType", event.getMessageType());
-                exchange.getIn().setHeader("timestamp", event.getTimestamp());
-                exchange.getIn().setHeader("processingPod", System.getenv("HOSTNAME"));
-            })
-            
+            .process(latency.timed(Stage.VALIDATE, messageValidator));
+
+        // Journal every accepted tick for the audit trail, when enabled
+        if (tickJournal != null) {
+            processor.process(latency.timed(Stage.JOURNAL, tickJournal));
+        }
+
+        processor
             // Process market data
-            .process(marketDataProcessor)
+            .process(latency.timed(Stage.ENRICH, marketDataProcessor))
             
-            // Add metrics
-            .to("micrometer:counter:market.data.processed.total?tags=source=${header.source},symbol=${header.symbol},pod=${env:HOSTNAME}")
-            .to("micrometer:timer:market.data.processing.latency")
+            // Add metrics through cached top-K symbol handles; end-to-end latency is recorded once the tick is marshalled
+            .process(pipelineMetrics::processed)
             
             // Route based on message type
             .choice()
-                .when(header("messageType").isEqualTo("MARKET_DATA"))
-                    .log("🔄 ROUTING: Market data for ${header.symbol} processed by pod ${header.processingPod}")
+                .when(exchange -> isMessageType(exchange, Tick.MARKET_DATA))
+                    .process(routeLog.sampled("market-data-routing", (log, exchange) ->
+                        log.info("🔄 ROUTING: Market data for {} processed by pod {}",
+                            ProcessingContext.of(exchange).getSymbol(), ProcessingContext.pod())))
                     .to("direct:market-data-output")
-                .when(header("messageType").isEqualTo("TRADE"))
-                    .log("🔄 ROUTING: Trade data for ${header.symbol} processed by pod ${header.processingPod}")
+                .when(exchange -> isMessageType(exchange, Tick.TRADE))
+                    .process(routeLog.sampled("trade-routing", (log, exchange) ->
+                        log.info("🔄 ROUTING: Trade data for {} processed by pod {}",
+                            ProcessingContext.of(exchange).getSymbol(), ProcessingContext.pod())))
                     .to("direct:trade-output")
                 .otherwise()
-                    .log("❓ UNKNOWN: Message type ${header.messageType} processed by pod ${header.processingPod}")
+                    .log("❓ UNKNOWN: Message type ${exchangeProperty.processingContext.messageType} processed by pod {{env:HOSTNAME:unknown}}")
                     .to("direct:unknown-output")
             .end();
 
+        // Recovery requests for skipped sequences; the sampled log is the sink until a feed can replay on request
+        if (sequenceTracker != null) {
+            from(SequenceTracker.RECOVERY_ENDPOINT)
+                .routeId("sequence-recovery")
+                .process(routeLog.sampled("sequence-recovery", (log, exchange) -> {
+                    SequenceGap gap = exchange.getIn().getBody(SequenceGap.class);
+                    log.warn("⚠️ GAP: {} sequences {}-{} missing for {} from {}",
+                        gap.missing(), gap.fromSequence(), gap.toSequence(), gap.symbol(), gap.source());
+                }));
+        }
+
         // Output routes - all pods can publish (load balanced)
-        from("direct:market-data-output")
+        // Wire format is selectable per route: binary for throughput, JSON for debugging
+        // With the publisher enabled, batches go to RabbitMQ and exchanges complete on broker confirm;
+        // otherwise the sampled output log is the only sink
+        RouteDefinition marketDataOutput = from("direct:market-data-output")
             .routeId("market-data-output")
-            .log("📤 OUTPUT: Market data Symbol=${header.symbol}, Price=${body.price}, Volume=${body.volume} from pod ${env:HOSTNAME}")
-            .marshal().json(JsonLibrary.Jackson)
-            .to("log:market-data-output?level=INFO&showBody=true");
+            .process(routeLog.sampled("market-data-output", (log, exchange) ->
+                log.info("📤 OUTPUT: Market data {} from pod {}", exchange.getIn().getBody(), ProcessingContext.pod())));
+        marshalOutput(marketDataOutput, marketDataWireFormat);
+        publishOutput(marketDataOutput, marketDataPublisher);
 
-        from("direct:trade-output")
+        RouteDefinition tradeOutput = from("direct:trade-output")
             .routeId("trade-output")
-            .log("📤 OUTPUT: Trade data from pod ${env:HOSTNAME}")
-            .marshal().json(JsonLibrary.Jackson)
-            .to("log:trade-output?level=INFO&showBody=true");
+            .process(routeLog.sampled("trade-output", (log, exchange) ->
+                log.info("📤 OUTPUT: Trade data {} from pod {}", exchange.getIn().getBody(), ProcessingContext.pod())));
+        marshalOutput(tradeOutput, tradeWireFormat);
+        publishOutput(tradeOutput, tradePublisher);
 
         from("direct:unknown-output")
             .routeId("unknown-output")
-            .log("❓ UNKNOWN: Data type processed by pod ${env:HOSTNAME}: ${body}")
+            .process(this::renderHeaders)
+            .process(this::releaseToEvent)
+            .log("❓ UNKNOWN: Data type processed by pod {{env:HOSTNAME:unknown}}: ${body}")
             .to("log:unknown-output?level=WARN&showBody=true");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Serializes the tick body in the requested wire format and returns it to the pool.
+     * The tick is held until after marshalling so its trace stamps can be recorded.
+     */
+    private RouteDefinition marshalOutput(RouteDefinition route, WireFormat wireFormat) {
+        route
+            .setProperty(POOLED_TICK, body())
+            .process(latency::stampSent);
+        if (wireFormat == WireFormat.BINARY) {
+            route.marshal(binaryTickDataFormat);
+        } else {
+            route
+                .process(this::toEvent)
+                .marshal(jsonFormat());
+        }
+        return route
+            .process(latency::marshalled)
+            .process(this::releasePooledTick);
+    }
+
+    /**
+     * Hands the marshalled body to the batching publisher when publishing is enabled
+     */
+    private RouteDefinition publishOutput(RouteDefinition route, BatchingRabbitPublisher publisher) {
+        if (publisherProperties.isEnabled()) {
+            return route.process(publisher);
+        }
+        return route;
+    }
+
+    /**
+     * Jackson JSON using the application's JacksonConfig mapper, which knows how to write Instants
+     */
+    private static JsonDataFormat jsonFormat() {
+        JsonDataFormat json = new JsonDataFormat(JsonLibrary.Jackson);
+        json.setObjectMapper("objectMapper");
+        return json;
+    }
+
+    /**
+     * A source only the leader publishes: under master:, or on every pod behind the warm standby gate when enabled
+     *
+     * @param renumber the source numbers sequences per pod, so a new leader carries them on from the old one's
+     */
+    private RouteDefinition clustered(String uri, boolean renumber) {
+        if (warmStandby != null) {
+            RouteDefinition route = from(uri);
+            route.process(warmStandby.gate(renumber));
+            return route;
+        }
+        return from("master:" + CamelClusterConfig.NAMESPACE + ":" + uri);
+    }
+
+    /**
+     * First stage of the lane hand-off chain: tenant scheduler, then sequence tracker, then the lanes, as enabled
+     */
+    private AsyncProcessor laneHandoff() {
+        if (tenantScheduler != null) {
+            return tenantScheduler;
+        }
+        return sequenceTracker != null ? sequenceTracker : symbolPartitionedStage;
+    }
+
+    private static boolean isMessageType(Exchange exchange, int messageTypeId) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        return tick != null && tick.getMessageTypeId() == messageTypeId;
+    }
+
+    private void renderHeaders(Exchange exchange) {
+        ProcessingContext context = ProcessingContext.of(exchange);
+        if (context != null) {
+            context.renderHeaders(exchange.getIn());
+        }
+    }
+
+    private void releasePooledTick(Exchange exchange) {
+        // The context is recycled with its tick
+        exchange.removeProperty(ProcessingContext.PROPERTY);
+        Object tick = exchange.removeProperty(POOLED_TICK);
+        if (tick instanceof Tick pooled) {
+            tickPool.release(pooled);
+        }
+    }
+
+    /**
+     * Edge conversion: replaces the pooled tick body with a MarketDataEvent for serialization
+     */
+    private void toEvent(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        if (body instanceof Tick tick) {
+            exchange.getIn().setBody(tick.toEvent());
+        }
+    }
+
+    /**
+     * Edge conversion: replaces the pooled tick body with a MarketDataEvent
+     * for serialization and returns the tick to the pool
+     */
+    private void releaseToEvent(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        if (body instanceof Tick tick) {
+            exchange.removeProperty(ProcessingContext.PROPERTY);
+            exchange.getIn().setBody(tick.toEvent());
+            tickPool.release(tick);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nexusweaver.sequence;
+
+/**
+ * Recovery request for the sequences a (source, symbol) stream skipped,
+ * inclusive on both ends
+ */
+public record SequenceGap(String source, String symbol, long fromSequence, long toSequence, long detectedNanos) {
+
+    public long missing() {
+        return toSequence - fromSequence + 1;
+    }
+}
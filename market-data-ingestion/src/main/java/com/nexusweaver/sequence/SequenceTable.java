@@ -0,0 +1,120 @@
+package com.nexusweaver.sequence;
+
+import com.nexusweaver.model.Tick;
+
+import java.util.Arrays;
+
+/**
+ * Sequence Table
+ *
+ * Open-addressing map from a primitive (source, symbol) key to the last
+ * sequence delivered for it and the number of ticks held for reordering.
+ * Parallel primitive arrays with linear probing: no boxing, no entry objects,
+ * about 40 bytes per key at the half-full load factor. Keys are never removed.
+ * Not thread-safe; each tracker shard guards its own table.
+ */
+final class SequenceTable {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] last;
+    private int[] held;
+    private int mask;
+    private int size;
+
+    SequenceTable(int expectedKeys) {
+        allocate(Integer.highestOneBit(Math.max(8, expectedKeys * 2 - 1)) << 1);
+    }
+
+    /**
+     * Key for a (source, symbol) pair; neither id is ever Integer.MIN_VALUE, so no key is EMPTY
+     */
+    static long key(int sourceId, int symbolId) {
+        return ((long) sourceId << 32) | (symbolId & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3, spreading symbol ids that differ only in low bits
+     */
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb93fe53ec5ffL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Returns the slot for the key, inserting it with no last sequence on first sight
+     */
+    int slot(long key, long hash) {
+        int index = (int) hash & mask;
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == EMPTY) {
+                if (size + 1 > keys.length >>> 1) {
+                    grow();
+                    return slot(key, hash);
+                }
+                keys[index] = key;
+                last[index] = Tick.NULL_VALUE;
+                size++;
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    long last(int slot) {
+        return last[slot];
+    }
+
+    void last(int slot, long sequence) {
+        last[slot] = sequence;
+    }
+
+    int held(int slot) {
+        return held[slot];
+    }
+
+    void held(int slot, int count) {
+        held[slot] = count;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldLast = last;
+        int[] oldHeld = held;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == EMPTY) {
+                continue;
+            }
+            int index = (int) hash(key) & mask;
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            last[index] = oldLast[i];
+            held[index] = oldHeld[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        last = new long[capacity];
+        held = new int[capacity];
+        mask = capacity - 1;
+    }
+}
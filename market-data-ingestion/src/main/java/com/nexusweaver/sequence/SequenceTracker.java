@@ -0,0 +1,339 @@
+package com.nexusweaver.sequence;
+
+import com.nexusweaver.config.SequenceProperties;
+import com.nexusweaver.model.EpochClock;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.service.ServiceHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sequence Tracker
+ *
+ * Checks every sequenced tick against the last sequence delivered for its
+ * (source, symbol) before handing it to the symbol lanes. Duplicates and
+ * stale ticks are dropped and returned to the pool, skipped sequences are
+ * counted and published as {@link SequenceGap} recovery requests on
+ * {@link #RECOVERY_ENDPOINT}. With a reorder window a tick that runs ahead is
+ * held and released to its lane as soon as the missing sequences arrive, or
+ * with a gap once it falls out of the window or times out. A source that
+ * restarts its numbering, back to 1 or further behind than the reset
+ * distance, starts a new session: what was held goes out, the key is
+ * re-seeded with the new sequence and the reset is counted.
+ *
+ * State lives in open-addressing primitive tables split into shards, each
+ * guarded by its own monitor, so lookups are constant time and sources on
+ * different threads rarely contend. Ticks without a sequence pass straight
+ * through. Lane publishing happens under the shard monitor, which is what
+ * keeps released ticks in sequence order on their lane.
+ */
+@Slf4j
+public class SequenceTracker extends AsyncProcessorSupport {
+
+    public static final String RECOVERY_ENDPOINT = "seda:sequence-recovery?size=1024&discardWhenFull=true";
+
+    private static final int SHARDS = 64;
+
+    private final AsyncProcessor next;
+    private final TickPool tickPool;
+    private final ProducerTemplate recovery;
+    private final Shard[] shards = new Shard[SHARDS];
+    private final int reorderWindow;
+    private final long reorderTimeoutNanos;
+    private final int maxHeldPerShard;
+    private final long resetDistance;
+    private final AtomicInteger heldTotal = new AtomicInteger();
+
+    private final Counter gaps;
+    private final Counter missing;
+    private final Counter duplicates;
+    private final Counter reordered;
+    private final Counter resets;
+
+    private volatile boolean running;
+    private Thread sweeper;
+
+    public SequenceTracker(SequenceProperties properties, AsyncProcessor next, TickPool tickPool,
+                           ProducerTemplate recovery, MeterRegistry meterRegistry) {
+        this.next = next;
+        this.tickPool = tickPool;
+        this.recovery = recovery;
+        this.reorderWindow = Math.max(0, properties.getReorderWindow());
+        this.reorderTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getReorderTimeoutMs()));
+        this.maxHeldPerShard = Math.max(1, properties.getMaxHeld() / SHARDS);
+        this.resetDistance = Math.max(0, properties.getResetDistance());
+        int keysPerShard = Math.max(1, properties.getExpectedKeys() / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(keysPerShard);
+        }
+
+        this.gaps = Counter.builder("market.data.sequence.gaps")
+                .description("Sequence gaps detected across (source, symbol) streams")
+                .register(meterRegistry);
+        this.missing = Counter.builder("market.data.sequence.missing")
+                .description("Sequences skipped by detected gaps")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("market.data.sequence.duplicates")
+                .description("Duplicate or stale ticks dropped")
+                .register(meterRegistry);
+        this.reordered = Counter.builder("market.data.sequence.reordered")
+                .description("Ticks held and released back in sequence order")
+                .register(meterRegistry);
+        this.resets = Counter.builder("market.data.sequence.resets")
+                .description("Sources seen restarting their numbering on a (source, symbol) stream")
+                .register(meterRegistry);
+        Gauge.builder("market.data.sequence.held", heldTotal, AtomicInteger::get)
+                .description("Ticks currently held for reordering")
+                .register(meterRegistry);
+        Gauge.builder("market.data.sequence.keys", this, SequenceTracker::getKeyCount)
+                .description("Tracked (source, symbol) streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        if (tick == null || tick.getSequenceNumber() == Tick.NULL_VALUE) {
+            return next.process(exchange, callback);
+        }
+
+        long sequence = tick.getSequenceNumber();
+        long key = SequenceTable.key(tick.getSourceId(), tick.getSymbolId());
+        long hash = SequenceTable.hash(key);
+        Shard shard = shards[(int) (hash >>> 58)];
+
+        synchronized (shard) {
+            SequenceTable table = shard.table;
+            int slot = table.slot(key, hash);
+            long last = table.last(slot);
+
+            if (last == Tick.NULL_VALUE || sequence == last + 1) {
+                table.last(slot, sequence);
+                boolean sync = next.process(exchange, callback);
+                if (table.held(slot) > 0) {
+                    releaseContiguous(shard, key, slot);
+                }
+                return sync;
+            }
+            if (sequence <= last) {
+                if (!restarted(sequence, last)) {
+                    return drop(exchange, callback, tick);
+                }
+                // New numbering: what was held belongs to the old session and goes out first
+                flush(shard, key, slot);
+                reset(key, table.last(slot), sequence);
+                table.last(slot, sequence);
+                return next.process(exchange, callback);
+            }
+            if (shard.indexOf(key, sequence) >= 0) {
+                return drop(exchange, callback, tick);
+            }
+            if (sequence - last - 1 <= reorderWindow && shard.held.size() < maxHeldPerShard) {
+                shard.held.add(new Held(key, sequence, exchange, callback, System.nanoTime()));
+                table.held(slot, table.held(slot) + 1);
+                heldTotal.incrementAndGet();
+                return false;
+            }
+
+            // Beyond the window: whatever was held goes out first, then the gap up to this tick
+            flush(shard, key, slot);
+            last = table.last(slot);
+            if (sequence > last + 1) {
+                gap(key, last + 1, sequence - 1);
+            }
+            table.last(slot, sequence);
+            return next.process(exchange, callback);
+        }
+    }
+
+    public int getKeyCount() {
+        int keys = 0;
+        for (Shard shard : shards) {
+            keys += shard.table.size();
+        }
+        return keys;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(next);
+        if (reorderWindow > 0) {
+            running = true;
+            sweeper = new Thread(this::sweepLoop, "sequence-reorder-sweeper");
+            sweeper.setDaemon(true);
+            sweeper.start();
+        }
+        log.info("Sequence tracker started with reorder window {}", reorderWindow);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (sweeper != null) {
+            sweeper.interrupt();
+            sweeper.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Held held : shard.held) {
+                    held.exchange.setException(new IllegalStateException("Sequence tracker stopped while holding "
+                            + "sequence " + held.sequence + " for reordering"));
+                    held.callback.done(false);
+                }
+                heldTotal.addAndGet(-shard.held.size());
+                shard.held.clear();
+            }
+        }
+        ServiceHelper.stopService(next);
+    }
+
+    /**
+     * Releases held ticks that now directly follow the last delivered sequence
+     */
+    private void releaseContiguous(Shard shard, long key, int slot) {
+        SequenceTable table = shard.table;
+        while (table.held(slot) > 0) {
+            int index = shard.indexOf(key, table.last(slot) + 1);
+            if (index < 0) {
+                return;
+            }
+            deliver(shard, slot, shard.held.remove(index));
+            reordered.increment();
+        }
+    }
+
+    /**
+     * Gives up waiting on a key: delivers everything held in sequence order, declaring the gaps between
+     */
+    private void flush(Shard shard, long key, int slot) {
+        SequenceTable table = shard.table;
+        while (table.held(slot) > 0) {
+            int lowest = -1;
+            for (int i = 0; i < shard.held.size(); i++) {
+                Held held = shard.held.get(i);
+                if (held.key == key && (lowest < 0 || held.sequence < shard.held.get(lowest).sequence)) {
+                    lowest = i;
+                }
+            }
+            Held held = shard.held.remove(lowest);
+            long last = table.last(slot);
+            if (held.sequence > last + 1) {
+                gap(key, last + 1, held.sequence - 1);
+            }
+            deliver(shard, slot, held);
+        }
+    }
+
+    private void deliver(Shard shard, int slot, Held held) {
+        SequenceTable table = shard.table;
+        table.held(slot, table.held(slot) - 1);
+        table.last(slot, held.sequence);
+        heldTotal.decrementAndGet();
+        next.process(held.exchange, held.callback);
+    }
+
+    /**
+     * A sequence back at 1, or further behind than the reset distance, is a source restarting rather than a duplicate
+     */
+    private boolean restarted(long sequence, long last) {
+        return (sequence == 1 && last > 1) || (resetDistance > 0 && last - sequence > resetDistance);
+    }
+
+    private void reset(long key, long last, long sequence) {
+        resets.increment();
+        log.info("Sequence reset on {} from {}: {} after {}", InternTable.SYMBOLS.name((int) key),
+                InternTable.SOURCES.name((int) (key >> 32)), sequence, last);
+    }
+
+    private boolean drop(Exchange exchange, AsyncCallback callback, Tick tick) {
+        duplicates.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Dropping duplicate sequence {} for {} from {}", tick.getSequenceNumber(), tick.symbol(), tick.source());
+        }
+        // The context is recycled with its tick
+        exchange.removeProperty(ProcessingContext.PROPERTY);
+        exchange.getIn().setBody(null);
+        tickPool.release(tick);
+        exchange.setRouteStop(true);
+        callback.done(true);
+        return true;
+    }
+
+    private void gap(long key, long from, long to) {
+        gaps.increment();
+        missing.increment(to - from + 1);
+        SequenceGap gap = new SequenceGap(InternTable.SOURCES.name((int) (key >> 32)), InternTable.SYMBOLS.name((int) key),
+                from, to, EpochClock.nanos());
+        try {
+            recovery.sendBody(RECOVERY_ENDPOINT, gap);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish recovery request for {}: {}", gap, e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes keys whose oldest held tick has waited past the reorder timeout
+     */
+    private void sweepLoop() {
+        long intervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), reorderTimeoutNanos / 2);
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(intervalNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = System.nanoTime();
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    for (int i = 0; i < shard.held.size(); ) {
+                        Held held = shard.held.get(i);
+                        if (now - held.heldNanos >= reorderTimeoutNanos) {
+                            flush(shard, held.key, shard.table.slot(held.key, SequenceTable.hash(held.key)));
+                            i = 0;
+                        } else {
+                            i++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Shard {
+        private final SequenceTable table;
+        private final List<Held> held = new ArrayList<>();
+
+        private Shard(int expectedKeys) {
+            this.table = new SequenceTable(expectedKeys);
+        }
+
+        private int indexOf(long key, long sequence) {
+            for (int i = 0; i < held.size(); i++) {
+                Held candidate = held.get(i);
+                if (candidate.key == key && candidate.sequence == sequence) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private record Held(long key, long sequence, Exchange exchange, AsyncCallback callback, long heldNanos) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.nexusweaver.tenancy;
+
+import com.nexusweaver.config.TenancyProperties;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.ProcessingContext;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.service.ServiceHelper;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tenant Scheduler
+ *
+ * Tenant-aware admission in front of the sequence tracker and the symbol
+ * lanes. Each tick is assigned to a tenant by portfolio, trader or source and
+ * offered to the {@link FairQueue}; ticks over their tenant's rate or queue
+ * are dropped and returned to the pool before any sequence check, so the
+ * tracker sees the hole they leave as a gap, counts it and requests recovery.
+ * A single dispatcher thread hands queued ticks on in deficit round robin
+ * order, holding at most {@code max-in-flight} downstream at once: the lanes
+ * stay short and the backlog stays in the tenant queues, where a burst from
+ * one tenant only delays that tenant.
+ *
+ * Ticks are queued with their (source, symbol) as affinity key, so ticks of
+ * one stream leave in arrival order whichever tenants they belong to, and
+ * the tracker and lanes behind see each stream in the order it came in.
+ */
+@Slf4j
+public class TenantScheduler extends AsyncProcessorSupport {
+
+    private static final long TAKE_TIMEOUT_MILLIS = 100;
+
+    private final AsyncProcessor next;
+    private final TickPool tickPool;
+    private final TenancyProperties.Key key;
+    private final FairQueue<Pending> queue;
+    private final ArrayBlockingQueue<Ticket> tickets;
+    private final int maxInFlight;
+
+    /** Tenants by intern id of the key field, filled on first sight */
+    private volatile Tenant[] byId = new Tenant[64];
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public TenantScheduler(TenancyProperties properties, AsyncProcessor next, TickPool tickPool,
+                           MeterRegistry meterRegistry) {
+        this.next = next;
+        this.tickPool = tickPool;
+        this.key = properties.getKey();
+        this.queue = new FairQueue<>(properties, meterRegistry);
+        this.maxInFlight = Math.max(1, properties.getMaxInFlight());
+        this.tickets = new ArrayBlockingQueue<>(maxInFlight);
+        for (int i = 0; i < maxInFlight; i++) {
+            tickets.offer(new Ticket());
+        }
+        Gauge.builder("market.data.tenant.inflight", this, TenantScheduler::getInFlight)
+                .description("Ticks dispatched downstream and not yet through the route")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        Tick tick = exchange.getIn().getBody(Tick.class);
+        if (tick == null) {
+            return next.process(exchange, callback);
+        }
+
+        Tenant tenant = tenantOf(tick);
+        long affinity = ((long) tick.getSourceId() << 32) | (tick.getSymbolId() & 0xFFFF_FFFFL);
+        if (queue.offer(tenant, new Pending(exchange, callback), affinity) == FairQueue.Admission.ADMITTED) {
+            return false;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Dropping {} tick for {} from tenant {}", tick.symbol(), tick.source(), tenant.getName());
+        }
+        // The context is recycled with its tick
+        exchange.removeProperty(ProcessingContext.PROPERTY);
+        exchange.getIn().setBody(null);
+        tickPool.release(tick);
+        exchange.setRouteStop(true);
+        callback.done(true);
+        return true;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - tickets.size();
+    }
+
+    public int getTenantCount() {
+        return queue.getTenantCount();
+    }
+
+    private Tenant tenantOf(Tick tick) {
+        int id = switch (key) {
+            case PORTFOLIO -> tick.getPortfolioId();
+            case TRADER -> tick.getTraderId();
+            case SOURCE -> tick.getSourceId();
+        };
+        if (id < 0) {
+            return queue.defaultTenant();
+        }
+        Tenant[] tenants = byId;
+        if (id < tenants.length && tenants[id] != null) {
+            return tenants[id];
+        }
+        return register(id);
+    }
+
+    private synchronized Tenant register(int id) {
+        Tenant[] tenants = byId;
+        if (id >= tenants.length) {
+            tenants = Arrays.copyOf(tenants, Math.max(id + 1, tenants.length << 1));
+        } else {
+            tenants = tenants.clone();
+        }
+        InternTable table = switch (key) {
+            case PORTFOLIO -> InternTable.PORTFOLIOS;
+            case TRADER -> InternTable.TRADERS;
+            case SOURCE -> InternTable.SOURCES;
+        };
+        Tenant tenant = queue.tenant(table.name(id));
+        tenants[id] = tenant;
+        byId = tenants;
+        return tenant;
+    }
+
+    private void dispatchLoop() {
+        FairQueue.Batch<Pending> batch = new FairQueue.Batch<>(64);
+        while (true) {
+            try {
+                int taken = queue.take(batch, TAKE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                for (int i = 0; i < taken; i++) {
+                    Pending pending = batch.item(i);
+                    Ticket ticket = tickets.take();
+                    ticket.arm(pending.callback, batch.origin(i), batch.enqueuedNanos(i));
+                    try {
+                        next.process(pending.exchange, ticket);
+                    } catch (Throwable e) {
+                        log.error("Tenant dispatch of exchange {} failed: {}", pending.exchange.getExchangeId(), e.getMessage());
+                        pending.exchange.setException(e);
+                        ticket.done(false);
+                    }
+                }
+                if (taken == 0 && !running) {
+                    // Stopped and drained
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(next);
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "market-data-tenant-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Tenant scheduler started: tenants by {}, {} in flight", key, maxInFlight);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        ServiceHelper.stopService(next);
+    }
+
+    private record Pending(Exchange exchange, AsyncCallback callback) {
+    }
+
+    /**
+     * Completion of one dispatched tick: resumes the caller's route continuation and frees the in-flight slot
+     */
+    private final class Ticket implements AsyncCallback {
+
+        private AsyncCallback callback;
+        private Tenant tenant;
+        private long enqueuedNanos;
+
+        void arm(AsyncCallback callback, Tenant tenant, long enqueuedNanos) {
+            this.callback = callback;
+            this.tenant = tenant;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            AsyncCallback continuation = callback;
+            Tenant owner = tenant;
+            long enqueued = enqueuedNanos;
+            callback = null;
+            tenant = null;
+            try {
+                // The caller was told the exchange completes asynchronously
+                continuation.done(false);
+            } finally {
+                owner.completed(enqueued);
+                tickets.offer(this);
+            }
+        }
+    }
+}
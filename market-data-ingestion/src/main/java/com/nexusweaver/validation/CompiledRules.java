@@ -0,0 +1,89 @@
+package com.nexusweaver.validation;
+
+import com.nexusweaver.config.ValidationProperties;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolDirectory;
+import com.nexusweaver.refdata.SymbolInfo;
+
+import java.math.BigDecimal;
+
+/**
+ * Compiled Rules
+ *
+ * Validation limits resolved per symbol id into flat primitive arrays. Row 0
+ * holds the top-level limits used for symbols that are not in the directory;
+ * listed symbol {@code id} lives at row {@code id + 1}. Disabled limits are
+ * compiled to values that can never trip, so evaluation needs no
+ * enabled/disabled branches.
+ */
+final class CompiledRules {
+
+    final long[] minPrice;
+    final long[] maxPrice;
+    final long[] maxVolume;
+    final long[] maxSpread;
+    final long[] maxSequenceGap;
+    final boolean[] listed;
+    final int directoryVersion;
+
+    private CompiledRules(int rows, int directoryVersion) {
+        this.minPrice = new long[rows];
+        this.maxPrice = new long[rows];
+        this.maxVolume = new long[rows];
+        this.maxSpread = new long[rows];
+        this.maxSequenceGap = new long[rows];
+        this.listed = new boolean[rows];
+        this.directoryVersion = directoryVersion;
+    }
+
+    /**
+     * Row holding the limits for the given symbol id
+     */
+    int row(int symbolId) {
+        int row = symbolId + 1;
+        return row > 0 && row < listed.length && listed[row] ? row : 0;
+    }
+
+    static CompiledRules compile(ValidationProperties properties, SymbolDirectory directory) {
+        int maxId = -1;
+        for (SymbolInfo info : directory.symbols()) {
+            maxId = Math.max(maxId, info.symbolId());
+        }
+        CompiledRules rules = new CompiledRules(maxId + 2, directory.version());
+
+        rules.fill(0, properties, null, null, 0L);
+        for (SymbolInfo info : directory.symbols()) {
+            ValidationProperties.Limits assetClass = info.assetClass() != null
+                    ? properties.getAssetClasses().get(info.assetClass()) : null;
+            ValidationProperties.Limits symbol = properties.getSymbols().get(info.symbol());
+            rules.fill(info.symbolId() + 1, properties, assetClass, symbol, info.tickSize());
+            rules.listed[info.symbolId() + 1] = true;
+        }
+        return rules;
+    }
+
+    private void fill(int row, ValidationProperties defaults, ValidationProperties.Limits assetClass,
+                      ValidationProperties.Limits symbol, long tickSize) {
+        BigDecimal min = pick(symbol != null ? symbol.getMinPrice() : null,
+                assetClass != null ? assetClass.getMinPrice() : null, defaults.getMinPrice());
+        BigDecimal max = pick(symbol != null ? symbol.getMaxPrice() : null,
+                assetClass != null ? assetClass.getMaxPrice() : null, defaults.getMaxPrice());
+        long volume = pick(symbol != null ? symbol.getMaxVolume() : null,
+                assetClass != null ? assetClass.getMaxVolume() : null, defaults.getMaxVolume());
+        int spreadTicks = pick(symbol != null ? symbol.getMaxSpreadTicks() : null,
+                assetClass != null ? assetClass.getMaxSpreadTicks() : null, defaults.getMaxSpreadTicks());
+        long gap = pick(symbol != null ? symbol.getMaxSequenceGap() : null,
+                assetClass != null ? assetClass.getMaxSequenceGap() : null, defaults.getMaxSequenceGap());
+
+        minPrice[row] = min != null ? Tick.toScaled(min) : 0L;
+        maxPrice[row] = max != null ? Tick.toScaled(max) : Long.MAX_VALUE;
+        maxVolume[row] = volume > 0 ? volume : Long.MAX_VALUE;
+        // Spread limits need a tick size, so they only apply to listed symbols
+        maxSpread[row] = spreadTicks > 0 && tickSize > 0 ? spreadTicks * tickSize : Long.MAX_VALUE;
+        maxSequenceGap[row] = gap > 0 ? gap : Long.MAX_VALUE;
+    }
+
+    private static <T> T pick(T symbol, T assetClass, T defaults) {
+        return symbol != null ? symbol : assetClass != null ? assetClass : defaults;
+    }
+}
@@ -0,0 +1,46 @@
+package com.nexusweaver.validation;
+
+/**
+ * Rules evaluated by the {@link ValidationRulesEngine}; each owns one bit of the violation mask
+ */
+public enum ValidationRule {
+
+    PRICE_BAND("price-band", "Price outside the accepted band"),
+    CROSSED_QUOTE("crossed-quote", "Bid price must be less than ask price"),
+    MAX_SPREAD("max-spread", "Bid/ask spread wider than allowed"),
+    VOLUME_CEILING("volume-ceiling", "Volume above the accepted ceiling"),
+    SEQUENCE_GAP("sequence-gap", "Sequence number jumped further than allowed");
+
+    private static final ValidationRule[] VALUES = values();
+
+    private final String tag;
+    private final String description;
+
+    ValidationRule(String tag, String description) {
+        this.tag = tag;
+        this.description = description;
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * The first rule set in a violation mask
+     */
+    public static ValidationRule first(int violations) {
+        return VALUES[Integer.numberOfTrailingZeros(violations)];
+    }
+
+    static ValidationRule[] all() {
+        return VALUES;
+    }
+}
@@ -0,0 +1,145 @@
+package com.nexusweaver.validation;
+
+import com.nexusweaver.config.ValidationProperties;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.refdata.SymbolDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Validation Rules Engine
+ *
+ * Evaluates every rule against a tick's primitive fields in one pass and
+ * returns a bit mask of the rules it violates (0 when valid). Limits come
+ * from {@link ValidationProperties} compiled per symbol into
+ * {@link CompiledRules}, which is rebuilt whenever the symbol directory is
+ * reloaded. Evaluation reads arrays only; nothing is allocated per tick.
+ *
+ * The last sequence number seen per (source, symbol) is kept for the gap
+ * rule, as source and sequence pairs in a small array per symbol, and
+ * advanced by every sequenced tick whether it passes or not, so one jump is
+ * rejected once rather than holding every later tick to a stale sequence.
+ * Ticks of a symbol are always validated on that symbol's lane, so each
+ * symbol's pairs are only ever touched by one thread.
+ */
+@Slf4j
+@Component
+public class ValidationRulesEngine {
+
+    private static final long NO_SEQUENCE = Tick.NULL_VALUE;
+    private static final long[] NO_SOURCES = new long[0];
+
+    private final ValidationProperties properties;
+    private final SymbolDirectory symbolDirectory;
+    private final Counter[] rejections;
+    /** Per symbol id: source id and last sequence pairs, one pair per source quoting the symbol */
+    private final long[][] lastSequences;
+
+    private volatile CompiledRules rules;
+
+    public ValidationRulesEngine(ValidationProperties properties, SymbolDirectory symbolDirectory,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.symbolDirectory = symbolDirectory;
+        this.lastSequences = new long[properties.getMaxSymbols()][];
+        Arrays.fill(lastSequences, NO_SOURCES);
+
+        ValidationRule[] all = ValidationRule.all();
+        this.rejections = new Counter[all.length];
+        for (ValidationRule rule : all) {
+            rejections[rule.ordinal()] = Counter.builder("market.data.validation.rejections")
+                    .description("Ticks rejected by a validation rule")
+                    .tag("rule", rule.getTag())
+                    .register(meterRegistry);
+        }
+        this.rules = CompiledRules.compile(properties, symbolDirectory);
+    }
+
+    /**
+     * Returns the violated rules as a mask of {@link ValidationRule#mask()} bits, 0 when the tick is valid.
+     * Each violated rule's rejection counter is incremented.
+     */
+    public int evaluate(Tick tick) {
+        CompiledRules current = currentRules();
+        int symbolId = tick.getSymbolId();
+        int row = current.row(symbolId);
+
+        long price = tick.getPrice();
+        long bid = tick.getBid();
+        long ask = tick.getAsk();
+        long volume = tick.getVolume();
+        long sequence = tick.getSequenceNumber();
+        boolean hasQuote = bid != Tick.NULL_PRICE & ask != Tick.NULL_PRICE;
+        boolean hasVolume = volume != Tick.NULL_VALUE;
+
+        boolean tracked = symbolId >= 0 & symbolId < lastSequences.length;
+        long previous = tracked && sequence != Tick.NULL_VALUE
+                ? advance(symbolId, tick.getSourceId(), sequence) : NO_SEQUENCE;
+        boolean hasGap = previous != NO_SEQUENCE;
+
+        int violations = 0;
+        violations |= (price < current.minPrice[row] | price > current.maxPrice[row]) ? ValidationRule.PRICE_BAND.mask() : 0;
+        violations |= (hasQuote & bid >= ask) ? ValidationRule.CROSSED_QUOTE.mask() : 0;
+        violations |= (hasQuote && ask - bid > current.maxSpread[row]) ? ValidationRule.MAX_SPREAD.mask() : 0;
+        violations |= (hasVolume & volume > current.maxVolume[row]) ? ValidationRule.VOLUME_CEILING.mask() : 0;
+        violations |= (hasGap && Math.abs(sequence - previous) > current.maxSequenceGap[row]) ? ValidationRule.SEQUENCE_GAP.mask() : 0;
+
+        if (violations == 0) {
+            return 0;
+        }
+
+        for (int remaining = violations; remaining != 0; remaining &= remaining - 1) {
+            rejections[Integer.numberOfTrailingZeros(remaining)].increment();
+        }
+        return violations;
+    }
+
+    /**
+     * Records the sequence as the source's last for the symbol, returning the one before it
+     */
+    private long advance(int symbolId, int sourceId, long sequence) {
+        long[] pairs = lastSequences[symbolId];
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (pairs[i] == sourceId) {
+                long previous = pairs[i + 1];
+                pairs[i + 1] = sequence;
+                return previous;
+            }
+        }
+        // First tick from this source for the symbol: sources per symbol are few, so the pairs grow by copy
+        long[] grown = Arrays.copyOf(pairs, pairs.length + 2);
+        grown[pairs.length] = sourceId;
+        grown[pairs.length + 1] = sequence;
+        lastSequences[symbolId] = grown;
+        return NO_SEQUENCE;
+    }
+
+    /**
+     * Rejections recorded for a rule since startup
+     */
+    public double getRejections(ValidationRule rule) {
+        return rejections[rule.ordinal()].count();
+    }
+
+    private CompiledRules currentRules() {
+        CompiledRules current = rules;
+        if (current.directoryVersion != symbolDirectory.version()) {
+            current = recompile();
+        }
+        return current;
+    }
+
+    private synchronized CompiledRules recompile() {
+        CompiledRules current = rules;
+        if (current.directoryVersion != symbolDirectory.version()) {
+            current = CompiledRules.compile(properties, symbolDirectory);
+            rules = current;
+            log.info("Validation rules recompiled for symbol directory version {}", current.directoryVersion);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,143 @@
+package com.nexusweaver.cluster;
+
+import com.nexusweaver.config.ClusterProperties;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two pods on local leases sharing a file standby channel: the leader is killed
+ * and the follower carries its renumbered sequences on from the leader's last checkpoint.
+ */
+class WarmStandbyFailoverTest {
+
+    private static final Duration LEASE_DURATION = Duration.ofMillis(1000);
+    private static final Duration RENEW_DEADLINE = Duration.ofMillis(600);
+    private static final Duration RETRY_PERIOD = Duration.ofMillis(100);
+
+    @TempDir
+    Path directory;
+
+    private Pod a;
+    private Pod b;
+
+    @AfterEach
+    void stop() {
+        if (b != null) {
+            b.kill();
+        }
+        if (a != null) {
+            a.kill();
+        }
+    }
+
+    @Test
+    void followerResumesSequencesAfterLeaderIsKilled() throws Exception {
+        a = new Pod("pod-a", directory);
+        await(a.standby::isLeader, "pod-a to take the lease");
+        b = new Pod("pod-b", directory);
+        await(() -> b.checkpointAge() < 1.0, "pod-b to read pod-a's checkpoints");
+        assertThat(b.standby.isLeader()).isFalse();
+
+        // Both pods run the generator; only the leader's ticks get through
+        for (long sequence = 1; sequence <= 50; sequence++) {
+            assertThat(a.send(sequence)).isEqualTo(sequence);
+        }
+        for (long sequence = 1; sequence <= 20; sequence++) {
+            assertThat(b.send(sequence)).isNull();
+        }
+        // The leader's last publish reaches the follower with the next checkpoint
+        Thread.sleep(300);
+
+        a.kill();
+        await(b.standby::isLeader, "pod-b to take over the lease");
+
+        // The follower's own sequence 21 carries on from the leader's 50
+        assertThat(b.send(21)).isEqualTo(51);
+        assertThat(b.send(22)).isEqualTo(52);
+        assertThat(b.registry.get("market.data.failover.takeovers").counter().count()).isEqualTo(1);
+        assertThat(b.registry.get("market.data.failover.missing").counter().count()).isZero();
+        assertThat(b.registry.get("market.data.failover.gap").timer().count()).isEqualTo(1);
+        assertThat(b.registry.get("market.data.failover.gap").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isBetween(0.0, (double) Duration.ofSeconds(10).toMillis());
+    }
+
+    private static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waiting for " + what).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * One process: a Camel context with its lease service and warm standby, fed through the generator's gate
+     */
+    private static final class Pod {
+
+        private static final int SOURCE_ID = InternTable.SOURCES.intern("tickgen-failover-test");
+        private static final int SYMBOL_ID = InternTable.SYMBOLS.intern("AAPL");
+
+        private final CamelContext context = new DefaultCamelContext();
+        private final MeterRegistry registry = new SimpleMeterRegistry();
+        private final TickPool tickPool = new TickPool(16);
+        private final WarmStandby standby;
+        private final Processor gate;
+
+        Pod(String id, Path directory) throws Exception {
+            context.addService(new LocalLeaseClusterService(id, directory, LEASE_DURATION, RENEW_DEADLINE, RETRY_PERIOD));
+            ClusterProperties.Standby properties = new ClusterProperties.Standby();
+            properties.setEnabled(true);
+            properties.setCheckpointInterval(Duration.ofMillis(50));
+            standby = new WarmStandby(id, properties,
+                    new FileStandbyChannel(directory.resolve("standby.log"), Duration.ofMillis(25)),
+                    context, tickPool, context.createProducerTemplate(), registry);
+            context.addService(standby, true, false);
+            context.start();
+            gate = standby.gate(true);
+        }
+
+        /**
+         * Sequence the tick was published with, null when the gate dropped it
+         */
+        Long send(long sequence) throws Exception {
+            Tick tick = tickPool.acquire();
+            tick.setSourceId(SOURCE_ID);
+            tick.setSymbolId(SYMBOL_ID);
+            tick.setSequenceNumber(sequence);
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getIn().setBody(tick);
+            gate.process(exchange);
+            return exchange.isRouteStop() ? null : tick.getSequenceNumber();
+        }
+
+        double checkpointAge() {
+            double age = registry.get("market.data.standby.checkpoint.age").gauge().value();
+            return Double.isNaN(age) ? Double.MAX_VALUE : age;
+        }
+
+        /**
+         * Stops the pod without giving up its lease, as a crash would
+         */
+        void kill() {
+            context.stop();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.nexusweaver.feed;
+
+import com.nexusweaver.codec.MarketDataSchema;
+import com.nexusweaver.codec.TickEncoder;
+import com.nexusweaver.generator.FeedSimulator;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import com.nexusweaver.refdata.SymbolInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The feed simulator sending FIX snapshots, FIX incrementals and binary ticks
+ * into a {@code feed:} route on loopback, and the decoders fed by hand for
+ * what a live session cannot show, such as a MsgSeqNum gap.
+ */
+class FeedLoopbackTest {
+
+    private static final int TICKS = 40;
+    private static final List<SymbolInfo> UNIVERSE = List.of(
+            new SymbolInfo(InternTable.SYMBOLS.intern("AAPL"), "AAPL", InternTable.EXCHANGES.intern("NASDAQ"), 0, "EQUITY"),
+            new SymbolInfo(InternTable.SYMBOLS.intern("MSFT"), "MSFT", InternTable.EXCHANGES.intern("NASDAQ"), 0, "EQUITY"));
+    private static final Set<String> SYMBOLS = Set.of("AAPL", "MSFT");
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final TickPool tickPool = new TickPool(256);
+    private final BlockingQueue<Decoded> received = new LinkedBlockingQueue<>();
+
+    private CamelContext context;
+    private FeedSimulator simulator;
+
+    @AfterEach
+    void stop() {
+        if (simulator != null) {
+            simulator.close();
+        }
+        if (context != null) {
+            context.stop();
+        }
+    }
+
+    @Test
+    void fixSnapshotsArriveAsTicks() throws Exception {
+        List<Decoded> ticks = loopback(FeedEndpoint.Protocol.FIX, false);
+
+        assertFixTicks(ticks);
+        assertThat(counter("market.data.feed.session.gaps")).isZero();
+    }
+
+    @Test
+    void fixIncrementalsArriveAsTicks() throws Exception {
+        List<Decoded> ticks = loopback(FeedEndpoint.Protocol.FIX, true);
+
+        assertFixTicks(ticks);
+        assertThat(counter("market.data.feed.session.gaps")).isZero();
+    }
+
+    @Test
+    void binaryFramesArriveWithContiguousSymbolSequences() throws Exception {
+        List<Decoded> ticks = loopback(FeedEndpoint.Protocol.BINARY, false);
+
+        Map<String, Long> last = new HashMap<>();
+        for (Decoded tick : ticks) {
+            assertQuote(tick);
+            assertThat(tick.volume()).isPositive();
+            Long previous = last.put(tick.symbol(), tick.sequence());
+            if (previous != null) {
+                assertThat(tick.sequence()).as("sequence of " + tick.symbol()).isEqualTo(previous + 1);
+            }
+        }
+        assertThat(counter("market.data.feed.rejected")).isZero();
+    }
+
+    @Test
+    void fixDecoderCountsMsgSeqNumGaps() {
+        ByteBuf stream = Unpooled.buffer();
+        Tick tick = quote("AAPL", 150_00000000L);
+        for (long msgSeqNum : new long[]{1, 2, 4, 5, 9}) {
+            FixWriter.writeMarketData(stream, tick, "GAPPY", "NEXUS", msgSeqNum, msgSeqNum % 2 == 0);
+        }
+
+        LongAdder gaps = new LongAdder();
+        FixMarketDataDecoder decoder = new FixMarketDataDecoder(tickPool, InternTable.SOURCES.intern("fallback"), gaps);
+        List<Tick> out = new ArrayList<>();
+        int index = stream.readerIndex();
+        int frames = 0;
+        while (index < stream.writerIndex()) {
+            int length = FixFraming.frameLength(stream, index, stream.writerIndex(), 4096, true);
+            assertThat(length).isPositive();
+            decoder.decode(stream, index, length, out);
+            index += length;
+            frames++;
+        }
+        // A frame cut short is incomplete, not an error
+        assertThat(FixFraming.frameLength(stream, 0, 20, 4096, true)).isEqualTo(-1);
+
+        assertThat(frames).isEqualTo(5);
+        assertThat(gaps.sum()).isEqualTo(2);
+        assertThat(out).hasSize(5).allSatisfy(decoded -> {
+            assertThat(decoded.symbol()).isEqualTo("AAPL");
+            assertThat(decoded.exchange()).isEqualTo("NASDAQ");
+            assertThat(decoded.source()).isEqualTo("GAPPY");
+            assertThat(decoded.getBid()).isEqualTo(tick.getBid());
+            assertThat(decoded.getAsk()).isEqualTo(tick.getAsk());
+            assertThat(decoded.getPrice()).isEqualTo(tick.getPrice());
+            assertThat(decoded.getVolume()).isEqualTo(tick.getVolume());
+            assertThat(decoded.getTimestampNanos()).isEqualTo(tick.getTimestampNanos());
+        });
+        stream.release();
+    }
+
+    @Test
+    void binaryDecoderRoundTripsEncodedTicks() {
+        Tick tick = quote("MSFT", 410_25000000L);
+        tick.setSequenceNumber(7);
+        byte[] scratch = new byte[MarketDataSchema.MAX_MESSAGE_LENGTH];
+        int length = TickEncoder.encode(tick, scratch, 0);
+
+        List<Tick> out = new ArrayList<>();
+        new BinaryFeedDecoder(tickPool, InternTable.SOURCES.intern("fallback"))
+                .decode(Unpooled.wrappedBuffer(scratch, 0, length), 0, length, out);
+
+        assertThat(out).hasSize(1);
+        Tick decoded = out.get(0);
+        assertThat(decoded.symbol()).isEqualTo("MSFT");
+        assertThat(decoded.exchange()).isEqualTo("NASDAQ");
+        assertThat(decoded.source()).isEqualTo("GAPPY");
+        assertThat(decoded.getMessageTypeId()).isEqualTo(Tick.MARKET_DATA);
+        assertThat(decoded.getBid()).isEqualTo(tick.getBid());
+        assertThat(decoded.getAsk()).isEqualTo(tick.getAsk());
+        assertThat(decoded.getPrice()).isEqualTo(tick.getPrice());
+        assertThat(decoded.getVolume()).isEqualTo(tick.getVolume());
+        assertThat(decoded.getSequenceNumber()).isEqualTo(7);
+        assertThat(decoded.getTimestampNanos()).isEqualTo(tick.getTimestampNanos());
+    }
+
+    @Test
+    void encoderRejectsNonAsciiFields() {
+        Tick tick = quote("MSFT", 410_25000000L);
+        tick.setTraderId(InternTable.TRADERS.intern("Zoë"));
+        byte[] scratch = new byte[MarketDataSchema.MAX_MESSAGE_LENGTH];
+
+        assertThatThrownBy(() -> TickEncoder.encode(tick, scratch, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Non-ASCII");
+    }
+
+    /**
+     * Runs the simulator into a TCP feed route until enough ticks have been decoded
+     */
+    private List<Decoded> loopback(FeedEndpoint.Protocol protocol, boolean incremental) throws Exception {
+        int port = freePort();
+        context = new DefaultCamelContext();
+        context.addComponent("feed", new FeedComponent(tickPool, registry));
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("feed:loopback?protocol=" + protocol + "&transport=TCP&host=127.0.0.1&port=" + port)
+                        .process(exchange -> {
+                            Tick tick = exchange.getIn().getBody(Tick.class);
+                            received.add(Decoded.of(tick));
+                            tickPool.release(tick);
+                        });
+            }
+        });
+        context.start();
+
+        simulator = new FeedSimulator("loopback", protocol, FeedEndpoint.Transport.TCP,
+                new InetSocketAddress("127.0.0.1", port), UNIVERSE, 2_000, incremental);
+        simulator.start();
+
+        List<Decoded> ticks = new ArrayList<>(TICKS);
+        while (ticks.size() < TICKS) {
+            Decoded tick = received.poll(10, TimeUnit.SECONDS);
+            assertThat(tick).as("tick " + ticks.size() + " of " + TICKS).isNotNull();
+            ticks.add(tick);
+        }
+        assertThat(counter("market.data.feed.ticks")).isGreaterThanOrEqualTo(TICKS);
+        return ticks;
+    }
+
+    private static void assertFixTicks(List<Decoded> ticks) {
+        for (Decoded tick : ticks) {
+            assertQuote(tick);
+            // FIX carries no per-symbol sequence; the tracker numbers these ticks itself
+            assertThat(tick.sequence()).isEqualTo(Tick.NULL_VALUE);
+        }
+    }
+
+    private static void assertQuote(Decoded tick) {
+        assertThat(tick.symbol()).isIn(SYMBOLS);
+        assertThat(tick.exchange()).isEqualTo("NASDAQ");
+        assertThat(tick.source()).isEqualTo("SIMULATOR");
+        assertThat(tick.messageType()).isEqualTo("MARKET_DATA");
+        assertThat(tick.bid()).isPositive().isLessThan(tick.ask());
+        assertThat(tick.price()).isBetween(tick.bid(), tick.ask());
+        assertThat(tick.timestampNanos()).isPositive();
+    }
+
+    private double counter(String name) {
+        return registry.get(name).functionCounter().count();
+    }
+
+    private Tick quote(String symbol, long price) {
+        Tick tick = tickPool.acquire();
+        tick.setSymbolId(InternTable.SYMBOLS.intern(symbol));
+        tick.setExchangeId(InternTable.EXCHANGES.intern("NASDAQ"));
+        tick.setSourceId(InternTable.SOURCES.intern("GAPPY"));
+        tick.setMessageTypeId(Tick.MARKET_DATA);
+        tick.setBid(price - 1_000000L);
+        tick.setAsk(price + 1_000000L);
+        tick.setPrice(price);
+        tick.setVolume(300);
+        tick.setTimestampNanos(1_700_000_000_123_000_000L);
+        return tick;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Fields of a received tick, copied before it goes back to the pool
+     */
+    private record Decoded(String symbol, String exchange, String source, String messageType, long bid, long ask,
+                           long price, long volume, long sequence, long timestampNanos) {
+
+        static Decoded of(Tick tick) {
+            return new Decoded(tick.symbol(), tick.exchange(), tick.source(), tick.messageType(), tick.getBid(),
+                    tick.getAsk(), tick.getPrice(), tick.getVolume(), tick.getSequenceNumber(), tick.getTimestampNanos());
+        }
+    }
+}
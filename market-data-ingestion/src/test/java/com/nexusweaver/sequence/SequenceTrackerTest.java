@@ -0,0 +1,90 @@
+package com.nexusweaver.sequence;
+
+import com.nexusweaver.config.SequenceProperties;
+import com.nexusweaver.model.InternTable;
+import com.nexusweaver.model.Tick;
+import com.nexusweaver.model.TickPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duplicates, gaps and numbering restarts on one (source, symbol) stream
+ */
+class SequenceTrackerTest {
+
+    private static final int SOURCE_ID = InternTable.SOURCES.intern("tracker-test");
+    private static final int SYMBOL_ID = InternTable.SYMBOLS.intern("AAPL");
+
+    private final CamelContext context = new DefaultCamelContext();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final TickPool tickPool = new TickPool(16);
+    private final List<Long> delivered = new ArrayList<>();
+    private SequenceTracker tracker;
+
+    @BeforeEach
+    void start() {
+        SequenceProperties properties = new SequenceProperties();
+        properties.setResetDistance(100);
+        context.start();
+        tracker = new SequenceTracker(properties,
+                AsyncProcessorConverterHelper.convert(exchange ->
+                        delivered.add(exchange.getIn().getBody(Tick.class).getSequenceNumber())),
+                tickPool, context.createProducerTemplate(), registry);
+        tracker.start();
+    }
+
+    @AfterEach
+    void stop() {
+        tracker.stop();
+        context.stop();
+    }
+
+    @Test
+    void restartedNumberingStartsANewSession() throws Exception {
+        for (long sequence = 1; sequence <= 5; sequence++) {
+            send(sequence);
+        }
+        send(3);
+        // The source restarts at 1
+        send(1);
+        send(2);
+        send(200);
+        // Further behind than the reset distance
+        send(50);
+        send(51);
+        send(51);
+
+        assertThat(delivered).containsExactly(1L, 2L, 3L, 4L, 5L, 1L, 2L, 200L, 50L, 51L);
+        assertThat(count("market.data.sequence.duplicates")).isEqualTo(2);
+        assertThat(count("market.data.sequence.resets")).isEqualTo(2);
+        assertThat(count("market.data.sequence.gaps")).isEqualTo(1);
+        assertThat(count("market.data.sequence.missing")).isEqualTo(197);
+    }
+
+    private void send(long sequence) throws Exception {
+        Tick tick = tickPool.acquire();
+        tick.setSourceId(SOURCE_ID);
+        tick.setSymbolId(SYMBOL_ID);
+        tick.setSequenceNumber(sequence);
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(tick);
+        tracker.process(exchange);
+    }
+
+    private double count(String name) {
+        return registry.get(name).counter().count();
+    }
+}